@@ -55,7 +55,12 @@ create table COFFEE_HOUSES
   
 create table DATA_REPOSITORY
   (DOCUMENT_NAME varchar(50),
-  URL varchar(200));  
+  URL varchar(200));
+
+create table ID_SEQUENCES
+  (SEQ_NAME varchar(32) NOT NULL,
+  NEXT_VAL integer NOT NULL,
+  PRIMARY KEY (SEQ_NAME));
 
   
   
\ No newline at end of file
@@ -5,4 +5,5 @@ DROP TABLE COF_INVENTORY;
 DROP TABLE RSS_FEEDS;
 DROP TABLE COFFEES;
 DROP TABLE SUPPLIERS;
-DROP TABLE DATA_REPOSITORY;
\ No newline at end of file
+DROP TABLE DATA_REPOSITORY;
+DROP TABLE ID_SEQUENCES;
\ No newline at end of file
@@ -6,3 +6,4 @@ DROP TABLE IF EXISTS RSS_FEEDS;
 DROP TABLE IF EXISTS COFFEES;
 DROP TABLE IF EXISTS SUPPLIERS;
 DROP TABLE IF EXISTS DATA_REPOSITORY;
+DROP TABLE IF EXISTS ID_SEQUENCES;
@@ -28,6 +28,8 @@ insert into MERCH_INVENTORY values(00004490, 'CofGrinder', 456, 9, '2006-04-01')
 insert into MERCH_INVENTORY values(00004495, 'EspMaker', 456, 4, '2006-04-01');
 insert into MERCH_INVENTORY values(00006914, 'Cookbook', 927, 12, '2006-04-01');
 
+insert into ID_SEQUENCES values('MERCH_INVENTORY', 10000);
+
 insert into COFFEE_HOUSES values(10023, 'Mendocino', 3450, 2005, 5455);
 insert into COFFEE_HOUSES values(33002, 'Seattle', 4699, 3109, 7808);
 insert into COFFEE_HOUSES values(10040, 'SF', 5386, 2841, 8227);
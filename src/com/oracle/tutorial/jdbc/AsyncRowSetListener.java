@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.RowSet;
+import javax.sql.RowSetEvent;
+import javax.sql.RowSetListener;
+
+/**
+ * Passes the events of a row set to another listener on a different thread,
+ * so that moving the cursor or changing a row costs the thread doing it no
+ * more than setting a flag.
+ * <p>
+ * Events are coalesced: while a delivery is pending, further events of the
+ * same kind are merged into it, so a scan that moves the cursor over a
+ * million rows produces a handful of cursorMoved calls rather than a million.
+ * A pending rowSetChanged replaces pending rowChanged and cursorMoved
+ * events, since the listener has to look at the whole row set anyway. The
+ * listener therefore learns that something happened, not each step; by the
+ * time it is called the cursor may have moved on, so it should read what it
+ * needs rather than rely on the cursor's position.
+ */
+public class AsyncRowSetListener implements RowSetListener, AutoCloseable {
+
+    private static final int CURSOR_MOVED = 1;
+    private static final int ROW_CHANGED = 2;
+    private static final int ROW_SET_CHANGED = 4;
+
+    private final RowSetListener listener;
+    private final Executor executor;
+    private final ExecutorService ownExecutor;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private volatile Object source;
+
+    private final Runnable drain = new Runnable() {
+        public void run() {
+            deliver();
+        }
+    };
+
+    /** Delivers the events to listenerArg on a thread of its own */
+    public AsyncRowSetListener(RowSetListener listenerArg) {
+        this.listener = listenerArg;
+        this.ownExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "AsyncRowSetListener");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        this.executor = ownExecutor;
+    }
+
+    /**
+     * Delivers the events to listenerArg through executorArg, which must run
+     * tasks one at a time, such as an executor that hands them to
+     * SwingUtilities.invokeLater.
+     */
+    public AsyncRowSetListener(RowSetListener listenerArg, Executor executorArg) {
+        this.listener = listenerArg;
+        this.executor = executorArg;
+        this.ownExecutor = null;
+    }
+
+    public void cursorMoved(RowSetEvent event) {
+        post(event, CURSOR_MOVED);
+    }
+
+    public void rowChanged(RowSetEvent event) {
+        post(event, ROW_CHANGED);
+    }
+
+    public void rowSetChanged(RowSetEvent event) {
+        post(event, ROW_SET_CHANGED);
+    }
+
+    /** Number of events received from the row set */
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    /** Number of calls made to the listener */
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    private void post(RowSetEvent event, int kind) {
+        received.incrementAndGet();
+        source = event.getSource();
+        int before;
+        do {
+            before = pending.get();
+            if ((before & kind) != 0) {
+                return; // Merged into the delivery already pending
+            }
+        } while (!pending.compareAndSet(before, before | kind));
+        if (before == 0) {
+            executor.execute(drain);
+        }
+    }
+
+    private void deliver() {
+        int kinds = pending.getAndSet(0);
+        if (kinds == 0) {
+            return;
+        }
+        RowSetEvent event = new RowSetEvent((RowSet) source);
+        if ((kinds & ROW_SET_CHANGED) != 0) {
+            listener.rowSetChanged(event);
+            delivered.incrementAndGet();
+            return;
+        }
+        if ((kinds & ROW_CHANGED) != 0) {
+            listener.rowChanged(event);
+            delivered.incrementAndGet();
+        }
+        if ((kinds & CURSOR_MOVED) != 0) {
+            listener.cursorMoved(event);
+            delivered.incrementAndGet();
+        }
+    }
+
+    /**
+     * Delivers any pending events and, if the events were delivered on a
+     * thread of this listener's own, stops that thread. Remove the listener
+     * from the row set first.
+     */
+    public void close() {
+        if (ownExecutor == null) {
+            return;
+        }
+        ownExecutor.execute(drain);
+        ownExecutor.shutdown();
+        try {
+            ownExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
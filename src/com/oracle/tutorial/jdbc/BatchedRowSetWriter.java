@@ -0,0 +1,719 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+
+import javax.sql.RowSetInternal;
+import javax.sql.RowSetMetaData;
+import javax.sql.RowSetWriter;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.spi.SyncProviderException;
+import javax.sql.rowset.spi.SyncResolver;
+import javax.sql.rowset.spi.TransactionalWriter;
+
+/**
+ * Writer of {@link BatchedSyncProvider}. Changed rows are grouped by the
+ * statement that writes them, so that every row with the same changed
+ * columns shares one PreparedStatement, and the statements are sent as
+ * batches: deletes first, then updates, then inserts.
+ * <p>
+ * An update or delete that matches no row is a conflict: the row was changed
+ * or deleted in the database since it was read. The writer reads the
+ * conflicting rows again and lets the {@link ConflictPolicy} decide each one
+ * within the same transaction. Conflicts that remain are rolled back and
+ * reported with a SyncProviderException whose SyncResolver holds the
+ * database values.
+ * <p>
+ * The new versions of updated rows are put in the row set only by
+ * {@link #commit()}, so a rollback leaves the row set as it was.
+ */
+final class BatchedRowSetWriter implements RowSetWriter, TransactionalWriter {
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private String versionColumn;
+    private ConflictPolicy policy;
+    private int batchSize = 1000;
+    private IntList conflictRows = new IntList(4);
+    // Versions read by a SyncResolver, to check against instead of the
+    // original version once the application has resolved the conflict.
+    private final HashMap<List<Object>, Object> resolvedVersions = new HashMap<>();
+    // New versions written by updates, by row, for commit to put in the row set
+    private final HashMap<Integer, Object> newVersions = new HashMap<>();
+    private CachedRowSet written;
+
+    private Connection con;
+    private boolean closeConnection;
+    private boolean restoreAutoCommit;
+
+    // The row set being written, valid during writeData
+    private RowSetInternal caller;
+    private CachedRowSet crs;
+    private ResultSetMetaData md;
+    private String table;
+    private int[] keys;
+    private int version;
+
+    /** Rows that share one statement */
+    private static final class Statements {
+        final int[] types;
+        final List<Object[]> params = new ArrayList<>();
+        final IntList rows = new IntList(16);
+
+        Statements(int[] typesArg) {
+            this.types = typesArg;
+        }
+    }
+
+    /** Statements of one pass, executed deletes first */
+    private static final class Pass {
+        final Map<String, Statements> deletes = new LinkedHashMap<>();
+        final Map<String, Statements> updates = new LinkedHashMap<>();
+        final Map<String, Statements> inserts = new LinkedHashMap<>();
+    }
+
+    void setVersionColumn(String columnName) {
+        this.versionColumn = columnName;
+    }
+
+    String getVersionColumn() {
+        return versionColumn;
+    }
+
+    void setConflictPolicy(ConflictPolicy policyArg) {
+        this.policy = policyArg;
+    }
+
+    ConflictPolicy getConflictPolicy() {
+        return policy;
+    }
+
+    void setBatchSize(int rows) {
+        this.batchSize = rows;
+    }
+
+    int[] getConflictRows() {
+        return conflictRows.toArray();
+    }
+
+    /** Checks the row with the given key against version from now on */
+    void resolvedAgainst(List<Object> key, Object serverVersion) {
+        resolvedVersions.put(key, serverVersion);
+    }
+
+    public boolean writeData(RowSetInternal callerArg) throws SQLException {
+        this.caller = callerArg;
+        this.crs = (CachedRowSet) callerArg;
+        this.written = crs;
+        newVersions.clear();
+        conflictRows = new IntList(4);
+        connect();
+        try {
+            md = crs.getMetaData();
+            table = tableName();
+            keys = crs.getKeyColumns();
+            if (keys == null || keys.length == 0) {
+                throw new SQLException("Set the key columns before writing changes in batches");
+            }
+            version = versionColumn == null ? 0 : crs.findColumn(versionColumn);
+
+            Pass pass = new Pass();
+            int rows = 0;
+            RowSetSyncResolver resolver = null;
+            boolean showDeleted = crs.getShowDeleted();
+            crs.setShowDeleted(true);
+            try {
+                crs.beforeFirst();
+                while (crs.next()) {
+                    rows = crs.getRow();
+                    if (crs.rowDeleted()) {
+                        if (!crs.rowInserted()) {
+                            addDelete(pass, rows);
+                        }
+                    } else if (crs.rowInserted()) {
+                        addInsert(pass, crs, rows);
+                    } else if (crs.rowUpdated()) {
+                        addUpdate(pass, rows);
+                    }
+                }
+                execute(pass);
+                if (!conflictRows.isEmpty()) {
+                    resolver = resolveConflicts(rows);
+                }
+            } finally {
+                crs.setShowDeleted(showDeleted);
+            }
+            if (resolver != null) {
+                rollback();
+                SyncProviderException spe = new SyncProviderException(conflictRows.size()
+                        + " row(s) changed in the database since they were read;"
+                        + " no changes were written");
+                spe.setSyncResolver(resolver);
+                throw spe;
+            }
+            resolvedVersions.clear();
+            return true;
+        } catch (SQLException e) {
+            rollback();
+            throw e;
+        } finally {
+            this.caller = null;
+            this.crs = null;
+        }
+    }
+
+    private void connect() throws SQLException {
+        con = caller.getConnection();
+        closeConnection = con == null;
+        if (con == null) {
+            con = DriverManager.getConnection(crs.getUrl(), crs.getUsername(), crs.getPassword());
+        }
+        restoreAutoCommit = con.getAutoCommit();
+        if (restoreAutoCommit) {
+            con.setAutoCommit(false);
+        }
+    }
+
+    private String tableName() throws SQLException {
+        String name = crs.getTableName();
+        if (name == null || name.isEmpty()) {
+            name = md.getTableName(1);
+        }
+        if (name == null || name.isEmpty()) {
+            Matcher m = ColumnarCachedRowSet.FROM_TABLE.matcher(
+                crs.getCommand() == null ? "" : crs.getCommand());
+            if (!m.find()) {
+                throw new SQLException("The table to write changes to is not known;"
+                        + " call setTableName");
+            }
+            name = m.group(1);
+        }
+        return name;
+    }
+
+    private void addDelete(Pass pass, int row) throws SQLException {
+        Object[] original = values(originalRow());
+        deleteStatement(pass, row, keyValues(original), checkedVersion(original));
+    }
+
+    private void deleteStatement(Pass pass, int row, Object[] keyValues, Object versionValue)
+            throws SQLException {
+        StringBuilder sql = new StringBuilder("DELETE FROM ").append(table);
+        List<Object> values = new ArrayList<>();
+        List<Integer> types = new ArrayList<>();
+        where(sql, values, types, keyValues, true, versionValue);
+        add(pass.deletes, sql.toString(), values, types, row);
+    }
+
+    private void addInsert(Pass pass, ResultSet source, int row) throws SQLException {
+        insertStatement(pass, row, values(source));
+    }
+
+    private void insertStatement(Pass pass, int row, Object[] rowValues) throws SQLException {
+        int n = md.getColumnCount();
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(" (");
+        List<Object> values = new ArrayList<>();
+        List<Integer> types = new ArrayList<>();
+        for (int i = 1; i <= n; i++) {
+            if (rowValues[i - 1] == null && md.isAutoIncrement(i)) {
+                continue; // Left for the database to generate
+            }
+            sql.append(values.isEmpty() ? "" : ", ").append(md.getColumnName(i));
+            values.add(rowValues[i - 1]);
+            types.add(md.getColumnType(i));
+        }
+        sql.append(") VALUES (");
+        for (int i = 0; i < values.size(); i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+        }
+        add(pass.inserts, sql.append(")").toString(), values, types, row);
+    }
+
+    private void addUpdate(Pass pass, int row) throws SQLException {
+        Object[] original = values(originalRow());
+        Object[] current = values(crs);
+        BitSet changed = changedColumns();
+        Object checked = checkedVersion(original);
+        if (version > 0) {
+            // The row set gets the new version after the commit, so that it
+            // can be written again.
+            current[version - 1] = nextVersion(checked, md.getColumnType(version),
+                                                 md.getScale(version));
+            newVersions.put(row, current[version - 1]);
+            changed.set(version - 1);
+        }
+        updateStatement(pass, row, current, changed, keyValues(original), checked);
+    }
+
+    private void updateStatement(Pass pass, int row, Object[] rowValues, BitSet changed,
+                                 Object[] keyValues, Object versionValue)
+            throws SQLException {
+        if (changed.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("UPDATE ").append(table).append(" SET ");
+        List<Object> values = new ArrayList<>();
+        List<Integer> types = new ArrayList<>();
+        for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+            sql.append(values.isEmpty() ? "" : ", ").append(md.getColumnName(i + 1))
+               .append(" = ?");
+            values.add(rowValues[i]);
+            types.add(md.getColumnType(i + 1));
+        }
+        where(sql, values, types, keyValues, true, versionValue);
+        add(pass.updates, sql.toString(), values, types, row);
+    }
+
+    private ResultSet originalRow() throws SQLException {
+        ResultSet original = caller.getOriginalRow();
+        if (!original.next()) {
+            throw new SQLException("No original values for the current row");
+        }
+        return original;
+    }
+
+    private Object[] values(ResultSet rs) throws SQLException {
+        Object[] values = new Object[md.getColumnCount()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rs.getObject(i + 1);
+        }
+        return values;
+    }
+
+    /** Columns changed by the application; the version column is the writer's */
+    private BitSet changedColumns() throws SQLException {
+        BitSet changed = new BitSet();
+        for (int i = 1; i <= md.getColumnCount(); i++) {
+            if (i != version && crs.columnUpdated(i)) {
+                changed.set(i - 1);
+            }
+        }
+        return changed;
+    }
+
+    private Object[] keyValues(Object[] rowValues) {
+        Object[] values = new Object[keys.length];
+        for (int k = 0; k < keys.length; k++) {
+            values[k] = rowValues[keys[k] - 1];
+        }
+        return values;
+    }
+
+    /** Version that the database row must still have, if there is a version column */
+    private Object checkedVersion(Object[] original) {
+        if (version == 0) {
+            return null;
+        }
+        List<Object> key = Arrays.asList(keyValues(original));
+        return resolvedVersions.containsKey(key)
+            ? resolvedVersions.get(key) : original[version - 1];
+    }
+
+    /** Identifies the row by its key values and, if checked, its version */
+    private void where(StringBuilder sql, List<Object> values, List<Integer> types,
+                       Object[] keyValues, boolean checkVersion, Object versionValue)
+            throws SQLException {
+        sql.append(" WHERE ");
+        int count = keys.length + (checkVersion && version > 0 ? 1 : 0);
+        for (int k = 0; k < count; k++) {
+            int column = k < keys.length ? keys[k] : version;
+            Object value = k < keys.length ? keyValues[k] : versionValue;
+            sql.append(k > 0 ? " AND " : "").append(md.getColumnName(column));
+            if (value == null) {
+                sql.append(" IS NULL");
+            } else {
+                sql.append(" = ?");
+                values.add(value);
+                types.add(md.getColumnType(column));
+            }
+        }
+    }
+
+    /**
+     * Returns a version value greater than current. Timestamps are the
+     * current time cut to the fractional digits the column keeps (scale;
+     * whole seconds if 0), so that the value read back from the database
+     * is the one written; a clock that has not moved past current gives
+     * current plus one such unit.
+     */
+    static Object nextVersion(Object current, int sqlType, int scale) throws SQLException {
+        switch (sqlType) {
+        case Types.TIMESTAMP:
+        case Types.TIMESTAMP_WITH_TIMEZONE:
+            long unit = NANOS_PER_SECOND;
+            for (int digits = Math.min(scale, 9); digits > 0; digits--) {
+                unit /= 10;
+            }
+            long next = System.currentTimeMillis() * 1000000L;
+            next -= Math.floorMod(next, unit);
+            if (current instanceof java.util.Date) {
+                long currentNanos = current instanceof Timestamp
+                    ? Math.floorDiv(((Timestamp) current).getTime(), 1000) * NANOS_PER_SECOND
+                      + ((Timestamp) current).getNanos()
+                    : ((java.util.Date) current).getTime() * 1000000L;
+                if (next <= currentNanos) {
+                    next = currentNanos - Math.floorMod(currentNanos, unit) + unit;
+                }
+            }
+            Timestamp timestamp = new Timestamp(Math.floorDiv(next, NANOS_PER_SECOND) * 1000);
+            timestamp.setNanos((int) Math.floorMod(next, NANOS_PER_SECOND));
+            return timestamp;
+        case Types.DATE:
+            LocalDate today = LocalDate.now();
+            if (current instanceof java.util.Date) {
+                LocalDate currentDate =
+                    new Date(((java.util.Date) current).getTime()).toLocalDate();
+                if (!today.isAfter(currentDate)) {
+                    today = currentDate.plusDays(1);
+                }
+            }
+            return Date.valueOf(today);
+        case Types.DECIMAL:
+        case Types.NUMERIC:
+            return current == null ? BigDecimal.ONE
+                                   : ColumnValues.toBigDecimal(current).add(BigDecimal.ONE);
+        case Types.TINYINT:
+        case Types.SMALLINT:
+        case Types.INTEGER:
+            return current == null ? 1 : ColumnValues.toInt(current) + 1;
+        case Types.BIGINT:
+            return current == null ? 1L : ColumnValues.toLong(current) + 1;
+        default:
+            throw new SQLException("Version columns must be numbers, dates or timestamps");
+        }
+    }
+
+    private static void add(Map<String, Statements> statements, String sql,
+                            List<Object> values, List<Integer> types, int row) {
+        Statements s = statements.get(sql);
+        if (s == null) {
+            int[] t = new int[types.size()];
+            for (int i = 0; i < t.length; i++) {
+                t[i] = types.get(i);
+            }
+            s = new Statements(t);
+            statements.put(sql, s);
+        }
+        s.params.add(values.toArray());
+        s.rows.add(row);
+    }
+
+    private void execute(Pass pass) throws SQLException {
+        execute(pass.deletes, true);
+        execute(pass.updates, true);
+        execute(pass.inserts, false);
+    }
+
+    private void execute(Map<String, Statements> statements, boolean checkCounts)
+            throws SQLException {
+        for (Map.Entry<String, Statements> e : statements.entrySet()) {
+            Statements s = e.getValue();
+            try (PreparedStatement ps = con.prepareStatement(e.getKey())) {
+                int start = 0;
+                for (int r = 0; r < s.params.size(); r++) {
+                    Object[] values = s.params.get(r);
+                    for (int i = 0; i < values.length; i++) {
+                        if (values[i] == null) {
+                            ps.setNull(i + 1, s.types[i]);
+                        } else {
+                            ps.setObject(i + 1, values[i]);
+                        }
+                    }
+                    ps.addBatch();
+                    if (r - start + 1 == batchSize || r == s.params.size() - 1) {
+                        int[] counts = ps.executeBatch();
+                        for (int c = 0; checkCounts && c < counts.length; c++) {
+                            // SUCCESS_NO_INFO (-2) says nothing either way.
+                            if (counts[c] == 0) {
+                                conflictRows.add(s.rows.get(start + c));
+                            }
+                        }
+                        start = r + 1;
+                    }
+                }
+            }
+        }
+    }
+
+    // Conflicts
+
+    /**
+     * Reads the conflicting rows from the database, applies the policy to
+     * them and writes the outcome. Returns null if every conflict was
+     * resolved, or a resolver for the ones that were not.
+     */
+    private RowSetSyncResolver resolveConflicts(int rows) throws SQLException {
+        int[] conflicts = conflictRows.toArray();
+        HashMap<Integer, Object[]> serverRows = new HashMap<>();
+        IntList unresolved = new IntList(4);
+        Pass pass = new Pass();
+        for (int row : conflicts) {
+            // The policy decides the row's values, version included.
+            newVersions.remove(row);
+            crs.absolute(row);
+            Object[] original = values(originalRow());
+            boolean deleted = crs.rowDeleted();
+            Object[] client = deleted ? null : values(crs);
+            Object[] server = readServerRow(keyValues(original));
+            serverRows.put(row, server);
+            Object[] resolved = policy == null ? ConflictPolicy.UNRESOLVED
+                : policy.resolve(original, client, server, changedColumns());
+            if (resolved == ConflictPolicy.UNRESOLVED) {
+                unresolved.addSorted(row);
+            } else {
+                apply(pass, row, original, client, server, resolved);
+            }
+        }
+        conflictRows = new IntList(4);
+        execute(pass);
+        for (int i = 0; i < conflictRows.size(); i++) {
+            // Changed again since it was read a moment ago
+            serverRows.remove(conflictRows.get(i));
+            unresolved.addSorted(conflictRows.get(i));
+        }
+        conflictRows = unresolved;
+        if (unresolved.isEmpty()) {
+            return null;
+        }
+
+        RowSetSyncResolver resolver = new RowSetSyncResolver(crs, this);
+        resolver.setMetaData((RowSetMetaData) md);
+        Object[] none = new Object[md.getColumnCount()];
+        int next = 0;
+        for (int row = 1; row <= rows; row++) {
+            if (next < unresolved.size() && unresolved.get(next) == row) {
+                next++;
+                crs.absolute(row);
+                Object[] original = values(originalRow());
+                Object[] server = serverRows.containsKey(row)
+                    ? serverRows.get(row) : readServerRow(keyValues(original));
+                int status = crs.rowDeleted() ? SyncResolver.DELETE_ROW_CONFLICT
+                                              : SyncResolver.UPDATE_ROW_CONFLICT;
+                if (server == null) {
+                    resolver.addConflict(conflictValues(original, null), status, null, null);
+                } else {
+                    resolver.addConflict(conflictValues(original, server), status,
+                                         Arrays.asList(keyValues(original)),
+                                         version == 0 ? null : server[version - 1]);
+                }
+            } else {
+                resolver.addConflict(none, SyncResolver.NO_ROW_CONFLICT, null, null);
+            }
+        }
+        resolver.beforeFirst();
+        return resolver;
+    }
+
+    /** Database values that differ from the original ones, null elsewhere */
+    static Object[] conflictValues(Object[] original, Object[] server) {
+        Object[] values = new Object[original.length];
+        if (server != null) {
+            for (int i = 0; i < values.length; i++) {
+                if (!sameValue(original[i], server[i])) {
+                    values[i] = server[i];
+                }
+            }
+        }
+        return values;
+    }
+
+    static boolean sameValue(Object a, Object b) {
+        if (a instanceof BigDecimal && b instanceof BigDecimal) {
+            return ((BigDecimal) a).compareTo((BigDecimal) b) == 0;
+        }
+        return Objects.equals(a, b);
+    }
+
+    private Object[] readServerRow(Object[] keyValues) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 1; i <= md.getColumnCount(); i++) {
+            sql.append(i > 1 ? ", " : "").append(md.getColumnName(i));
+        }
+        sql.append(" FROM ").append(table);
+        List<Object> values = new ArrayList<>();
+        List<Integer> types = new ArrayList<>();
+        where(sql, values, types, keyValues, false, null);
+        try (PreparedStatement ps = con.prepareStatement(sql.toString())) {
+            for (int i = 0; i < values.size(); i++) {
+                ps.setObject(i + 1, values.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? values(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * Writes the outcome chosen by the policy, checked against the version
+     * just read, and makes the row set agree with it.
+     */
+    private void apply(Pass pass, int row, Object[] original, Object[] client,
+                       Object[] server, Object[] resolved) throws SQLException {
+        Object serverVersion = server == null || version == 0 ? null : server[version - 1];
+        Object[] keyValues = keyValues(original);
+        if (resolved == null) {
+            if (server != null) {
+                deleteStatement(pass, row, keyValues, serverVersion);
+            }
+            if (client != null) {
+                crs.deleteRow();
+            }
+            return;
+        }
+        Object[] target = resolved.clone();
+        BitSet changed = new BitSet();
+        if (server == null) {
+            if (version > 0) {
+                target[version - 1] = nextVersion(original[version - 1],
+                                                  md.getColumnType(version),
+                                                  md.getScale(version));
+            }
+            insertStatement(pass, row, target);
+        } else {
+            for (int i = 0; i < target.length; i++) {
+                if (i != version - 1 && !sameValue(target[i], server[i])) {
+                    changed.set(i);
+                }
+            }
+            if (version > 0) {
+                target[version - 1] = serverVersion;
+            }
+            if (!changed.isEmpty() && version > 0) {
+                target[version - 1] = nextVersion(serverVersion, md.getColumnType(version),
+                                                  md.getScale(version));
+                changed.set(version - 1);
+            }
+            updateStatement(pass, row, target, changed, keyValues, serverVersion);
+        }
+        if (client == null) {
+            crs.undoDelete();
+            client = values(crs);
+        }
+        boolean updated = false;
+        for (int i = 0; i < target.length; i++) {
+            if (!sameValue(target[i], client[i])) {
+                crs.updateObject(i + 1, target[i]);
+                updated = true;
+            }
+        }
+        if (updated) {
+            crs.updateRow();
+        }
+    }
+
+    public void commit() throws SQLException {
+        if (con != null) {
+            try {
+                con.commit();
+                applyNewVersions();
+            } finally {
+                finish();
+            }
+        }
+    }
+
+    public void rollback() throws SQLException {
+        newVersions.clear();
+        written = null;
+        if (con != null) {
+            con.rollback();
+            finish();
+        }
+    }
+
+    /** Puts the versions written by the committed updates in the row set */
+    private void applyNewVersions() throws SQLException {
+        CachedRowSet rs = written;
+        written = null;
+        if (rs == null || newVersions.isEmpty()) {
+            return;
+        }
+        boolean showDeleted = rs.getShowDeleted();
+        rs.setShowDeleted(true);
+        int savedRow = rs.getRow();
+        try {
+            for (Map.Entry<Integer, Object> e : newVersions.entrySet()) {
+                rs.absolute(e.getKey());
+                rs.updateObject(version, e.getValue());
+                rs.updateRow();
+            }
+        } finally {
+            newVersions.clear();
+            if (savedRow > 0) {
+                rs.absolute(savedRow);
+            } else {
+                rs.beforeFirst();
+            }
+            rs.setShowDeleted(showDeleted);
+        }
+    }
+
+    public void rollback(Savepoint s) throws SQLException {
+        if (con != null) {
+            con.rollback(s);
+        }
+    }
+
+    private void finish() throws SQLException {
+        try {
+            if (restoreAutoCommit) {
+                con.setAutoCommit(true);
+            }
+            if (closeConnection) {
+                con.close();
+            }
+        } finally {
+            con = null;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.sql.SQLException;
+
+import javax.sql.RowSetReader;
+import javax.sql.RowSetWriter;
+import javax.sql.rowset.spi.SyncFactory;
+import javax.sql.rowset.spi.SyncProvider;
+import javax.sql.rowset.spi.SyncProviderException;
+
+/**
+ * A SyncProvider whose writer sends the changes of a row set to the database
+ * in JDBC batches: one batch per kind of statement instead of one round trip
+ * per changed row. Rows are identified by the row set's key columns alone,
+ * plus an optional version column, rather than by every original value.
+ * <p>
+ * Register the provider once, then select it for a row set:
+ * <pre>
+ * BatchedSyncProvider.register();
+ * crs.setSyncProvider(BatchedSyncProvider.PROVIDER_ID);
+ * BatchedSyncProvider provider = (BatchedSyncProvider) crs.getSyncProvider();
+ * provider.setVersionColumn("DATE_VAL");
+ * provider.setConflictPolicy(ConflictPolicy.MERGE);
+ * </pre>
+ * Rows are read with the reader of the reference provider.
+ */
+public class BatchedSyncProvider extends SyncProvider {
+
+    public static final String PROVIDER_ID = "com.oracle.tutorial.jdbc.BatchedSyncProvider";
+
+    private static boolean registered;
+
+    private final BatchedRowSetWriter writer = new BatchedRowSetWriter();
+    private RowSetReader reader;
+
+    /** Makes the provider known to SyncFactory; safe to call more than once */
+    public static synchronized void register() throws SQLException {
+        if (!registered) {
+            SyncFactory.registerProvider(PROVIDER_ID);
+            registered = true;
+        }
+    }
+
+    /**
+     * Column that the database changes whenever a row changes, such as a
+     * counter or a last-modified timestamp, or null to identify rows by the
+     * key columns only. The writer gives every row it updates a new value
+     * in this column: the old value plus one, or the current time for date
+     * and time columns.
+     */
+    public void setVersionColumn(String columnName) {
+        writer.setVersionColumn(columnName);
+    }
+
+    public String getVersionColumn() {
+        return writer.getVersionColumn();
+    }
+
+    /**
+     * Decides the rows that changed in the database since they were read;
+     * null, the default, leaves every conflict to the application.
+     */
+    public void setConflictPolicy(ConflictPolicy policy) {
+        writer.setConflictPolicy(policy);
+    }
+
+    public ConflictPolicy getConflictPolicy() {
+        return writer.getConflictPolicy();
+    }
+
+    /** Maximum number of rows sent in one batch; 1000 by default */
+    public void setBatchSize(int rows) {
+        if (rows < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        writer.setBatchSize(rows);
+    }
+
+    /** Rows that could not be written by the last synchronization */
+    public int[] getConflictRows() {
+        return writer.getConflictRows();
+    }
+
+    public String getProviderID() {
+        return PROVIDER_ID;
+    }
+
+    public RowSetReader getRowSetReader() {
+        if (reader == null) {
+            try {
+                reader = SyncFactory.getInstance(ColumnarCachedRowSet.DEFAULT_PROVIDER)
+                                    .getRowSetReader();
+            } catch (SQLException e) {
+                JDBCTutorialUtilities.printSQLException(e);
+            }
+        }
+        return reader;
+    }
+
+    public RowSetWriter getRowSetWriter() {
+        return writer;
+    }
+
+    public int getProviderGrade() {
+        return SyncProvider.GRADE_CHECK_MODIFIED_AT_COMMIT;
+    }
+
+    public void setDataSourceLock(int datasource_lock) throws SyncProviderException {
+        if (datasource_lock != SyncProvider.DATASOURCE_NO_LOCK) {
+            throw new SyncProviderException("Only DATASOURCE_NO_LOCK is supported");
+        }
+    }
+
+    public int getDataSourceLock() throws SyncProviderException {
+        return SyncProvider.DATASOURCE_NO_LOCK;
+    }
+
+    public int supportsUpdatableView() {
+        return SyncProvider.NONUPDATABLE_VIEW_SYNC;
+    }
+
+    public String getVersion() {
+        return "1.0";
+    }
+
+    public String getVendor() {
+        return "JDBC Tutorial";
+    }
+}
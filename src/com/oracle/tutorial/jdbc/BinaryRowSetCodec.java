@@ -0,0 +1,1036 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+
+/**
+ * Compact binary alternative to the WebRowSet XML format. A stream is a
+ * header with the properties and metadata of the row set, followed by
+ * blocks of up to BLOCK_ROWS rows stored column by column: integers and
+ * dates as zigzag varint deltas, decimals as varint unscaled values at a
+ * common scale, and strings as references into a dictionary shared by the
+ * whole stream. Blocks can be deflated. Rows keep the same inserted,
+ * deleted and updated state as in the XML format, and are read back
+ * through the same WebRowSetStreamCodec.RowHandler.
+ * <p>
+ * Decimals come back at the largest scale of their block, so 7.9 and
+ * 7.99 in the same block are read as 7.90 and 7.99.
+ */
+public class BinaryRowSetCodec {
+
+    static final int BLOCK_ROWS = 4096;
+
+    private static final int MAGIC = 0x4A525331;
+    private static final int VERSION = 2;
+    private static final int FLAG_COMPRESSED = 1;
+    private static final int MAX_DICTIONARY = 1 << 16;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int INT = 0;
+    private static final int LONG = 1;
+    private static final int FLOAT = 2;
+    private static final int DOUBLE = 3;
+    private static final int DECIMAL = 4;
+    private static final int BOOLEAN = 5;
+    private static final int DATE = 6;
+    private static final int TIME = 7;
+    private static final int TIMESTAMP = 8;
+    private static final int BYTES = 9;
+    private static final int STRING = 10;
+
+    // Dictionary codes; codes from FIRST_ENTRY on are entry + FIRST_ENTRY
+    private static final int LITERAL = 0;
+    private static final int NEW_ENTRY = 1;
+    private static final int FIRST_ENTRY = 2;
+
+    private static final int SCALED_DECIMALS = 0;
+    private static final int TEXT_DECIMALS = 1;
+
+    private final boolean compress;
+
+    public BinaryRowSetCodec() {
+        this(false);
+    }
+
+    public BinaryRowSetCodec(boolean compressArg) {
+        this.compress = compressArg;
+    }
+
+    // Writing
+
+    /** Writes rs to file, replacing it; returns the number of rows written */
+    public long write(ResultSet rs, Path file) throws SQLException, IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return write(rs, channel);
+        }
+    }
+
+    /**
+     * Writes the rows of rs from its current position to channel, which is
+     * left open. A CachedRowSet is written from its first row, including
+     * deleted rows and the original values of updated columns.
+     */
+    public long write(ResultSet rs, WritableByteChannel channel)
+            throws SQLException, IOException {
+        return write(rs, channel, false);
+    }
+
+    /**
+     * Writes only the inserted, deleted and updated rows of crs to file,
+     * replacing it. RowSetDeltaApplier applies them to another copy.
+     */
+    public long writeChanges(CachedRowSet crs, Path file) throws SQLException, IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return writeChanges(crs, channel);
+        }
+    }
+
+    public long writeChanges(CachedRowSet crs, WritableByteChannel channel)
+            throws SQLException, IOException {
+        return write(crs, channel, true);
+    }
+
+    private long write(ResultSet rs, WritableByteChannel channel, boolean changesOnly)
+            throws SQLException, IOException {
+        OutputStream out = new BufferedOutputStream(
+            Channels.newOutputStream(channel), BUFFER_SIZE);
+        ResultSetMetaData md = rs.getMetaData();
+        CachedRowSet crs = rs instanceof CachedRowSet ? (CachedRowSet) rs : null;
+        ByteWriter buffer = new ByteWriter(BUFFER_SIZE);
+        writeHeader(buffer, crs, md);
+        buffer.writeTo(out);
+
+        BlockWriter block = new BlockWriter(encodings(md));
+        Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        boolean showDeleted = crs != null && crs.getShowDeleted();
+        long rows = 0;
+        try {
+            if (crs != null) {
+                crs.setShowDeleted(true);
+                crs.beforeFirst();
+            }
+            while (rs.next()) {
+                if (changesOnly && !crs.rowInserted() && !crs.rowDeleted()
+                        && !crs.rowUpdated()) {
+                    continue;
+                }
+                block.add(rs, crs);
+                rows++;
+                if (block.rows == BLOCK_ROWS) {
+                    writeBlock(out, block, buffer, deflater);
+                }
+            }
+            if (block.rows > 0) {
+                writeBlock(out, block, buffer, deflater);
+            }
+        } finally {
+            if (crs != null) {
+                crs.setShowDeleted(showDeleted);
+                crs.beforeFirst();
+            }
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+        buffer.clear();
+        buffer.writeVarint(0);
+        buffer.writeTo(out);
+        out.flush();
+        return rows;
+    }
+
+    private void writeHeader(ByteWriter out, CachedRowSet crs, ResultSetMetaData md)
+            throws SQLException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(compress ? FLAG_COMPRESSED : 0);
+        Properties properties = new Properties();
+        if (crs != null) {
+            if (crs.getCommand() != null) {
+                properties.setProperty("command", crs.getCommand());
+            }
+            if (crs.getTableName() != null) {
+                properties.setProperty("table-name", crs.getTableName());
+            }
+            int[] keys = crs.getKeyColumns();
+            if (keys != null && keys.length > 0) {
+                StringBuilder joined = new StringBuilder();
+                for (int key : keys) {
+                    joined.append(joined.length() == 0 ? "" : ",").append(key);
+                }
+                properties.setProperty("key-columns", joined.toString());
+            }
+        }
+        out.writeVarint(properties.size());
+        for (String name : properties.stringPropertyNames()) {
+            out.writeString(name);
+            out.writeString(properties.getProperty(name));
+        }
+        out.writeVarint(md.getColumnCount());
+        for (int i = 1; i <= md.getColumnCount(); i++) {
+            out.writeZigzag(md.getColumnType(i));
+            out.writeString(md.getColumnName(i));
+            out.writeString(md.getColumnLabel(i));
+            out.writeString(md.getColumnTypeName(i));
+            out.writeString(md.getTableName(i));
+            out.writeString(md.getSchemaName(i));
+            out.writeString(md.getCatalogName(i));
+            out.writeZigzag(md.getPrecision(i));
+            out.writeZigzag(md.getScale(i));
+            out.writeZigzag(md.getColumnDisplaySize(i));
+            out.writeZigzag(md.isNullable(i));
+            out.writeByte((md.isAutoIncrement(i) ? 1 : 0)
+                          | (md.isCaseSensitive(i) ? 2 : 0)
+                          | (md.isCurrency(i) ? 4 : 0)
+                          | (md.isSigned(i) ? 8 : 0)
+                          | (md.isSearchable(i) ? 16 : 0));
+        }
+    }
+
+    private static void writeBlock(OutputStream out, BlockWriter block, ByteWriter payload,
+                                   Deflater deflater) throws IOException {
+        payload.clear();
+        block.encode(payload);
+        ByteWriter frame = new ByteWriter(16);
+        frame.writeVarint(block.rows);
+        frame.writeVarint(payload.size);
+        if (deflater == null) {
+            frame.writeTo(out);
+            payload.writeTo(out);
+        } else {
+            deflater.reset();
+            deflater.setInput(payload.bytes, 0, payload.size);
+            deflater.finish();
+            byte[] compressed = new byte[payload.size + 64];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            frame.writeVarint(length);
+            frame.writeTo(out);
+            out.write(compressed, 0, length);
+        }
+        block.clear();
+    }
+
+    private static int[] encodings(ResultSetMetaData md) throws SQLException {
+        int[] encodings = new int[md.getColumnCount()];
+        for (int i = 0; i < encodings.length; i++) {
+            encodings[i] = encoding(md.getColumnType(i + 1));
+        }
+        return encodings;
+    }
+
+    private static int encoding(int sqlType) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return INT;
+            case Types.BIGINT:
+                return LONG;
+            case Types.REAL:
+                return FLOAT;
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return DOUBLE;
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return DECIMAL;
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return BOOLEAN;
+            case Types.DATE:
+                return DATE;
+            case Types.TIME:
+                return TIME;
+            case Types.TIMESTAMP:
+                return TIMESTAMP;
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                return BYTES;
+            default:
+                return STRING;
+        }
+    }
+
+    private static Object value(ResultSet rs, int column, int encoding) throws SQLException {
+        Object value;
+        switch (encoding) {
+            case INT:
+                value = rs.getInt(column);
+                break;
+            case LONG:
+                value = rs.getLong(column);
+                break;
+            case FLOAT:
+                value = rs.getFloat(column);
+                break;
+            case DOUBLE:
+                value = rs.getDouble(column);
+                break;
+            case DECIMAL:
+                return rs.getBigDecimal(column);
+            case BOOLEAN:
+                value = rs.getBoolean(column);
+                break;
+            case DATE:
+                return rs.getDate(column);
+            case TIME:
+                return rs.getTime(column);
+            case TIMESTAMP:
+                return rs.getTimestamp(column);
+            case BYTES:
+                return rs.getBytes(column);
+            default:
+                return rs.getString(column);
+        }
+        return rs.wasNull() ? null : value;
+    }
+
+    /** Collects up to BLOCK_ROWS rows and encodes them column by column */
+    private static final class BlockWriter {
+
+        private final int[] encodings;
+        private final Object[][] values;
+        private final Object[][] updates;
+        private final BitSet[] updated;
+        private final byte[] kinds = new byte[BLOCK_ROWS];
+        private final List<Map<String, Integer>> dictionaries = new ArrayList<>();
+        private final int[] updatedRows = new int[BLOCK_ROWS];
+        int rows;
+
+        BlockWriter(int[] encodingsArg) {
+            this.encodings = encodingsArg;
+            this.values = new Object[encodings.length][BLOCK_ROWS];
+            this.updates = new Object[encodings.length][BLOCK_ROWS];
+            this.updated = new BitSet[encodings.length];
+            for (int i = 0; i < encodings.length; i++) {
+                updated[i] = new BitSet(BLOCK_ROWS);
+                dictionaries.add(new HashMap<String, Integer>());
+            }
+        }
+
+        void add(ResultSet rs, CachedRowSet crs) throws SQLException {
+            int kind = WebRowSetStreamCodec.CURRENT_ROW;
+            ResultSet original = null;
+            if (crs != null) {
+                if (crs.rowDeleted()) {
+                    kind = crs.rowInserted()
+                        ? WebRowSetStreamCodec.MODIFY_ROW : WebRowSetStreamCodec.DELETE_ROW;
+                } else if (crs.rowInserted()) {
+                    kind = WebRowSetStreamCodec.INSERT_ROW;
+                }
+                if (crs.rowUpdated()) {
+                    original = crs.getOriginalRow();
+                    original.next();
+                }
+            }
+            kinds[rows] = (byte) kind;
+            for (int i = 0; i < encodings.length; i++) {
+                if (original != null && crs.columnUpdated(i + 1)) {
+                    values[i][rows] = value(original, i + 1, encodings[i]);
+                    updates[i][rows] = value(rs, i + 1, encodings[i]);
+                    updated[i].set(rows);
+                } else {
+                    values[i][rows] = value(rs, i + 1, encodings[i]);
+                }
+            }
+            rows++;
+        }
+
+        void encode(ByteWriter out) {
+            boolean allCurrent = true;
+            for (int row = 0; row < rows; row++) {
+                allCurrent &= kinds[row] == WebRowSetStreamCodec.CURRENT_ROW;
+            }
+            out.writeByte(allCurrent ? 0 : 1);
+            if (!allCurrent) {
+                out.writeBytes(kinds, 0, rows);
+            }
+            for (int i = 0; i < encodings.length; i++) {
+                encodeValues(out, i, values[i], null, rows);
+                if (updated[i].isEmpty()) {
+                    out.writeByte(0);
+                } else {
+                    out.writeByte(1);
+                    out.writeBitmap(updated[i], rows);
+                    int count = 0;
+                    for (int row = updated[i].nextSetBit(0); row >= 0;
+                             row = updated[i].nextSetBit(row + 1)) {
+                        updatedRows[count++] = row;
+                    }
+                    encodeValues(out, i, updates[i], updatedRows, count);
+                }
+            }
+        }
+
+        /** Encodes the values at the given rows, or the first count rows if rows is null */
+        private void encodeValues(ByteWriter out, int column, Object[] columnValues,
+                                  int[] rowIndexes, int count) {
+            BitSet nulls = new BitSet(count);
+            for (int j = 0; j < count; j++) {
+                if (columnValues[rowIndexes == null ? j : rowIndexes[j]] == null) {
+                    nulls.set(j);
+                }
+            }
+            if (nulls.isEmpty()) {
+                out.writeByte(0);
+            } else {
+                out.writeByte(1);
+                out.writeBitmap(nulls, count);
+            }
+            int encoding = encodings[column];
+            int scale = 0;
+            if (encoding == DECIMAL) {
+                scale = decimalScale(columnValues, rowIndexes, count);
+                out.writeByte(scale < 0 ? TEXT_DECIMALS : SCALED_DECIMALS);
+                if (scale >= 0) {
+                    out.writeVarint(scale);
+                }
+            }
+            long previous = 0;
+            for (int j = 0; j < count; j++) {
+                Object value = columnValues[rowIndexes == null ? j : rowIndexes[j]];
+                if (value == null) {
+                    continue;
+                }
+                switch (encoding) {
+                    case INT:
+                    case LONG:
+                        long l = ((Number) value).longValue();
+                        out.writeZigzag(l - previous);
+                        previous = l;
+                        break;
+                    case FLOAT:
+                        out.writeInt(Float.floatToIntBits((Float) value));
+                        break;
+                    case DOUBLE:
+                        out.writeLong(Double.doubleToLongBits((Double) value));
+                        break;
+                    case DECIMAL:
+                        BigDecimal decimal = (BigDecimal) value;
+                        if (scale >= 0) {
+                            out.writeZigzag(decimal.setScale(scale).unscaledValue().longValue());
+                        } else {
+                            out.writeString(decimal.toString());
+                        }
+                        break;
+                    case BOOLEAN:
+                        out.writeByte((Boolean) value ? 1 : 0);
+                        break;
+                    case DATE:
+                    case TIME:
+                    case TIMESTAMP:
+                        long millis = ((java.util.Date) value).getTime();
+                        out.writeZigzag(millis - previous);
+                        previous = millis;
+                        if (encoding == TIMESTAMP) {
+                            out.writeVarint(((java.sql.Timestamp) value).getNanos() % 1000000);
+                        }
+                        break;
+                    case BYTES:
+                        byte[] bytes = (byte[]) value;
+                        out.writeVarint(bytes.length);
+                        out.writeBytes(bytes, 0, bytes.length);
+                        break;
+                    default:
+                        writeDictionaryString(out, dictionaries.get(column), (String) value);
+                }
+            }
+        }
+
+        /**
+         * Returns the largest scale of the decimals, or -1 if some cannot
+         * be stored as a long at that scale.
+         */
+        private static int decimalScale(Object[] columnValues, int[] rowIndexes, int count) {
+            int scale = 0;
+            for (int j = 0; j < count; j++) {
+                BigDecimal value = (BigDecimal) columnValues[rowIndexes == null ? j : rowIndexes[j]];
+                if (value != null) {
+                    scale = Math.max(scale, value.scale());
+                }
+            }
+            for (int j = 0; j < count; j++) {
+                BigDecimal value = (BigDecimal) columnValues[rowIndexes == null ? j : rowIndexes[j]];
+                if (value != null) {
+                    BigInteger unscaled = value.setScale(scale).unscaledValue();
+                    if (unscaled.bitLength() > 63) {
+                        return -1;
+                    }
+                }
+            }
+            return scale;
+        }
+
+        private static void writeDictionaryString(ByteWriter out, Map<String, Integer> dictionary,
+                                                  String value) {
+            Integer entry = dictionary.get(value);
+            if (entry != null) {
+                out.writeVarint(entry + FIRST_ENTRY);
+            } else if (dictionary.size() < MAX_DICTIONARY) {
+                dictionary.put(value, dictionary.size());
+                out.writeVarint(NEW_ENTRY);
+                out.writeString(value);
+            } else {
+                out.writeVarint(LITERAL);
+                out.writeString(value);
+            }
+        }
+
+        void clear() {
+            for (int i = 0; i < encodings.length; i++) {
+                Arrays.fill(values[i], 0, rows, null);
+                Arrays.fill(updates[i], 0, rows, null);
+                updated[i].clear();
+            }
+            rows = 0;
+        }
+    }
+
+    // Reading
+
+    /** Reads file, passing its rows to handler; returns the number of rows */
+    public long read(Path file, WebRowSetStreamCodec.RowHandler handler)
+            throws SQLException, IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel, handler);
+        }
+    }
+
+    /**
+     * Reads file into target, which should be empty. Rows keep their
+     * inserted, deleted and updated state.
+     */
+    public long read(Path file, CachedRowSet target) throws SQLException, IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel, target);
+        }
+    }
+
+    public long read(ReadableByteChannel channel, CachedRowSet target)
+            throws SQLException, IOException {
+        boolean showDeleted = target.getShowDeleted();
+        target.setShowDeleted(true);
+        try {
+            long rows = read(channel, new WebRowSetStreamCodec.RowSetLoader(target));
+            target.beforeFirst();
+            return rows;
+        } finally {
+            target.setShowDeleted(showDeleted);
+        }
+    }
+
+    /** Reads a stream from channel, which is left open */
+    public long read(ReadableByteChannel channel, WebRowSetStreamCodec.RowHandler handler)
+            throws SQLException, IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+            Channels.newInputStream(channel), BUFFER_SIZE));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a binary row set stream");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary row set version " + version);
+        }
+        boolean compressed = (in.readUnsignedByte() & FLAG_COMPRESSED) != 0;
+        Properties properties = new Properties();
+        int count = readVarint(in);
+        for (int i = 0; i < count; i++) {
+            properties.setProperty(readString(in), readString(in));
+        }
+        RowSetMetaDataImpl md = readMetaData(in);
+        handler.start(md, properties);
+
+        BlockReader block = new BlockReader(encodings(md));
+        Inflater inflater = compressed ? new Inflater() : null;
+        byte[] stored = new byte[0];
+        byte[] raw = new byte[0];
+        long rows = 0;
+        try {
+            int blockRows;
+            while ((blockRows = readVarint(in)) > 0) {
+                int rawLength = readVarint(in);
+                int storedLength = compressed ? readVarint(in) : rawLength;
+                if (stored.length < storedLength) {
+                    stored = new byte[storedLength];
+                }
+                in.readFully(stored, 0, storedLength);
+                ByteReader payload;
+                if (compressed) {
+                    if (raw.length < rawLength) {
+                        raw = new byte[rawLength];
+                    }
+                    inflater.reset();
+                    inflater.setInput(stored, 0, storedLength);
+                    if (inflater.inflate(raw, 0, rawLength) != rawLength) {
+                        throw new IOException("Truncated binary row set block");
+                    }
+                    payload = new ByteReader(raw, rawLength);
+                } else {
+                    payload = new ByteReader(stored, rawLength);
+                }
+                block.decode(payload, blockRows);
+                block.deliver(handler);
+                rows += blockRows;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt binary row set block: " + e.getMessage(), e);
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+        return rows;
+    }
+
+    private static RowSetMetaDataImpl readMetaData(DataInputStream in)
+            throws IOException, SQLException {
+        RowSetMetaDataImpl md = new RowSetMetaDataImpl();
+        int columns = readVarint(in);
+        md.setColumnCount(columns);
+        for (int i = 1; i <= columns; i++) {
+            md.setColumnType(i, (int) readZigzag(in));
+            md.setColumnName(i, readString(in));
+            md.setColumnLabel(i, readString(in));
+            md.setColumnTypeName(i, readString(in));
+            md.setTableName(i, readString(in));
+            md.setSchemaName(i, readString(in));
+            md.setCatalogName(i, readString(in));
+            md.setPrecision(i, (int) readZigzag(in));
+            md.setScale(i, (int) readZigzag(in));
+            md.setColumnDisplaySize(i, (int) readZigzag(in));
+            md.setNullable(i, (int) readZigzag(in));
+            int flags = in.readUnsignedByte();
+            md.setAutoIncrement(i, (flags & 1) != 0);
+            md.setCaseSensitive(i, (flags & 2) != 0);
+            md.setCurrency(i, (flags & 4) != 0);
+            md.setSigned(i, (flags & 8) != 0);
+            md.setSearchable(i, (flags & 16) != 0);
+        }
+        return md;
+    }
+
+    /** Decodes blocks and hands their rows over one at a time */
+    private static final class BlockReader {
+
+        private final int[] encodings;
+        private final Object[][] values;
+        private final Object[][] updates;
+        private final BitSet[] updated;
+        private final byte[] kinds = new byte[BLOCK_ROWS];
+        private final List<List<String>> dictionaries = new ArrayList<>();
+        private final int[] updatedRows = new int[BLOCK_ROWS];
+        private final Object[] rowValues;
+        private final Object[] rowUpdates;
+        private final BitSet rowUpdated = new BitSet();
+        private int rows;
+
+        BlockReader(int[] encodingsArg) {
+            this.encodings = encodingsArg;
+            this.values = new Object[encodings.length][BLOCK_ROWS];
+            this.updates = new Object[encodings.length][BLOCK_ROWS];
+            this.updated = new BitSet[encodings.length];
+            for (int i = 0; i < encodings.length; i++) {
+                updated[i] = new BitSet(BLOCK_ROWS);
+                dictionaries.add(new ArrayList<String>());
+            }
+            this.rowValues = new Object[encodings.length];
+            this.rowUpdates = new Object[encodings.length];
+        }
+
+        void decode(ByteReader in, int rowsArg) throws IOException {
+            if (rowsArg > BLOCK_ROWS) {
+                throw new IOException("Binary row set block of " + rowsArg + " rows");
+            }
+            this.rows = rowsArg;
+            if (in.readByte() == 0) {
+                Arrays.fill(kinds, 0, rows, (byte) WebRowSetStreamCodec.CURRENT_ROW);
+            } else {
+                in.readBytes(kinds, rows);
+            }
+            for (int i = 0; i < encodings.length; i++) {
+                decodeValues(in, i, values[i], null, rows);
+                updated[i].clear();
+                if (in.readByte() != 0) {
+                    in.readBitmap(updated[i], rows);
+                    int count = 0;
+                    for (int row = updated[i].nextSetBit(0); row >= 0;
+                             row = updated[i].nextSetBit(row + 1)) {
+                        updatedRows[count++] = row;
+                    }
+                    decodeValues(in, i, updates[i], updatedRows, count);
+                }
+            }
+        }
+
+        private void decodeValues(ByteReader in, int column, Object[] columnValues,
+                                  int[] rowIndexes, int count) throws IOException {
+            BitSet nulls = new BitSet(count);
+            if (in.readByte() != 0) {
+                in.readBitmap(nulls, count);
+            }
+            int encoding = encodings[column];
+            int scale = -1;
+            if (encoding == DECIMAL && in.readByte() == SCALED_DECIMALS) {
+                scale = (int) in.readVarint();
+            }
+            long previous = 0;
+            for (int j = 0; j < count; j++) {
+                int row = rowIndexes == null ? j : rowIndexes[j];
+                if (nulls.get(j)) {
+                    columnValues[row] = null;
+                    continue;
+                }
+                Object value;
+                switch (encoding) {
+                    case INT:
+                        previous += in.readZigzag();
+                        value = (int) previous;
+                        break;
+                    case LONG:
+                        previous += in.readZigzag();
+                        value = previous;
+                        break;
+                    case FLOAT:
+                        value = Float.intBitsToFloat(in.readInt());
+                        break;
+                    case DOUBLE:
+                        value = Double.longBitsToDouble(in.readLong());
+                        break;
+                    case DECIMAL:
+                        value = scale >= 0
+                            ? BigDecimal.valueOf(in.readZigzag(), scale)
+                            : new BigDecimal(in.readString());
+                        break;
+                    case BOOLEAN:
+                        value = in.readByte() != 0;
+                        break;
+                    case DATE:
+                        previous += in.readZigzag();
+                        value = new java.sql.Date(previous);
+                        break;
+                    case TIME:
+                        previous += in.readZigzag();
+                        value = new java.sql.Time(previous);
+                        break;
+                    case TIMESTAMP:
+                        previous += in.readZigzag();
+                        java.sql.Timestamp ts = new java.sql.Timestamp(previous);
+                        ts.setNanos(ts.getNanos() + (int) in.readVarint());
+                        value = ts;
+                        break;
+                    case BYTES:
+                        byte[] bytes = new byte[(int) in.readVarint()];
+                        in.readBytes(bytes, bytes.length);
+                        value = bytes;
+                        break;
+                    default:
+                        value = readDictionaryString(in, dictionaries.get(column));
+                }
+                columnValues[row] = value;
+            }
+        }
+
+        private static String readDictionaryString(ByteReader in, List<String> dictionary)
+                throws IOException {
+            int code = (int) in.readVarint();
+            if (code == LITERAL) {
+                return in.readString();
+            } else if (code == NEW_ENTRY) {
+                String value = in.readString();
+                dictionary.add(value);
+                return value;
+            } else if (code - FIRST_ENTRY < dictionary.size()) {
+                return dictionary.get(code - FIRST_ENTRY);
+            }
+            throw new IOException("Unknown dictionary entry " + (code - FIRST_ENTRY));
+        }
+
+        void deliver(WebRowSetStreamCodec.RowHandler handler) throws SQLException {
+            for (int row = 0; row < rows; row++) {
+                rowUpdated.clear();
+                for (int i = 0; i < encodings.length; i++) {
+                    rowValues[i] = values[i][row];
+                    if (updated[i].get(row)) {
+                        rowUpdated.set(i);
+                        rowUpdates[i] = updates[i][row];
+                    }
+                }
+                handler.row(kinds[row], rowValues, rowUpdated, rowUpdates);
+            }
+        }
+    }
+
+    // Encoding primitives
+
+    /** Growable byte array with the varint and string encodings used above */
+    private static final class ByteWriter {
+
+        byte[] bytes;
+        int size;
+
+        ByteWriter(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeBytes(byte[] source, int offset, int length) {
+            ensure(length);
+            System.arraycopy(source, offset, bytes, size, length);
+            size += length;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeZigzag(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        /** Writes the length plus one, or 0 for null, then the UTF-8 bytes */
+        void writeString(String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(utf8.length + 1L);
+            writeBytes(utf8, 0, utf8.length);
+        }
+
+        void writeBitmap(BitSet bits, int count) {
+            int length = (count + 7) / 8;
+            ensure(length);
+            for (int i = 0; i < length; i++) {
+                int b = 0;
+                for (int bit = 0; bit < 8; bit++) {
+                    if (bits.get(i * 8 + bit)) {
+                        b |= 1 << bit;
+                    }
+                }
+                bytes[size++] = (byte) b;
+            }
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, size);
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+
+    /** Reads what ByteWriter writes from a byte array */
+    private static final class ByteReader {
+
+        private final byte[] bytes;
+        private final int limit;
+        private int pos;
+
+        ByteReader(byte[] bytesArg, int limitArg) {
+            this.bytes = bytesArg;
+            this.limit = limitArg;
+        }
+
+        private void require(int length) throws IOException {
+            if (length < 0 || pos + length > limit) {
+                throw new EOFException("Truncated binary row set block");
+            }
+        }
+
+        int readByte() throws IOException {
+            require(1);
+            return bytes[pos++] & 0xFF;
+        }
+
+        void readBytes(byte[] target, int length) throws IOException {
+            require(length);
+            System.arraycopy(bytes, pos, target, 0, length);
+            pos += length;
+        }
+
+        int readInt() throws IOException {
+            require(4);
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | (bytes[pos++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readLong() throws IOException {
+            return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        long readVarint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        long readZigzag() throws IOException {
+            long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString() throws IOException {
+            int length = (int) readVarint() - 1;
+            if (length < 0) {
+                return null;
+            }
+            require(length);
+            String value = new String(bytes, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        void readBitmap(BitSet bits, int count) throws IOException {
+            int length = (count + 7) / 8;
+            require(length);
+            for (int i = 0; i < length; i++) {
+                int b = bytes[pos++];
+                for (int bit = 0; bit < 8; bit++) {
+                    if ((b & (1 << bit)) != 0) {
+                        bits.set(i * 8 + bit);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int readVarint(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated binary row set stream");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static long readZigzag(InputStream in) throws IOException {
+        long value = readVarint(in) & 0xFFFFFFFFL;
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarint(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
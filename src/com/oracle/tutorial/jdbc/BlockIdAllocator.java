@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out unique int ids, such as new ITEM_ID values of MERCH_INVENTORY,
+ * from blocks reserved in the ID_SEQUENCES table:
+ * <pre>
+ * create table ID_SEQUENCES
+ *   (SEQ_NAME varchar(32) NOT NULL,
+ *   NEXT_VAL integer NOT NULL,
+ *   PRIMARY KEY (SEQ_NAME));
+ * </pre>
+ * Reserving a block is one UPDATE that adds the block size to NEXT_VAL,
+ * committed at once, so allocators in other threads or other JVMs never
+ * get the same block. Ids of the current block are then handed out
+ * without locking and without a round trip. Ids of a block that is not
+ * used up before the allocator is discarded are simply skipped.
+ * <p>
+ * The allocator commits on its connection, so give it a connection of its
+ * own rather than one that holds other uncommitted work.
+ */
+public class BlockIdAllocator {
+
+    private final Connection con;
+    private final String sequence;
+    private final int blockSize;
+    private final AtomicReference<Block> current =
+        new AtomicReference<>(new Block(0, 0));
+    private final Object reserveLock = new Object();
+
+    /** Ids from next (inclusive) to end (exclusive) */
+    private static final class Block {
+        final AtomicInteger next;
+        final int end;
+
+        Block(int firstArg, int endArg) {
+            this.next = new AtomicInteger(firstArg);
+            this.end = endArg;
+        }
+    }
+
+    public BlockIdAllocator(Connection conArg, String sequenceArg, int blockSizeArg) {
+        if (blockSizeArg < 1) {
+            throw new IllegalArgumentException("Block size must be at least 1");
+        }
+        this.con = conArg;
+        this.sequence = sequenceArg;
+        this.blockSize = blockSizeArg;
+    }
+
+    public int nextId() throws SQLException {
+        while (true) {
+            Block block = current.get();
+            int id = block.next.getAndIncrement();
+            if (id < block.end) {
+                return id;
+            }
+            synchronized (reserveLock) {
+                // Another thread may have reserved a block in the meantime.
+                if (current.get() == block) {
+                    int end = reserve();
+                    current.set(new Block(end - blockSize, end));
+                }
+            }
+        }
+    }
+
+    /** Reserves the next block and returns the id after its last one */
+    private int reserve() throws SQLException {
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        try (PreparedStatement update = con.prepareStatement(
+                 "UPDATE ID_SEQUENCES SET NEXT_VAL = NEXT_VAL + ? WHERE SEQ_NAME = ?");
+             PreparedStatement select = con.prepareStatement(
+                 "SELECT NEXT_VAL FROM ID_SEQUENCES WHERE SEQ_NAME = ?")) {
+            update.setInt(1, blockSize);
+            update.setString(2, sequence);
+            if (update.executeUpdate() == 0) {
+                throw new SQLException("No sequence " + sequence + " in ID_SEQUENCES");
+            }
+            // The UPDATE holds the row lock, so this reads our own value.
+            select.setString(1, sequence);
+            int end;
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                end = rs.getInt(1);
+            }
+            con.commit();
+            return end;
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+    }
+}
@@ -1,251 +1,395 @@
-/*
- * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
- *
- * Redistribution and use in source and binary forms, with or without
- * modification, are permitted provided that the following conditions
- * are met:
- *
- *     - Redistributions of source code must retain the above copyright
- *         notice, this list of conditions and the following disclaimer.
- *
- *     - Redistributions in binary form must reproduce the above copyright
- *         notice, this list of conditions and the following disclaimer in the
- *         documentation and/or other materials provided with the distribution.
- *
- *     - Neither the name of Oracle or the names of its
- *         contributors may be used to endorse or promote products derived
- *         from this software without specific prior written permission.
- *
- * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
- * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
- * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
- * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
- * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
- * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
- * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
- * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
- * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
- * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
- * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
- */
-
-package com.oracle.tutorial.jdbc;
-
-import java.io.IOException;
-import java.net.MalformedURLException;
-
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
-import java.sql.Timestamp;
-import java.util.Calendar;
-import java.util.GregorianCalendar;
-import javax.sql.rowset.CachedRowSet;
-import javax.sql.rowset.RowSetFactory;
-import javax.sql.rowset.RowSetProvider;
-import javax.sql.rowset.spi.SyncProviderException;
-import javax.sql.rowset.spi.SyncResolver;
-
-
-public class CachedRowSetSample {
-
-    private final String dbName;
-    private final Connection conn;
-    private final JDBCTutorialUtilities settings;
-
-
-    public CachedRowSetSample(Connection connArg, JDBCTutorialUtilities settingsArg) {
-        super();
-        this.conn = connArg;
-        this.dbName = settingsArg.dbName;
-        this.settings = settingsArg;
-    }
-    
-    public void testPaging() throws SQLException, MalformedURLException {
-
-        this.conn.setAutoCommit(false);
-        RowSetFactory factory = RowSetProvider.newFactory();
-        CachedRowSet crs = factory.createCachedRowSet();
-
-        try {
-            crs.setUsername(settings.userName);
-            crs.setPassword(settings.password);
-            crs.setUrl(settings.urlString);
-            crs.setCommand("select * from MERCH_INVENTORY");
-
-            int[] keys = {1};
-            crs.setKeyColumns(keys);
-            
-            // Setting the page size to 4, such that we
-            // get the data in chunks of 4 rows @ a time.
-            crs.setPageSize(4);
-
-            // Now get the first set of data
-            crs.execute();
-
-            crs.addRowSetListener(new ExampleRowSetListener());
-
-            // Keep on getting data in chunks until done.
-
-            int i = 1;
-            do {
-                System.out.println("\nPage number: " + i);
-                
-                while (crs.next()) {
-                    System.out.println("Found item " + crs.getInt("ITEM_ID") + ": " 
-                            + crs.getString("ITEM_NAME"));
-                    if (crs.getInt("ITEM_ID") == 1235) {
-                        int currentQuantity = crs.getInt("QUAN");
-                        System.out.println("Updating quantity to " + ++currentQuantity);
-                        crs.updateInt("QUAN", currentQuantity);
-                        crs.updateRow();
-                        // Syncing the row back to the DB
-                        crs.acceptChanges(conn);
-                    }
-                }
-                
-                i++;
-            } while (crs.nextPage());
-
-            // Inserting a new row
-            // Doing a previous page to come back to the last page
-            // as we ll be after the last page.
-
-            int newItemId = 123456;
-
-            if (doesItemIdExist(newItemId)) {
-                System.out.println("Item ID " + newItemId + " already exists");
-            } else {
-                System.out.println("\nItem " + newItemId + " does not exist\n");
-
-                crs.previousPage();
-                crs.moveToInsertRow();
-                crs.updateInt("ITEM_ID", newItemId);
-                crs.updateString("ITEM_NAME", "TableCloth");
-                crs.updateInt("SUP_ID", 927);
-                crs.updateInt("QUAN", 14);
-                Calendar timeStamp;
-                timeStamp = new GregorianCalendar();
-                timeStamp.set(2006, 4, 1);
-                crs.updateTimestamp("DATE_VAL", new Timestamp(timeStamp.getTimeInMillis()));
-                crs.insertRow();
-                
-                crs.moveToCurrentRow();
-                JDBCTutorialUtilities.getWarningsFromResultSet(crs);
-                
-                // Syncing the new row back to the database.
-                System.out.println("About to add a new row...");
-                crs.acceptChanges(conn);
-                System.out.println("Added a row...");
-                JDBCTutorialUtilities.getWarningsFromResultSet(crs);
-                CachedRowSetSample.viewTable(conn);
-            }
-        } catch (SyncProviderException spe) {
-
-            SyncResolver resolver = spe.getSyncResolver();
-
-            Object crsValue; // value in the RowSet object
-            Object resolverValue; // value in the SyncResolver object
-            Object resolvedValue; // value to be persisted
-
-            while (resolver.nextConflict()) {
-
-                if (resolver.getStatus() == SyncResolver.INSERT_ROW_CONFLICT) {
-                    int row = resolver.getRow();
-                    crs.absolute(row);
-
-                    int colCount = crs.getMetaData().getColumnCount();
-                    for (int j = 1; j <= colCount; j++) {
-                        if (resolver.getConflictValue(j) != null) {
-                            crsValue = crs.getObject(j);
-                            resolverValue = resolver.getConflictValue(j);
-
-                            // Compare crsValue and resolverValue to determine
-                            // which should be the resolved value (the value to persist)
-                            //
-                            // This example choses the value in the RowSet object,
-                            // crsValue, to persist.,
-
-                            resolvedValue = crsValue;
-
-                            resolver.setResolvedValue(j, resolvedValue);
-                        }
-                    }
-                }
-            }
-        } catch (SQLException sqle) {
-            JDBCTutorialUtilities.printSQLException(sqle);
-        } finally {
-	    if (crs != null) crs.close();
-            this.conn.setAutoCommit(true);
-        }
-    }
-
-    private boolean doesItemIdExist(int id) throws SQLException {
-        String query = "select ITEM_ID from MERCH_INVENTORY where ITEM_ID = ?";
-        try (PreparedStatement ps = conn.prepareStatement(query)){
-            ps.setInt(1, id);
-            if (ps.executeQuery().next()) {
-                return true;
-            }
-        } catch (SQLException e) {
-            JDBCTutorialUtilities.printSQLException(e);
-        } 
-        return false;
-    }
-
-    public static void viewTable(Connection con) throws SQLException {
-        String query = "select * from MERCH_INVENTORY";
-        try (Statement stmt = con.createStatement()){
-            ResultSet rs = stmt.executeQuery(query);
-            while (rs.next()) {
-                System.out.println("Found item " + rs.getInt("ITEM_ID") + ": " 
-                        + rs.getString("ITEM_NAME") + " (" 
-                        + rs.getInt("QUAN") + ")");
-            }
-        } catch (SQLException e) {
-            JDBCTutorialUtilities.printSQLException(e);
-        } 
-    }
-
-    public static void main(String[] args) {
-        JDBCTutorialUtilities myJDBCTutorialUtilities;
-        Connection connection = null;
-
-        if (args.length == 0) {
-            System.err.println("Properties file not specified at command line");
-            return;
-        } else {
-            try {
-                myJDBCTutorialUtilities = new JDBCTutorialUtilities(args[0]);
-            } catch (IOException e) {
-                System.err.println("Problem reading properties file " + args[0]);
-                e.printStackTrace(System.err);
-                return;
-            }
-        }
-
-        try {
-            connection = myJDBCTutorialUtilities.getConnection();
-
-            CachedRowSetSample myCachedRowSetSample =
-                new CachedRowSetSample(connection, myJDBCTutorialUtilities);
-            
-            connection.setCatalog(myCachedRowSetSample.dbName);
-            
-            System.out.println();
-            CachedRowSetSample.viewTable(connection);
-            myCachedRowSetSample.testPaging();
-        } catch (SQLException e) {
-            JDBCTutorialUtilities.printSQLException(e);
-        } catch (MalformedURLException ex) {
-            System.out.println("Unexpected exception");
-            ex.printStackTrace(System.err);
-        } finally {
-            JDBCTutorialUtilities.closeConnection(connection);
-        }
-    }
-}
-
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
+import javax.sql.rowset.spi.SyncProviderException;
+import javax.sql.rowset.spi.SyncResolver;
+
+
+public class CachedRowSetSample {
+
+    private final String dbName;
+    private final Connection conn;
+    private final JDBCTutorialUtilities settings;
+
+
+    public CachedRowSetSample(Connection connArg, JDBCTutorialUtilities settingsArg) {
+        super();
+        this.conn = connArg;
+        this.dbName = settingsArg.dbName;
+        this.settings = settingsArg;
+    }
+    
+    public void testPaging() throws SQLException, MalformedURLException {
+
+        this.conn.setAutoCommit(false);
+        RowSetFactory factory = RowSetProvider.newFactory();
+        CachedRowSet crs = factory.createCachedRowSet();
+
+        try {
+            crs.setUsername(settings.userName);
+            crs.setPassword(settings.password);
+            crs.setUrl(settings.urlString);
+            crs.setCommand("select * from MERCH_INVENTORY");
+
+            int[] keys = {1};
+            crs.setKeyColumns(keys);
+
+            // Write each page's changes as JDBC batches keyed on ITEM_ID
+            // rather than one statement per row that compares every column.
+            BatchedSyncProvider.register();
+            crs.setSyncProvider(BatchedSyncProvider.PROVIDER_ID);
+
+            // DATE_VAL changes whenever a row is written, so a row whose
+            // DATE_VAL still matches has not been changed by anyone else.
+            // Changes to different columns of the same row are merged.
+            BatchedSyncProvider provider = (BatchedSyncProvider) crs.getSyncProvider();
+            provider.setVersionColumn("DATE_VAL");
+            provider.setConflictPolicy(ConflictPolicy.MERGE);
+            
+            // Setting the page size to 4, such that we
+            // get the data in chunks of 4 rows @ a time.
+            crs.setPageSize(4);
+
+            // Now get the first set of data
+            crs.execute();
+
+            // The listener is called on a thread of its own, and a page's
+            // worth of cursor moves reaches it as one event.
+            AsyncRowSetListener listener =
+                new AsyncRowSetListener(new ExampleRowSetListener());
+            crs.addRowSetListener(listener);
+
+            // Keep on getting data in chunks until done.
+
+            int i = 1;
+            do {
+                System.out.println("\nPage number: " + i);
+                
+                while (crs.next()) {
+                    System.out.println("Found item " + crs.getInt("ITEM_ID") + ": " 
+                            + crs.getString("ITEM_NAME"));
+                    if (crs.getInt("ITEM_ID") == 1235) {
+                        int currentQuantity = crs.getInt("QUAN");
+                        System.out.println("Updating quantity to " + ++currentQuantity);
+                        crs.updateInt("QUAN", currentQuantity);
+                        crs.updateRow();
+                    }
+                }
+
+                // Syncing the page's changes back to the DB
+                crs.acceptChanges(conn);
+                
+                i++;
+            } while (crs.nextPage());
+
+            // Inserting a new row
+            // Doing a previous page to come back to the last page
+            // as we ll be after the last page.
+
+            // The id comes from a block reserved in ID_SEQUENCES, so
+            // concurrent importers never pick the same ITEM_ID.
+            int newItemId;
+            try (Connection idConnection = settings.getConnectionToDatabase()) {
+                newItemId = new BlockIdAllocator(idConnection, "MERCH_INVENTORY", 100).nextId();
+            }
+
+            if (doesItemIdExist(newItemId)) {
+                System.out.println("Item ID " + newItemId + " already exists");
+            } else {
+                System.out.println("\nItem " + newItemId + " does not exist\n");
+
+                crs.previousPage();
+                crs.moveToInsertRow();
+                crs.updateInt("ITEM_ID", newItemId);
+                crs.updateString("ITEM_NAME", "TableCloth");
+                crs.updateInt("SUP_ID", 927);
+                crs.updateInt("QUAN", 14);
+                Calendar timeStamp;
+                timeStamp = new GregorianCalendar();
+                timeStamp.set(2006, 4, 1);
+                crs.updateTimestamp("DATE_VAL", new Timestamp(timeStamp.getTimeInMillis()));
+                crs.insertRow();
+                
+                crs.moveToCurrentRow();
+                JDBCTutorialUtilities.getWarningsFromResultSet(crs);
+                
+                // Syncing the new row back to the database.
+                System.out.println("About to add a new row...");
+                crs.acceptChanges(conn);
+                System.out.println("Added a row...");
+                JDBCTutorialUtilities.getWarningsFromResultSet(crs);
+                CachedRowSetSample.viewTable(conn);
+            }
+
+            crs.removeRowSetListener(listener);
+            listener.close();
+            System.out.println("Row set events: " + listener.getReceivedCount() +
+                               " received, " + listener.getDeliveredCount() +
+                               " delivered");
+        } catch (SyncProviderException spe) {
+
+            SyncResolver resolver = spe.getSyncResolver();
+
+            Object crsValue; // value in the RowSet object
+            Object resolverValue; // value in the SyncResolver object
+            Object resolvedValue; // value to be persisted
+
+            while (resolver.nextConflict()) {
+
+                if (resolver.getStatus() == SyncResolver.UPDATE_ROW_CONFLICT) {
+                    int row = resolver.getRow();
+                    crs.absolute(row);
+
+                    int colCount = crs.getMetaData().getColumnCount();
+                    for (int j = 1; j <= colCount; j++) {
+                        if (resolver.getConflictValue(j) != null) {
+                            crsValue = crs.getObject(j);
+                            resolverValue = resolver.getConflictValue(j);
+
+                            // Compare crsValue and resolverValue to determine
+                            // which should be the resolved value (the value to persist)
+                            //
+                            // This example choses the value in the RowSet object,
+                            // crsValue, to persist.,
+
+                            resolvedValue = crsValue;
+
+                            resolver.setResolvedValue(j, resolvedValue);
+                        }
+                    }
+                }
+            }
+
+            // The resolved rows are written over the database values
+            crs.acceptChanges(conn);
+        } catch (SQLException sqle) {
+            JDBCTutorialUtilities.printSQLException(sqle);
+        } finally {
+	    if (crs != null) crs.close();
+            this.conn.setAutoCommit(true);
+        }
+    }
+
+    public void testKeysetPaging() throws SQLException {
+        RowSetFactory factory =
+            RowSetProvider.newFactory(ColumnarRowSetFactory.NAME, null);
+
+        try (CachedRowSet crs = factory.createCachedRowSet()) {
+            crs.setCommand("select * from MERCH_INVENTORY");
+            crs.setKeyColumns(new int[] {1});
+            crs.setPageSize(4);
+
+            // Each page seeks past the last ITEM_ID of the page before it,
+            // so a deep page costs no more than the first one.
+            KeysetPager pager = new KeysetPager(crs, conn, settings.dbms);
+
+            while (pager.nextPage()) {
+                System.out.println("\nKeyset page number: " + pager.getPageNumber());
+                while (crs.next()) {
+                    System.out.println("Found item " + crs.getInt("ITEM_ID") + ": "
+                            + crs.getString("ITEM_NAME"));
+                }
+            }
+
+            System.out.println("\nPaging backwards:");
+            while (pager.previousPage()) {
+                crs.first();
+                System.out.println("Page " + pager.getPageNumber() + " starts with item "
+                        + crs.getInt("ITEM_ID"));
+            }
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        }
+    }
+
+    public void testPrefetchedScan() throws SQLException {
+        RowSetFactory factory =
+            RowSetProvider.newFactory(ColumnarRowSetFactory.NAME, null);
+
+        try (CachedRowSet template = factory.createCachedRowSet()) {
+            template.setCommand("select * from MERCH_INVENTORY");
+            template.setKeyColumns(new int[] {1});
+            template.setPageSize(4);
+
+            // The next page is read in the background while this one is
+            // processed, so the scan does not wait for each round trip.
+            int totalQuantity = 0;
+            try (PrefetchingPager pager =
+                     new PrefetchingPager(template, conn, settings.dbms, 2)) {
+                CachedRowSet page;
+                while ((page = pager.nextPage()) != null) {
+                    while (page.next()) {
+                        totalQuantity += page.getInt("QUAN");
+                    }
+                    page.close();
+                }
+                System.out.println("\nScanned " + pager.getPageNumber()
+                        + " pages, total quantity " + totalQuantity + ", waited "
+                        + pager.getWaitNanos() / 1000000 + " ms for pages");
+            }
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        }
+    }
+
+    public void testOffHeapSnapshot() throws SQLException {
+
+        // A snapshot of a whole table can be kept outside the Java heap,
+        // where it does not add to garbage collection pauses. Closing the
+        // row set frees that memory straight away.
+        try (ColumnarCachedRowSet crs = new ColumnarCachedRowSet()) {
+            crs.setOffHeap(true);
+            crs.setUsername(settings.userName);
+            crs.setPassword(settings.password);
+            crs.setUrl(settings.urlString);
+            crs.setCommand("select * from MERCH_INVENTORY");
+            crs.execute();
+
+            int totalQuantity = 0;
+            while (crs.next()) {
+                totalQuantity += crs.getInt("QUAN");
+            }
+            System.out.println("\nCached " + crs.size() + " items, total quantity "
+                    + totalQuantity + ", in " + crs.getOffHeapBytes()
+                    + " bytes outside the heap");
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        }
+    }
+
+    private boolean doesItemIdExist(int id) throws SQLException {
+        try {
+            return new ExistenceChecker(conn, "MERCH_INVENTORY", "ITEM_ID").exists(id);
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        } 
+        return false;
+    }
+
+    public void testBulkExistence() throws SQLException {
+
+        // The ids an import job is about to insert
+        int[] candidates = new int[10000];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = 1000 + i;
+        }
+
+        try {
+            ExistenceChecker checker =
+                new ExistenceChecker(conn, "MERCH_INVENTORY", "ITEM_ID");
+            // Most of the ids are new; the filter rules them out without
+            // asking the database, and the rest take one query per 500 ids.
+            checker.loadFilter();
+            BitSet existing = checker.exist(candidates);
+            System.out.println("\n" + existing.cardinality() + " of " + candidates.length
+                    + " ids already exist; " + checker.getLastQueriedCount()
+                    + " were looked up in the database");
+            for (int i = existing.nextSetBit(0); i >= 0; i = existing.nextSetBit(i + 1)) {
+                System.out.println("Item ID " + candidates[i] + " already exists");
+            }
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        }
+    }
+
+    public static void viewTable(Connection con) throws SQLException {
+        String query = "select * from MERCH_INVENTORY";
+        try (Statement stmt = con.createStatement()){
+            ResultSet rs = stmt.executeQuery(query);
+            while (rs.next()) {
+                System.out.println("Found item " + rs.getInt("ITEM_ID") + ": " 
+                        + rs.getString("ITEM_NAME") + " (" 
+                        + rs.getInt("QUAN") + ")");
+            }
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        } 
+    }
+
+    public static void main(String[] args) {
+        JDBCTutorialUtilities myJDBCTutorialUtilities;
+        Connection connection = null;
+
+        if (args.length == 0) {
+            System.err.println("Properties file not specified at command line");
+            return;
+        } else {
+            try {
+                myJDBCTutorialUtilities = new JDBCTutorialUtilities(args[0]);
+            } catch (IOException e) {
+                System.err.println("Problem reading properties file " + args[0]);
+                e.printStackTrace(System.err);
+                return;
+            }
+        }
+
+        try {
+            connection = myJDBCTutorialUtilities.getConnection();
+
+            CachedRowSetSample myCachedRowSetSample =
+                new CachedRowSetSample(connection, myJDBCTutorialUtilities);
+            
+            connection.setCatalog(myCachedRowSetSample.dbName);
+            
+            System.out.println();
+            CachedRowSetSample.viewTable(connection);
+            myCachedRowSetSample.testPaging();
+            myCachedRowSetSample.testKeysetPaging();
+            myCachedRowSetSample.testPrefetchedScan();
+            myCachedRowSetSample.testOffHeapSnapshot();
+            myCachedRowSetSample.testBulkExistence();
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        } catch (MalformedURLException ex) {
+            System.out.println("Unexpected exception");
+            ex.printStackTrace(System.err);
+        } finally {
+            JDBCTutorialUtilities.closeConnection(connection);
+        }
+    }
+}
+
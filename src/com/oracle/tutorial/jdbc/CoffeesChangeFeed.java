@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Polls the COFFEES table for changes made by other users. The table has no
+ * column recording when a row changed, so the rows are divided into ranges
+ * of COF_NAME, and each poll reads a checksum of every range: its number of
+ * rows, the total length of its names and the sums of its other columns.
+ * Only the rows of a range whose checksum differs from the last poll are
+ * read again, and they are handed to the listener on the event dispatch
+ * thread, with the keys the range had before, so that the listener knows
+ * which of its rows belong to the range as the database orders COF_NAME,
+ * whatever its collation. The first poll compares each range with the rows
+ * given to seed, which are those the listener already has, and reports
+ * only the ranges that differ.
+ * <p>
+ * A checksum made of sums misses a change that leaves every sum as it was,
+ * such as two rows exchanging their SALES values; such a change shows with
+ * the next change to that range, or when the table is read again. The
+ * ranges are fixed when the feed starts: a range that grows a lot is simply
+ * read as a larger range when it changes.
+ */
+public class CoffeesChangeFeed implements AutoCloseable {
+
+    /** Receives the current rows of a range of COF_NAME values that changed */
+    public interface Listener {
+
+        /**
+         * Called on the event dispatch thread. fromKey is inclusive and
+         * toKey exclusive; null means the range is open on that side.
+         * previousKeys are the range's keys when it was last read, or when
+         * the feed started. Each row holds COF_NAME, SUP_ID, PRICE, SALES
+         * and TOTAL.
+         */
+        void rangeChanged(String fromKey, String toKey, Set<String> previousKeys,
+                          List<Object[]> rows);
+    }
+
+    private static final String CHECKSUM =
+        "select count(*), sum(length(COF_NAME)), sum(SUP_ID), sum(PRICE), " +
+        "sum(SALES), sum(TOTAL) from COFFEES";
+    private static final String ROWS =
+        "select COF_NAME, SUP_ID, PRICE, SALES, TOTAL from COFFEES";
+
+    private final Connection con;
+    private final int ranges;
+    private final ScheduledExecutorService poller;
+
+    private String[] bounds; // First key of each range but the first
+    private Object[][] checksums;
+    private ArrayList<HashSet<String>> rangeKeys; // Keys of each range when last read
+    private List<Object[]> knownRows; // Rows given to seed
+    private volatile boolean closed;
+
+    /**
+     * Creates a feed that reads the table through con, which it closes when
+     * it is closed; use a connection of its own, not one shared with the
+     * rest of the application.
+     */
+    public CoffeesChangeFeed(Connection conArg, int rangesArg) {
+        if (rangesArg < 1) {
+            throw new IllegalArgumentException("At least one range is needed");
+        }
+        this.con = conArg;
+        this.ranges = rangesArg;
+        this.poller = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "CoffeesChangeFeed");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Records the rows the listener starts with, read from rs by column
+     * label; call before start. Without them the first poll only records
+     * the checksums, so a change made before it is not reported.
+     */
+    public void seed(ResultSet rs) throws SQLException {
+        ArrayList<Object[]> rows = new ArrayList<>();
+        rs.beforeFirst();
+        while (rs.next()) {
+            rows.add(new Object[] {
+                rs.getObject("COF_NAME"), rs.getObject("SUP_ID"), rs.getObject("PRICE"),
+                rs.getObject("SALES"), rs.getObject("TOTAL") });
+        }
+        rs.beforeFirst();
+        this.knownRows = rows;
+    }
+
+    /**
+     * Starts polling every intervalMillis. Only ranges that differ from the
+     * seeded rows, or from the last poll, are reported.
+     */
+    public void start(final Listener listener, long intervalMillis) {
+        poller.scheduleWithFixedDelay(new Runnable() {
+            public void run() {
+                try {
+                    poll(listener);
+                } catch (SQLException e) {
+                    JDBCTutorialUtilities.printSQLException(e);
+                }
+            }
+        }, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Reads the checksum of every range and the rows of those that changed */
+    void poll(final Listener listener) throws SQLException {
+        if (bounds == null) {
+            List<String> keys = readKeys();
+            bounds = readBounds(keys);
+            rangeKeys = new ArrayList<>();
+            for (int r = 0; r <= bounds.length; r++) {
+                rangeKeys.add(new HashSet<String>());
+            }
+            // Assign the keys in the database's order, so that each range
+            // holds the keys the database puts in it.
+            int range = 0;
+            for (String key : keys) {
+                if (range < bounds.length && key.equals(bounds[range])) {
+                    range++;
+                }
+                rangeKeys.get(range).add(key);
+            }
+            Object[][] known = knownRows == null ? null : knownChecksums();
+            checksums = new Object[bounds.length + 1][];
+            for (int r = 0; r < checksums.length && !closed; r++) {
+                checksums[r] = readChecksum(r);
+                if (known != null && !sameChecksum(checksums[r], known[r])) {
+                    report(listener, r);
+                }
+            }
+            knownRows = null;
+            return;
+        }
+        for (int r = 0; r < checksums.length && !closed; r++) {
+            Object[] checksum = readChecksum(r);
+            if (Arrays.equals(checksum, checksums[r])) {
+                continue;
+            }
+            checksums[r] = checksum;
+            report(listener, r);
+        }
+    }
+
+    private void report(final Listener listener, int range) throws SQLException {
+        final String from = range == 0 ? null : bounds[range - 1];
+        final String to = range == bounds.length ? null : bounds[range];
+        final List<Object[]> rows = readRows(range);
+        final Set<String> previous = rangeKeys.get(range);
+        HashSet<String> current = new HashSet<>();
+        for (Object[] row : rows) {
+            current.add((String) row[0]);
+        }
+        rangeKeys.set(range, current);
+        SwingUtilities.invokeLater(new Runnable() {
+            public void run() {
+                if (!closed) {
+                    listener.rangeChanged(from, to, previous, rows);
+                }
+            }
+        });
+    }
+
+    /**
+     * Checksums of the seeded rows, each counted in the range that holds
+     * its key. A key the database no longer has goes to the range it would
+     * sort into by String.compareTo, which then reports its deletion.
+     */
+    private Object[][] knownChecksums() throws SQLException {
+        HashMap<String, Integer> rangeOfKey = new HashMap<>();
+        for (int r = 0; r < rangeKeys.size(); r++) {
+            for (String key : rangeKeys.get(r)) {
+                rangeOfKey.put(key, r);
+            }
+        }
+        Object[][] result = new Object[bounds.length + 1][];
+        for (int r = 0; r < result.length; r++) {
+            result[r] = new Object[] { 0L, null, null, null, null, null };
+        }
+        for (Object[] row : knownRows) {
+            String key = (String) row[0];
+            Integer range = rangeOfKey.get(key);
+            if (range == null) {
+                int r = 0;
+                while (r < bounds.length && key.compareTo(bounds[r]) >= 0) {
+                    r++;
+                }
+                range = r;
+                rangeKeys.get(r).add(key);
+            }
+            Object[] checksum = result[range];
+            checksum[0] = (Long) checksum[0] + 1;
+            checksum[1] = add(checksum[1], key.length());
+            for (int i = 1; i < row.length; i++) {
+                checksum[i + 1] = add(checksum[i + 1], row[i]);
+            }
+        }
+        return result;
+    }
+
+    private static Object add(Object sum, Object value) throws SQLException {
+        if (value == null) {
+            return sum;
+        }
+        BigDecimal v = ColumnValues.toBigDecimal(value);
+        return sum == null ? v : ((BigDecimal) sum).add(v);
+    }
+
+    /** Compares checksums by numeric value, since each database sums in its own types */
+    private static boolean sameChecksum(Object[] a, Object[] b) throws SQLException {
+        for (int i = 0; i < a.length; i++) {
+            BigDecimal x = ColumnValues.toBigDecimal(a[i]);
+            BigDecimal y = ColumnValues.toBigDecimal(b[i]);
+            if (x == null ? y != null : y == null || x.compareTo(y) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<String> readKeys() throws SQLException {
+        ArrayList<String> keys = new ArrayList<>();
+        try (Statement stmt = con.createStatement();
+             ResultSet rs = stmt.executeQuery("select COF_NAME from COFFEES order by COF_NAME")) {
+            while (rs.next()) {
+                keys.add(rs.getString(1));
+            }
+        }
+        return keys;
+    }
+
+    /** Picks range boundaries so that each range starts with about the same number of rows */
+    private String[] readBounds(List<String> keys) {
+        int n = Math.min(ranges, Math.max(keys.size(), 1));
+        String[] result = new String[n - 1];
+        for (int r = 1; r < n; r++) {
+            result[r - 1] = keys.get((int) ((long) r * keys.size() / n));
+        }
+        return result;
+    }
+
+    private Object[] readChecksum(int range) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(CHECKSUM + where(range))) {
+            bindRange(ps, range);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                Object[] checksum = new Object[6];
+                for (int i = 0; i < checksum.length; i++) {
+                    checksum[i] = rs.getObject(i + 1);
+                }
+                return checksum;
+            }
+        }
+    }
+
+    private List<Object[]> readRows(int range) throws SQLException {
+        ArrayList<Object[]> rows = new ArrayList<>();
+        try (PreparedStatement ps = con.prepareStatement(ROWS + where(range))) {
+            bindRange(ps, range);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Object[] row = new Object[5];
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] = rs.getObject(i + 1);
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private String where(int range) {
+        boolean low = range > 0;
+        boolean high = range < bounds.length;
+        if (low && high) {
+            return " where COF_NAME >= ? and COF_NAME < ?";
+        } else if (low) {
+            return " where COF_NAME >= ?";
+        } else if (high) {
+            return " where COF_NAME < ?";
+        }
+        return "";
+    }
+
+    private void bindRange(PreparedStatement ps, int range) throws SQLException {
+        int index = 1;
+        if (range > 0) {
+            ps.setString(index++, bounds[range - 1]);
+        }
+        if (range < bounds.length) {
+            ps.setString(index, bounds[range]);
+        }
+    }
+
+    /**
+     * Stops polling. The connection is closed on the polling thread once a
+     * poll in progress has stopped, so this does not wait for the database.
+     */
+    public void close() {
+        closed = true;
+        poller.execute(new Runnable() {
+            public void run() {
+                try {
+                    con.close();
+                } catch (SQLException e) {
+                    JDBCTutorialUtilities.printSQLException(e);
+                }
+            }
+        });
+        poller.shutdown();
+    }
+}
@@ -1,415 +1,642 @@
-/*
- * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
- *
- * Redistribution and use in source and binary forms, with or without
- * modification, are permitted provided that the following conditions
- * are met:
- *
- *     - Redistributions of source code must retain the above copyright
- *         notice, this list of conditions and the following disclaimer.
- *
- *     - Redistributions in binary form must reproduce the above copyright
- *         notice, this list of conditions and the following disclaimer in the
- *         documentation and/or other materials provided with the distribution.
- *
- *     - Neither the name of Oracle or the names of its
- *         contributors may be used to endorse or promote products derived
- *         from this software without specific prior written permission.
- *
- * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
- * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
- * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
- * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
- * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
- * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
- * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
- * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
- * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
- * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
- * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
- */
-
-package com.oracle.tutorial.jdbc;
-
-import javax.sql.rowset.CachedRowSet;
-import javax.sql.rowset.RowSetFactory;
-import javax.sql.rowset.RowSetProvider;
-import javax.sql.RowSetEvent;
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.*;
-import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import javax.sql.RowSetListener;
-
-
-public class CoffeesFrame extends JFrame implements RowSetListener {
-
-    JDBCTutorialUtilities settings;
-    Connection connection;
-    JTable table; // The table for displaying data
-
-    JLabel label_COF_NAME;
-    JLabel label_SUP_ID;
-    JLabel label_PRICE;
-    JLabel label_SALES;
-    JLabel label_TOTAL;
-
-    JTextField textField_COF_NAME;
-    JTextField textField_SUP_ID;
-    JTextField textField_PRICE;
-    JTextField textField_SALES;
-    JTextField textField_TOTAL;
-
-    JButton button_ADD_ROW;
-    JButton button_UPDATE_DATABASE;
-    JButton button_DISCARD_CHANGES;
-
-    CoffeesTableModel myCoffeesTableModel;
-
-    public CoffeesFrame(JDBCTutorialUtilities settingsArg) throws SQLException {
-
-
-        super("The Coffee Break: COFFEES Table"); // Set window title
-
-        this.settings = settingsArg;
-        connection = settings.getConnection();
-	connection.setAutoCommit(false);
-
-        // Close connections exit the application when the user
-        // closes the window
-
-        addWindowListener(new WindowAdapter() {
-                public void windowClosing(WindowEvent e) {
-
-                    try {
-                        connection.close();
-                    } catch (SQLException sqle) {
-                        JDBCTutorialUtilities.printSQLException(sqle);
-                    }
-                    System.exit(0);
-                }
-            });
-
-        // Initialize and lay out window controls
-
-        CachedRowSet myCachedRowSet = getContentsOfCoffeesTable();
-        myCoffeesTableModel = new CoffeesTableModel(myCachedRowSet);
-        myCoffeesTableModel.addEventHandlersToRowSet(this);
-
-        table = new JTable(); // Displays the table
-        table.setModel(myCoffeesTableModel);
-
-        label_COF_NAME = new JLabel();
-        label_SUP_ID = new JLabel();
-        label_PRICE = new JLabel();
-        label_SALES = new JLabel();
-        label_TOTAL = new JLabel();
-
-        textField_COF_NAME = new JTextField(10);
-        textField_SUP_ID = new JTextField(10);
-        textField_PRICE = new JTextField(10);
-        textField_SALES = new JTextField(10);
-        textField_TOTAL = new JTextField(10);
-
-        button_ADD_ROW = new JButton();
-        button_UPDATE_DATABASE = new JButton();
-        button_DISCARD_CHANGES = new JButton();
-
-        label_COF_NAME.setText("Coffee Name:");
-        label_SUP_ID.setText("Supplier ID:");
-        label_PRICE.setText("Price:");
-        label_SALES.setText("Sales:");
-        label_TOTAL.setText("Total Sales:");
-
-        textField_COF_NAME.setText("Enter new coffee name");
-        textField_SUP_ID.setText("101");
-        textField_PRICE.setText("0");
-        textField_SALES.setText("0");
-        textField_TOTAL.setText("0");
-
-        button_ADD_ROW.setText("Add row to table");
-        button_UPDATE_DATABASE.setText("Update database");
-        button_DISCARD_CHANGES.setText("Discard changes");
-
-        // Place the components within the container contentPane; use GridBagLayout
-        // as the layout.
-
-        Container contentPane = getContentPane();
-        contentPane.setComponentOrientation(ComponentOrientation.LEFT_TO_RIGHT);
-        contentPane.setLayout(new GridBagLayout());
-        GridBagConstraints c = new GridBagConstraints();
-
-        c.fill = GridBagConstraints.BOTH;
-        c.anchor = GridBagConstraints.CENTER;
-        c.weightx = 0.5;
-        c.weighty = 1.0;
-        c.gridx = 0;
-        c.gridy = 0;
-        c.gridwidth = 2;
-        contentPane.add(new JScrollPane(table), c);
-
-        c.fill = GridBagConstraints.HORIZONTAL;
-        c.anchor = GridBagConstraints.LINE_START;
-        c.weightx = 0.25;
-        c.weighty = 0;
-        c.gridx = 0;
-        c.gridy = 1;
-        c.gridwidth = 1;
-        contentPane.add(label_COF_NAME, c);
-
-        c.fill = GridBagConstraints.HORIZONTAL;
-        c.anchor = GridBagConstraints.LINE_END;
-        c.weightx = 0.75;
-        c.weighty = 0;
-        c.gridx = 1;
-        c.gridy = 1;
-        c.gridwidth = 1;
-        contentPane.add(textField_COF_NAME, c);
-
-        c.fill = GridBagConstraints.HORIZONTAL;
-        c.weightx = 0.25;
-        c.weighty = 0;
-        c.anchor = GridBagConstraints.LINE_START;
-        c.gridx = 0;
-        c.gridy = 2;
-        c.gridwidth = 1;
-        contentPane.add(label_SUP_ID, c);
-
-        c.fill = GridBagConstraints.HORIZONTAL;
-        c.anchor = GridBagConstraints.LINE_END;
-        c.weightx = 0.75;
-        c.weighty = 0;
-        c.gridx = 1;
-        c.gridy = 2;
-        c.gridwidth = 1;
-        contentPane.add(textField_SUP_ID, c);
-
-        c.fill = GridBagConstraints.HORIZONTAL;
-        c.anchor = GridBagConstraints.LINE_START;
-        c.weightx = 0.25;
-        c.weighty = 0;
-        c.gridx = 0;
-        c.gridy = 3;
-        c.gridwidth = 1;
-        contentPane.add(label_PRICE, c);
-
-        c.fill = GridBagConstraints.HORIZONTAL;
-        c.anchor = GridBagConstraints.LINE_END;
-        c.weightx = 0.75;
-        c.weighty = 0;
-        c.gridx = 1;
-        c.gridy = 3;
-        c.gridwidth = 1;
-        contentPane.add(textField_PRICE, c);
-
-        c.fill = GridBagConstraints.HORIZONTAL;
-        c.anchor = GridBagConstraints.LINE_START;
-        c.weightx = 0.25;
-        c.weighty = 0;
-        c.gridx = 0;
-        c.gridy = 4;
-        c.gridwidth = 1;
-        contentPane.add(label_SALES, c);
-
-        c.fill = GridBagConstraints.HORIZONTAL;
-        c.anchor = GridBagConstraints.LINE_END;
-        c.weightx = 0.75;
-        c.weighty = 0;
-        c.gridx = 1;
-        c.gridy = 4;
-        c.gridwidth = 1;
-        contentPane.add(textField_SALES, c);
-
-        c.fill = GridBagConstraints.HORIZONTAL;
-        c.anchor = GridBagConstraints.LINE_START;
-        c.weightx = 0.25;
-        c.weighty = 0;
-        c.gridx = 0;
-        c.gridy = 5;
-        c.gridwidth = 1;
-        contentPane.add(label_TOTAL, c);
-
-        c.fill = GridBagConstraints.HORIZONTAL;
-        c.anchor = GridBagConstraints.LINE_END;
-        c.weightx = 0.75;
-        c.weighty = 0;
-        c.gridx = 1;
-        c.gridy = 5;
-        c.gridwidth = 1;
-        contentPane.add(textField_TOTAL, c);
-
-        c.fill = GridBagConstraints.HORIZONTAL;
-        c.anchor = GridBagConstraints.LINE_START;
-        c.weightx = 0.5;
-        c.weighty = 0;
-        c.gridx = 0;
-        c.gridy = 6;
-        c.gridwidth = 1;
-        contentPane.add(button_ADD_ROW, c);
-
-        c.fill = GridBagConstraints.HORIZONTAL;
-        c.anchor = GridBagConstraints.LINE_END;
-        c.weightx = 0.5;
-        c.weighty = 0;
-        c.gridx = 1;
-        c.gridy = 6;
-        c.gridwidth = 1;
-        contentPane.add(button_UPDATE_DATABASE, c);
-
-        c.fill = GridBagConstraints.HORIZONTAL;
-        c.anchor = GridBagConstraints.LINE_START;
-        c.weightx = 0.5;
-        c.weighty = 0;
-        c.gridx = 0;
-        c.gridy = 7;
-        c.gridwidth = 1;
-        contentPane.add(button_DISCARD_CHANGES, c);
-
-        // Add listeners for the buttons in the application
-
-        button_ADD_ROW.addActionListener(new ActionListener() {
-                public void actionPerformed(ActionEvent e) {
-                    JOptionPane.showMessageDialog(CoffeesFrame.this,
-                                                                                new String[] {
-                                "Adding the following row:",
-                                "Coffee name: [" + textField_COF_NAME.getText() + "]",
-                                "Supplier ID: [" + textField_SUP_ID.getText() + "]",
-                                "Price: [" + textField_PRICE.getText() + "]",
-                                "Sales: [" + textField_SALES.getText() + "]",
-                                "Total: [" + textField_TOTAL.getText() + "]" });
-                    try {
-                        myCoffeesTableModel.insertRow(textField_COF_NAME.getText(),
-                                                                                    Integer.parseInt(textField_SUP_ID.getText().trim()),
-                                                                                    Float.parseFloat(textField_PRICE.getText().trim()),
-                                                                                    Integer.parseInt(textField_SALES.getText().trim()),
-                                                                                    Integer.parseInt(textField_TOTAL.getText().trim()));
-                    } catch (SQLException sqle) {
-                        displaySQLExceptionDialog(sqle);
-                    }
-                }
-            });
-
-        button_UPDATE_DATABASE.addActionListener(new ActionListener() {
-                public void actionPerformed(ActionEvent e) {
-                    try {
-			myCoffeesTableModel.coffeesRowSet.acceptChanges(connection);
-                    } catch (SQLException sqle) {
-                        displaySQLExceptionDialog(sqle);
-                        // Now revert back changes
-                        try {
-                            createNewTableModel();
-                        } catch (SQLException sqle2) {
-                            displaySQLExceptionDialog(sqle2);
-                        }
-                    }
-                }
-            });
-
-        button_DISCARD_CHANGES.addActionListener(new ActionListener() {
-                public void actionPerformed(ActionEvent e) {
-                    try {
-                        createNewTableModel();
-                    } catch (SQLException sqle) {
-                        displaySQLExceptionDialog(sqle);
-                    }
-                }
-            });
-    }
-
-    private void displaySQLExceptionDialog(SQLException e) {
-
-        // Display the SQLException in a dialog box
-        JOptionPane.showMessageDialog(
-            CoffeesFrame.this,
-            new String[] {
-                e.getClass().getName() + ": ",
-                e.getMessage()
-            }
-        );
-    }
-
-    private void createNewTableModel() throws SQLException {
-        myCoffeesTableModel = new CoffeesTableModel(getContentsOfCoffeesTable());
-        myCoffeesTableModel.addEventHandlersToRowSet(this);
-        table.setModel(myCoffeesTableModel);
-    }
-
-    public static void main(String[] args) throws Exception {
-        JDBCTutorialUtilities myJDBCTutorialUtilities;
-        if (args[0] == null) {
-            System.err.println("Properties file not specified at command line");
-            return;
-        } else {
-            try {
-                myJDBCTutorialUtilities = new JDBCTutorialUtilities(args[0]);
-            } catch (Exception e) {
-                System.err.println("Problem reading properties file " + args[0]);
-                e.printStackTrace();
-                return;
-            }
-        }
-        try {
-            CoffeesFrame qf = new CoffeesFrame(myJDBCTutorialUtilities);
-            qf.pack();
-            qf.setVisible(true);
-        } catch (SQLException sqle) {
-            JDBCTutorialUtilities.printSQLException(sqle);
-        }
-        catch (Exception e) {
-            System.out.println("Unexpected exception");
-            e.printStackTrace();
-        }
-    }
-
-    public CachedRowSet getContentsOfCoffeesTable() throws SQLException {
-        CachedRowSet crs = null;
-        try {
-	    RowSetFactory factory = RowSetProvider.newFactory();
-            crs = factory.createCachedRowSet();
-            crs.setType(ResultSet.TYPE_SCROLL_INSENSITIVE);
-            crs.setConcurrency(ResultSet.CONCUR_UPDATABLE);
-            crs.setUsername(settings.userName);
-            crs.setPassword(settings.password);
-            crs.setUrl(settings.urlString);
-            crs.setCommand("select COF_NAME, SUP_ID, PRICE, SALES, TOTAL from COFFEES");
-            crs.execute();
-        } catch (SQLException e) {
-            JDBCTutorialUtilities.printSQLException(e);
-        }
-        return crs;
-    }
-
-    public void actionPerformed(ActionEvent event) {    }
-
-    public void rowSetChanged(RowSetEvent event) {    }
-
-    public void rowChanged(RowSetEvent event) {
-
-        CachedRowSet currentRowSet = this.myCoffeesTableModel.coffeesRowSet;
-
-        try {
-            currentRowSet.moveToCurrentRow();
-            myCoffeesTableModel =
-                new CoffeesTableModel(myCoffeesTableModel.getCoffeesRowSet());
-            table.setModel(myCoffeesTableModel);
-
-        } catch (SQLException ex) {
-
-            JDBCTutorialUtilities.printSQLException(ex);
-
-            // Display the error in a dialog box.
-
-            JOptionPane.showMessageDialog(
-                CoffeesFrame.this,
-                new String[] { // Display a 2-line message
-                    ex.getClass().getName() + ": ",
-                    ex.getMessage()
-                }
-            );
-        }
-    }
-
-    public void cursorMoved(RowSetEvent event) {    }
-}
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
+import javax.sql.RowSetEvent;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import javax.sql.RowSetListener;
+import javax.swing.table.TableModel;
+
+
+public class CoffeesFrame extends JFrame implements RowSetListener {
+
+    JDBCTutorialUtilities settings;
+    Connection connection;
+    JTable table; // The table for displaying data
+
+    JLabel label_COF_NAME;
+    JLabel label_SUP_ID;
+    JLabel label_PRICE;
+    JLabel label_SALES;
+    JLabel label_TOTAL;
+
+    JTextField textField_COF_NAME;
+    JTextField textField_SUP_ID;
+    JTextField textField_PRICE;
+    JTextField textField_SALES;
+    JTextField textField_TOTAL;
+
+    JButton button_ADD_ROW;
+    JButton button_UPDATE_DATABASE;
+    JButton button_DISCARD_CHANGES;
+    JButton button_CANCEL;
+    JProgressBar progressBar; // Shown while the table is read or written
+
+    TableLoader currentLoader; // The running TableLoader, if any
+
+    CoffeesTableModel myCoffeesTableModel;
+    PagedCoffeesTableModel myPagedTableModel; // Instead of the above for large tables
+
+    // Tables with more rows than this are read a page at a time as they are
+    // viewed instead of being loaded into a CachedRowSet.
+    static final int PAGED_ROW_THRESHOLD = 50000;
+    static final int PAGE_SIZE = 500;
+    static final int MAX_CACHED_PAGES = 20;
+
+    // Changes made to COFFEES by others are polled for while the table is
+    // held in memory.
+    CoffeesChangeFeed changeFeed;
+    static final int FEED_RANGES = 32;
+    static final long FEED_INTERVAL_MILLIS = 500;
+
+    public CoffeesFrame(JDBCTutorialUtilities settingsArg) throws SQLException {
+
+
+        super("The Coffee Break: COFFEES Table"); // Set window title
+
+        this.settings = settingsArg;
+        connection = settings.getConnection();
+	connection.setAutoCommit(false);
+
+        // Close connections exit the application when the user
+        // closes the window
+
+        addWindowListener(new WindowAdapter() {
+                public void windowClosing(WindowEvent e) {
+
+                    if (changeFeed != null) {
+                        changeFeed.close();
+                    }
+                    if (myPagedTableModel != null) {
+                        myPagedTableModel.close();
+                    }
+                    try {
+                        connection.close();
+                    } catch (SQLException sqle) {
+                        JDBCTutorialUtilities.printSQLException(sqle);
+                    }
+                    System.exit(0);
+                }
+            });
+
+        // Initialize and lay out window controls
+
+        table = new JTable(); // Displays the table; filled in by a TableLoader
+
+        label_COF_NAME = new JLabel();
+        label_SUP_ID = new JLabel();
+        label_PRICE = new JLabel();
+        label_SALES = new JLabel();
+        label_TOTAL = new JLabel();
+
+        textField_COF_NAME = new JTextField(10);
+        textField_SUP_ID = new JTextField(10);
+        textField_PRICE = new JTextField(10);
+        textField_SALES = new JTextField(10);
+        textField_TOTAL = new JTextField(10);
+
+        button_ADD_ROW = new JButton();
+        button_UPDATE_DATABASE = new JButton();
+        button_DISCARD_CHANGES = new JButton();
+        button_CANCEL = new JButton();
+        progressBar = new JProgressBar();
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+
+        label_COF_NAME.setText("Coffee Name:");
+        label_SUP_ID.setText("Supplier ID:");
+        label_PRICE.setText("Price:");
+        label_SALES.setText("Sales:");
+        label_TOTAL.setText("Total Sales:");
+
+        textField_COF_NAME.setText("Enter new coffee name");
+        textField_SUP_ID.setText("101");
+        textField_PRICE.setText("0");
+        textField_SALES.setText("0");
+        textField_TOTAL.setText("0");
+
+        button_ADD_ROW.setText("Add row to table");
+        button_UPDATE_DATABASE.setText("Update database");
+        button_DISCARD_CHANGES.setText("Discard changes");
+        button_CANCEL.setText("Cancel");
+        button_CANCEL.setEnabled(false);
+
+        // Place the components within the container contentPane; use GridBagLayout
+        // as the layout.
+
+        Container contentPane = getContentPane();
+        contentPane.setComponentOrientation(ComponentOrientation.LEFT_TO_RIGHT);
+        contentPane.setLayout(new GridBagLayout());
+        GridBagConstraints c = new GridBagConstraints();
+
+        c.fill = GridBagConstraints.BOTH;
+        c.anchor = GridBagConstraints.CENTER;
+        c.weightx = 0.5;
+        c.weighty = 1.0;
+        c.gridx = 0;
+        c.gridy = 0;
+        c.gridwidth = 2;
+        contentPane.add(new JScrollPane(table), c);
+
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.anchor = GridBagConstraints.LINE_START;
+        c.weightx = 0.25;
+        c.weighty = 0;
+        c.gridx = 0;
+        c.gridy = 1;
+        c.gridwidth = 1;
+        contentPane.add(label_COF_NAME, c);
+
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.anchor = GridBagConstraints.LINE_END;
+        c.weightx = 0.75;
+        c.weighty = 0;
+        c.gridx = 1;
+        c.gridy = 1;
+        c.gridwidth = 1;
+        contentPane.add(textField_COF_NAME, c);
+
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.weightx = 0.25;
+        c.weighty = 0;
+        c.anchor = GridBagConstraints.LINE_START;
+        c.gridx = 0;
+        c.gridy = 2;
+        c.gridwidth = 1;
+        contentPane.add(label_SUP_ID, c);
+
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.anchor = GridBagConstraints.LINE_END;
+        c.weightx = 0.75;
+        c.weighty = 0;
+        c.gridx = 1;
+        c.gridy = 2;
+        c.gridwidth = 1;
+        contentPane.add(textField_SUP_ID, c);
+
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.anchor = GridBagConstraints.LINE_START;
+        c.weightx = 0.25;
+        c.weighty = 0;
+        c.gridx = 0;
+        c.gridy = 3;
+        c.gridwidth = 1;
+        contentPane.add(label_PRICE, c);
+
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.anchor = GridBagConstraints.LINE_END;
+        c.weightx = 0.75;
+        c.weighty = 0;
+        c.gridx = 1;
+        c.gridy = 3;
+        c.gridwidth = 1;
+        contentPane.add(textField_PRICE, c);
+
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.anchor = GridBagConstraints.LINE_START;
+        c.weightx = 0.25;
+        c.weighty = 0;
+        c.gridx = 0;
+        c.gridy = 4;
+        c.gridwidth = 1;
+        contentPane.add(label_SALES, c);
+
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.anchor = GridBagConstraints.LINE_END;
+        c.weightx = 0.75;
+        c.weighty = 0;
+        c.gridx = 1;
+        c.gridy = 4;
+        c.gridwidth = 1;
+        contentPane.add(textField_SALES, c);
+
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.anchor = GridBagConstraints.LINE_START;
+        c.weightx = 0.25;
+        c.weighty = 0;
+        c.gridx = 0;
+        c.gridy = 5;
+        c.gridwidth = 1;
+        contentPane.add(label_TOTAL, c);
+
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.anchor = GridBagConstraints.LINE_END;
+        c.weightx = 0.75;
+        c.weighty = 0;
+        c.gridx = 1;
+        c.gridy = 5;
+        c.gridwidth = 1;
+        contentPane.add(textField_TOTAL, c);
+
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.anchor = GridBagConstraints.LINE_START;
+        c.weightx = 0.5;
+        c.weighty = 0;
+        c.gridx = 0;
+        c.gridy = 6;
+        c.gridwidth = 1;
+        contentPane.add(button_ADD_ROW, c);
+
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.anchor = GridBagConstraints.LINE_END;
+        c.weightx = 0.5;
+        c.weighty = 0;
+        c.gridx = 1;
+        c.gridy = 6;
+        c.gridwidth = 1;
+        contentPane.add(button_UPDATE_DATABASE, c);
+
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.anchor = GridBagConstraints.LINE_START;
+        c.weightx = 0.5;
+        c.weighty = 0;
+        c.gridx = 0;
+        c.gridy = 7;
+        c.gridwidth = 1;
+        contentPane.add(button_DISCARD_CHANGES, c);
+
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.anchor = GridBagConstraints.LINE_END;
+        c.weightx = 0.5;
+        c.weighty = 0;
+        c.gridx = 1;
+        c.gridy = 7;
+        c.gridwidth = 1;
+        contentPane.add(button_CANCEL, c);
+
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.anchor = GridBagConstraints.CENTER;
+        c.weightx = 1.0;
+        c.weighty = 0;
+        c.gridx = 0;
+        c.gridy = 8;
+        c.gridwidth = 2;
+        contentPane.add(progressBar, c);
+
+        // Add listeners for the buttons in the application
+
+        button_ADD_ROW.addActionListener(new ActionListener() {
+                public void actionPerformed(ActionEvent e) {
+                    JOptionPane.showMessageDialog(CoffeesFrame.this,
+                                                                                new String[] {
+                                "Adding the following row:",
+                                "Coffee name: [" + textField_COF_NAME.getText() + "]",
+                                "Supplier ID: [" + textField_SUP_ID.getText() + "]",
+                                "Price: [" + textField_PRICE.getText() + "]",
+                                "Sales: [" + textField_SALES.getText() + "]",
+                                "Total: [" + textField_TOTAL.getText() + "]" });
+                    try {
+                        if (myPagedTableModel != null) {
+                            myPagedTableModel.insertRow(textField_COF_NAME.getText(),
+                                                        Integer.parseInt(textField_SUP_ID.getText().trim()),
+                                                        Float.parseFloat(textField_PRICE.getText().trim()),
+                                                        Integer.parseInt(textField_SALES.getText().trim()),
+                                                        Integer.parseInt(textField_TOTAL.getText().trim()));
+                            return;
+                        }
+                        if (myCoffeesTableModel == null) {
+                            return; // The table could not be read
+                        }
+                        myCoffeesTableModel.insertRow(textField_COF_NAME.getText(),
+                                                                                    Integer.parseInt(textField_SUP_ID.getText().trim()),
+                                                                                    Float.parseFloat(textField_PRICE.getText().trim()),
+                                                                                    Integer.parseInt(textField_SALES.getText().trim()),
+                                                                                    Integer.parseInt(textField_TOTAL.getText().trim()));
+                    } catch (SQLException sqle) {
+                        displaySQLExceptionDialog(sqle);
+                    }
+                }
+            });
+
+        button_UPDATE_DATABASE.addActionListener(new ActionListener() {
+                public void actionPerformed(ActionEvent e) {
+                    startLoader(true);
+                }
+            });
+
+        button_DISCARD_CHANGES.addActionListener(new ActionListener() {
+                public void actionPerformed(ActionEvent e) {
+                    startLoader(false);
+                }
+            });
+
+        button_CANCEL.addActionListener(new ActionListener() {
+                public void actionPerformed(ActionEvent e) {
+                    if (currentLoader != null) {
+                        // Do not interrupt the worker: some drivers close the
+                        // connection when interrupted. The worker finishes
+                        // the statement it is running and drops the result;
+                        // the other buttons stay disabled until then.
+                        currentLoader.cancel(false);
+                        button_CANCEL.setEnabled(false);
+                        progressBar.setString("Cancelling");
+                    }
+                }
+            });
+
+        startLoader(false);
+    }
+
+    /**
+     * Reads the COFFEES table on a background thread and shows it when it
+     * has been read; first writes the changes made in the table if
+     * writeChanges is true. The buttons are disabled until it is done.
+     */
+    private void startLoader(boolean writeChanges) {
+        setBusy(true);
+        currentLoader = new TableLoader(writeChanges);
+        currentLoader.execute();
+    }
+
+    private void setBusy(boolean busy) {
+        button_ADD_ROW.setEnabled(!busy);
+        button_UPDATE_DATABASE.setEnabled(!busy);
+        button_DISCARD_CHANGES.setEnabled(!busy);
+        button_CANCEL.setEnabled(busy);
+        progressBar.setIndeterminate(busy);
+        progressBar.setVisible(busy);
+    }
+
+    /**
+     * Does the database work of the Update database and Discard changes
+     * buttons, and the first read of the table, off the event dispatch
+     * thread. The new model is built in the background and replaces the
+     * table's model in done(), on the event dispatch thread, so the table
+     * never sees a model that is partly read.
+     * <p>
+     * A cancelled SwingWorker calls done() at once, while doInBackground may
+     * still be using the connection. So the loader finishes, enabling the
+     * buttons again, only once doInBackground has returned as well; the
+     * model and feed of a cancelled loader are closed then.
+     */
+    class TableLoader extends SwingWorker<TableModel, String> {
+
+        private final boolean writeChanges;
+        private final CoffeesTableModel rowSetModel;
+        private final PagedCoffeesTableModel pagedModel;
+        private SQLException writeError;
+        private TableModel builtModel;
+        private CoffeesChangeFeed feed;
+        private boolean returned; // doInBackground has returned
+        private boolean doneCalled;
+
+        TableLoader(boolean writeChangesArg) {
+            this.writeChanges = writeChangesArg;
+            this.rowSetModel = myCoffeesTableModel;
+            this.pagedModel = myPagedTableModel;
+        }
+
+        protected TableModel doInBackground() throws Exception {
+            try {
+                return load();
+            } finally {
+                SwingUtilities.invokeLater(new Runnable() {
+                    public void run() {
+                        returned = true;
+                        finish();
+                    }
+                });
+            }
+        }
+
+        private TableModel load() throws SQLException {
+            if (writeChanges) {
+                publish("Updating database");
+                try {
+                    if (pagedModel != null) {
+                        pagedModel.acceptChanges();
+                    } else if (rowSetModel != null) {
+                        rowSetModel.coffeesRowSet.acceptChanges(connection);
+                        // The table already shows what was written.
+                        return null;
+                    }
+                } catch (SQLException e) {
+                    // Read the table again to revert the changes.
+                    writeError = e;
+                }
+            }
+            if (isCancelled()) {
+                return null;
+            }
+            publish("Reading COFFEES table");
+            builtModel = buildTableModel();
+            if (builtModel instanceof CoffeesTableModel) {
+                // The feed polls on a connection of its own.
+                feed = new CoffeesChangeFeed(settings.getConnection(), FEED_RANGES);
+                // The feed's first poll compares the table with these rows.
+                feed.seed(((CoffeesTableModel) builtModel).getCoffeesRowSet());
+            }
+            return builtModel;
+        }
+
+        protected void process(List<String> messages) {
+            progressBar.setString(messages.get(messages.size() - 1));
+        }
+
+        protected void done() {
+            doneCalled = true;
+            finish();
+        }
+
+        /** Runs on the event dispatch thread once both done() and doInBackground have */
+        private void finish() {
+            if (!returned || !doneCalled) {
+                return;
+            }
+            if (currentLoader == this) {
+                currentLoader = null;
+                setBusy(false);
+            }
+            if (isCancelled()) {
+                if (builtModel instanceof PagedCoffeesTableModel) {
+                    ((PagedCoffeesTableModel) builtModel).close();
+                }
+                if (feed != null) {
+                    feed.close();
+                }
+                return;
+            }
+            if (writeError != null) {
+                displaySQLExceptionDialog(writeError);
+            }
+            try {
+                TableModel model = get();
+                if (model != null) {
+                    installTableModel(model, feed);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SQLException) {
+                    JDBCTutorialUtilities.printSQLException((SQLException) e.getCause());
+                    displaySQLExceptionDialog((SQLException) e.getCause());
+                } else {
+                    e.getCause().printStackTrace();
+                }
+            }
+        }
+    }
+
+    private void displaySQLExceptionDialog(SQLException e) {
+
+        // Display the SQLException in a dialog box
+        JOptionPane.showMessageDialog(
+            CoffeesFrame.this,
+            new String[] {
+                e.getClass().getName() + ": ",
+                e.getMessage()
+            }
+        );
+    }
+
+    /** Reads the table into a new model; does not touch any Swing component */
+    private TableModel buildTableModel() throws SQLException {
+        if (PagedCoffeesTableModel.countRows(connection) > PAGED_ROW_THRESHOLD) {
+            // The model reads pages on a thread of its own, so it gets a
+            // connection of its own, as the change feed does.
+            Connection pageConnection = settings.getConnection();
+            try {
+                return new PagedCoffeesTableModel(pageConnection, settings.dbms,
+                                                  PAGE_SIZE, MAX_CACHED_PAGES);
+            } catch (SQLException e) {
+                pageConnection.close();
+                throw e;
+            }
+        }
+        return new CoffeesTableModel(getContentsOfCoffeesTable());
+    }
+
+    /**
+     * Replaces the table's model and starts feed, if not null, to keep it
+     * up to date; called on the event dispatch thread
+     */
+    private void installTableModel(TableModel model, CoffeesChangeFeed feed) {
+        if (myPagedTableModel != null) {
+            myPagedTableModel.close();
+        }
+        if (changeFeed != null) {
+            changeFeed.close();
+        }
+        myPagedTableModel = null;
+        myCoffeesTableModel = null;
+        if (model instanceof PagedCoffeesTableModel) {
+            myPagedTableModel = (PagedCoffeesTableModel) model;
+        } else {
+            myCoffeesTableModel = (CoffeesTableModel) model;
+        }
+        table.setModel(model);
+        // Clicking a column header sorts the rows held in memory; a paged
+        // model holds only some of them, so it is not sorted.
+        table.setRowSorter(myCoffeesTableModel == null
+                           ? null : myCoffeesTableModel.createRowSorter());
+
+        changeFeed = feed;
+        if (feed != null) {
+            final CoffeesTableModel liveModel = myCoffeesTableModel;
+            feed.start(new CoffeesChangeFeed.Listener() {
+                    public void rangeChanged(String fromKey, String toKey,
+                                             Set<String> previousKeys,
+                                             List<Object[]> rows) {
+                        liveModel.applyRemoteRange(previousKeys, rows);
+                    }
+                }, FEED_INTERVAL_MILLIS);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        JDBCTutorialUtilities myJDBCTutorialUtilities;
+        if (args[0] == null) {
+            System.err.println("Properties file not specified at command line");
+            return;
+        } else {
+            try {
+                myJDBCTutorialUtilities = new JDBCTutorialUtilities(args[0]);
+            } catch (Exception e) {
+                System.err.println("Problem reading properties file " + args[0]);
+                e.printStackTrace();
+                return;
+            }
+        }
+        try {
+            CoffeesFrame qf = new CoffeesFrame(myJDBCTutorialUtilities);
+            qf.pack();
+            qf.setVisible(true);
+        } catch (SQLException sqle) {
+            JDBCTutorialUtilities.printSQLException(sqle);
+        }
+        catch (Exception e) {
+            System.out.println("Unexpected exception");
+            e.printStackTrace();
+        }
+    }
+
+    public CachedRowSet getContentsOfCoffeesTable() throws SQLException {
+        CachedRowSet crs = null;
+        try {
+	    RowSetFactory factory =
+                RowSetProvider.newFactory(ColumnarRowSetFactory.NAME, null);
+            crs = factory.createCachedRowSet();
+            crs.setType(ResultSet.TYPE_SCROLL_INSENSITIVE);
+            crs.setConcurrency(ResultSet.CONCUR_UPDATABLE);
+            crs.setUsername(settings.userName);
+            crs.setPassword(settings.password);
+            crs.setUrl(settings.urlString);
+            crs.setCommand("select COF_NAME, SUP_ID, PRICE, SALES, TOTAL from COFFEES");
+            crs.execute();
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        }
+        return crs;
+    }
+
+    public void actionPerformed(ActionEvent event) {    }
+
+    public void rowSetChanged(RowSetEvent event) {    }
+
+    // The table model listens to its row set and updates the table itself;
+    // the frame has nothing to do when the row set changes.
+
+    public void rowChanged(RowSetEvent event) {    }
+
+    public void cursorMoved(RowSetEvent event) {    }
+}
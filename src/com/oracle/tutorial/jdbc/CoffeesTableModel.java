@@ -1,184 +1,535 @@
-/*
- * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
- *
- * Redistribution and use in source and binary forms, with or without
- * modification, are permitted provided that the following conditions
- * are met:
- *
- *     - Redistributions of source code must retain the above copyright
- *         notice, this list of conditions and the following disclaimer.
- *
- *     - Redistributions in binary form must reproduce the above copyright
- *         notice, this list of conditions and the following disclaimer in the
- *         documentation and/or other materials provided with the distribution.
- *
- *     - Neither the name of Oracle or the names of its
- *         contributors may be used to endorse or promote products derived
- *         from this software without specific prior written permission.
- *
- * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
- * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
- * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
- * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
- * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
- * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
- * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
- * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
- * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
- * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
- * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
- */
-
-package com.oracle.tutorial.jdbc;
-
-import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
-import java.sql.SQLException;
-
-import javax.sql.RowSetListener;
-import javax.sql.rowset.CachedRowSet;
-
-import javax.swing.event.TableModelListener;
-import javax.swing.table.TableModel;
-
-public class CoffeesTableModel implements TableModel {
-
-    CachedRowSet coffeesRowSet; // The ResultSet to interpret
-    ResultSetMetaData metadata; // Additional information about the results
-    int numcols, numrows; // How many rows and columns in the table
-
-    public CachedRowSet getCoffeesRowSet() {
-        return coffeesRowSet;
-    }
-
-
-    public CoffeesTableModel(CachedRowSet rowSetArg) throws SQLException {
-
-        this.coffeesRowSet = rowSetArg;
-        this.metadata = this.coffeesRowSet.getMetaData();
-        numcols = metadata.getColumnCount();
-
-        // Retrieve the number of rows.
-        this.coffeesRowSet.beforeFirst();
-        this.numrows = 0;
-        while (this.coffeesRowSet.next()) {
-            this.numrows++;
-        }
-        this.coffeesRowSet.beforeFirst();
-    }
-
-    public void addEventHandlersToRowSet(RowSetListener listener) {
-        this.coffeesRowSet.addRowSetListener(listener);
-    }
-
-
-    public void insertRow(String coffeeName, int supplierID, float price,
-                                                int sales, int total) throws SQLException {
-
-        try {
-            this.coffeesRowSet.moveToInsertRow();
-            this.coffeesRowSet.updateString("COF_NAME", coffeeName);
-            this.coffeesRowSet.updateInt("SUP_ID", supplierID);
-            this.coffeesRowSet.updateFloat("PRICE", price);
-            this.coffeesRowSet.updateInt("SALES", sales);
-            this.coffeesRowSet.updateInt("TOTAL", total);
-            this.coffeesRowSet.insertRow();
-            this.coffeesRowSet.moveToCurrentRow();
-        } catch (SQLException e) {
-            JDBCTutorialUtilities.printSQLException(e);
-        }
-    }
-
-    public void close() {
-        try {
-            coffeesRowSet.getStatement().close();
-        } catch (SQLException e) {
-            JDBCTutorialUtilities.printSQLException(e);
-        }
-    }
-
-    /** Automatically close when we're garbage collected */
-    protected void finalize() {
-        close();
-    }
-
-    /** Method from interface TableModel; returns the number of columns */
-
-    public int getColumnCount() {
-        return numcols;
-    }
-
-        /** Method from interface TableModel; returns the number of rows */
-
-    public int getRowCount() {
-        return numrows;
-    }
-
-    /** Method from interface TableModel; returns the column name at columnIndex
-     *    based on information from ResultSetMetaData
-     */
-
-    public String getColumnName(int column) {
-        try {
-            return this.metadata.getColumnLabel(column + 1);
-        } catch (SQLException e) {
-            return e.toString();
-        }
-    }
-
-    /** Method from interface TableModel; returns the most specific superclass for
-     *    all cell values in the specified column. To keep things simple, all data
-     *    in the table are converted to String objects; hence, this method returns
-     *    the String class.
-     */
-
-    public Class getColumnClass(int column) {
-        return String.class;
-    }
-
-    /** Method from interface TableModel; returns the value for the cell specified
-     *    by columnIndex and rowIndex. TableModel uses this method to populate
-     *    itself with data from the row set. SQL starts numbering its rows and
-     *    columns at 1, but TableModel starts at 0.
-     */
-
-    public Object getValueAt(int rowIndex, int columnIndex) {
-
-        try {
-            this.coffeesRowSet.absolute(rowIndex + 1);
-            Object o = this.coffeesRowSet.getObject(columnIndex + 1);
-            if (o == null)
-                return null;
-            else
-                return o.toString();
-        } catch (SQLException e) {
-            return e.toString();
-        }
-    }
-
-        /** Method from interface TableModel; returns true if the specified cell
-         *    is editable. This sample does not allow users to edit any cells from
-         *    the TableModel (rows are added by another window control). Thus,
-         *    this method returns false.
-         */
-
-    public boolean isCellEditable(int rowIndex, int columnIndex) {
-        return false;
-    }
-
-    // Because the sample does not allow users to edit any cells from the
-    // TableModel, the following methods, setValueAt, addTableModelListener,
-    // and removeTableModelListener, do not need to be implemented.
-
-    public void setValueAt(Object value, int row, int column) {
-        System.out.println("Calling setValueAt row " + row + ", column " + column);
-    }
-
-    public void addTableModelListener(TableModelListener l) {
-    }
-
-    public void removeTableModelListener(TableModelListener l) {
-    }
-
-    }
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.RowSetEvent;
+import javax.sql.RowSetListener;
+import javax.sql.rowset.CachedRowSet;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableRowSorter;
+
+/**
+ * Table model over a CachedRowSet. The model keeps a copy of the rows in
+ * typed column arrays and listens to the row set: a row added with
+ * insertRow, or updated or deleted through the row set, changes only that
+ * row of the copy, and the table is told about that row alone.
+ * <p>
+ * The copy is changed only on the event dispatch thread. When the row set
+ * changes on another thread, for instance in acceptChanges run by a
+ * SwingWorker, the new values are read on that thread and put in place on
+ * the event dispatch thread together with the table event.
+ */
+public class CoffeesTableModel extends AbstractTableModel implements RowSetListener {
+
+    private static final long serialVersionUID = 1L;
+
+    CachedRowSet coffeesRowSet; // The ResultSet to interpret
+    ResultSetMetaData metadata; // Additional information about the results
+    int numcols, numrows; // How many rows and columns in the table
+    ColumnVector[] columns; // Values of each column, indexed by slot
+    Class<?>[] columnClasses; // Class of the values of each column
+    IntList slots; // Slot in columns of each table row
+    BitSet localSlots; // Slots of rows added with insertRow
+    int keyColumn; // Index of COF_NAME, or -1
+    boolean busy; // True while the model itself moves the row set's cursor
+    int lastRow; // Row the cursor was last moved to by other code
+
+    public CachedRowSet getCoffeesRowSet() {
+        return coffeesRowSet;
+    }
+
+
+    public CoffeesTableModel(CachedRowSet rowSetArg) throws SQLException {
+
+        this.coffeesRowSet = rowSetArg;
+        this.metadata = this.coffeesRowSet.getMetaData();
+        numcols = metadata.getColumnCount();
+        columnClasses = new Class<?>[numcols];
+        for (int i = 0; i < numcols; i++) {
+            columnClasses[i] = ColumnVector.valueClass(metadata.getColumnType(i + 1));
+        }
+        keyColumn = -1;
+        for (int i = 0; i < numcols; i++) {
+            if ("COF_NAME".equalsIgnoreCase(metadata.getColumnLabel(i + 1))) {
+                keyColumn = i;
+            }
+        }
+
+        install(readAllRows());
+        this.coffeesRowSet.addRowSetListener(this);
+    }
+
+    /** Rows read from the row set, not yet shown by the model */
+    private static final class Rows {
+        final ColumnVector[] columns;
+        final IntList slots;
+
+        Rows(ColumnVector[] columnsArg, IntList slotsArg) {
+            this.columns = columnsArg;
+            this.slots = slotsArg;
+        }
+    }
+
+    /**
+     * Copies the rows into one typed array per column, so that painting a
+     * cell is an array lookup and never moves the row set's cursor. The
+     * model itself is not changed; see install.
+     */
+    private Rows readAllRows() throws SQLException {
+        ColumnVector[] newColumns = new ColumnVector[numcols];
+        for (int i = 0; i < numcols; i++) {
+            newColumns[i] = ColumnVector.create(metadata.getColumnType(i + 1),
+                                                metadata.getScale(i + 1),
+                                                this.coffeesRowSet.size());
+        }
+        IntList newSlots = new IntList(Math.max(this.coffeesRowSet.size(), 16));
+        boolean wasBusy = busy;
+        busy = true;
+        try {
+            this.coffeesRowSet.beforeFirst();
+            while (this.coffeesRowSet.next()) {
+                for (int i = 0; i < numcols; i++) {
+                    newColumns[i].read(this.coffeesRowSet, i + 1);
+                }
+                newSlots.add(newSlots.size());
+            }
+            this.coffeesRowSet.beforeFirst();
+        } finally {
+            busy = wasBusy;
+        }
+        return new Rows(newColumns, newSlots);
+    }
+
+    private void install(Rows rows) {
+        this.columns = rows.columns;
+        this.slots = rows.slots;
+        this.localSlots = new BitSet();
+        this.numrows = rows.slots.size();
+    }
+
+    public void addEventHandlersToRowSet(RowSetListener listener) {
+        this.coffeesRowSet.addRowSetListener(listener);
+    }
+
+
+    public void insertRow(String coffeeName, int supplierID, float price,
+                                                int sales, int total) throws SQLException {
+
+        try {
+            // Insert after the last row, so that the new row is the last one
+            // of both the row set and the table.
+            busy = true;
+            this.coffeesRowSet.last();
+            this.coffeesRowSet.moveToInsertRow();
+            this.coffeesRowSet.updateString("COF_NAME", coffeeName);
+            this.coffeesRowSet.updateInt("SUP_ID", supplierID);
+            this.coffeesRowSet.updateFloat("PRICE", price);
+            this.coffeesRowSet.updateInt("SALES", sales);
+            this.coffeesRowSet.updateInt("TOTAL", total);
+            this.coffeesRowSet.insertRow();
+            this.coffeesRowSet.moveToCurrentRow();
+            this.coffeesRowSet.last();
+            int slot = columns.length == 0 ? 0 : columns[0].size();
+            for (int i = 0; i < numcols; i++) {
+                columns[i].read(this.coffeesRowSet, i + 1);
+            }
+            slots.add(slot);
+            localSlots.set(slot);
+            numrows = slots.size();
+            fireTableRowsInserted(numrows - 1, numrows - 1);
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        } finally {
+            busy = false;
+        }
+    }
+
+    /**
+     * Replaces the rows of a range of COF_NAME values with rows, as read
+     * from the database by a CoffeesChangeFeed; previousKeys are the keys
+     * the range had before. Only the rows that differ are changed, each
+     * with its own event. The row set is not changed, so afterwards the
+     * table's rows no longer follow the row set's positions; changes made
+     * through the row set are matched to table rows by COF_NAME. Rows added
+     * with insertRow are kept until the database has them.
+     */
+    public void applyRemoteRange(Set<String> previousKeys, List<Object[]> rows) {
+        if (keyColumn < 0) {
+            return;
+        }
+        HashSet<Object> current = new HashSet<>();
+        for (Object[] values : rows) {
+            current.add(values[keyColumn]);
+        }
+        HashMap<Object, Integer> inRange = new HashMap<>(); // Key to table row
+        for (int row = 0; row < numrows; row++) {
+            Object key = columns[keyColumn].get(slots.get(row));
+            if (key != null && (current.contains(key) || previousKeys.contains(key))) {
+                inRange.put(key, row);
+            }
+        }
+        try {
+            ArrayList<Object[]> added = new ArrayList<>();
+            BitSet seen = new BitSet();
+            for (Object[] values : rows) {
+                Integer row = inRange.get(values[keyColumn]);
+                if (row == null) {
+                    added.add(values);
+                    continue;
+                }
+                seen.set(row);
+                int slot = slots.get(row);
+                localSlots.clear(slot);
+                if (!sameValues(slot, values)) {
+                    for (int i = 0; i < numcols; i++) {
+                        columns[i].set(slot, values[i]);
+                    }
+                    fireTableRowsUpdated(row, row);
+                }
+            }
+            // Delete from the bottom up so that the rows still to delete
+            // keep their positions.
+            IntList gone = new IntList();
+            for (int row : inRange.values()) {
+                if (!seen.get(row) && !localSlots.get(slots.get(row))) {
+                    gone.add(row);
+                }
+            }
+            int[] deleted = gone.toArray();
+            Arrays.sort(deleted);
+            for (int k = deleted.length - 1; k >= 0; k--) {
+                slots.removeAt(deleted[k]);
+                numrows = slots.size();
+                fireTableRowsDeleted(deleted[k], deleted[k]);
+            }
+            if (!added.isEmpty()) {
+                int first = numrows;
+                for (Object[] values : added) {
+                    int slot = columns.length == 0 ? 0 : columns[0].size();
+                    for (int i = 0; i < numcols; i++) {
+                        columns[i].append(values[i]);
+                    }
+                    slots.add(slot);
+                }
+                numrows = slots.size();
+                fireTableRowsInserted(first, numrows - 1);
+            }
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        }
+    }
+
+    private boolean sameValues(int slot, Object[] values) {
+        for (int i = 0; i < numcols; i++) {
+            Object current = RowSetIndex.normalizeValue(columns[i].get(slot));
+            Object other = RowSetIndex.normalizeValue(values[i]);
+            if (current == null ? other != null : !current.equals(other)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Methods from interface RowSetListener. Changes made to the row set by
+    // other code are read on the thread that made them, and applied to the
+    // copy of the row they affect on the event dispatch thread, where the
+    // table is told about them. That row is found by COF_NAME, as it is now
+    // or as it was read, since rows from a CoffeesChangeFeed move the
+    // table's rows away from the row set's positions.
+
+    public void rowChanged(RowSetEvent event) {
+        if (busy) {
+            return;
+        }
+        try {
+            int row = this.coffeesRowSet.getRow();
+            if (row == 0 && (keyColumn >= 0 || lastRow > 0) && isDeleted()) {
+                // A deleted row no longer has a position of its own; without
+                // a key column it is the row the cursor was last moved to.
+                final int position = lastRow - 1;
+                final Object[] keys = keyColumn >= 0 ? currentKeys() : null;
+                lastRow = 0;
+                runOnEventThread(new Runnable() {
+                    public void run() {
+                        int index = keys != null ? rowOfKey(keys) : position;
+                        if (index >= 0 && index < numrows) {
+                            slots.removeAt(index);
+                            numrows = slots.size();
+                            fireTableRowsDeleted(index, index);
+                        }
+                    }
+                });
+            } else if (row == 0) {
+                // A row inserted by other code may be anywhere; read all the
+                // rows again.
+                rowSetChanged(event);
+            } else {
+                final int position = row - 1;
+                final Object[] keys = keyColumn >= 0 ? currentKeys() : null;
+                final Object[] values = new Object[numcols];
+                for (int i = 0; i < numcols; i++) {
+                    values[i] = this.coffeesRowSet.getObject(i + 1);
+                }
+                runOnEventThread(new Runnable() {
+                    public void run() {
+                        int index = keys != null ? rowOfKey(keys) : position;
+                        if (index < 0 || index >= numrows) {
+                            return;
+                        }
+                        int slot = slots.get(index);
+                        try {
+                            for (int i = 0; i < numcols; i++) {
+                                columns[i].set(slot, values[i]);
+                            }
+                        } catch (SQLException e) {
+                            JDBCTutorialUtilities.printSQLException(e);
+                        }
+                        fireTableRowsUpdated(index, index);
+                    }
+                });
+            }
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        }
+    }
+
+    public void rowSetChanged(RowSetEvent event) {
+        try {
+            final Rows rows = readAllRows();
+            runOnEventThread(new Runnable() {
+                public void run() {
+                    install(rows);
+                    fireTableDataChanged();
+                }
+            });
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        }
+    }
+
+    public void cursorMoved(RowSetEvent event) {
+        if (busy) {
+            return;
+        }
+        try {
+            lastRow = this.coffeesRowSet.getRow();
+        } catch (SQLException e) {
+            lastRow = 0;
+        }
+    }
+
+    /** COF_NAME of the row set's current row, as it is now and as it was read */
+    private Object[] currentKeys() throws SQLException {
+        ResultSet original = this.coffeesRowSet.getOriginalRow();
+        original.next();
+        return new Object[] {
+            this.coffeesRowSet.getObject(keyColumn + 1), original.getObject(keyColumn + 1) };
+    }
+
+    /** Table row whose COF_NAME is the first of keys found, or -1 */
+    private int rowOfKey(Object[] keys) {
+        for (Object key : keys) {
+            if (key == null) {
+                continue;
+            }
+            for (int row = 0; row < numrows; row++) {
+                if (key.equals(columns[keyColumn].get(slots.get(row)))) {
+                    return row;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private boolean isDeleted() {
+        try {
+            return this.coffeesRowSet.rowDeleted();
+        } catch (SQLException e) {
+            return false; // On the insert row
+        }
+    }
+
+    private static void runOnEventThread(Runnable r) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            r.run();
+        } else {
+            SwingUtilities.invokeLater(r);
+        }
+    }
+
+    public void close() {
+        try {
+            coffeesRowSet.getStatement().close();
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        }
+    }
+
+    /** Automatically close when we're garbage collected */
+    protected void finalize() {
+        close();
+    }
+
+    /** Method from interface TableModel; returns the number of columns */
+
+    public int getColumnCount() {
+        return numcols;
+    }
+
+        /** Method from interface TableModel; returns the number of rows */
+
+    public int getRowCount() {
+        return numrows;
+    }
+
+    /** Method from interface TableModel; returns the column name at columnIndex
+     *    based on information from ResultSetMetaData
+     */
+
+    public String getColumnName(int column) {
+        try {
+            return this.metadata.getColumnLabel(column + 1);
+        } catch (SQLException e) {
+            return e.toString();
+        }
+    }
+
+    /** Method from interface TableModel; returns the most specific superclass for
+     *    all cell values in the specified column, derived from the column's SQL
+     *    type, so that JTable picks a renderer for numbers and dates.
+     */
+
+    public Class getColumnClass(int column) {
+        return columnClasses[column];
+    }
+
+    /**
+     * Returns a row sorter for a JTable showing this model. Its comparators
+     * compare the values in the model's column arrays by row, so sorting
+     * creates no cell values; only the rows' positions are boxed. Because of
+     * that, RowFilter.Entry.getValue returns the row's model index; filters
+     * should use getStringValue, which returns the cell's text.
+     */
+    public TableRowSorter<CoffeesTableModel> createRowSorter() {
+        return new ColumnSorter(this);
+    }
+
+    static final class ColumnSorter extends TableRowSorter<CoffeesTableModel> {
+
+        ColumnSorter(final CoffeesTableModel model) {
+            super(model);
+            setModelWrapper(new ModelWrapper<CoffeesTableModel, Integer>() {
+                public CoffeesTableModel getModel() {
+                    return model;
+                }
+
+                public int getColumnCount() {
+                    return model.getColumnCount();
+                }
+
+                public int getRowCount() {
+                    return model.getRowCount();
+                }
+
+                public Object getValueAt(int row, int column) {
+                    return row;
+                }
+
+                public String getStringValueAt(int row, int column) {
+                    Object value = model.getValueAt(row, column);
+                    return value == null ? "" : value.toString();
+                }
+
+                public Integer getIdentifier(int row) {
+                    return row;
+                }
+            });
+        }
+
+        public Comparator<?> getComparator(final int column) {
+            final CoffeesTableModel model = getModel();
+            return new Comparator<Integer>() {
+                public int compare(Integer row1, Integer row2) {
+                    return model.columns[column].compare(model.slots.get(row1),
+                                                         model.slots.get(row2));
+                }
+            };
+        }
+
+        protected boolean useToString(int column) {
+            return false;
+        }
+    }
+
+    /** Method from interface TableModel; returns the value for the cell specified
+     *    by columnIndex and rowIndex. The values were copied from the row set
+     *    when the model was created, so this is a lookup in the column's array;
+     *    the renderer converts the value to text only for visible cells.
+     */
+
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return this.columns[columnIndex].get(slots.get(rowIndex));
+    }
+
+        /** Method from interface TableModel; returns true if the specified cell
+         *    is editable. This sample does not allow users to edit any cells from
+         *    the TableModel (rows are added by another window control). Thus,
+         *    this method returns false.
+         */
+
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return false;
+    }
+
+    // Because the sample does not allow users to edit any cells from the
+    // TableModel, setValueAt does not need to be implemented.
+
+    public void setValueAt(Object value, int row, int column) {
+        System.out.println("Calling setValueAt row " + row + ", column " + column);
+    }
+
+    }
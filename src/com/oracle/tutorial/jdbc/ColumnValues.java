@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+/**
+ * Conversions between the Java types a column may hold and the types
+ * requested through the ResultSet getters, following the conversions the
+ * JDBC specification allows for getXXX methods.
+ */
+final class ColumnValues {
+
+    private ColumnValues() {
+    }
+
+    static String toStringValue(Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        } else if (value instanceof byte[]) {
+            return new String((byte[]) value, StandardCharsets.UTF_8);
+        }
+        return value.toString();
+    }
+
+    static boolean toBoolean(Object value) throws SQLException {
+        if (value == null) {
+            return false;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value;
+        } else if (value instanceof Number) {
+            return ((Number) value).doubleValue() != 0;
+        } else if (value instanceof String) {
+            String s = ((String) value).trim();
+            return s.equalsIgnoreCase("true") || s.equals("1")
+                    || s.equalsIgnoreCase("y") || s.equalsIgnoreCase("yes");
+        }
+        throw conversionError(value, "boolean");
+    }
+
+    static int toInt(Object value) throws SQLException {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof Number) {
+            return ((Number) value).intValue();
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        } else if (value instanceof String) {
+            try {
+                return new BigDecimal(((String) value).trim()).intValue();
+            } catch (NumberFormatException e) {
+                throw conversionError(value, "int");
+            }
+        }
+        throw conversionError(value, "int");
+    }
+
+    static long toLong(Object value) throws SQLException {
+        if (value == null) {
+            return 0L;
+        } else if (value instanceof Number) {
+            return ((Number) value).longValue();
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1L : 0L;
+        } else if (value instanceof String) {
+            try {
+                return new BigDecimal(((String) value).trim()).longValue();
+            } catch (NumberFormatException e) {
+                throw conversionError(value, "long");
+            }
+        } else if (value instanceof java.util.Date) {
+            return ((java.util.Date) value).getTime();
+        }
+        throw conversionError(value, "long");
+    }
+
+    static double toDouble(Object value) throws SQLException {
+        if (value == null) {
+            return 0.0;
+        } else if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1.0 : 0.0;
+        } else if (value instanceof String) {
+            try {
+                return Double.parseDouble(((String) value).trim());
+            } catch (NumberFormatException e) {
+                throw conversionError(value, "double");
+            }
+        }
+        throw conversionError(value, "double");
+    }
+
+    static BigDecimal toBigDecimal(Object value) throws SQLException {
+        if (value == null) {
+            return null;
+        } else if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        } else if (value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            // Float and Double go through their decimal string, so 8.99f
+            // becomes 8.99 rather than its exact binary expansion.
+            return new BigDecimal(value.toString());
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? BigDecimal.ONE : BigDecimal.ZERO;
+        } else if (value instanceof String) {
+            try {
+                return new BigDecimal(((String) value).trim());
+            } catch (NumberFormatException e) {
+                throw conversionError(value, "BigDecimal");
+            }
+        }
+        throw conversionError(value, "BigDecimal");
+    }
+
+    static Timestamp toTimestamp(Object value) throws SQLException {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Timestamp) {
+            return (Timestamp) value;
+        } else if (value instanceof java.util.Date) {
+            return new Timestamp(((java.util.Date) value).getTime());
+        } else if (value instanceof String) {
+            try {
+                return Timestamp.valueOf(((String) value).trim());
+            } catch (IllegalArgumentException e) {
+                throw conversionError(value, "Timestamp");
+            }
+        }
+        throw conversionError(value, "Timestamp");
+    }
+
+    static Date toDate(Object value) throws SQLException {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Date) {
+            return (Date) value;
+        } else if (value instanceof java.util.Date) {
+            return new Date(((java.util.Date) value).getTime());
+        } else if (value instanceof String) {
+            try {
+                return Date.valueOf(((String) value).trim());
+            } catch (IllegalArgumentException e) {
+                throw conversionError(value, "Date");
+            }
+        }
+        throw conversionError(value, "Date");
+    }
+
+    static Time toTime(Object value) throws SQLException {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Time) {
+            return (Time) value;
+        } else if (value instanceof java.util.Date) {
+            return new Time(((java.util.Date) value).getTime());
+        } else if (value instanceof String) {
+            try {
+                return Time.valueOf(((String) value).trim());
+            } catch (IllegalArgumentException e) {
+                throw conversionError(value, "Time");
+            }
+        }
+        throw conversionError(value, "Time");
+    }
+
+    static byte[] toBytes(Object value) throws SQLException {
+        if (value == null) {
+            return null;
+        } else if (value instanceof byte[]) {
+            return (byte[]) value;
+        } else if (value instanceof String) {
+            return ((String) value).getBytes(StandardCharsets.UTF_8);
+        }
+        throw conversionError(value, "byte[]");
+    }
+
+    private static SQLException conversionError(Object value, String target) {
+        return new SQLException("Cannot convert " + value.getClass().getName()
+                + " value '" + value + "' to " + target, "22018");
+    }
+}
@@ -0,0 +1,961 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+
+/**
+ * Storage for the values of one column of a {@link ColumnarCachedRowSet}.
+ * Values are addressed by slot, the physical position at which the row was
+ * appended. Numeric and temporal columns are kept in primitive arrays,
+ * strings are dictionary encoded and nulls are tracked in a bitmap, so a
+ * cached row costs a few bytes per column instead of a boxed object.
+ */
+abstract class ColumnVector implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    final int sqlType;
+    BitSet nulls = new BitSet();
+    int size;
+
+    ColumnVector(int sqlTypeArg) {
+        this.sqlType = sqlTypeArg;
+    }
+
+    /** Creates an empty vector suited to columns of the given SQL type */
+    static ColumnVector create(int sqlType, int scale, int capacity) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return new IntVector(sqlType, capacity);
+            case Types.BIGINT:
+                return new LongVector(sqlType, capacity);
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return new DoubleVector(sqlType, capacity);
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return new DecimalVector(sqlType, Math.max(scale, 0), capacity);
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                return new StringVector(sqlType, capacity);
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIMESTAMP:
+                return new TemporalVector(sqlType, capacity);
+            default:
+                return new ObjectVector(sqlType, capacity);
+        }
+    }
+
+    /** Class of the values get returns for columns of the given SQL type */
+    static Class<?> valueClass(int sqlType) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return Integer.class;
+            case Types.BIGINT:
+                return Long.class;
+            case Types.REAL:
+                return Float.class;
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return Double.class;
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return BigDecimal.class;
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                return String.class;
+            case Types.DATE:
+                return Date.class;
+            case Types.TIME:
+                return Time.class;
+            case Types.TIMESTAMP:
+                return Timestamp.class;
+            default:
+                return Object.class;
+        }
+    }
+
+    final int size() {
+        return size;
+    }
+
+    final boolean isNull(int slot) {
+        return nulls.get(slot);
+    }
+
+    /** Appends the value of the given column of the current row of rs */
+    abstract void read(ResultSet rs, int column) throws SQLException;
+
+    abstract void append(Object value) throws SQLException;
+
+    /** Returns the value at slot, or null if it is SQL NULL */
+    abstract Object get(int slot);
+
+    abstract void set(int slot, Object value) throws SQLException;
+
+    // The primitive accessors return 0 for SQL NULL; callers check isNull.
+
+    int getInt(int slot) throws SQLException {
+        return ColumnValues.toInt(get(slot));
+    }
+
+    long getLong(int slot) throws SQLException {
+        return ColumnValues.toLong(get(slot));
+    }
+
+    double getDouble(int slot) throws SQLException {
+        return ColumnValues.toDouble(get(slot));
+    }
+
+    /** Returns a new vector holding the values at the given slots, in order */
+    abstract ColumnVector select(int[] slots);
+
+    /** Compares the values at two slots; SQL NULL sorts first */
+    final int compare(int slot1, int slot2) {
+        boolean null1 = nulls.get(slot1);
+        boolean null2 = nulls.get(slot2);
+        if (null1 || null2) {
+            return null1 == null2 ? 0 : (null1 ? -1 : 1);
+        }
+        return compareValues(slot1, slot2);
+    }
+
+    /**
+     * Compares the non-null values at two slots. Vectors with primitive
+     * storage compare it directly, without creating the values.
+     */
+    @SuppressWarnings("unchecked")
+    int compareValues(int slot1, int slot2) {
+        Object v1 = get(slot1);
+        Object v2 = get(slot2);
+        if (v1 instanceof Comparable && v1.getClass() == v2.getClass()) {
+            return ((Comparable<Object>) v1).compareTo(v2);
+        }
+        return v1.toString().compareTo(v2.toString());
+    }
+
+    /** Approximate number of bytes of heap used by this vector */
+    abstract long heapBytes();
+
+    void clear() {
+        size = 0;
+        nulls.clear();
+    }
+
+    /** Number of bytes held outside the Java heap */
+    long offHeapBytes() {
+        return 0L;
+    }
+
+    /** Releases any storage not owned by the garbage collected heap */
+    void release() {
+    }
+
+    final void selectNulls(ColumnVector target, int[] slots) {
+        for (int i = 0; i < slots.length; i++) {
+            if (nulls.get(slots[i])) {
+                target.nulls.set(i);
+            }
+        }
+        target.size = slots.length;
+    }
+
+    final long nullBytes() {
+        return nulls.size() / 8;
+    }
+
+    static int grow(int length, int needed) {
+        int newLength = Math.max(16, length + (length >> 1));
+        return Math.max(newLength, needed);
+    }
+
+    static final class IntVector extends ColumnVector {
+        private static final long serialVersionUID = 1L;
+        private int[] values;
+
+        IntVector(int sqlType, int capacity) {
+            super(sqlType);
+            this.values = new int[Math.max(capacity, 16)];
+        }
+
+        private void ensure() {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length, size + 1));
+            }
+        }
+
+        void read(ResultSet rs, int column) throws SQLException {
+            int v = rs.getInt(column);
+            ensure();
+            if (rs.wasNull()) {
+                nulls.set(size);
+            }
+            values[size++] = v;
+        }
+
+        void append(Object value) throws SQLException {
+            ensure();
+            if (value == null) {
+                nulls.set(size);
+                values[size++] = 0;
+            } else {
+                values[size++] = ColumnValues.toInt(value);
+            }
+        }
+
+        Object get(int slot) {
+            return nulls.get(slot) ? null : Integer.valueOf(values[slot]);
+        }
+
+        void set(int slot, Object value) throws SQLException {
+            if (value == null) {
+                nulls.set(slot);
+            } else {
+                values[slot] = ColumnValues.toInt(value);
+                nulls.clear(slot);
+            }
+        }
+
+        int getInt(int slot) {
+            return values[slot];
+        }
+
+        long getLong(int slot) {
+            return values[slot];
+        }
+
+        double getDouble(int slot) {
+            return values[slot];
+        }
+
+        int compareValues(int slot1, int slot2) {
+            return Integer.compare(values[slot1], values[slot2]);
+        }
+
+        ColumnVector select(int[] slots) {
+            IntVector v = new IntVector(sqlType, slots.length);
+            for (int i = 0; i < slots.length; i++) {
+                v.values[i] = values[slots[i]];
+            }
+            selectNulls(v, slots);
+            return v;
+        }
+
+        long heapBytes() {
+            return 4L * values.length + nullBytes();
+        }
+    }
+
+    static final class LongVector extends ColumnVector {
+        private static final long serialVersionUID = 1L;
+        private long[] values;
+
+        LongVector(int sqlType, int capacity) {
+            super(sqlType);
+            this.values = new long[Math.max(capacity, 16)];
+        }
+
+        private void ensure() {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length, size + 1));
+            }
+        }
+
+        void read(ResultSet rs, int column) throws SQLException {
+            long v = rs.getLong(column);
+            ensure();
+            if (rs.wasNull()) {
+                nulls.set(size);
+            }
+            values[size++] = v;
+        }
+
+        void append(Object value) throws SQLException {
+            ensure();
+            if (value == null) {
+                nulls.set(size);
+                values[size++] = 0L;
+            } else {
+                values[size++] = ColumnValues.toLong(value);
+            }
+        }
+
+        Object get(int slot) {
+            return nulls.get(slot) ? null : Long.valueOf(values[slot]);
+        }
+
+        void set(int slot, Object value) throws SQLException {
+            if (value == null) {
+                nulls.set(slot);
+            } else {
+                values[slot] = ColumnValues.toLong(value);
+                nulls.clear(slot);
+            }
+        }
+
+        int getInt(int slot) {
+            return (int) values[slot];
+        }
+
+        long getLong(int slot) {
+            return values[slot];
+        }
+
+        double getDouble(int slot) {
+            return values[slot];
+        }
+
+        int compareValues(int slot1, int slot2) {
+            return Long.compare(values[slot1], values[slot2]);
+        }
+
+        ColumnVector select(int[] slots) {
+            LongVector v = new LongVector(sqlType, slots.length);
+            for (int i = 0; i < slots.length; i++) {
+                v.values[i] = values[slots[i]];
+            }
+            selectNulls(v, slots);
+            return v;
+        }
+
+        long heapBytes() {
+            return 8L * values.length + nullBytes();
+        }
+    }
+
+    static final class DoubleVector extends ColumnVector {
+        private static final long serialVersionUID = 1L;
+        private double[] values;
+
+        DoubleVector(int sqlType, int capacity) {
+            super(sqlType);
+            this.values = new double[Math.max(capacity, 16)];
+        }
+
+        private void ensure() {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length, size + 1));
+            }
+        }
+
+        void read(ResultSet rs, int column) throws SQLException {
+            double v = rs.getDouble(column);
+            ensure();
+            if (rs.wasNull()) {
+                nulls.set(size);
+            }
+            values[size++] = v;
+        }
+
+        void append(Object value) throws SQLException {
+            ensure();
+            if (value == null) {
+                nulls.set(size);
+                values[size++] = 0.0;
+            } else {
+                values[size++] = ColumnValues.toDouble(value);
+            }
+        }
+
+        Object get(int slot) {
+            if (nulls.get(slot)) {
+                return null;
+            }
+            // JDBC maps REAL to Float and FLOAT and DOUBLE to Double.
+            return sqlType == Types.REAL
+                    ? (Object) Float.valueOf((float) values[slot])
+                    : (Object) Double.valueOf(values[slot]);
+        }
+
+        void set(int slot, Object value) throws SQLException {
+            if (value == null) {
+                nulls.set(slot);
+            } else {
+                values[slot] = ColumnValues.toDouble(value);
+                nulls.clear(slot);
+            }
+        }
+
+        int getInt(int slot) {
+            return (int) values[slot];
+        }
+
+        long getLong(int slot) {
+            return (long) values[slot];
+        }
+
+        double getDouble(int slot) {
+            return values[slot];
+        }
+
+        int compareValues(int slot1, int slot2) {
+            return Double.compare(values[slot1], values[slot2]);
+        }
+
+        ColumnVector select(int[] slots) {
+            DoubleVector v = new DoubleVector(sqlType, slots.length);
+            for (int i = 0; i < slots.length; i++) {
+                v.values[i] = values[slots[i]];
+            }
+            selectNulls(v, slots);
+            return v;
+        }
+
+        long heapBytes() {
+            return 8L * values.length + nullBytes();
+        }
+    }
+
+    /**
+     * Exact decimals stored as unscaled longs at the declared scale of the
+     * column, so PRICE numeric(10,2) is held in cents. Values that do not fit
+     * are kept as BigDecimal in a side table.
+     */
+    static final class DecimalVector extends ColumnVector {
+        private static final long serialVersionUID = 1L;
+        private static final long[] POWERS_OF_TEN = new long[19];
+
+        static {
+            POWERS_OF_TEN[0] = 1L;
+            for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+                POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+            }
+        }
+
+        private final int scale;
+        private long[] unscaled;
+        private HashMap<Integer, BigDecimal> overflow;
+
+        DecimalVector(int sqlType, int scaleArg, int capacity) {
+            super(sqlType);
+            this.scale = scaleArg;
+            this.unscaled = new long[Math.max(capacity, 16)];
+        }
+
+        int scale() {
+            return scale;
+        }
+
+        private void ensure() {
+            if (size == unscaled.length) {
+                unscaled = Arrays.copyOf(unscaled, grow(unscaled.length, size + 1));
+            }
+        }
+
+        private void store(int slot, BigDecimal value) {
+            if (overflow != null) {
+                overflow.remove(slot);
+            }
+            if (scale < POWERS_OF_TEN.length) {
+                try {
+                    unscaled[slot] = value.setScale(scale).unscaledValue().longValueExact();
+                    return;
+                } catch (ArithmeticException e) {
+                    // more digits than the column declares; fall through
+                }
+            }
+            if (overflow == null) {
+                overflow = new HashMap<>();
+            }
+            overflow.put(slot, value);
+            unscaled[slot] = 0L;
+        }
+
+        void read(ResultSet rs, int column) throws SQLException {
+            append(rs.getBigDecimal(column));
+        }
+
+        void append(Object value) throws SQLException {
+            ensure();
+            if (value == null) {
+                nulls.set(size);
+                unscaled[size++] = 0L;
+            } else {
+                store(size++, ColumnValues.toBigDecimal(value));
+            }
+        }
+
+        Object get(int slot) {
+            if (nulls.get(slot)) {
+                return null;
+            }
+            if (overflow != null) {
+                BigDecimal big = overflow.get(slot);
+                if (big != null) {
+                    return big;
+                }
+            }
+            return BigDecimal.valueOf(unscaled[slot], scale);
+        }
+
+        void set(int slot, Object value) throws SQLException {
+            if (value == null) {
+                nulls.set(slot);
+            } else {
+                store(slot, ColumnValues.toBigDecimal(value));
+                nulls.clear(slot);
+            }
+        }
+
+        /** Unscaled value at slot, if it is held in the primitive array */
+        boolean hasUnscaled(int slot) {
+            return overflow == null || !overflow.containsKey(slot);
+        }
+
+        long getUnscaled(int slot) {
+            return unscaled[slot];
+        }
+
+        int getInt(int slot) throws SQLException {
+            return (int) getLong(slot);
+        }
+
+        long getLong(int slot) throws SQLException {
+            if (!hasUnscaled(slot) || scale >= POWERS_OF_TEN.length) {
+                return super.getLong(slot);
+            }
+            return unscaled[slot] / POWERS_OF_TEN[scale];
+        }
+
+        double getDouble(int slot) throws SQLException {
+            if (!hasUnscaled(slot) || scale >= POWERS_OF_TEN.length) {
+                return super.getDouble(slot);
+            }
+            return (double) unscaled[slot] / POWERS_OF_TEN[scale];
+        }
+
+        int compareValues(int slot1, int slot2) {
+            if (overflow != null
+                    && (overflow.containsKey(slot1) || overflow.containsKey(slot2))) {
+                return ((BigDecimal) get(slot1)).compareTo((BigDecimal) get(slot2));
+            }
+            return Long.compare(unscaled[slot1], unscaled[slot2]);
+        }
+
+        ColumnVector select(int[] slots) {
+            DecimalVector v = new DecimalVector(sqlType, scale, slots.length);
+            for (int i = 0; i < slots.length; i++) {
+                v.unscaled[i] = unscaled[slots[i]];
+                if (overflow != null && overflow.containsKey(slots[i])) {
+                    if (v.overflow == null) {
+                        v.overflow = new HashMap<>();
+                    }
+                    v.overflow.put(i, overflow.get(slots[i]));
+                }
+            }
+            selectNulls(v, slots);
+            return v;
+        }
+
+        long heapBytes() {
+            long bytes = 8L * unscaled.length + nullBytes();
+            return overflow == null ? bytes : bytes + 64L * overflow.size();
+        }
+    }
+
+    /**
+     * Strings stored as int codes into a dictionary, which suits the repeated
+     * values of columns such as CITY. Once most values turn out to be
+     * distinct the dictionary no longer pays for itself and the vector
+     * switches to a plain array of references.
+     */
+    static final class StringVector extends ColumnVector {
+        private static final long serialVersionUID = 1L;
+        private static final int MIN_ROWS_BEFORE_SWITCH = 1024;
+
+        private int[] codes;
+        private ArrayList<String> dictionary;
+        private HashMap<String, Integer> lookup;
+        private String[] plain;
+
+        StringVector(int sqlType, int capacity) {
+            super(sqlType);
+            this.codes = new int[Math.max(capacity, 16)];
+            this.dictionary = new ArrayList<>();
+            this.lookup = new HashMap<>();
+        }
+
+        private StringVector(int sqlType, String[] plainArg) {
+            super(sqlType);
+            this.plain = plainArg;
+        }
+
+        boolean isDictionaryEncoded() {
+            return plain == null;
+        }
+
+        /** Dictionary code at slot; only valid while dictionary encoded */
+        int getCode(int slot) {
+            return codes[slot];
+        }
+
+        int dictionarySize() {
+            return dictionary == null ? 0 : dictionary.size();
+        }
+
+        String dictionaryValue(int code) {
+            return dictionary.get(code);
+        }
+
+        private int encode(String value) {
+            Integer code = lookup.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                lookup.put(value, code);
+            }
+            return code;
+        }
+
+        private void ensure() {
+            if (plain != null) {
+                if (size == plain.length) {
+                    plain = Arrays.copyOf(plain, grow(plain.length, size + 1));
+                }
+            } else if (size == codes.length) {
+                codes = Arrays.copyOf(codes, grow(codes.length, size + 1));
+            }
+        }
+
+        private void maybeSwitchToPlain() {
+            if (plain == null && size >= MIN_ROWS_BEFORE_SWITCH
+                    && dictionary.size() > size / 2) {
+                String[] values = new String[Math.max(codes.length, 16)];
+                for (int i = 0; i < size; i++) {
+                    if (!nulls.get(i)) {
+                        values[i] = dictionary.get(codes[i]);
+                    }
+                }
+                plain = values;
+                codes = null;
+                dictionary = null;
+                lookup = null;
+            }
+        }
+
+        void read(ResultSet rs, int column) throws SQLException {
+            append(rs.getString(column));
+        }
+
+        void append(Object value) {
+            ensure();
+            if (value == null) {
+                nulls.set(size);
+            } else if (plain != null) {
+                plain[size] = ColumnValues.toStringValue(value);
+            } else {
+                codes[size] = encode(ColumnValues.toStringValue(value));
+            }
+            size++;
+            if ((size & (MIN_ROWS_BEFORE_SWITCH - 1)) == 0) {
+                maybeSwitchToPlain();
+            }
+        }
+
+        Object get(int slot) {
+            if (nulls.get(slot)) {
+                return null;
+            }
+            return plain != null ? plain[slot] : dictionary.get(codes[slot]);
+        }
+
+        void set(int slot, Object value) {
+            if (value == null) {
+                nulls.set(slot);
+                return;
+            }
+            if (plain != null) {
+                plain[slot] = ColumnValues.toStringValue(value);
+            } else {
+                codes[slot] = encode(ColumnValues.toStringValue(value));
+            }
+            nulls.clear(slot);
+        }
+
+        int compareValues(int slot1, int slot2) {
+            if (plain != null) {
+                return plain[slot1].compareTo(plain[slot2]);
+            }
+            if (codes[slot1] == codes[slot2]) {
+                return 0;
+            }
+            return dictionary.get(codes[slot1]).compareTo(dictionary.get(codes[slot2]));
+        }
+
+        ColumnVector select(int[] slots) {
+            StringVector v;
+            if (plain != null) {
+                String[] values = new String[Math.max(slots.length, 16)];
+                for (int i = 0; i < slots.length; i++) {
+                    values[i] = plain[slots[i]];
+                }
+                v = new StringVector(sqlType, values);
+            } else {
+                // The dictionary only ever grows, so the copy can share it.
+                v = new StringVector(sqlType, slots.length);
+                v.dictionary = dictionary;
+                v.lookup = lookup;
+                for (int i = 0; i < slots.length; i++) {
+                    v.codes[i] = codes[slots[i]];
+                }
+            }
+            selectNulls(v, slots);
+            return v;
+        }
+
+        long heapBytes() {
+            if (plain != null) {
+                long bytes = 4L * plain.length + nullBytes();
+                for (int i = 0; i < size; i++) {
+                    if (plain[i] != null) {
+                        bytes += 40 + 2L * plain[i].length();
+                    }
+                }
+                return bytes;
+            }
+            long bytes = 4L * codes.length + nullBytes();
+            for (String s : dictionary) {
+                // the string, its dictionary slot and its lookup entry
+                bytes += 40 + 2L * s.length() + 4 + 48;
+            }
+            return bytes;
+        }
+    }
+
+    /** DATE, TIME and TIMESTAMP values stored as epoch milliseconds */
+    static final class TemporalVector extends ColumnVector {
+        private static final long serialVersionUID = 1L;
+        private long[] millis;
+        // Sub-millisecond nanoseconds of TIMESTAMP values; allocated only
+        // once a value actually carries them.
+        private int[] nanos;
+
+        TemporalVector(int sqlType, int capacity) {
+            super(sqlType);
+            this.millis = new long[Math.max(capacity, 16)];
+        }
+
+        private void ensure() {
+            if (size == millis.length) {
+                int length = grow(millis.length, size + 1);
+                millis = Arrays.copyOf(millis, length);
+                if (nanos != null) {
+                    nanos = Arrays.copyOf(nanos, length);
+                }
+            }
+        }
+
+        private void store(int slot, Object value) throws SQLException {
+            if (sqlType == Types.TIMESTAMP) {
+                Timestamp ts = ColumnValues.toTimestamp(value);
+                millis[slot] = ts.getTime();
+                int subMillis = ts.getNanos() % 1000000;
+                if (subMillis != 0 && nanos == null) {
+                    nanos = new int[millis.length];
+                }
+                if (nanos != null) {
+                    nanos[slot] = ts.getNanos();
+                }
+            } else if (sqlType == Types.DATE) {
+                millis[slot] = ColumnValues.toDate(value).getTime();
+            } else {
+                millis[slot] = ColumnValues.toTime(value).getTime();
+            }
+        }
+
+        void read(ResultSet rs, int column) throws SQLException {
+            Object value;
+            if (sqlType == Types.TIMESTAMP) {
+                value = rs.getTimestamp(column);
+            } else if (sqlType == Types.DATE) {
+                value = rs.getDate(column);
+            } else {
+                value = rs.getTime(column);
+            }
+            append(value);
+        }
+
+        void append(Object value) throws SQLException {
+            ensure();
+            if (value == null) {
+                nulls.set(size);
+                millis[size++] = 0L;
+            } else {
+                store(size++, value);
+            }
+        }
+
+        Object get(int slot) {
+            if (nulls.get(slot)) {
+                return null;
+            }
+            if (sqlType == Types.TIMESTAMP) {
+                Timestamp ts = new Timestamp(millis[slot]);
+                if (nanos != null) {
+                    ts.setNanos(nanos[slot]);
+                }
+                return ts;
+            } else if (sqlType == Types.DATE) {
+                return new Date(millis[slot]);
+            }
+            return new Time(millis[slot]);
+        }
+
+        void set(int slot, Object value) throws SQLException {
+            if (value == null) {
+                nulls.set(slot);
+            } else {
+                store(slot, value);
+                nulls.clear(slot);
+            }
+        }
+
+        long getLong(int slot) {
+            return millis[slot];
+        }
+
+        int compareValues(int slot1, int slot2) {
+            int result = Long.compare(millis[slot1], millis[slot2]);
+            if (result == 0 && nanos != null) {
+                result = Integer.compare(nanos[slot1], nanos[slot2]);
+            }
+            return result;
+        }
+
+        ColumnVector select(int[] slots) {
+            TemporalVector v = new TemporalVector(sqlType, slots.length);
+            if (nanos != null) {
+                v.nanos = new int[v.millis.length];
+            }
+            for (int i = 0; i < slots.length; i++) {
+                v.millis[i] = millis[slots[i]];
+                if (nanos != null) {
+                    v.nanos[i] = nanos[slots[i]];
+                }
+            }
+            selectNulls(v, slots);
+            return v;
+        }
+
+        long heapBytes() {
+            return 8L * millis.length + (nanos == null ? 0 : 4L * nanos.length)
+                    + nullBytes();
+        }
+    }
+
+    /** Any other type, kept as the objects the driver returned */
+    static final class ObjectVector extends ColumnVector {
+        private static final long serialVersionUID = 1L;
+        private Object[] values;
+
+        ObjectVector(int sqlType, int capacity) {
+            super(sqlType);
+            this.values = new Object[Math.max(capacity, 16)];
+        }
+
+        private void ensure() {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length, size + 1));
+            }
+        }
+
+        void read(ResultSet rs, int column) throws SQLException {
+            append(rs.getObject(column));
+        }
+
+        void append(Object value) {
+            ensure();
+            if (value == null) {
+                nulls.set(size);
+            }
+            values[size++] = value;
+        }
+
+        Object get(int slot) {
+            return values[slot];
+        }
+
+        void set(int slot, Object value) {
+            values[slot] = value;
+            if (value == null) {
+                nulls.set(slot);
+            } else {
+                nulls.clear(slot);
+            }
+        }
+
+        ColumnVector select(int[] slots) {
+            ObjectVector v = new ObjectVector(sqlType, slots.length);
+            for (int i = 0; i < slots.length; i++) {
+                v.values[i] = values[slots[i]];
+            }
+            selectNulls(v, slots);
+            return v;
+        }
+
+        void clear() {
+            Arrays.fill(values, 0, size, null);
+            super.clear();
+        }
+
+        long heapBytes() {
+            // References only; the objects themselves are not measured.
+            return 4L * values.length + 24L * size + nullBytes();
+        }
+    }
+}
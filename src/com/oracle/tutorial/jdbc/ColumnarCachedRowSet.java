@@ -0,0 +1,2306 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
+import javax.sql.RowSet;
+import javax.sql.RowSetEvent;
+import javax.sql.RowSetInternal;
+import javax.sql.RowSetMetaData;
+import javax.sql.RowSetWriter;
+import javax.sql.rowset.BaseRowSet;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetWarning;
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+import javax.sql.rowset.spi.SyncFactory;
+import javax.sql.rowset.spi.SyncProvider;
+import javax.sql.rowset.spi.SyncProviderException;
+import javax.sql.rowset.spi.SyncResolver;
+import javax.sql.rowset.spi.TransactionalWriter;
+
+/**
+ * A CachedRowSet that stores its rows column by column in primitive arrays
+ * rather than as one array of boxed values per row. INTEGER columns cost 4
+ * bytes a row, exact decimals such as PRICE are kept as unscaled longs,
+ * strings are dictionary encoded and nulls take one bit. Changes are copied
+ * on write, so the original values that the reference implementation keeps
+ * as a second copy of every row are simply the stored ones.
+ * <p>
+ * It is obtained through {@link ColumnarRowSetFactory} and behaves like the
+ * reference CachedRowSet for the operations used in this tutorial:
+ * execute, paging, navigation, updates, inserts, deletes and
+ * acceptChanges. Changes are written with statements keyed on the key
+ * columns, or on every column if no key columns are set. It cannot be added
+ * to the reference JoinRowSet, which only accepts its own CachedRowSet
+ * implementation, and LOB values are kept only as the serial copies
+ * supplied by the driver.
+ */
+public class ColumnarCachedRowSet extends BaseRowSet
+        implements CachedRowSet, RowSetInternal {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String DEFAULT_PROVIDER = "com.sun.rowset.providers.RIOptimisticProvider";
+
+    static final Pattern FROM_TABLE =
+        Pattern.compile("(?i)\\bfrom\\s+([\\w.$]+)");
+
+    private ColumnarRowStore store;
+    private RowSetMetaDataImpl metaData;
+    private HashMap<String, Integer> columnsByName = new HashMap<>();
+
+    // 0 is before the first row and size() + 1 after the last one.
+    private int cursor;
+    private boolean lastValueNull;
+
+    private boolean onInsertRow;
+    private Object[] insertValues;
+    private BitSet insertColumnsSet;
+    private int cursorBeforeInsert;
+
+    private String tableName;
+    private int[] keyColumns;
+    private int[] matchColumnIndexes;
+    private String[] matchColumnNames;
+
+    private String providerId = DEFAULT_PROVIDER;
+    private transient SyncProvider provider;
+
+    private transient Connection connection;
+    private transient Connection pageConnection;
+    private transient PreparedStatement pageStatement;
+    private transient ResultSet pageResultSet;
+    private int pageSize;
+    private int pageStartRow = 1;
+    // Row of the result set the first page started at; maxRows counts from it.
+    private int firstRow = 1;
+    private boolean lastPage = true;
+
+    private SQLWarning sqlWarnings;
+    private RowSetWarning rowSetWarnings;
+    private boolean offHeap;
+    private boolean closed;
+
+    public ColumnarCachedRowSet() throws SQLException {
+        initParams();
+        this.store = new ColumnarRowStore(new ColumnVector[0]);
+        this.provider = SyncFactory.getInstance(DEFAULT_PROVIDER);
+    }
+
+    /** Approximate number of bytes of heap used by the cached rows */
+    public long getStorageBytes() {
+        return store.heapBytes();
+    }
+
+    /** Number of bytes of cached row data held outside the Java heap */
+    public long getOffHeapBytes() {
+        return store.offHeapBytes();
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * Keeps the numeric, temporal and string columns of rows read from now
+     * on in direct buffers outside the Java heap, so that very large
+     * snapshots do not add to garbage collection pauses. The buffers are
+     * freed when the row set is closed; close it as soon as it is no longer
+     * needed. Takes effect at the next execute or populate.
+     */
+    public void setOffHeap(boolean offHeapArg) {
+        this.offHeap = offHeapArg;
+    }
+
+    // Reading data
+
+    public void execute() throws SQLException {
+        Connection con = connect();
+        readData(con, ownsConnection(con));
+    }
+
+    public void execute(Connection conn) throws SQLException {
+        this.connection = conn;
+        readData(conn, false);
+    }
+
+    private Connection connect() throws SQLException {
+        if (connection != null && !connection.isClosed()) {
+            return connection;
+        }
+        if (getDataSourceName() != null) {
+            try {
+                DataSource ds = (DataSource) new InitialContext().lookup(getDataSourceName());
+                return getUsername() == null
+                    ? ds.getConnection()
+                    : ds.getConnection(getUsername(), getPassword());
+            } catch (NamingException e) {
+                throw new SQLException("Cannot look up data source " + getDataSourceName(), e);
+            }
+        }
+        if (getUrl() == null) {
+            throw new SQLException("Neither a data source name nor a URL is set");
+        }
+        return DriverManager.getConnection(getUrl(), getUsername(), getPassword());
+    }
+
+    private boolean ownsConnection(Connection con) {
+        return con != connection;
+    }
+
+    private void readData(Connection con, boolean closeWhenDone) throws SQLException {
+        if (getCommand() == null) {
+            throw new SQLException("No command set for this row set");
+        }
+        closePageResources();
+        boolean paging = getPageSize() > 0;
+        boolean keepOpen = false;
+        PreparedStatement ps = paging
+            ? con.prepareStatement(getCommand(), ResultSet.TYPE_SCROLL_INSENSITIVE,
+                                   ResultSet.CONCUR_READ_ONLY)
+            : con.prepareStatement(getCommand());
+        try {
+            bindParams(ps, getParams());
+            ps.setMaxRows(getMaxRows());
+            ps.setMaxFieldSize(getMaxFieldSize());
+            ps.setEscapeProcessing(getEscapeProcessing());
+            ps.setQueryTimeout(getQueryTimeout());
+            if (getFetchSize() > 0) {
+                ps.setFetchSize(getFetchSize());
+            }
+            ResultSet rs = ps.executeQuery();
+            populate(rs);
+            if (paging && !lastPage) {
+                // The remaining pages are read from the same result set.
+                pageStatement = ps;
+                pageResultSet = rs;
+                pageConnection = closeWhenDone ? con : null;
+                keepOpen = true;
+            } else {
+                rs.close();
+            }
+        } finally {
+            if (!keepOpen) {
+                ps.close();
+                if (closeWhenDone) {
+                    con.close();
+                }
+            }
+        }
+    }
+
+    static void bindParams(PreparedStatement ps, Object[] params)
+            throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            if (!(params[i] instanceof Object[])) {
+                ps.setObject(i + 1, params[i]);
+                continue;
+            }
+            // BaseRowSet records typed parameters as small arrays.
+            Object[] p = (Object[]) params[i];
+            if (p[0] == null) {
+                if (p.length == 3) {
+                    ps.setNull(i + 1, (Integer) p[1], (String) p[2]);
+                } else {
+                    ps.setNull(i + 1, (Integer) p[1]);
+                }
+            } else if (p.length == 2 && p[1] instanceof Calendar) {
+                Calendar cal = (Calendar) p[1];
+                if (p[0] instanceof Timestamp) {
+                    ps.setTimestamp(i + 1, (Timestamp) p[0], cal);
+                } else if (p[0] instanceof Time) {
+                    ps.setTime(i + 1, (Time) p[0], cal);
+                } else {
+                    ps.setDate(i + 1, (Date) p[0], cal);
+                }
+            } else if (p.length == 2 && p[0] instanceof Reader) {
+                ps.setCharacterStream(i + 1, (Reader) p[0], (Integer) p[1]);
+            } else if (p.length == 2) {
+                ps.setObject(i + 1, p[0], (Integer) p[1]);
+            } else if (p.length == 3 && p[0] instanceof InputStream) {
+                InputStream in = (InputStream) p[0];
+                int length = (Integer) p[1];
+                switch ((Integer) p[2]) {
+                    case BaseRowSet.ASCII_STREAM_PARAM:
+                        ps.setAsciiStream(i + 1, in, length);
+                        break;
+                    case BaseRowSet.BINARY_STREAM_PARAM:
+                        ps.setBinaryStream(i + 1, in, length);
+                        break;
+                    default:
+                        throw new SQLFeatureNotSupportedException("Unicode stream parameters");
+                }
+            } else {
+                ps.setObject(i + 1, p[0], (Integer) p[1], (Integer) p[2]);
+            }
+        }
+    }
+
+    public void populate(ResultSet data) throws SQLException {
+        initFromResultSet(data);
+        this.pageStartRow = 1;
+        this.firstRow = 1;
+        readRows(data, false);
+        notifyRowSetChanged();
+    }
+
+    public void populate(ResultSet rs, int startRow) throws SQLException {
+        if (startRow < 1) {
+            throw new SQLException("Start row must be 1 or greater: " + startRow);
+        }
+        initFromResultSet(rs);
+        if (startRow > 1) {
+            skipTo(rs, startRow);
+        }
+        this.pageStartRow = startRow;
+        this.firstRow = startRow;
+        readRows(rs, false);
+        notifyRowSetChanged();
+    }
+
+    /** Appends a row of original values after the last row, as if it had been read */
+    void appendRow(Object[] values) throws SQLException {
+        int slot = store.append(values);
+        store.insertAt(store.rowCount() + 1, slot);
+    }
+
+    private static void skipTo(ResultSet rs, int startRow) throws SQLException {
+        if (rs.getType() != ResultSet.TYPE_FORWARD_ONLY) {
+            rs.absolute(startRow - 1);
+        } else {
+            for (int i = 1; i < startRow && rs.next(); i++) {
+            }
+        }
+    }
+
+    private void initFromResultSet(ResultSet rs) throws SQLException {
+        setMetaData(copyMetaData(rs.getMetaData()));
+        this.sqlWarnings = rs.getWarnings();
+    }
+
+    /** Number of rows the current page may hold, given the rows of earlier pages */
+    private int rowLimit() throws SQLException {
+        int limit = getPageSize() > 0 ? getPageSize() : Integer.MAX_VALUE;
+        if (getMaxRows() > 0) {
+            limit = Math.min(limit, Math.max(getMaxRows() - (pageStartRow - firstRow), 0));
+        }
+        return limit;
+    }
+
+    /** Reads up to a page of rows; the first may already be current */
+    private void readRows(ResultSet rs, boolean firstIsCurrent) throws SQLException {
+        int limit = rowLimit();
+        int count = 0;
+        if (firstIsCurrent && limit > 0) {
+            store.read(rs);
+            count++;
+        }
+        boolean more = true;
+        while (count < limit && (more = rs.next())) {
+            store.read(rs);
+            count++;
+        }
+        this.lastPage = !more || getPageSize() == 0
+            || (getMaxRows() > 0 && pageStartRow - firstRow + count >= getMaxRows());
+    }
+
+    private static RowSetMetaDataImpl copyMetaData(ResultSetMetaData rsmd)
+            throws SQLException {
+        RowSetMetaDataImpl md = new RowSetMetaDataImpl();
+        int n = rsmd.getColumnCount();
+        md.setColumnCount(n);
+        for (int i = 1; i <= n; i++) {
+            md.setAutoIncrement(i, rsmd.isAutoIncrement(i));
+            md.setCaseSensitive(i, rsmd.isCaseSensitive(i));
+            md.setCurrency(i, rsmd.isCurrency(i));
+            md.setNullable(i, rsmd.isNullable(i));
+            md.setSigned(i, rsmd.isSigned(i));
+            md.setSearchable(i, rsmd.isSearchable(i));
+            // Some drivers report -1 for unknown sizes, which
+            // RowSetMetaDataImpl rejects.
+            md.setColumnDisplaySize(i, Math.max(rsmd.getColumnDisplaySize(i), 0));
+            md.setColumnLabel(i, rsmd.getColumnLabel(i));
+            md.setColumnName(i, rsmd.getColumnName(i));
+            md.setSchemaName(i, rsmd.getSchemaName(i));
+            md.setPrecision(i, Math.max(rsmd.getPrecision(i), 0));
+            md.setScale(i, Math.max(rsmd.getScale(i), 0));
+            md.setTableName(i, rsmd.getTableName(i));
+            md.setCatalogName(i, rsmd.getCatalogName(i));
+            md.setColumnType(i, rsmd.getColumnType(i));
+            md.setColumnTypeName(i, rsmd.getColumnTypeName(i));
+        }
+        return md;
+    }
+
+    public void setMetaData(RowSetMetaData md) throws SQLException {
+        this.metaData = md instanceof RowSetMetaDataImpl
+            ? (RowSetMetaDataImpl) md : copyMetaData(md);
+        this.columnsByName = new HashMap<>();
+        for (int i = md.getColumnCount(); i >= 1; i--) {
+            // Labels win over names, and the first of equal names wins.
+            String name = md.getColumnName(i);
+            if (name != null) {
+                columnsByName.put(name.toUpperCase(Locale.ROOT), i);
+            }
+        }
+        for (int i = md.getColumnCount(); i >= 1; i--) {
+            String label = md.getColumnLabel(i);
+            if (label != null) {
+                columnsByName.put(label.toUpperCase(Locale.ROOT), i);
+            }
+        }
+        replaceStore(newStore(md));
+        this.closed = false;
+    }
+
+    /** The rows, for code in this package that reads them without the cursor */
+    ColumnarRowStore rowStore() throws SQLException {
+        checkOpen();
+        return store;
+    }
+
+    /** Replaces the rows with newStore, whose columns must match the metadata */
+    void setRowStore(ColumnarRowStore newStore) throws SQLException {
+        replaceStore(newStore);
+        notifyRowSetChanged();
+    }
+
+    /** Creates an empty store, sized for a page of rows if there are pages */
+    private ColumnarRowStore newStore(ResultSetMetaData md) throws SQLException {
+        int expectedRows = getPageSize() > 0 ? getPageSize() : getMaxRows();
+        return ColumnarRowStore.forMetaData(md, offHeap, expectedRows);
+    }
+
+    private void replaceStore(ColumnarRowStore newStore) {
+        if (store != null) {
+            store.release();
+        }
+        this.store = newStore;
+        this.cursor = 0;
+        this.onInsertRow = false;
+    }
+
+    // Paging
+
+    public boolean nextPage() throws SQLException {
+        checkOpen();
+        if (pageResultSet == null) {
+            return false;
+        }
+        if (lastPage || !pageResultSet.next()) {
+            closePageResources();
+            return false;
+        }
+        int rowsInPage = store.rowCount();
+        replaceStore(newStore(metaData));
+        this.pageStartRow += rowsInPage;
+        readRows(pageResultSet, true);
+        notifyRowSetChanged();
+        return true;
+    }
+
+    /**
+     * Moves back one page. The result set read by execute() is kept open
+     * between pages, so this works as long as it has not been closed by
+     * reading past the last page.
+     */
+    public boolean previousPage() throws SQLException {
+        checkOpen();
+        if (pageResultSet == null || pageStartRow <= 1) {
+            return false;
+        }
+        int start = Math.max(pageStartRow - getPageSize(), 1);
+        pageResultSet.absolute(start - 1);
+        replaceStore(newStore(metaData));
+        this.pageStartRow = start;
+        readRows(pageResultSet, false);
+        this.lastPage = false;
+        notifyRowSetChanged();
+        return true;
+    }
+
+    private void closePageResources() throws SQLException {
+        try {
+            if (pageResultSet != null) {
+                pageResultSet.close();
+            }
+            if (pageStatement != null) {
+                pageStatement.close();
+            }
+            if (pageConnection != null) {
+                pageConnection.close();
+            }
+        } finally {
+            pageResultSet = null;
+            pageStatement = null;
+            pageConnection = null;
+        }
+    }
+
+    // Navigation
+
+    private boolean isVisible(int position) throws SQLException {
+        return getShowDeleted() || !store.hasDeletedRows()
+            || !store.isDeleted(store.slot(position));
+    }
+
+    private int nextVisible(int from) throws SQLException {
+        int n = store.rowCount();
+        int p = from + 1;
+        while (p <= n && !isVisible(p)) {
+            p++;
+        }
+        return Math.min(p, n + 1);
+    }
+
+    private int previousVisible(int from) throws SQLException {
+        int p = from - 1;
+        while (p >= 1 && !isVisible(p)) {
+            p--;
+        }
+        return Math.max(p, 0);
+    }
+
+    /** Fails every access to the rows once the row set has been closed */
+    private void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("The row set is closed");
+        }
+    }
+
+    private boolean moveCursor(int position) throws SQLException {
+        checkOpen();
+        this.onInsertRow = false;
+        this.cursor = position;
+        notifyCursorMoved();
+        return isOnRow();
+    }
+
+    private boolean isOnRow() {
+        return cursor >= 1 && cursor <= store.rowCount();
+    }
+
+    private int currentSlot() throws SQLException {
+        checkOpen();
+        if (!isOnRow()) {
+            throw new SQLException("Invalid cursor position");
+        }
+        return store.slot(cursor);
+    }
+
+    public boolean next() throws SQLException {
+        return moveCursor(nextVisible(cursor));
+    }
+
+    public boolean previous() throws SQLException {
+        return moveCursor(previousVisible(cursor));
+    }
+
+    public boolean first() throws SQLException {
+        return moveCursor(nextVisible(0));
+    }
+
+    public boolean last() throws SQLException {
+        return moveCursor(previousVisible(store.rowCount() + 1));
+    }
+
+    public void beforeFirst() throws SQLException {
+        moveCursor(0);
+    }
+
+    public void afterLast() throws SQLException {
+        moveCursor(store.rowCount() + 1);
+    }
+
+    public boolean absolute(int row) throws SQLException {
+        int n = store.rowCount();
+        if (row == 0) {
+            return moveCursor(0);
+        }
+        if (getShowDeleted() || !store.hasDeletedRows()) {
+            return moveCursor(row > 0 ? Math.min(row, n + 1) : Math.max(n + 1 + row, 0));
+        }
+        int p = row > 0 ? 0 : n + 1;
+        for (int seen = 0; seen < Math.abs(row) && p >= 0 && p <= n + 1; seen++) {
+            p = row > 0 ? nextVisible(p) : previousVisible(p);
+        }
+        return moveCursor(p);
+    }
+
+    public boolean relative(int rows) throws SQLException {
+        if (!isOnRow()) {
+            throw new SQLException("Invalid cursor position for relative move");
+        }
+        int p = cursor;
+        int n = store.rowCount();
+        for (int i = 0; i < Math.abs(rows) && p >= 1 && p <= n; i++) {
+            p = rows > 0 ? nextVisible(p) : previousVisible(p);
+        }
+        return moveCursor(p);
+    }
+
+    public int getRow() throws SQLException {
+        if (!isOnRow() || onInsertRow) {
+            return 0;
+        }
+        if (getShowDeleted() || !store.hasDeletedRows()) {
+            return cursor;
+        }
+        if (!isVisible(cursor)) {
+            return 0;
+        }
+        int row = 0;
+        for (int p = 1; p <= cursor; p++) {
+            if (isVisible(p)) {
+                row++;
+            }
+        }
+        return row;
+    }
+
+    public boolean isBeforeFirst() throws SQLException {
+        return cursor == 0 && store.rowCount() > 0;
+    }
+
+    public boolean isAfterLast() throws SQLException {
+        return cursor == store.rowCount() + 1 && store.rowCount() > 0;
+    }
+
+    public boolean isFirst() throws SQLException {
+        return isOnRow() && previousVisible(cursor) == 0;
+    }
+
+    public boolean isLast() throws SQLException {
+        return isOnRow() && nextVisible(cursor) == store.rowCount() + 1;
+    }
+
+    public int size() {
+        return store.rowCount();
+    }
+
+    // Getters
+
+    private void checkColumn(int columnIndex) throws SQLException {
+        if (columnIndex < 1 || columnIndex > store.columnCount()) {
+            throw new SQLException("Invalid column index: " + columnIndex);
+        }
+    }
+
+    private Object value(int columnIndex) throws SQLException {
+        checkColumn(columnIndex);
+        Object v = onInsertRow
+            ? insertValues[columnIndex - 1]
+            : store.get(currentSlot(), columnIndex);
+        lastValueNull = v == null;
+        return v;
+    }
+
+    /**
+     * Returns the slot of the current row if its values can be read straight
+     * from the column vectors, or -1 if the row has changes or the cursor is
+     * on the insert row.
+     */
+    private int cleanSlot(int columnIndex) throws SQLException {
+        if (onInsertRow) {
+            return -1;
+        }
+        checkColumn(columnIndex);
+        int slot = currentSlot();
+        return store.isDirty(slot) ? -1 : slot;
+    }
+
+    public int findColumn(String columnLabel) throws SQLException {
+        Integer index = columnLabel == null
+            ? null : columnsByName.get(columnLabel.toUpperCase(Locale.ROOT));
+        if (index == null) {
+            throw new SQLException("Invalid column name: " + columnLabel);
+        }
+        return index;
+    }
+
+    public boolean wasNull() throws SQLException {
+        return lastValueNull;
+    }
+
+    public String getString(int columnIndex) throws SQLException {
+        return ColumnValues.toStringValue(value(columnIndex));
+    }
+
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        return ColumnValues.toBoolean(value(columnIndex));
+    }
+
+    public byte getByte(int columnIndex) throws SQLException {
+        return (byte) getInt(columnIndex);
+    }
+
+    public short getShort(int columnIndex) throws SQLException {
+        return (short) getInt(columnIndex);
+    }
+
+    public int getInt(int columnIndex) throws SQLException {
+        int slot = cleanSlot(columnIndex);
+        if (slot >= 0) {
+            ColumnVector v = store.column(columnIndex);
+            lastValueNull = v.isNull(slot);
+            return lastValueNull ? 0 : v.getInt(slot);
+        }
+        return ColumnValues.toInt(value(columnIndex));
+    }
+
+    public long getLong(int columnIndex) throws SQLException {
+        int slot = cleanSlot(columnIndex);
+        if (slot >= 0) {
+            ColumnVector v = store.column(columnIndex);
+            lastValueNull = v.isNull(slot);
+            return lastValueNull ? 0L : v.getLong(slot);
+        }
+        return ColumnValues.toLong(value(columnIndex));
+    }
+
+    public float getFloat(int columnIndex) throws SQLException {
+        return (float) getDouble(columnIndex);
+    }
+
+    public double getDouble(int columnIndex) throws SQLException {
+        int slot = cleanSlot(columnIndex);
+        if (slot >= 0) {
+            ColumnVector v = store.column(columnIndex);
+            lastValueNull = v.isNull(slot);
+            return lastValueNull ? 0.0 : v.getDouble(slot);
+        }
+        return ColumnValues.toDouble(value(columnIndex));
+    }
+
+    @Deprecated
+    public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+        BigDecimal value = getBigDecimal(columnIndex);
+        return value == null ? null : value.setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        return ColumnValues.toBigDecimal(value(columnIndex));
+    }
+
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        return ColumnValues.toBytes(value(columnIndex));
+    }
+
+    public Date getDate(int columnIndex) throws SQLException {
+        return ColumnValues.toDate(value(columnIndex));
+    }
+
+    public Time getTime(int columnIndex) throws SQLException {
+        return ColumnValues.toTime(value(columnIndex));
+    }
+
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        return ColumnValues.toTimestamp(value(columnIndex));
+    }
+
+    public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+        Date value = getDate(columnIndex);
+        return value == null || cal == null ? value : new Date(inCalendar(value, cal));
+    }
+
+    public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+        Time value = getTime(columnIndex);
+        return value == null || cal == null ? value : new Time(inCalendar(value, cal));
+    }
+
+    public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+        Timestamp value = getTimestamp(columnIndex);
+        if (value == null || cal == null) {
+            return value;
+        }
+        Timestamp result = new Timestamp(inCalendar(value, cal));
+        result.setNanos(value.getNanos());
+        return result;
+    }
+
+    /** Reinterprets the local date and time fields of value in cal's zone */
+    private static long inCalendar(java.util.Date value, Calendar cal) {
+        Calendar local = Calendar.getInstance();
+        local.setTime(value);
+        Calendar target = (Calendar) cal.clone();
+        target.clear();
+        target.set(local.get(Calendar.YEAR), local.get(Calendar.MONTH),
+                   local.get(Calendar.DAY_OF_MONTH), local.get(Calendar.HOUR_OF_DAY),
+                   local.get(Calendar.MINUTE), local.get(Calendar.SECOND));
+        target.set(Calendar.MILLISECOND, local.get(Calendar.MILLISECOND));
+        return target.getTimeInMillis();
+    }
+
+    public InputStream getAsciiStream(int columnIndex) throws SQLException {
+        String value = getString(columnIndex);
+        return value == null
+            ? null : new ByteArrayInputStream(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Deprecated
+    public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+        String value = getString(columnIndex);
+        return value == null
+            ? null : new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_16BE));
+    }
+
+    public InputStream getBinaryStream(int columnIndex) throws SQLException {
+        byte[] value = getBytes(columnIndex);
+        return value == null ? null : new ByteArrayInputStream(value);
+    }
+
+    public Reader getCharacterStream(int columnIndex) throws SQLException {
+        String value = getString(columnIndex);
+        return value == null ? null : new StringReader(value);
+    }
+
+    public Object getObject(int columnIndex) throws SQLException {
+        return value(columnIndex);
+    }
+
+    public Object getObject(int columnIndex, Map<String, Class<?>> map)
+            throws SQLException {
+        return value(columnIndex);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+        if (type == null) {
+            throw new SQLException("Type must not be null");
+        }
+        Object value = value(columnIndex);
+        if (value == null || type.isInstance(value)) {
+            return (T) value;
+        } else if (type == String.class) {
+            return (T) ColumnValues.toStringValue(value);
+        } else if (type == Integer.class) {
+            return (T) Integer.valueOf(ColumnValues.toInt(value));
+        } else if (type == Long.class) {
+            return (T) Long.valueOf(ColumnValues.toLong(value));
+        } else if (type == Short.class) {
+            return (T) Short.valueOf((short) ColumnValues.toInt(value));
+        } else if (type == Byte.class) {
+            return (T) Byte.valueOf((byte) ColumnValues.toInt(value));
+        } else if (type == Double.class) {
+            return (T) Double.valueOf(ColumnValues.toDouble(value));
+        } else if (type == Float.class) {
+            return (T) Float.valueOf((float) ColumnValues.toDouble(value));
+        } else if (type == Boolean.class) {
+            return (T) Boolean.valueOf(ColumnValues.toBoolean(value));
+        } else if (type == BigDecimal.class) {
+            return (T) ColumnValues.toBigDecimal(value);
+        } else if (type == Timestamp.class) {
+            return (T) ColumnValues.toTimestamp(value);
+        } else if (type == Date.class) {
+            return (T) ColumnValues.toDate(value);
+        } else if (type == Time.class) {
+            return (T) ColumnValues.toTime(value);
+        } else if (type == byte[].class) {
+            return (T) ColumnValues.toBytes(value);
+        }
+        throw new SQLException("Cannot convert column " + columnIndex + " to " + type.getName());
+    }
+
+    private <T> T valueAs(int columnIndex, Class<T> type) throws SQLException {
+        Object value = value(columnIndex);
+        if (value == null || type.isInstance(value)) {
+            return type.cast(value);
+        }
+        throw new SQLException("Column " + columnIndex + " is not a " + type.getSimpleName());
+    }
+
+    public Ref getRef(int columnIndex) throws SQLException {
+        return valueAs(columnIndex, Ref.class);
+    }
+
+    public Blob getBlob(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        if (value instanceof byte[]) {
+            return new SerialBlob((byte[]) value);
+        }
+        return valueAs(columnIndex, Blob.class);
+    }
+
+    public Clob getClob(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        if (value instanceof String) {
+            return new SerialClob(((String) value).toCharArray());
+        }
+        return valueAs(columnIndex, Clob.class);
+    }
+
+    public Array getArray(int columnIndex) throws SQLException {
+        return valueAs(columnIndex, Array.class);
+    }
+
+    public URL getURL(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        if (value instanceof String) {
+            try {
+                return new URL((String) value);
+            } catch (MalformedURLException e) {
+                throw new SQLException("Column " + columnIndex + " is not a URL", e);
+            }
+        }
+        return valueAs(columnIndex, URL.class);
+    }
+
+    public RowId getRowId(int columnIndex) throws SQLException {
+        return valueAs(columnIndex, RowId.class);
+    }
+
+    public NClob getNClob(int columnIndex) throws SQLException {
+        return valueAs(columnIndex, NClob.class);
+    }
+
+    public SQLXML getSQLXML(int columnIndex) throws SQLException {
+        return valueAs(columnIndex, SQLXML.class);
+    }
+
+    public String getNString(int columnIndex) throws SQLException {
+        return getString(columnIndex);
+    }
+
+    public Reader getNCharacterStream(int columnIndex) throws SQLException {
+        return getCharacterStream(columnIndex);
+    }
+
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        return getBoolean(findColumn(columnLabel));
+    }
+
+    public byte getByte(String columnLabel) throws SQLException {
+        return getByte(findColumn(columnLabel));
+    }
+
+    public short getShort(String columnLabel) throws SQLException {
+        return getShort(findColumn(columnLabel));
+    }
+
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    public float getFloat(String columnLabel) throws SQLException {
+        return getFloat(findColumn(columnLabel));
+    }
+
+    public double getDouble(String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+
+    @Deprecated
+    public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel), scale);
+    }
+
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel));
+    }
+
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        return getBytes(findColumn(columnLabel));
+    }
+
+    public Date getDate(String columnLabel) throws SQLException {
+        return getDate(findColumn(columnLabel));
+    }
+
+    public Time getTime(String columnLabel) throws SQLException {
+        return getTime(findColumn(columnLabel));
+    }
+
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return getTimestamp(findColumn(columnLabel));
+    }
+
+    public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+        return getDate(findColumn(columnLabel), cal);
+    }
+
+    public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+        return getTime(findColumn(columnLabel), cal);
+    }
+
+    public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+        return getTimestamp(findColumn(columnLabel), cal);
+    }
+
+    public InputStream getAsciiStream(String columnLabel) throws SQLException {
+        return getAsciiStream(findColumn(columnLabel));
+    }
+
+    @Deprecated
+    public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+        return getUnicodeStream(findColumn(columnLabel));
+    }
+
+    public InputStream getBinaryStream(String columnLabel) throws SQLException {
+        return getBinaryStream(findColumn(columnLabel));
+    }
+
+    public Reader getCharacterStream(String columnLabel) throws SQLException {
+        return getCharacterStream(findColumn(columnLabel));
+    }
+
+    public Object getObject(String columnLabel) throws SQLException {
+        return getObject(findColumn(columnLabel));
+    }
+
+    public Object getObject(String columnLabel, Map<String, Class<?>> map)
+            throws SQLException {
+        return getObject(findColumn(columnLabel), map);
+    }
+
+    public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+        return getObject(findColumn(columnLabel), type);
+    }
+
+    public Ref getRef(String columnLabel) throws SQLException {
+        return getRef(findColumn(columnLabel));
+    }
+
+    public Blob getBlob(String columnLabel) throws SQLException {
+        return getBlob(findColumn(columnLabel));
+    }
+
+    public Clob getClob(String columnLabel) throws SQLException {
+        return getClob(findColumn(columnLabel));
+    }
+
+    public Array getArray(String columnLabel) throws SQLException {
+        return getArray(findColumn(columnLabel));
+    }
+
+    public URL getURL(String columnLabel) throws SQLException {
+        return getURL(findColumn(columnLabel));
+    }
+
+    public RowId getRowId(String columnLabel) throws SQLException {
+        return getRowId(findColumn(columnLabel));
+    }
+
+    public NClob getNClob(String columnLabel) throws SQLException {
+        return getNClob(findColumn(columnLabel));
+    }
+
+    public SQLXML getSQLXML(String columnLabel) throws SQLException {
+        return getSQLXML(findColumn(columnLabel));
+    }
+
+    public String getNString(String columnLabel) throws SQLException {
+        return getNString(findColumn(columnLabel));
+    }
+
+    public Reader getNCharacterStream(String columnLabel) throws SQLException {
+        return getNCharacterStream(findColumn(columnLabel));
+    }
+
+    // Updates
+
+    private void checkUpdatable() throws SQLException {
+        if (getConcurrency() == ResultSet.CONCUR_READ_ONLY) {
+            throw new SQLException("The row set is read only");
+        }
+    }
+
+    private void update(int columnIndex, Object value) throws SQLException {
+        checkColumn(columnIndex);
+        checkUpdatable();
+        if (onInsertRow) {
+            insertValues[columnIndex - 1] = value;
+            insertColumnsSet.set(columnIndex - 1);
+        } else {
+            store.set(currentSlot(), columnIndex, value);
+        }
+    }
+
+    private static byte[] readBytes(InputStream in, long length) throws SQLException {
+        if (in == null) {
+            return null;
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            long remaining = length < 0 ? Long.MAX_VALUE : length;
+            int n;
+            while (remaining > 0
+                    && (n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining))) > 0) {
+                out.write(buffer, 0, n);
+                remaining -= n;
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SQLException("Cannot read stream", e);
+        }
+    }
+
+    private static String readChars(Reader in, long length) throws SQLException {
+        if (in == null) {
+            return null;
+        }
+        try {
+            StringBuilder out = new StringBuilder();
+            char[] buffer = new char[8192];
+            long remaining = length < 0 ? Long.MAX_VALUE : length;
+            int n;
+            while (remaining > 0
+                    && (n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining))) > 0) {
+                out.append(buffer, 0, n);
+                remaining -= n;
+            }
+            return out.toString();
+        } catch (IOException e) {
+            throw new SQLException("Cannot read stream", e);
+        }
+    }
+
+    private static String asciiString(InputStream in, long length) throws SQLException {
+        byte[] bytes = readBytes(in, length);
+        return bytes == null ? null : new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    public void updateNull(int columnIndex) throws SQLException {
+        update(columnIndex, null);
+    }
+
+    public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateByte(int columnIndex, byte x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateShort(int columnIndex, short x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateInt(int columnIndex, int x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateLong(int columnIndex, long x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateFloat(int columnIndex, float x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateDouble(int columnIndex, double x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateString(int columnIndex, String x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateDate(int columnIndex, Date x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateTime(int columnIndex, Time x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateAsciiStream(int columnIndex, InputStream x, int length)
+            throws SQLException {
+        update(columnIndex, asciiString(x, length));
+    }
+
+    public void updateAsciiStream(int columnIndex, InputStream x, long length)
+            throws SQLException {
+        update(columnIndex, asciiString(x, length));
+    }
+
+    public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
+        update(columnIndex, asciiString(x, -1));
+    }
+
+    public void updateBinaryStream(int columnIndex, InputStream x, int length)
+            throws SQLException {
+        update(columnIndex, readBytes(x, length));
+    }
+
+    public void updateBinaryStream(int columnIndex, InputStream x, long length)
+            throws SQLException {
+        update(columnIndex, readBytes(x, length));
+    }
+
+    public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
+        update(columnIndex, readBytes(x, -1));
+    }
+
+    public void updateCharacterStream(int columnIndex, Reader x, int length)
+            throws SQLException {
+        update(columnIndex, readChars(x, length));
+    }
+
+    public void updateCharacterStream(int columnIndex, Reader x, long length)
+            throws SQLException {
+        update(columnIndex, readChars(x, length));
+    }
+
+    public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
+        update(columnIndex, readChars(x, -1));
+    }
+
+    public void updateNCharacterStream(int columnIndex, Reader x, long length)
+            throws SQLException {
+        update(columnIndex, readChars(x, length));
+    }
+
+    public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException {
+        update(columnIndex, readChars(x, -1));
+    }
+
+    public void updateObject(int columnIndex, Object x, int scaleOrLength)
+            throws SQLException {
+        if (x instanceof BigDecimal) {
+            x = ((BigDecimal) x).setScale(scaleOrLength, RoundingMode.HALF_UP);
+        }
+        update(columnIndex, x);
+    }
+
+    public void updateObject(int columnIndex, Object x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateRef(int columnIndex, Ref x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateBlob(int columnIndex, Blob x) throws SQLException {
+        update(columnIndex, x == null ? null : new SerialBlob(x));
+    }
+
+    public void updateBlob(int columnIndex, InputStream x, long length)
+            throws SQLException {
+        update(columnIndex, readBytes(x, length));
+    }
+
+    public void updateBlob(int columnIndex, InputStream x) throws SQLException {
+        update(columnIndex, readBytes(x, -1));
+    }
+
+    public void updateClob(int columnIndex, Clob x) throws SQLException {
+        update(columnIndex, x == null ? null : new SerialClob(x));
+    }
+
+    public void updateClob(int columnIndex, Reader x, long length) throws SQLException {
+        update(columnIndex, readChars(x, length));
+    }
+
+    public void updateClob(int columnIndex, Reader x) throws SQLException {
+        update(columnIndex, readChars(x, -1));
+    }
+
+    public void updateNClob(int columnIndex, NClob x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateNClob(int columnIndex, Reader x, long length) throws SQLException {
+        update(columnIndex, readChars(x, length));
+    }
+
+    public void updateNClob(int columnIndex, Reader x) throws SQLException {
+        update(columnIndex, readChars(x, -1));
+    }
+
+    public void updateArray(int columnIndex, Array x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateRowId(int columnIndex, RowId x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateNString(int columnIndex, String x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateSQLXML(int columnIndex, SQLXML x) throws SQLException {
+        update(columnIndex, x);
+    }
+
+    public void updateNull(String columnLabel) throws SQLException {
+        updateNull(findColumn(columnLabel));
+    }
+
+    public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+        updateBoolean(findColumn(columnLabel), x);
+    }
+
+    public void updateByte(String columnLabel, byte x) throws SQLException {
+        updateByte(findColumn(columnLabel), x);
+    }
+
+    public void updateShort(String columnLabel, short x) throws SQLException {
+        updateShort(findColumn(columnLabel), x);
+    }
+
+    public void updateInt(String columnLabel, int x) throws SQLException {
+        updateInt(findColumn(columnLabel), x);
+    }
+
+    public void updateLong(String columnLabel, long x) throws SQLException {
+        updateLong(findColumn(columnLabel), x);
+    }
+
+    public void updateFloat(String columnLabel, float x) throws SQLException {
+        updateFloat(findColumn(columnLabel), x);
+    }
+
+    public void updateDouble(String columnLabel, double x) throws SQLException {
+        updateDouble(findColumn(columnLabel), x);
+    }
+
+    public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+        updateBigDecimal(findColumn(columnLabel), x);
+    }
+
+    public void updateString(String columnLabel, String x) throws SQLException {
+        updateString(findColumn(columnLabel), x);
+    }
+
+    public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+        updateBytes(findColumn(columnLabel), x);
+    }
+
+    public void updateDate(String columnLabel, Date x) throws SQLException {
+        updateDate(findColumn(columnLabel), x);
+    }
+
+    public void updateTime(String columnLabel, Time x) throws SQLException {
+        updateTime(findColumn(columnLabel), x);
+    }
+
+    public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+        updateTimestamp(findColumn(columnLabel), x);
+    }
+
+    public void updateAsciiStream(String columnLabel, InputStream x, int length)
+            throws SQLException {
+        updateAsciiStream(findColumn(columnLabel), x, length);
+    }
+
+    public void updateAsciiStream(String columnLabel, InputStream x, long length)
+            throws SQLException {
+        updateAsciiStream(findColumn(columnLabel), x, length);
+    }
+
+    public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
+        updateAsciiStream(findColumn(columnLabel), x);
+    }
+
+    public void updateBinaryStream(String columnLabel, InputStream x, int length)
+            throws SQLException {
+        updateBinaryStream(findColumn(columnLabel), x, length);
+    }
+
+    public void updateBinaryStream(String columnLabel, InputStream x, long length)
+            throws SQLException {
+        updateBinaryStream(findColumn(columnLabel), x, length);
+    }
+
+    public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
+        updateBinaryStream(findColumn(columnLabel), x);
+    }
+
+    public void updateCharacterStream(String columnLabel, Reader reader, int length)
+            throws SQLException {
+        updateCharacterStream(findColumn(columnLabel), reader, length);
+    }
+
+    public void updateCharacterStream(String columnLabel, Reader reader, long length)
+            throws SQLException {
+        updateCharacterStream(findColumn(columnLabel), reader, length);
+    }
+
+    public void updateCharacterStream(String columnLabel, Reader reader)
+            throws SQLException {
+        updateCharacterStream(findColumn(columnLabel), reader);
+    }
+
+    public void updateNCharacterStream(String columnLabel, Reader reader, long length)
+            throws SQLException {
+        updateNCharacterStream(findColumn(columnLabel), reader, length);
+    }
+
+    public void updateNCharacterStream(String columnLabel, Reader reader)
+            throws SQLException {
+        updateNCharacterStream(findColumn(columnLabel), reader);
+    }
+
+    public void updateObject(String columnLabel, Object x, int scaleOrLength)
+            throws SQLException {
+        updateObject(findColumn(columnLabel), x, scaleOrLength);
+    }
+
+    public void updateObject(String columnLabel, Object x) throws SQLException {
+        updateObject(findColumn(columnLabel), x);
+    }
+
+    public void updateRef(String columnLabel, Ref x) throws SQLException {
+        updateRef(findColumn(columnLabel), x);
+    }
+
+    public void updateBlob(String columnLabel, Blob x) throws SQLException {
+        updateBlob(findColumn(columnLabel), x);
+    }
+
+    public void updateBlob(String columnLabel, InputStream x, long length)
+            throws SQLException {
+        updateBlob(findColumn(columnLabel), x, length);
+    }
+
+    public void updateBlob(String columnLabel, InputStream x) throws SQLException {
+        updateBlob(findColumn(columnLabel), x);
+    }
+
+    public void updateClob(String columnLabel, Clob x) throws SQLException {
+        updateClob(findColumn(columnLabel), x);
+    }
+
+    public void updateClob(String columnLabel, Reader x, long length) throws SQLException {
+        updateClob(findColumn(columnLabel), x, length);
+    }
+
+    public void updateClob(String columnLabel, Reader x) throws SQLException {
+        updateClob(findColumn(columnLabel), x);
+    }
+
+    public void updateNClob(String columnLabel, NClob x) throws SQLException {
+        updateNClob(findColumn(columnLabel), x);
+    }
+
+    public void updateNClob(String columnLabel, Reader x, long length) throws SQLException {
+        updateNClob(findColumn(columnLabel), x, length);
+    }
+
+    public void updateNClob(String columnLabel, Reader x) throws SQLException {
+        updateNClob(findColumn(columnLabel), x);
+    }
+
+    public void updateArray(String columnLabel, Array x) throws SQLException {
+        updateArray(findColumn(columnLabel), x);
+    }
+
+    public void updateRowId(String columnLabel, RowId x) throws SQLException {
+        updateRowId(findColumn(columnLabel), x);
+    }
+
+    public void updateNString(String columnLabel, String x) throws SQLException {
+        updateNString(findColumn(columnLabel), x);
+    }
+
+    public void updateSQLXML(String columnLabel, SQLXML x) throws SQLException {
+        updateSQLXML(findColumn(columnLabel), x);
+    }
+
+    // Row changes
+
+    public void moveToInsertRow() throws SQLException {
+        checkOpen();
+        checkUpdatable();
+        if (metaData == null) {
+            throw new SQLException("The row set has no metadata");
+        }
+        if (!onInsertRow) {
+            cursorBeforeInsert = cursor;
+            onInsertRow = true;
+        }
+        insertValues = new Object[store.columnCount()];
+        insertColumnsSet = new BitSet(store.columnCount());
+    }
+
+    public void moveToCurrentRow() throws SQLException {
+        if (onInsertRow) {
+            onInsertRow = false;
+            cursor = cursorBeforeInsert;
+        }
+    }
+
+    /**
+     * Inserts the contents of the insert row after the current row, or
+     * first if the cursor was before the first row.
+     */
+    public void insertRow() throws SQLException {
+        if (!onInsertRow) {
+            throw new SQLException("The cursor is not on the insert row");
+        }
+        for (int i = 1; i <= store.columnCount(); i++) {
+            if (!insertColumnsSet.get(i - 1)
+                    && metaData.isNullable(i) == ResultSetMetaData.columnNoNulls
+                    && !metaData.isAutoIncrement(i)) {
+                throw new SQLException("No value set for column " + metaData.getColumnName(i));
+            }
+        }
+        int slot = store.append(insertValues);
+        store.setInserted(slot);
+        int position = Math.min(Math.max(cursorBeforeInsert, 0), store.rowCount()) + 1;
+        store.insertAt(position, slot);
+        if (cursorBeforeInsert >= position) {
+            cursorBeforeInsert++;
+        }
+        insertValues = new Object[store.columnCount()];
+        insertColumnsSet.clear();
+        notifyRowChanged();
+    }
+
+    public void updateRow() throws SQLException {
+        if (onInsertRow) {
+            throw new SQLException("updateRow cannot be called on the insert row");
+        }
+        store.setUpdated(currentSlot());
+        notifyRowChanged();
+    }
+
+    public void deleteRow() throws SQLException {
+        if (onInsertRow) {
+            throw new SQLException("deleteRow cannot be called on the insert row");
+        }
+        checkUpdatable();
+        store.setDeleted(currentSlot(), true);
+        notifyRowChanged();
+    }
+
+    /** Drops the changes made with updateXXX methods since the last updateRow */
+    public void refreshRow() throws SQLException {
+        if (onInsertRow) {
+            throw new SQLException("refreshRow cannot be called on the insert row");
+        }
+        store.discardPending(currentSlot());
+    }
+
+    public void cancelRowUpdates() throws SQLException {
+        if (onInsertRow) {
+            throw new SQLException("cancelRowUpdates cannot be called on the insert row");
+        }
+        int slot = currentSlot();
+        if (store.isDirty(slot)) {
+            store.discardChanges(slot);
+            notifyRowChanged();
+        }
+    }
+
+    public boolean rowUpdated() throws SQLException {
+        return !onInsertRow && store.isUpdated(currentSlot());
+    }
+
+    public boolean rowInserted() throws SQLException {
+        return !onInsertRow && store.isInserted(currentSlot());
+    }
+
+    public boolean rowDeleted() throws SQLException {
+        return !onInsertRow && store.isDeleted(currentSlot());
+    }
+
+    public boolean columnUpdated(int idx) throws SQLException {
+        checkColumn(idx);
+        return !onInsertRow && store.columnChanged(currentSlot(), idx);
+    }
+
+    public boolean columnUpdated(String columnName) throws SQLException {
+        return columnUpdated(findColumn(columnName));
+    }
+
+    public void undoDelete() throws SQLException {
+        if (!getShowDeleted()) {
+            return;
+        }
+        int slot = currentSlot();
+        if (store.isDeleted(slot)) {
+            store.setDeleted(slot, false);
+            notifyRowChanged();
+        }
+    }
+
+    public void undoInsert() throws SQLException {
+        int slot = currentSlot();
+        if (!store.isInserted(slot)) {
+            throw new SQLException("The current row was not inserted");
+        }
+        store.removeAt(cursor);
+        store.discardChanges(slot);
+        cursor--;
+        notifyRowChanged();
+    }
+
+    public void undoUpdate() throws SQLException {
+        cancelRowUpdates();
+    }
+
+    public void restoreOriginal() throws SQLException {
+        store.revertAll();
+        cursor = 0;
+        onInsertRow = false;
+        notifyRowSetChanged();
+    }
+
+    /** Makes the current values of the current row its original values */
+    public void setOriginalRow() throws SQLException {
+        int slot = currentSlot();
+        if (store.isDeleted(slot)) {
+            store.removeAt(cursor);
+            store.discardChanges(slot);
+            store.setDeleted(slot, false);
+            cursor--;
+        } else {
+            store.commit(slot);
+        }
+    }
+
+    // Synchronization
+
+    public SyncProvider getSyncProvider() throws SQLException {
+        if (provider == null) {
+            provider = SyncFactory.getInstance(providerId);
+        }
+        return provider;
+    }
+
+    public void setSyncProvider(String provider) throws SQLException {
+        this.provider = SyncFactory.getInstance(provider);
+        this.providerId = provider;
+    }
+
+    public void acceptChanges() throws SyncProviderException {
+        Connection con = null;
+        try {
+            con = connect();
+            acceptChanges(con);
+        } catch (SyncProviderException e) {
+            throw e;
+        } catch (SQLException e) {
+            throw syncFailure(e);
+        } finally {
+            if (con != null && ownsConnection(con)) {
+                try {
+                    con.close();
+                } catch (SQLException e) {
+                    JDBCTutorialUtilities.printSQLException(e);
+                }
+            }
+        }
+    }
+
+    public void acceptChanges(Connection con) throws SyncProviderException {
+        if (onInsertRow) {
+            throw new SyncProviderException("acceptChanges cannot be called on the insert row");
+        }
+        Connection saved = this.connection;
+        try {
+            checkOpen();
+            this.connection = con;
+            if (!store.hasChanges()) {
+                return;
+            }
+            boolean autoCommit = con.getAutoCommit();
+            int conflicts;
+            IntList conflictRows = new IntList(4);
+            RowSetWriter writer = null;
+            con.setAutoCommit(false);
+            try {
+                if (DEFAULT_PROVIDER.equals(providerId)) {
+                    // The reference writer only accepts the reference
+                    // CachedRowSet, so its provider falls back to ours.
+                    conflicts = writeChanges(con, conflictRows);
+                } else {
+                    // Writers move the cursor to visit the changed rows.
+                    int savedCursor = cursor;
+                    writer = getSyncProvider().getRowSetWriter();
+                    try {
+                        conflicts = writer.writeData(this) ? 0 : 1;
+                    } finally {
+                        cursor = savedCursor;
+                    }
+                    if (writer instanceof BatchedRowSetWriter) {
+                        conflicts = ((BatchedRowSetWriter) writer).getConflictRows().length;
+                    }
+                }
+                if (conflicts > 0) {
+                    rollbackWrite(con, writer);
+                } else {
+                    if (writer instanceof TransactionalWriter) {
+                        // The writer may have more to do once the changes are in.
+                        ((TransactionalWriter) writer).commit();
+                    }
+                    con.commit();
+                }
+            } catch (SQLException e) {
+                rollbackWrite(con, writer);
+                throw e;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+            if (conflicts > 0) {
+                SyncProviderException spe = new SyncProviderException(conflicts
+                        + " row(s) changed in the database since they were read;"
+                        + " no changes were written");
+                if (!conflictRows.isEmpty()) {
+                    spe.setSyncResolver(conflictResolver(con, conflictRows));
+                }
+                throw spe;
+            }
+            int removedBeforeCursor = 0;
+            for (int p = 1; p < cursor && p <= store.rowCount(); p++) {
+                if (store.isDeleted(store.slot(p))) {
+                    removedBeforeCursor++;
+                }
+            }
+            store.commitAll();
+            cursor = Math.min(cursor - removedBeforeCursor, store.rowCount() + 1);
+            notifyRowSetChanged();
+        } catch (SyncProviderException e) {
+            throw e;
+        } catch (SQLException e) {
+            throw syncFailure(e);
+        } finally {
+            this.connection = saved;
+        }
+    }
+
+    private static void rollbackWrite(Connection con, RowSetWriter writer)
+            throws SQLException {
+        if (writer instanceof TransactionalWriter) {
+            ((TransactionalWriter) writer).rollback();
+        }
+        con.rollback();
+    }
+
+    private static SyncProviderException syncFailure(SQLException e) {
+        SyncProviderException spe = new SyncProviderException(e.getMessage());
+        spe.initCause(e);
+        return spe;
+    }
+
+    String resolveTableName() throws SQLException {
+        if (tableName != null) {
+            return tableName;
+        }
+        String fromMetaData = metaData == null ? null : metaData.getTableName(1);
+        if (fromMetaData != null && !fromMetaData.isEmpty()) {
+            return fromMetaData;
+        }
+        Matcher m = FROM_TABLE.matcher(getCommand() == null ? "" : getCommand());
+        if (m.find()) {
+            return m.group(1);
+        }
+        throw new SQLException("The table to write changes to is not known;"
+                + " call setTableName");
+    }
+
+    int[] resolveKeyColumns() {
+        if (keyColumns != null && keyColumns.length > 0) {
+            return keyColumns;
+        }
+        int[] all = new int[store.columnCount()];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i + 1;
+        }
+        return all;
+    }
+
+    /**
+     * Writes every pending change with one statement per row and returns
+     * the number of rows whose original values no longer matched the
+     * database; their positions are added to conflictRows. An update
+     * finds its row by the key columns and the original values of the
+     * columns it writes, and a delete by the whole original row, so a
+     * change made meanwhile to those columns in the database is a conflict.
+     */
+    private int writeChanges(Connection con, IntList conflictRows) throws SQLException {
+        String table = resolveTableName();
+        int[] keys = resolveKeyColumns();
+        int n = store.columnCount();
+        int conflicts = 0;
+        for (int p = 1; p <= store.rowCount(); p++) {
+            int slot = store.slot(p);
+            boolean inserted = store.isInserted(slot);
+            boolean deleted = store.isDeleted(slot);
+            StringBuilder sql = new StringBuilder();
+            List<Object> values = new ArrayList<>();
+            List<Integer> types = new ArrayList<>();
+            if (inserted && deleted) {
+                continue;
+            } else if (deleted) {
+                sql.append("DELETE FROM ").append(table);
+            } else if (inserted) {
+                sql.append("INSERT INTO ").append(table).append(" (");
+                for (int i = 1; i <= n; i++) {
+                    Object value = store.get(slot, i);
+                    if (value == null && metaData.isAutoIncrement(i)) {
+                        continue; // Left for the database to generate
+                    }
+                    sql.append(values.isEmpty() ? "" : ", ").append(metaData.getColumnName(i));
+                    values.add(value);
+                    types.add(metaData.getColumnType(i));
+                }
+                sql.append(") VALUES (");
+                for (int i = 0; i < values.size(); i++) {
+                    sql.append(i > 0 ? ", ?" : "?");
+                }
+                sql.append(")");
+            } else if (store.isUpdated(slot)) {
+                sql.append("UPDATE ").append(table).append(" SET ");
+                boolean first = true;
+                for (int i = 1; i <= n; i++) {
+                    if (store.columnChanged(slot, i)) {
+                        sql.append(first ? "" : ", ").append(metaData.getColumnName(i))
+                           .append(" = ?");
+                        values.add(store.get(slot, i));
+                        types.add(metaData.getColumnType(i));
+                        first = false;
+                    }
+                }
+                if (first) {
+                    continue;
+                }
+            } else {
+                continue;
+            }
+            if (!inserted) {
+                boolean[] compared = new boolean[n + 1];
+                for (int key : keys) {
+                    compared[key] = true;
+                }
+                for (int i = 1; i <= n; i++) {
+                    if (deleted || store.columnChanged(slot, i)) {
+                        compared[i] = true;
+                    }
+                }
+                sql.append(" WHERE ");
+                boolean first = true;
+                for (int i = 1; i <= n; i++) {
+                    if (!compared[i]) {
+                        continue;
+                    }
+                    Object original = store.getOriginal(slot, i);
+                    sql.append(first ? "" : " AND ").append(metaData.getColumnName(i));
+                    if (original == null) {
+                        sql.append(" IS NULL");
+                    } else {
+                        sql.append(" = ?");
+                        values.add(original);
+                        types.add(metaData.getColumnType(i));
+                    }
+                    first = false;
+                }
+            }
+            try (PreparedStatement ps = con.prepareStatement(sql.toString())) {
+                for (int i = 0; i < values.size(); i++) {
+                    if (values.get(i) == null) {
+                        ps.setNull(i + 1, types.get(i));
+                    } else {
+                        ps.setObject(i + 1, values.get(i));
+                    }
+                }
+                if (ps.executeUpdate() == 0 && !inserted) {
+                    conflicts++;
+                    conflictRows.add(p);
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Builds the resolver for the conflicts of writeChanges, with the
+     * database values of each conflicting row that differ from its
+     * original values. Rows are found again by their key columns or, if
+     * none are set, by the primary key of the table.
+     */
+    private SyncResolver conflictResolver(Connection con, IntList conflictRows)
+            throws SQLException {
+        String table = resolveTableName();
+        int[] identity = identityColumns(con, table);
+        int n = store.columnCount();
+        RowSetSyncResolver resolver = new RowSetSyncResolver(this, null);
+        resolver.setMetaData(metaData);
+        Object[] none = new Object[n];
+        int next = 0;
+        for (int p = 1; p <= store.rowCount(); p++) {
+            if (next >= conflictRows.size() || conflictRows.get(next) != p) {
+                resolver.addConflict(none, SyncResolver.NO_ROW_CONFLICT, null, null);
+                continue;
+            }
+            next++;
+            int slot = store.slot(p);
+            Object[] original = new Object[n];
+            for (int i = 1; i <= n; i++) {
+                original[i - 1] = store.getOriginal(slot, i);
+            }
+            Object[] server = identity == null ? null : readServerRow(con, table, identity, original);
+            int status = store.isDeleted(slot) ? SyncResolver.DELETE_ROW_CONFLICT
+                                               : SyncResolver.UPDATE_ROW_CONFLICT;
+            resolver.addConflict(BatchedRowSetWriter.conflictValues(original, server),
+                                 status, server);
+        }
+        resolver.beforeFirst();
+        return resolver;
+    }
+
+    /** Columns that identify a row in table, or null if not known */
+    private int[] identityColumns(Connection con, String table) throws SQLException {
+        if (keyColumns != null && keyColumns.length > 0) {
+            return keyColumns;
+        }
+        String catalog = metaData.getCatalogName(1);
+        String schema = metaData.getSchemaName(1);
+        IntList columns = new IntList(2);
+        DatabaseMetaData dbmd = con.getMetaData();
+        try (ResultSet rs = dbmd.getPrimaryKeys(catalog == null || catalog.isEmpty() ? null : catalog,
+                                                schema == null || schema.isEmpty() ? null : schema,
+                                                table)) {
+            while (rs.next()) {
+                Integer column = columnsByName.get(
+                    rs.getString("COLUMN_NAME").toUpperCase(Locale.ROOT));
+                if (column == null) {
+                    return null; // Part of the key was not read
+                }
+                columns.add(column);
+            }
+        }
+        return columns.isEmpty() ? null : columns.toArray();
+    }
+
+    private Object[] readServerRow(Connection con, String table, int[] identity,
+                                   Object[] original) throws SQLException {
+        int n = store.columnCount();
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 1; i <= n; i++) {
+            sql.append(i > 1 ? ", " : "").append(metaData.getColumnName(i));
+        }
+        sql.append(" FROM ").append(table).append(" WHERE ");
+        List<Object> values = new ArrayList<>();
+        for (int k = 0; k < identity.length; k++) {
+            Object value = original[identity[k] - 1];
+            sql.append(k > 0 ? " AND " : "").append(metaData.getColumnName(identity[k]));
+            if (value == null) {
+                sql.append(" IS NULL");
+            } else {
+                sql.append(" = ?");
+                values.add(value);
+            }
+        }
+        try (PreparedStatement ps = con.prepareStatement(sql.toString())) {
+            for (int i = 0; i < values.size(); i++) {
+                ps.setObject(i + 1, values.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                Object[] row = new Object[n];
+                for (int i = 1; i <= n; i++) {
+                    row[i - 1] = rs.getObject(i);
+                }
+                return row;
+            }
+        }
+    }
+
+    /**
+     * Takes serverValues as the original values of the row at position
+     * (counting deleted rows), keeping its current values, so that the next
+     * acceptChanges writes the row over the database version.
+     */
+    void acceptServerValues(int position, Object[] serverValues) throws SQLException {
+        store.setOriginal(store.slot(position), serverValues);
+    }
+
+    public void commit() throws SQLException {
+        if (connection != null) {
+            connection.commit();
+        }
+    }
+
+    public void rollback() throws SQLException {
+        if (connection != null) {
+            connection.rollback();
+        }
+    }
+
+    public void rollback(Savepoint s) throws SQLException {
+        if (connection != null) {
+            connection.rollback(s);
+        }
+    }
+
+    public void rowSetPopulated(RowSetEvent event, int numRows) throws SQLException {
+        if (numRows < 0 || numRows < getFetchSize()) {
+            throw new SQLException("Invalid number of rows: " + numRows);
+        }
+        if (numRows > 0 && size() % numRows == 0) {
+            notifyRowSetChanged();
+        }
+    }
+
+    // Copies
+
+    private ColumnarCachedRowSet newWithProperties() throws SQLException {
+        ColumnarCachedRowSet copy = new ColumnarCachedRowSet();
+        copy.setCommand(getCommand());
+        copy.setUrl(getUrl());
+        if (getDataSourceName() != null) {
+            copy.setDataSourceName(getDataSourceName());
+        }
+        copy.setUsername(getUsername());
+        copy.setPassword(getPassword());
+        copy.setType(getType());
+        copy.setConcurrency(getConcurrency());
+        copy.setMaxRows(getMaxRows());
+        copy.setPageSize(getPageSize());
+        copy.setQueryTimeout(getQueryTimeout());
+        copy.setShowDeleted(getShowDeleted());
+        copy.setEscapeProcessing(getEscapeProcessing());
+        copy.setTypeMap(getTypeMap());
+        copy.tableName = tableName;
+        copy.keyColumns = keyColumns == null ? null : keyColumns.clone();
+        copy.providerId = providerId;
+        copy.offHeap = offHeap;
+        copy.provider = provider;
+        if (metaData != null) {
+            copy.setMetaData(metaData);
+        }
+        return copy;
+    }
+
+    public CachedRowSet createCopy() throws SQLException {
+        checkOpen();
+        ColumnarCachedRowSet copy = newWithProperties();
+        copy.replaceStore(store.copy());
+        copy.matchColumnIndexes = matchColumnIndexes == null ? null : matchColumnIndexes.clone();
+        copy.matchColumnNames = matchColumnNames == null ? null : matchColumnNames.clone();
+        return copy;
+    }
+
+    public CachedRowSet createCopySchema() throws SQLException {
+        return newWithProperties();
+    }
+
+    public CachedRowSet createCopyNoConstraints() throws SQLException {
+        checkOpen();
+        ColumnarCachedRowSet copy = newWithProperties();
+        copy.replaceStore(store.copy());
+        copy.keyColumns = null;
+        return copy;
+    }
+
+    /** Returns a row set sharing this one's rows, with its own cursor */
+    public RowSet createShared() throws SQLException {
+        try {
+            ColumnarCachedRowSet shared = (ColumnarCachedRowSet) super.clone();
+            shared.cursor = 0;
+            shared.onInsertRow = false;
+            return shared;
+        } catch (CloneNotSupportedException e) {
+            throw new SQLException("Cannot share row set", e);
+        }
+    }
+
+    public ResultSet getOriginal() throws SQLException {
+        checkOpen();
+        ColumnarCachedRowSet original = newWithProperties();
+        original.replaceStore(store.originals());
+        return original;
+    }
+
+    public ResultSet getOriginalRow() throws SQLException {
+        ColumnarCachedRowSet original = newWithProperties();
+        original.replaceStore(store.select(new int[] { currentSlot() }));
+        return original;
+    }
+
+    public Collection<?> toCollection() throws SQLException {
+        checkOpen();
+        List<List<Object>> rows = new ArrayList<>(store.rowCount());
+        for (int p = 1; p <= store.rowCount(); p++) {
+            if (isVisible(p)) {
+                rows.add(Arrays.asList(store.getRow(store.slot(p))));
+            }
+        }
+        return rows;
+    }
+
+    public Collection<?> toCollection(int column) throws SQLException {
+        checkOpen();
+        checkColumn(column);
+        List<Object> values = new ArrayList<>(store.rowCount());
+        for (int p = 1; p <= store.rowCount(); p++) {
+            if (isVisible(p)) {
+                values.add(store.get(store.slot(p), column));
+            }
+        }
+        return values;
+    }
+
+    public Collection<?> toCollection(String column) throws SQLException {
+        return toCollection(findColumn(column));
+    }
+
+    public void release() throws SQLException {
+        replaceStore(metaData == null
+            ? new ColumnarRowStore(new ColumnVector[0])
+            : newStore(metaData));
+        notifyRowSetChanged();
+    }
+
+    public void close() throws SQLException {
+        closePageResources();
+        store.release();
+        cursor = 0;
+        closed = true;
+    }
+
+    public boolean isClosed() throws SQLException {
+        return closed;
+    }
+
+    // Properties
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int size) throws SQLException {
+        if (size < 0 || (getMaxRows() > 0 && size > getMaxRows())) {
+            throw new SQLException("Invalid page size: " + size);
+        }
+        this.pageSize = size;
+    }
+
+    public String getTableName() throws SQLException {
+        return tableName;
+    }
+
+    public void setTableName(String tabName) throws SQLException {
+        if (tabName == null) {
+            throw new SQLException("Table name must not be null");
+        }
+        this.tableName = tabName;
+    }
+
+    public int[] getKeyColumns() throws SQLException {
+        return keyColumns == null ? new int[0] : keyColumns.clone();
+    }
+
+    public void setKeyColumns(int[] keys) throws SQLException {
+        if (metaData != null) {
+            for (int key : keys) {
+                if (key < 1 || key > metaData.getColumnCount()) {
+                    throw new SQLException("Invalid key column: " + key);
+                }
+            }
+        }
+        this.keyColumns = keys.clone();
+    }
+
+    public RowSetWarning getRowSetWarnings() {
+        return rowSetWarnings;
+    }
+
+    public SQLWarning getWarnings() throws SQLException {
+        return sqlWarnings;
+    }
+
+    public void clearWarnings() throws SQLException {
+        sqlWarnings = null;
+    }
+
+    public String getCursorName() throws SQLException {
+        throw new SQLFeatureNotSupportedException("A cached row set has no cursor name");
+    }
+
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return metaData;
+    }
+
+    public Statement getStatement() throws SQLException {
+        return null;
+    }
+
+    public int getHoldability() throws SQLException {
+        return ResultSet.HOLD_CURSORS_OVER_COMMIT;
+    }
+
+    public Connection getConnection() throws SQLException {
+        return connection;
+    }
+
+    // Joinable
+
+    public void setMatchColumn(int columnIdx) throws SQLException {
+        setMatchColumn(new int[] { columnIdx });
+    }
+
+    public void setMatchColumn(int[] columnIdxes) throws SQLException {
+        for (int idx : columnIdxes) {
+            if (idx < 1) {
+                throw new SQLException("Match columns must be greater than 0");
+            }
+        }
+        this.matchColumnIndexes = columnIdxes.clone();
+    }
+
+    public void setMatchColumn(String columnName) throws SQLException {
+        setMatchColumn(new String[] { columnName });
+    }
+
+    public void setMatchColumn(String[] columnNames) throws SQLException {
+        for (String name : columnNames) {
+            if (name == null || name.isEmpty()) {
+                throw new SQLException("Match column names must not be empty");
+            }
+        }
+        this.matchColumnNames = columnNames.clone();
+    }
+
+    public int[] getMatchColumnIndexes() throws SQLException {
+        if (matchColumnIndexes == null) {
+            throw new SQLException("Match columns are not set");
+        }
+        return matchColumnIndexes.clone();
+    }
+
+    public String[] getMatchColumnNames() throws SQLException {
+        if (matchColumnNames == null) {
+            throw new SQLException("Match columns are not set");
+        }
+        return matchColumnNames.clone();
+    }
+
+    public void unsetMatchColumn(int columnIdx) throws SQLException {
+        unsetMatchColumn(new int[] { columnIdx });
+    }
+
+    public void unsetMatchColumn(int[] columnIdxes) throws SQLException {
+        if (matchColumnIndexes == null || !Arrays.equals(matchColumnIndexes, columnIdxes)) {
+            throw new SQLException("Columns being unset are not the match columns");
+        }
+        this.matchColumnIndexes = null;
+    }
+
+    public void unsetMatchColumn(String columnName) throws SQLException {
+        unsetMatchColumn(new String[] { columnName });
+    }
+
+    public void unsetMatchColumn(String[] columnNames) throws SQLException {
+        if (matchColumnNames == null || !Arrays.equals(matchColumnNames, columnNames)) {
+            throw new SQLException("Columns being unset are not the match columns");
+        }
+        this.matchColumnNames = null;
+    }
+
+    // Wrapper
+
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.sql.SQLException;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.FilteredRowSet;
+import javax.sql.rowset.JdbcRowSet;
+import javax.sql.rowset.JoinRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
+import javax.sql.rowset.WebRowSet;
+
+/**
+ * RowSetFactory whose CachedRowSets are {@link ColumnarCachedRowSet}s. The
+ * other kinds of row set come from the reference implementation. Obtain it
+ * with
+ * <pre>
+ * RowSetProvider.newFactory(ColumnarRowSetFactory.NAME, null)
+ * </pre>
+ * or by setting the javax.sql.rowset.RowSetFactory system property to
+ * {@link #NAME}.
+ */
+public class ColumnarRowSetFactory implements RowSetFactory {
+
+    public static final String NAME = ColumnarRowSetFactory.class.getName();
+
+    private static final String REFERENCE_FACTORY = "com.sun.rowset.RowSetFactoryImpl";
+
+    private final RowSetFactory reference;
+
+    public ColumnarRowSetFactory() throws SQLException {
+        // Named explicitly, as the system property may name this class.
+        this.reference = RowSetProvider.newFactory(REFERENCE_FACTORY, null);
+    }
+
+    public CachedRowSet createCachedRowSet() throws SQLException {
+        return new ColumnarCachedRowSet();
+    }
+
+    public FilteredRowSet createFilteredRowSet() throws SQLException {
+        return reference.createFilteredRowSet();
+    }
+
+    public JdbcRowSet createJdbcRowSet() throws SQLException {
+        return reference.createJdbcRowSet();
+    }
+
+    public JoinRowSet createJoinRowSet() throws SQLException {
+        return reference.createJoinRowSet();
+    }
+
+    public WebRowSet createWebRowSet() throws SQLException {
+        return reference.createWebRowSet();
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.io.Serializable;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rows of a {@link ColumnarCachedRowSet}: one {@link ColumnVector} per
+ * column, plus the order in which the rows are visible and the changes made
+ * since the rows were last synchronized.
+ * <p>
+ * The vectors always hold the original values. Changing a value copies the
+ * current values of that row into an overlay, so unchanged rows cost
+ * nothing extra and {@code getOriginalRow} needs no second copy of the data.
+ * Rows are addressed by slot, the position at which they were appended to
+ * the vectors; positions (1-based, as in {@code getRow()}) map to slots
+ * through {@code order}, so inserting a row in the middle does not move any
+ * column data.
+ */
+final class ColumnarRowStore implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private ColumnVector[] columns;
+    private IntList order;
+    private BitSet inserted = new BitSet();
+    private BitSet deleted = new BitSet();
+    private BitSet updated = new BitSet();
+    private BitSet dirty = new BitSet();
+    private HashMap<Integer, Object[]> overlay = new HashMap<>();
+    private HashMap<Integer, BitSet> changedColumns = new HashMap<>();
+
+    ColumnarRowStore(ColumnVector[] columnsArg) {
+        this.columns = columnsArg;
+        this.order = new IntList(16);
+    }
+
+    /**
+     * Creates an empty store for rows described by md; expectedRows, if
+     * known, sizes the first off-heap buffers.
+     */
+    static ColumnarRowStore forMetaData(ResultSetMetaData md, boolean offHeap,
+                                        int expectedRows) throws SQLException {
+        ColumnVector[] vectors = new ColumnVector[md.getColumnCount()];
+        for (int i = 0; i < vectors.length; i++) {
+            int type = md.getColumnType(i + 1);
+            int scale = md.getScale(i + 1);
+            vectors[i] = offHeap
+                ? OffHeapVector.create(type, scale, expectedRows)
+                : ColumnVector.create(type, scale, 16);
+        }
+        return new ColumnarRowStore(vectors);
+    }
+
+    int columnCount() {
+        return columns.length;
+    }
+
+    /** Number of rows, including deleted rows not yet synchronized */
+    int rowCount() {
+        return order.size();
+    }
+
+    int slot(int position) {
+        return order.get(position - 1);
+    }
+
+    int[] slots() {
+        return order.toArray();
+    }
+
+    ColumnVector column(int column) {
+        return columns[column - 1];
+    }
+
+    /** True if the slot has changes, so its current values are in the overlay */
+    boolean isDirty(int slot) {
+        return dirty.get(slot);
+    }
+
+    Object get(int slot, int column) {
+        if (dirty.get(slot)) {
+            return overlay.get(slot)[column - 1];
+        }
+        return columns[column - 1].get(slot);
+    }
+
+    Object getOriginal(int slot, int column) {
+        return columns[column - 1].get(slot);
+    }
+
+    Object[] getRow(int slot) {
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = get(slot, i + 1);
+        }
+        return values;
+    }
+
+    void set(int slot, int column, Object value) {
+        Object[] current = overlay.get(slot);
+        if (current == null) {
+            current = new Object[columns.length];
+            for (int i = 0; i < current.length; i++) {
+                current[i] = columns[i].get(slot);
+            }
+            overlay.put(slot, current);
+            changedColumns.put(slot, new BitSet(columns.length));
+            dirty.set(slot);
+        }
+        current[column - 1] = value;
+        changedColumns.get(slot).set(column - 1);
+    }
+
+    /** Replaces the original values of slot, keeping its current values */
+    void setOriginal(int slot, Object[] values) throws SQLException {
+        if (!dirty.get(slot)) {
+            Object[] current = new Object[columns.length];
+            for (int i = 0; i < current.length; i++) {
+                current[i] = columns[i].get(slot);
+            }
+            overlay.put(slot, current);
+            changedColumns.put(slot, new BitSet(columns.length));
+            dirty.set(slot);
+        }
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].set(slot, values[i]);
+        }
+    }
+
+    boolean columnChanged(int slot, int column) {
+        BitSet changed = changedColumns.get(slot);
+        return changed != null && changed.get(column - 1);
+    }
+
+    /** Appends a row to the vectors and returns its slot; it is not yet visible */
+    int append(Object[] values) throws SQLException {
+        int slot = columns.length == 0 ? 0 : columns[0].size();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].append(values[i]);
+        }
+        return slot;
+    }
+
+    /** Appends the current row of rs as the last visible row */
+    void read(ResultSet rs) throws SQLException {
+        int slot = columns.length == 0 ? 0 : columns[0].size();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].read(rs, i + 1);
+        }
+        order.add(slot);
+    }
+
+    /** Makes slot visible as the row at the given 1-based position */
+    void insertAt(int position, int slot) {
+        order.insert(position - 1, slot);
+    }
+
+    int removeAt(int position) {
+        return order.removeAt(position - 1);
+    }
+
+    boolean isInserted(int slot) {
+        return inserted.get(slot);
+    }
+
+    boolean isDeleted(int slot) {
+        return deleted.get(slot);
+    }
+
+    boolean isUpdated(int slot) {
+        return updated.get(slot);
+    }
+
+    boolean hasDeletedRows() {
+        return !deleted.isEmpty();
+    }
+
+    boolean hasChanges() {
+        return !inserted.isEmpty() || !deleted.isEmpty() || !updated.isEmpty();
+    }
+
+    void setInserted(int slot) {
+        inserted.set(slot);
+    }
+
+    void setDeleted(int slot, boolean value) {
+        deleted.set(slot, value);
+    }
+
+    void setUpdated(int slot) {
+        updated.set(slot);
+    }
+
+    /** Drops the changes to slot that updateRow has not yet applied */
+    void discardPending(int slot) {
+        if (!updated.get(slot)) {
+            discardChanges(slot);
+        }
+    }
+
+    /** Restores the original values of slot */
+    void discardChanges(int slot) {
+        overlay.remove(slot);
+        changedColumns.remove(slot);
+        dirty.clear(slot);
+        updated.clear(slot);
+    }
+
+    /** Makes the current values of slot its original values */
+    void commit(int slot) throws SQLException {
+        Object[] current = overlay.remove(slot);
+        if (current != null) {
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].set(slot, current[i]);
+            }
+        }
+        changedColumns.remove(slot);
+        dirty.clear(slot);
+        updated.clear(slot);
+        inserted.clear(slot);
+    }
+
+    /**
+     * Makes every current value original and drops the deleted rows, as
+     * after a successful synchronization.
+     */
+    void commitAll() throws SQLException {
+        for (Map.Entry<Integer, Object[]> e : overlay.entrySet()) {
+            Object[] current = e.getValue();
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].set(e.getKey(), current[i]);
+            }
+        }
+        overlay.clear();
+        changedColumns.clear();
+        dirty.clear();
+        updated.clear();
+        inserted.clear();
+        if (!deleted.isEmpty()) {
+            IntList kept = new IntList(Math.max(order.size(), 1));
+            for (int i = 0; i < order.size(); i++) {
+                if (!deleted.get(order.get(i))) {
+                    kept.add(order.get(i));
+                }
+            }
+            order = kept;
+            deleted.clear();
+        }
+        if (columns.length > 0 && order.size() < columns[0].size() / 2) {
+            compact();
+        }
+    }
+
+    /** Drops every change, including inserted rows */
+    void revertAll() {
+        if (!inserted.isEmpty()) {
+            IntList kept = new IntList(Math.max(order.size(), 1));
+            for (int i = 0; i < order.size(); i++) {
+                if (!inserted.get(order.get(i))) {
+                    kept.add(order.get(i));
+                }
+            }
+            order = kept;
+            inserted.clear();
+        }
+        overlay.clear();
+        changedColumns.clear();
+        dirty.clear();
+        updated.clear();
+        deleted.clear();
+    }
+
+    /** Rewrites the vectors so that slots follow the visible order again */
+    private void compact() {
+        int[] slots = order.toArray();
+        for (int i = 0; i < columns.length; i++) {
+            ColumnVector old = columns[i];
+            columns[i] = old.select(slots);
+            old.release();
+        }
+        order = new IntList(Math.max(slots.length, 1));
+        for (int i = 0; i < slots.length; i++) {
+            order.add(i);
+        }
+    }
+
+    /** Deep copy, preserving the pending changes */
+    ColumnarRowStore copy() {
+        int[] slots = order.toArray();
+        ColumnVector[] vectors = new ColumnVector[columns.length];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = columns[i].select(slots);
+        }
+        ColumnarRowStore copy = new ColumnarRowStore(vectors);
+        for (int i = 0; i < slots.length; i++) {
+            int slot = slots[i];
+            copy.order.add(i);
+            copy.inserted.set(i, inserted.get(slot));
+            copy.deleted.set(i, deleted.get(slot));
+            copy.updated.set(i, updated.get(slot));
+            if (dirty.get(slot)) {
+                copy.overlay.put(i, overlay.get(slot).clone());
+                copy.changedColumns.put(i, (BitSet) changedColumns.get(slot).clone());
+                copy.dirty.set(i);
+            }
+        }
+        return copy;
+    }
+
+    /** Copy of the original values of the rows that are not new inserts */
+    ColumnarRowStore originals() {
+        IntList kept = new IntList(Math.max(order.size(), 1));
+        for (int i = 0; i < order.size(); i++) {
+            if (!inserted.get(order.get(i))) {
+                kept.add(order.get(i));
+            }
+        }
+        return select(kept.toArray());
+    }
+
+    /** Copy of the original values of the given slots, without changes */
+    ColumnarRowStore select(int[] slots) {
+        ColumnVector[] vectors = new ColumnVector[columns.length];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = columns[i].select(slots);
+        }
+        ColumnarRowStore copy = new ColumnarRowStore(vectors);
+        for (int i = 0; i < slots.length; i++) {
+            copy.order.add(i);
+        }
+        return copy;
+    }
+
+    ColumnarRowStore emptyCopy() {
+        return select(new int[0]);
+    }
+
+    long heapBytes() {
+        long bytes = 4L * order.size();
+        for (ColumnVector v : columns) {
+            bytes += v.heapBytes();
+        }
+        return bytes + 16L * columns.length * overlay.size();
+    }
+
+    long offHeapBytes() {
+        long bytes = 0L;
+        for (ColumnVector v : columns) {
+            bytes += v.offHeapBytes();
+        }
+        return bytes;
+    }
+
+    void release() {
+        for (ColumnVector v : columns) {
+            v.release();
+        }
+        order.clear();
+        revertAll();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.sql.RowSet;
+import javax.sql.rowset.Predicate;
+
+/**
+ * Base class for predicates combining several other predicates, such as
+ * {@link AndFilter} and {@link OrFilter}. The operands are short-circuited
+ * and their order is not fixed: every {@code reorderInterval} rows the
+ * operands are sorted by their observed cost and selectivity, so that the
+ * operand most likely to decide the row cheaply runs first.
+ */
+public abstract class CompositeFilter implements Predicate {
+
+    /** Default number of rows evaluated between two reorderings */
+    public static final int DEFAULT_REORDER_INTERVAL = 256;
+
+    // Only one evaluation in TIMING_SAMPLE is timed; must be a power of two.
+    private static final int TIMING_SAMPLE = 16;
+
+    private final boolean conjunction;
+    private FilterStatistics[] operands;
+    private int reorderInterval = DEFAULT_REORDER_INTERVAL;
+    private long rowsEvaluated;
+    private boolean adaptive = true;
+
+    protected CompositeFilter(boolean conjunctionArg, Predicate... predicates) {
+        if (predicates == null || predicates.length == 0) {
+            throw new IllegalArgumentException("At least one predicate is required");
+        }
+        this.conjunction = conjunctionArg;
+        this.operands = new FilterStatistics[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            if (predicates[i] == null) {
+                throw new IllegalArgumentException("Predicate " + i + " is null");
+            }
+            this.operands[i] = new FilterStatistics(predicates[i]);
+        }
+    }
+
+    public void setReorderInterval(int rows) {
+        if (rows <= 0) {
+            throw new IllegalArgumentException("Reorder interval must be positive");
+        }
+        this.reorderInterval = rows;
+    }
+
+    /** Enables or disables runtime reordering; statistics are kept either way */
+    public void setAdaptive(boolean adaptiveArg) {
+        this.adaptive = adaptiveArg;
+    }
+
+    /** Returns the statistics of each operand, in current evaluation order */
+    public List<FilterStatistics> getStatistics() {
+        return new ArrayList<>(Arrays.asList(operands));
+    }
+
+    public void resetStatistics() {
+        for (FilterStatistics s : operands) {
+            s.reset();
+        }
+        rowsEvaluated = 0;
+    }
+
+    public boolean evaluate(RowSet rs) {
+        FilterStatistics[] current = this.operands;
+        boolean timed = (rowsEvaluated & (TIMING_SAMPLE - 1)) == 0;
+        boolean result = conjunction;
+
+        for (FilterStatistics s : current) {
+            boolean passed;
+            if (timed) {
+                long start = System.nanoTime();
+                passed = s.getPredicate().evaluate(rs);
+                s.recordTime(System.nanoTime() - start);
+            } else {
+                passed = s.getPredicate().evaluate(rs);
+            }
+            s.record(passed);
+            if (passed != conjunction) {
+                // A false conjunct or a true disjunct decides the row.
+                result = passed;
+                break;
+            }
+        }
+
+        if (++rowsEvaluated % reorderInterval == 0 && adaptive) {
+            reorder();
+        }
+        return result;
+    }
+
+    private void reorder() {
+        FilterStatistics[] sorted = operands.clone();
+        Arrays.sort(sorted, new Comparator<FilterStatistics>() {
+            public int compare(FilterStatistics a, FilterStatistics b) {
+                return Double.compare(a.rank(conjunction), b.rank(conjunction));
+            }
+        });
+        this.operands = sorted;
+    }
+
+    protected Predicate[] getPredicates() {
+        Predicate[] predicates = new Predicate[operands.length];
+        for (int i = 0; i < operands.length; i++) {
+            predicates[i] = operands[i].getPredicate();
+        }
+        return predicates;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(getClass().getSimpleName()).append(" (");
+        sb.append(rowsEvaluated).append(" rows)");
+        for (FilterStatistics s : operands) {
+            sb.append("\n    ").append(s);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.util.BitSet;
+
+/**
+ * Decides a row that {@link BatchedSyncProvider} could not write because the
+ * database row changed, or disappeared, since the row set read it. Values
+ * are given by column, index 0 holding column 1.
+ * <p>
+ * resolve returns the values the row should have in the database and in
+ * the row set afterwards, null to delete it from both, or
+ * {@link #UNRESOLVED} to leave the conflict to the application, which sees
+ * it through the SyncResolver of the SyncProviderException.
+ */
+public interface ConflictPolicy {
+
+    /** Returned by resolve to leave a conflict unresolved */
+    Object[] UNRESOLVED = new Object[0];
+
+    /**
+     * @param original the values the row set read
+     * @param client the values in the row set, or null if it deleted the row
+     * @param server the values in the database, or null if the row is gone
+     * @param changed the columns the row set changed
+     */
+    Object[] resolve(Object[] original, Object[] client, Object[] server, BitSet changed);
+
+    /** The row set's changes are applied over the database row */
+    ConflictPolicy CLIENT_WINS = new ConflictPolicy() {
+        public Object[] resolve(Object[] original, Object[] client, Object[] server,
+                                BitSet changed) {
+            if (client == null || server == null) {
+                return client;
+            }
+            Object[] values = server.clone();
+            for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+                values[i] = client[i];
+            }
+            return values;
+        }
+    };
+
+    /** The row set's changes are dropped and it takes the database row */
+    ConflictPolicy SERVER_WINS = new ConflictPolicy() {
+        public Object[] resolve(Object[] original, Object[] client, Object[] server,
+                                BitSet changed) {
+            return server;
+        }
+    };
+
+    /**
+     * Changes to different columns are combined. A conflict remains if both
+     * sides changed the same column to different values, if one side deleted
+     * a row the other changed, or if the database row is gone.
+     */
+    ConflictPolicy MERGE = new ConflictPolicy() {
+        public Object[] resolve(Object[] original, Object[] client, Object[] server,
+                                BitSet changed) {
+            if (server == null) {
+                return client == null ? null : UNRESOLVED;
+            }
+            if (client == null) {
+                for (int i = 0; i < server.length; i++) {
+                    if (!BatchedRowSetWriter.sameValue(original[i], server[i])) {
+                        return UNRESOLVED;
+                    }
+                }
+                return null;
+            }
+            Object[] values = server.clone();
+            for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+                if (!BatchedRowSetWriter.sameValue(server[i], original[i])
+                        && !BatchedRowSetWriter.sameValue(server[i], client[i])) {
+                    return UNRESOLVED;
+                }
+                values[i] = client[i];
+            }
+            return values;
+        }
+    };
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Tells which of many int keys exist in a table, such as the ITEM_ID values
+ * of MERCH_INVENTORY, with a few queries instead of one per key. Keys are
+ * looked up with
+ * <pre>
+ * SELECT ITEM_ID FROM MERCH_INVENTORY WHERE ITEM_ID IN (?, ?, ...)
+ * </pre>
+ * in chunks of a fixed size, the last chunk padded with a repeated key, so
+ * that every chunk runs the same prepared statement.
+ * <p>
+ * After loadFilter, a Bloom filter of the table's keys answers most keys
+ * that do not exist without a query. refreshFilter adds the keys above the
+ * highest key seen so far, which covers tables whose new keys increase, and
+ * added records keys inserted by the application itself. Keys inserted by
+ * others below the highest key are not seen until the filter is loaded
+ * again; deleted keys only cost a query.
+ */
+public class ExistenceChecker {
+
+    static final int CHUNK_SIZE = 500;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final Connection con;
+    private final String table;
+    private final String keyColumn;
+
+    private BloomFilter filter;
+    private long highestKey = Long.MIN_VALUE;
+    private int lastQueried;
+
+    public ExistenceChecker(Connection conArg, String tableArg, String keyColumnArg) {
+        this.con = conArg;
+        this.table = tableArg;
+        this.keyColumn = keyColumnArg;
+    }
+
+    /** Reads every key of the table into a new filter */
+    public void loadFilter() throws SQLException {
+        int count;
+        try (Statement stmt = con.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            count = rs.getInt(1);
+        }
+        // Room to grow before refreshFilter has to load it again
+        BloomFilter loaded = new BloomFilter(Math.max(2 * count, 1024), FALSE_POSITIVE_RATE);
+        long highest = Long.MIN_VALUE;
+        try (Statement stmt = con.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " + keyColumn + " FROM " + table)) {
+            while (rs.next()) {
+                int key = rs.getInt(1);
+                loaded.add(key);
+                highest = Math.max(highest, key);
+            }
+        }
+        this.filter = loaded;
+        this.highestKey = highest;
+    }
+
+    /** Adds the keys above the highest key seen so far to the filter */
+    public void refreshFilter() throws SQLException {
+        if (filter == null || filter.isFull()) {
+            loadFilter();
+            return;
+        }
+        String query = "SELECT " + keyColumn + " FROM " + table + " WHERE " + keyColumn + " > ?";
+        try (PreparedStatement ps = con.prepareStatement(query)) {
+            ps.setLong(1, highestKey);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    added(rs.getInt(1));
+                }
+            }
+        }
+    }
+
+    /** Records a key that the application inserted into the table */
+    public void added(int key) {
+        if (filter != null) {
+            filter.add(key);
+            highestKey = Math.max(highestKey, key);
+        }
+    }
+
+    /** Number of distinct keys the last call to exist looked up in the database */
+    public int getLastQueriedCount() {
+        return lastQueried;
+    }
+
+    public boolean exists(int key) throws SQLException {
+        return exist(new int[] { key }).get(0);
+    }
+
+    /** Returns a bitmap in which bit i is set if keys[i] exists */
+    public BitSet exist(int[] keys) throws SQLException {
+        int[] candidates = new int[keys.length];
+        int n = 0;
+        for (int key : keys) {
+            if (filter == null || filter.mightContain(key)) {
+                candidates[n++] = key;
+            }
+        }
+        Arrays.sort(candidates, 0, n);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || candidates[distinct - 1] != candidates[i]) {
+                candidates[distinct++] = candidates[i];
+            }
+        }
+        lastQueried = distinct;
+
+        BitSet found = new BitSet(distinct);
+        if (distinct > 0) {
+            int chunk = Math.min(CHUNK_SIZE, distinct);
+            try (PreparedStatement ps = con.prepareStatement(inQuery(chunk))) {
+                for (int start = 0; start < distinct; start += chunk) {
+                    for (int i = 0; i < chunk; i++) {
+                        ps.setInt(i + 1, candidates[Math.min(start + i, distinct - 1)]);
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            int pos = Arrays.binarySearch(candidates, 0, distinct, rs.getInt(1));
+                            if (pos >= 0) {
+                                found.set(pos);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        BitSet result = new BitSet(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            int pos = Arrays.binarySearch(candidates, 0, distinct, keys[i]);
+            if (pos >= 0 && found.get(pos)) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    private String inQuery(int size) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(keyColumn)
+            .append(" FROM ").append(table).append(" WHERE ").append(keyColumn).append(" IN (");
+        for (int i = 0; i < size; i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+        }
+        return sql.append(")").toString();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import javax.sql.rowset.Predicate;
+
+/**
+ * Running statistics for one operand of a {@link CompositeFilter}: how often
+ * it was evaluated, how often it accepted the row and how long it took.
+ * Timing is sampled rather than measured on every call so that the
+ * bookkeeping does not cost more than the cheap predicates it is measuring.
+ */
+public class FilterStatistics {
+
+    private final Predicate predicate;
+
+    private long evaluations;
+    private long passes;
+    private long timedEvaluations;
+    private long timedNanos;
+
+    FilterStatistics(Predicate predicateArg) {
+        this.predicate = predicateArg;
+    }
+
+    public Predicate getPredicate() {
+        return predicate;
+    }
+
+    void record(boolean passed) {
+        evaluations++;
+        if (passed) {
+            passes++;
+        }
+    }
+
+    void recordTime(long nanos) {
+        timedEvaluations++;
+        timedNanos += nanos;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public long getPasses() {
+        return passes;
+    }
+
+    /** Fraction of evaluated rows this predicate accepted, 1.0 if never evaluated */
+    public double getSelectivity() {
+        return evaluations == 0 ? 1.0 : (double) passes / evaluations;
+    }
+
+    /** Average cost per evaluation in nanoseconds, 0 if never timed */
+    public double getAverageNanos() {
+        return timedEvaluations == 0 ? 0.0 : (double) timedNanos / timedEvaluations;
+    }
+
+    /**
+     * Expected cost of evaluating this predicate per row it decides. A
+     * conjunct decides a row when it rejects it, a disjunct when it accepts
+     * it; evaluating operands in increasing rank minimizes the expected
+     * cost of the whole expression.
+     */
+    double rank(boolean conjunct) {
+        double decided = conjunct ? 1.0 - getSelectivity() : getSelectivity();
+        // Give unmeasured predicates a nominal cost so they still get ordered
+        // by selectivity.
+        double cost = Math.max(getAverageNanos(), 1.0);
+        return decided <= 0.0 ? Double.MAX_VALUE : cost / decided;
+    }
+
+    void reset() {
+        evaluations = 0;
+        passes = 0;
+        timedEvaluations = 0;
+        timedNanos = 0;
+    }
+
+    @Override
+    public String toString() {
+        return predicate.getClass().getSimpleName()
+                + " [evaluations=" + evaluations
+                + ", selectivity=" + String.format("%.3f", getSelectivity())
+                + ", avgNanos=" + String.format("%.1f", getAverageNanos()) + "]";
+    }
+}
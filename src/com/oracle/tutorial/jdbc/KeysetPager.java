@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.RowSetInternal;
+import javax.sql.rowset.CachedRowSet;
+
+/**
+ * Pages through the rows of a CachedRowSet's command by key value instead of
+ * by position. Each page is a query of the form
+ * <pre>
+ * SELECT * FROM (command) KP WHERE ITEM_ID &gt; ? ORDER BY ITEM_ID LIMIT n
+ * </pre>
+ * bound to the last key of the current page, so with an index on the key
+ * every page costs the same as the first one, however deep it is. Each
+ * page replaces the rows of the row set: it is released, then populated
+ * from the page query. Changes to a page can be written with
+ * acceptChanges as usual, before moving to another page, which discards
+ * them.
+ * <p>
+ * The row set supplies the command, its parameters, the page size and the
+ * key columns (setKeyColumns), which must identify a row and not be null.
+ */
+public class KeysetPager {
+
+    private final CachedRowSet rowSet;
+    private final Connection con;
+    private final String dbms;
+    private final int pageSize;
+    private final int[] keyColumns;
+
+    private String[] keyNames;
+    private Object[] firstKey;
+    private Object[] lastKey;
+    private int pageNumber;
+    private boolean lastPageSeen;
+    private boolean afterLastPage;
+
+    public KeysetPager(CachedRowSet rowSetArg, Connection conArg,
+                       String dbmsArg) throws SQLException {
+        this.rowSet = rowSetArg;
+        this.con = conArg;
+        this.dbms = dbmsArg;
+        this.pageSize = rowSetArg.getPageSize();
+        this.keyColumns = rowSetArg.getKeyColumns();
+        if (pageSize <= 0) {
+            throw new SQLException("Set a page size before paging by key");
+        }
+        if (keyColumns == null || keyColumns.length == 0) {
+            throw new SQLException("Set the key columns before paging by key");
+        }
+        if (rowSetArg.getCommand() == null) {
+            throw new SQLException("Set a command before paging by key");
+        }
+    }
+
+    /** Number of the page in the row set; 0 before the first page */
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public boolean firstPage() throws SQLException {
+        PageKeys keys = fetch(rowSet, null, true, false);
+        if (keys == null) {
+            return false;
+        }
+        install(keys);
+        pageNumber = 1;
+        return true;
+    }
+
+    /**
+     * Reads the page after the current one. Returns false, leaving the
+     * current page in place, once there are no more rows.
+     */
+    public boolean nextPage() throws SQLException {
+        if (pageNumber == 0) {
+            return firstPage();
+        }
+        if (lastPageSeen) {
+            afterLastPage = true;
+            return false;
+        }
+        PageKeys keys = fetch(rowSet, lastKey, true, false);
+        if (keys == null) {
+            afterLastPage = true;
+            return false;
+        }
+        install(keys);
+        pageNumber++;
+        return true;
+    }
+
+    public boolean previousPage() throws SQLException {
+        if (afterLastPage) {
+            // nextPage found nothing after the current page, so going back
+            // means reading the current page again.
+            afterLastPage = false;
+            PageKeys keys = fetch(rowSet, firstKey, true, true);
+            if (keys != null) {
+                install(keys);
+            }
+            return keys != null;
+        }
+        if (pageNumber <= 1) {
+            return false;
+        }
+        PageKeys keys = fetch(rowSet, firstKey, false, false);
+        if (keys == null) {
+            return false;
+        }
+        install(keys);
+        pageNumber--;
+        lastPageSeen = false;
+        return true;
+    }
+
+    private void install(PageKeys keys) {
+        this.firstKey = keys.first;
+        this.lastKey = keys.last;
+        this.lastPageSeen = keys.rows < pageSize;
+        this.afterLastPage = false;
+    }
+
+    /** Boundary keys of a page read by fetch */
+    static final class PageKeys {
+        final Object[] first;
+        final Object[] last;
+        final int rows;
+
+        PageKeys(Object[] firstArg, Object[] lastArg, int rowsArg) {
+            this.first = firstArg;
+            this.last = lastArg;
+            this.rows = rowsArg;
+        }
+    }
+
+    /**
+     * Reads into target the page that follows (forward) or precedes the
+     * given key, or the first page if key is null, replacing its rows.
+     * Returns null, leaving target untouched, if there is no such page.
+     */
+    PageKeys fetch(CachedRowSet target, Object[] key, boolean forward,
+                   boolean inclusive) throws SQLException {
+        // A scrollable result set lets isBeforeFirst tell an empty page
+        // apart before anything is read into the row set.
+        try (PreparedStatement ps = con.prepareStatement(pageQuery(key, forward, inclusive),
+                                                         ResultSet.TYPE_SCROLL_INSENSITIVE,
+                                                         ResultSet.CONCUR_READ_ONLY)) {
+            // Both the reference row set and ColumnarCachedRowSet expose the
+            // command parameters through RowSetInternal.
+            Object[] params = rowSet instanceof RowSetInternal
+                ? ((RowSetInternal) rowSet).getParams() : new Object[0];
+            ColumnarCachedRowSet.bindParams(ps, params);
+            if (key != null) {
+                bindKey(ps, params.length + 1, key);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                if (keyNames == null) {
+                    keyNames = keyNames(rs.getMetaData());
+                }
+                if (!rs.isBeforeFirst()) {
+                    return null;
+                }
+                // The reference populate adds the rows to those already
+                // there but counts only the new ones, so empty it first.
+                target.release();
+                target.populate(rs);
+            }
+        }
+        int rows = target.size();
+        Object[] first = new Object[keyColumns.length];
+        Object[] last = new Object[keyColumns.length];
+        for (int k = 0; k < keyColumns.length; k++) {
+            List<?> values = (List<?>) target.toCollection(keyColumns[k]);
+            first[k] = values.get(0);
+            last[k] = values.get(values.size() - 1);
+        }
+        return new PageKeys(first, last, rows);
+    }
+
+    private String[] keyNames(ResultSetMetaData md) throws SQLException {
+        String[] names = new String[keyColumns.length];
+        for (int k = 0; k < names.length; k++) {
+            names[k] = md.getColumnLabel(keyColumns[k]);
+        }
+        return names;
+    }
+
+    private String pageQuery(Object[] key, boolean forward, boolean inclusive)
+            throws SQLException {
+        if (keyNames == null && key != null) {
+            throw new SQLException("Read the first page before paging by key");
+        }
+        StringBuilder sql = new StringBuilder("SELECT * FROM (")
+            .append(rowSet.getCommand()).append(") KP");
+        if (key != null) {
+            sql.append(" WHERE ").append(keyPredicate(forward ? ">" : "<", inclusive));
+        }
+        if (keyNames == null) {
+            // Key names are not known until the first page is read; order
+            // by position, which the databases of this tutorial accept.
+            sql.append(" ORDER BY ");
+            for (int k = 0; k < keyColumns.length; k++) {
+                sql.append(k > 0 ? ", " : "").append(keyColumns[k]);
+            }
+        } else {
+            sql.append(orderBy(forward));
+        }
+        sql.append(limit());
+        if (!forward) {
+            // Read the preceding rows in descending order, then put them
+            // back in ascending order.
+            sql.insert(0, "SELECT * FROM (").append(") KB").append(orderBy(true));
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Row value comparison (k1, k2) &gt; (?, ?) written out as
+     * k1 &gt; ? OR (k1 = ? AND k2 &gt; ?), which every database accepts.
+     */
+    private String keyPredicate(String op, boolean inclusive) {
+        StringBuilder where = new StringBuilder();
+        for (int k = 0; k < keyNames.length; k++) {
+            where.append(k > 0 ? " OR (" : "(");
+            for (int j = 0; j < k; j++) {
+                where.append(keyNames[j]).append(" = ? AND ");
+            }
+            boolean lastKeyColumn = k == keyNames.length - 1;
+            where.append(keyNames[k]).append(' ').append(op)
+                 .append(inclusive && lastKeyColumn ? "= ?)" : " ?)");
+        }
+        return "(" + where + ")";
+    }
+
+    private void bindKey(PreparedStatement ps, int index, Object[] key) throws SQLException {
+        for (int k = 0; k < key.length; k++) {
+            for (int j = 0; j <= k; j++) {
+                ps.setObject(index++, key[j]);
+            }
+        }
+    }
+
+    private String orderBy(boolean ascending) {
+        StringBuilder order = new StringBuilder(" ORDER BY ");
+        for (int k = 0; k < keyNames.length; k++) {
+            order.append(k > 0 ? ", " : "").append(keyNames[k])
+                 .append(ascending ? "" : " DESC");
+        }
+        return order.toString();
+    }
+
+    private String limit() {
+        if ("derby".equals(dbms)) {
+            return " FETCH FIRST " + pageSize + " ROWS ONLY";
+        }
+        return " LIMIT " + pageSize;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import javax.sql.RowSet;
+import javax.sql.rowset.Predicate;
+
+/**
+ * Accepts a row if the wrapped predicate rejects it.
+ */
+public class NotFilter implements Predicate {
+
+    private final Predicate predicate;
+
+    public NotFilter(Predicate predicateArg) {
+        if (predicateArg == null) {
+            throw new IllegalArgumentException("Predicate is null");
+        }
+        this.predicate = predicateArg;
+    }
+
+    public boolean evaluate(RowSet rs) {
+        return !predicate.evaluate(rs);
+    }
+
+    // The single-value forms are used by FilteredRowSet to validate values
+    // written to the insert row. A predicate also answers them for columns
+    // it does not filter on, so the answer cannot simply be negated; values
+    // are accepted here and the row is checked by evaluate(RowSet).
+
+    public boolean evaluate(Object value, int column) {
+        return true;
+    }
+
+    public boolean evaluate(Object value, String columnName) {
+        return true;
+    }
+}
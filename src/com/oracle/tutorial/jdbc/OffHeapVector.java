@@ -0,0 +1,646 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Column vectors whose values live in direct byte buffers outside the Java
+ * heap. A column of ten million rows is a few hundred buffers rather than
+ * ten million objects, so it adds almost nothing to the work of the garbage
+ * collector. The first buffer of a vector is sized for the number of rows
+ * expected and doubled as rows are added, so small row sets stay small.
+ * Numeric and temporal values occupy fixed-width slots; strings are
+ * written as UTF-8 into a separate string heap and the slot holds their
+ * location. Only the null bitmap stays on the Java heap.
+ * <p>
+ * Buffers are freed as soon as {@link #release()} is called, which the row
+ * set does when it is closed; buffers of vectors that are never released
+ * are freed by the garbage collector, as for any direct buffer. Serializing
+ * an off-heap vector writes an ordinary heap vector.
+ */
+abstract class OffHeapVector extends ColumnVector {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int CHUNK_SHIFT = 16;
+    static final int CHUNK_ROWS = 1 << CHUNK_SHIFT;
+    static final int CHUNK_MASK = CHUNK_ROWS - 1;
+    static final int MIN_CHUNK_ROWS = 16;
+
+    private static final AtomicLong ALLOCATED = new AtomicLong();
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            // Java 9 and later free direct buffers through Unsafe.
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+        } catch (Exception e) {
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private transient long allocatedBytes;
+    final int expectedRows;
+
+    OffHeapVector(int sqlTypeArg, int expectedRowsArg) {
+        super(sqlTypeArg);
+        this.expectedRows = expectedRowsArg;
+    }
+
+    /**
+     * Creates an empty off-heap vector for columns of the given SQL type,
+     * sized for expectedRows rows at first. Types without a fixed-width or
+     * string representation get an ordinary heap vector.
+     */
+    static ColumnVector create(int sqlType, int scale, int expectedRows) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIMESTAMP:
+                return new FixedWidthVector(sqlType, 0, expectedRows);
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return new FixedWidthVector(sqlType, Math.max(scale, 0), expectedRows);
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                return new StringHeapVector(sqlType, expectedRows);
+            default:
+                return ColumnVector.create(sqlType, scale, 16);
+        }
+    }
+
+    /** Bytes held in direct buffers by all off-heap vectors not yet released */
+    static long totalAllocatedBytes() {
+        return ALLOCATED.get();
+    }
+
+    long offHeapBytes() {
+        return allocatedBytes;
+    }
+
+    final ByteBuffer allocate(int bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        allocatedBytes += bytes;
+        ALLOCATED.addAndGet(bytes);
+        return buffer;
+    }
+
+    final void free(ByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        allocatedBytes -= buffer.capacity();
+        ALLOCATED.addAndGet(-buffer.capacity());
+        try {
+            if (INVOKE_CLEANER != null) {
+                INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            } else {
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            }
+        } catch (Exception e) {
+            // Left to the garbage collector.
+        }
+    }
+
+    /** Number of rows the first chunk of a vector is allocated for */
+    final int firstChunkRows() {
+        return Math.min(CHUNK_ROWS, Math.max(expectedRows, MIN_CHUNK_ROWS));
+    }
+
+    /**
+     * Copies a chunk that is not yet full size into one twice as large, up
+     * to CHUNK_ROWS rows of width bytes, and frees it.
+     */
+    final ByteBuffer grow(ByteBuffer chunk, int width) {
+        ByteBuffer bigger = allocate(Math.min(chunk.capacity() * 2, CHUNK_ROWS * width));
+        ByteBuffer from = chunk.duplicate();
+        from.clear();
+        bigger.put(from);
+        bigger.clear();
+        free(chunk);
+        return bigger;
+    }
+
+    final void checkOpen(Object chunks) {
+        if (chunks == null) {
+            throw new IllegalStateException("Off-heap column storage has been released");
+        }
+    }
+
+    /** Copies this vector to the heap, for serialization */
+    final ColumnVector toHeap() {
+        int scale = this instanceof FixedWidthVector ? ((FixedWidthVector) this).scale : 0;
+        ColumnVector heap = ColumnVector.create(sqlType, scale, size);
+        try {
+            for (int i = 0; i < size; i++) {
+                heap.append(get(i));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return heap;
+    }
+
+    Object writeReplace() {
+        return toHeap();
+    }
+
+    long heapBytes() {
+        return nullBytes();
+    }
+
+    /**
+     * Numbers, exact decimals and temporal values in fixed-width slots of
+     * 4, 8 or, for TIMESTAMP, 12 bytes.
+     */
+    static final class FixedWidthVector extends OffHeapVector {
+        private static final long serialVersionUID = 1L;
+        private static final int INT = 0;
+        private static final int LONG = 1;
+        private static final int DOUBLE = 2;
+        private static final int DECIMAL = 3;
+        private static final int MILLIS = 4;
+        private static final int TIMESTAMP = 5;
+
+        private final int kind;
+        private final int width;
+        final int scale;
+        private transient ByteBuffer[] chunks = new ByteBuffer[4];
+        private transient int chunkCount;
+        private HashMap<Integer, BigDecimal> overflow;
+
+        FixedWidthVector(int sqlType, int scaleArg, int expectedRows) {
+            super(sqlType, expectedRows);
+            this.scale = scaleArg;
+            switch (sqlType) {
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                    kind = INT;
+                    width = 4;
+                    break;
+                case Types.BIGINT:
+                    kind = LONG;
+                    width = 8;
+                    break;
+                case Types.DECIMAL:
+                case Types.NUMERIC:
+                    kind = DECIMAL;
+                    width = 8;
+                    break;
+                case Types.DATE:
+                case Types.TIME:
+                    kind = MILLIS;
+                    width = 8;
+                    break;
+                case Types.TIMESTAMP:
+                    kind = TIMESTAMP;
+                    width = 12;
+                    break;
+                default:
+                    kind = DOUBLE;
+                    width = 8;
+            }
+        }
+
+        private void ensure() {
+            checkOpen(chunks);
+            if (chunkCount == 0) {
+                chunks[chunkCount++] = allocate(firstChunkRows() * width);
+                return;
+            }
+            int last = chunkCount - 1;
+            if (size < (last << CHUNK_SHIFT) + chunks[last].capacity() / width) {
+                return;
+            }
+            if (chunks[last].capacity() < CHUNK_ROWS * width) {
+                chunks[last] = grow(chunks[last], width);
+            } else {
+                if (chunkCount == chunks.length) {
+                    chunks = Arrays.copyOf(chunks, chunkCount * 2);
+                }
+                chunks[chunkCount++] = allocate(CHUNK_ROWS * width);
+            }
+        }
+
+        private ByteBuffer chunk(int slot) {
+            checkOpen(chunks);
+            return chunks[slot >>> CHUNK_SHIFT];
+        }
+
+        private static int offset(int slot, int width) {
+            return (slot & CHUNK_MASK) * width;
+        }
+
+        private void store(int slot, Object value) throws SQLException {
+            ByteBuffer b = chunk(slot);
+            int at = offset(slot, width);
+            switch (kind) {
+                case INT:
+                    b.putInt(at, ColumnValues.toInt(value));
+                    break;
+                case LONG:
+                    b.putLong(at, ColumnValues.toLong(value));
+                    break;
+                case DOUBLE:
+                    b.putDouble(at, ColumnValues.toDouble(value));
+                    break;
+                case DECIMAL:
+                    storeDecimal(b, at, slot, ColumnValues.toBigDecimal(value));
+                    break;
+                case MILLIS:
+                    b.putLong(at, sqlType == Types.DATE
+                              ? ColumnValues.toDate(value).getTime()
+                              : ColumnValues.toTime(value).getTime());
+                    break;
+                default:
+                    Timestamp ts = ColumnValues.toTimestamp(value);
+                    b.putLong(at, ts.getTime());
+                    b.putInt(at + 8, ts.getNanos());
+            }
+        }
+
+        private void storeDecimal(ByteBuffer b, int at, int slot, BigDecimal value) {
+            if (overflow != null) {
+                overflow.remove(slot);
+            }
+            try {
+                b.putLong(at, value.setScale(scale).unscaledValue().longValueExact());
+                return;
+            } catch (ArithmeticException e) {
+                // more digits than the column declares; fall through
+            }
+            if (overflow == null) {
+                overflow = new HashMap<>();
+            }
+            overflow.put(slot, value);
+            b.putLong(at, 0L);
+        }
+
+        void read(ResultSet rs, int column) throws SQLException {
+            ensure();
+            ByteBuffer b = chunks[size >>> CHUNK_SHIFT];
+            int at = offset(size, width);
+            switch (kind) {
+                case INT:
+                    b.putInt(at, rs.getInt(column));
+                    break;
+                case LONG:
+                    b.putLong(at, rs.getLong(column));
+                    break;
+                case DOUBLE:
+                    b.putDouble(at, rs.getDouble(column));
+                    break;
+                default:
+                    append(kind == DECIMAL ? rs.getBigDecimal(column)
+                           : kind == TIMESTAMP ? rs.getTimestamp(column)
+                           : sqlType == Types.DATE ? rs.getDate(column)
+                           : (Object) rs.getTime(column));
+                    return;
+            }
+            if (rs.wasNull()) {
+                nulls.set(size);
+            }
+            size++;
+        }
+
+        void append(Object value) throws SQLException {
+            ensure();
+            int slot = size++;
+            if (value == null) {
+                nulls.set(slot);
+            } else {
+                store(slot, value);
+            }
+        }
+
+        Object get(int slot) {
+            if (nulls.get(slot)) {
+                return null;
+            }
+            ByteBuffer b = chunk(slot);
+            int at = offset(slot, width);
+            switch (kind) {
+                case INT:
+                    return b.getInt(at);
+                case LONG:
+                    return b.getLong(at);
+                case DOUBLE:
+                    return sqlType == Types.REAL
+                        ? (Object) Float.valueOf((float) b.getDouble(at))
+                        : (Object) Double.valueOf(b.getDouble(at));
+                case DECIMAL:
+                    if (overflow != null && overflow.containsKey(slot)) {
+                        return overflow.get(slot);
+                    }
+                    return BigDecimal.valueOf(b.getLong(at), scale);
+                case MILLIS:
+                    return sqlType == Types.DATE
+                        ? (Object) new Date(b.getLong(at)) : (Object) new Time(b.getLong(at));
+                default:
+                    Timestamp ts = new Timestamp(b.getLong(at));
+                    ts.setNanos(b.getInt(at + 8));
+                    return ts;
+            }
+        }
+
+        void set(int slot, Object value) throws SQLException {
+            if (value == null) {
+                nulls.set(slot);
+            } else {
+                store(slot, value);
+                nulls.clear(slot);
+            }
+        }
+
+        int getInt(int slot) throws SQLException {
+            if (kind == INT) {
+                return chunk(slot).getInt(offset(slot, width));
+            }
+            return (int) getLong(slot);
+        }
+
+        long getLong(int slot) throws SQLException {
+            ByteBuffer b = chunk(slot);
+            int at = offset(slot, width);
+            switch (kind) {
+                case INT:
+                    return b.getInt(at);
+                case LONG:
+                case MILLIS:
+                case TIMESTAMP:
+                    return b.getLong(at);
+                case DOUBLE:
+                    return (long) b.getDouble(at);
+                default:
+                    return super.getLong(slot);
+            }
+        }
+
+        double getDouble(int slot) throws SQLException {
+            ByteBuffer b = chunk(slot);
+            int at = offset(slot, width);
+            switch (kind) {
+                case INT:
+                    return b.getInt(at);
+                case LONG:
+                    return b.getLong(at);
+                case DOUBLE:
+                    return b.getDouble(at);
+                default:
+                    return super.getDouble(slot);
+            }
+        }
+
+        ColumnVector select(int[] slots) {
+            FixedWidthVector v = new FixedWidthVector(sqlType, scale, slots.length);
+            for (int i = 0; i < slots.length; i++) {
+                v.ensure();
+                ByteBuffer from = chunk(slots[i]);
+                int at = offset(slots[i], width);
+                ByteBuffer to = v.chunks[i >>> CHUNK_SHIFT];
+                int toAt = offset(i, width);
+                for (int k = 0; k < width; k += 4) {
+                    to.putInt(toAt + k, from.getInt(at + k));
+                }
+                if (overflow != null && overflow.containsKey(slots[i])) {
+                    if (v.overflow == null) {
+                        v.overflow = new HashMap<>();
+                    }
+                    v.overflow.put(i, overflow.get(slots[i]));
+                }
+                v.size++;
+            }
+            selectNulls(v, slots);
+            return v;
+        }
+
+        void clear() {
+            // Keep the first chunk for reuse.
+            for (int i = 1; i < chunkCount; i++) {
+                free(chunks[i]);
+                chunks[i] = null;
+            }
+            chunkCount = Math.min(chunkCount, 1);
+            overflow = null;
+            super.clear();
+        }
+
+        void release() {
+            if (chunks != null) {
+                for (int i = 0; i < chunkCount; i++) {
+                    free(chunks[i]);
+                }
+                chunks = null;
+                chunkCount = 0;
+            }
+        }
+    }
+
+    /**
+     * Strings written as UTF-8 into a heap of large direct buffers. Each slot
+     * holds the chunk and offset of its bytes; the bytes are preceded by
+     * their length. Updating a value appends the new bytes and leaves the
+     * old ones unused until the vector is compacted or released.
+     */
+    static final class StringHeapVector extends OffHeapVector {
+        private static final long serialVersionUID = 1L;
+        private static final int HEAP_CHUNK_BYTES = 1 << 20;
+        private static final int MIN_HEAP_CHUNK_BYTES = 1 << 10;
+
+        private transient ByteBuffer[] slots = new ByteBuffer[4];
+        private transient int slotChunkCount;
+        private transient ByteBuffer[] heap = new ByteBuffer[4];
+        private transient int heapChunkCount;
+
+        StringHeapVector(int sqlType, int expectedRows) {
+            super(sqlType, expectedRows);
+        }
+
+        private void ensureSlot() {
+            checkOpen(slots);
+            if (slotChunkCount == 0) {
+                slots[slotChunkCount++] = allocate(firstChunkRows() * 8);
+                return;
+            }
+            int last = slotChunkCount - 1;
+            if (size < (last << CHUNK_SHIFT) + slots[last].capacity() / 8) {
+                return;
+            }
+            if (slots[last].capacity() < CHUNK_ROWS * 8) {
+                slots[last] = grow(slots[last], 8);
+            } else {
+                if (slotChunkCount == slots.length) {
+                    slots = Arrays.copyOf(slots, slotChunkCount * 2);
+                }
+                slots[slotChunkCount++] = allocate(CHUNK_ROWS * 8);
+            }
+        }
+
+        /** Writes the bytes to the string heap and returns their location */
+        private long write(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            int needed = bytes.length + 4;
+            ByteBuffer current = heapChunkCount == 0 ? null : heap[heapChunkCount - 1];
+            if (current == null || current.remaining() < needed) {
+                if (heapChunkCount == heap.length) {
+                    heap = Arrays.copyOf(heap, heapChunkCount * 2);
+                }
+                // Heap chunks start at about 16 bytes per expected row and
+                // double up to HEAP_CHUNK_BYTES.
+                int chunkBytes = current == null
+                    ? Math.max(firstChunkRows() * 16, MIN_HEAP_CHUNK_BYTES)
+                    : current.capacity() * 2;
+                current = allocate(Math.max(Math.min(chunkBytes, HEAP_CHUNK_BYTES), needed));
+                heap[heapChunkCount++] = current;
+            }
+            int at = current.position();
+            current.putInt(bytes.length);
+            current.put(bytes);
+            return ((long) (heapChunkCount - 1) << 32) | at;
+        }
+
+        private void store(int slot, Object value) {
+            long location = write(ColumnValues.toStringValue(value));
+            slots[slot >>> CHUNK_SHIFT].putLong((slot & CHUNK_MASK) * 8, location);
+        }
+
+        void read(ResultSet rs, int column) throws SQLException {
+            append(rs.getString(column));
+        }
+
+        void append(Object value) {
+            ensureSlot();
+            int slot = size++;
+            if (value == null) {
+                nulls.set(slot);
+            } else {
+                store(slot, value);
+            }
+        }
+
+        Object get(int slot) {
+            if (nulls.get(slot)) {
+                return null;
+            }
+            checkOpen(slots);
+            long location = slots[slot >>> CHUNK_SHIFT].getLong((slot & CHUNK_MASK) * 8);
+            ByteBuffer chunk = heap[(int) (location >>> 32)];
+            int at = (int) location;
+            byte[] bytes = new byte[chunk.getInt(at)];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = chunk.get(at + 4 + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        void set(int slot, Object value) {
+            if (value == null) {
+                nulls.set(slot);
+            } else {
+                checkOpen(slots);
+                store(slot, value);
+                nulls.clear(slot);
+            }
+        }
+
+        ColumnVector select(int[] slotsToCopy) {
+            StringHeapVector v = new StringHeapVector(sqlType, slotsToCopy.length);
+            for (int slot : slotsToCopy) {
+                v.append(get(slot));
+            }
+            return v;
+        }
+
+        void clear() {
+            release();
+            slots = new ByteBuffer[4];
+            heap = new ByteBuffer[4];
+            super.clear();
+        }
+
+        void release() {
+            if (slots != null) {
+                for (int i = 0; i < slotChunkCount; i++) {
+                    free(slots[i]);
+                }
+                for (int i = 0; i < heapChunkCount; i++) {
+                    free(heap[i]);
+                }
+                slots = null;
+                heap = null;
+                slotChunkCount = 0;
+                heapChunkCount = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Table model over the COFFEES table that does not read the table up front.
+ * The number of rows comes from SELECT COUNT(*); rows are read in pages of
+ * a fixed size, sorted by COF_NAME, when the table first asks for a cell of
+ * the page. The most recently used pages are kept, and the pages on either
+ * side of the one being viewed are read ahead, so scrolling rarely shows a
+ * row that is not yet there.
+ * <p>
+ * Pages are read by a background thread and added to the model on the
+ * event dispatch thread, which is the only thread that touches the cache;
+ * until its page arrives a row shows empty cells. The model reads and
+ * writes through a connection of its own, used only by that thread once
+ * the model is created, and closes it when it is closed. A page that follows one
+ * already read starts after that page's last key, as with
+ * {@link KeysetPager}; other pages are read by offset. Rows added with
+ * insertRow are shown after the rows of the database, also once
+ * acceptChanges has written them.
+ */
+public class PagedCoffeesTableModel extends AbstractTableModel implements AutoCloseable {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String QUERY =
+        "select COF_NAME, SUP_ID, PRICE, SALES, TOTAL from COFFEES";
+
+    private final Connection con;
+    private final String dbms;
+    private final int pageSize;
+    private final ExecutorService loader;
+    private final LinkedHashMap<Integer, Page> pages;
+    private final HashSet<Integer> loading = new HashSet<>();
+    private final ArrayList<Object[]> pendingRows = new ArrayList<>();
+    private volatile int writtenRows; // Rows of pendingRows already in the database
+
+    private String[] columnNames;
+    private int[] columnTypes;
+    private int[] columnScales;
+    private int numrows; // Rows in the database when the model was created
+    private int lastPage = -1;
+    private volatile boolean closed;
+
+    private static final class Page {
+        final ColumnVector[] columns;
+        final int size;
+        final String lastKey;
+
+        Page(ColumnVector[] columnsArg, int sizeArg, String lastKeyArg) {
+            this.columns = columnsArg;
+            this.size = sizeArg;
+            this.lastKey = lastKeyArg;
+        }
+    }
+
+    /**
+     * Creates a model that uses conArg, which it closes when it is closed;
+     * use a connection of its own, not one shared with the rest of the
+     * application.
+     */
+    public PagedCoffeesTableModel(Connection conArg, String dbmsArg,
+                                  int pageSizeArg, final int maxPagesArg) throws SQLException {
+        if (pageSizeArg < 1 || maxPagesArg < 3) {
+            throw new IllegalArgumentException(
+                "Page size must be positive and at least 3 pages must be kept");
+        }
+        this.con = conArg;
+        this.dbms = dbmsArg;
+        this.pageSize = pageSizeArg;
+        this.pages = new LinkedHashMap<Integer, Page>(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<Integer, Page> eldest) {
+                return size() > maxPagesArg;
+            }
+        };
+        this.numrows = countRows(conArg);
+
+        // Read the first page now: it is what the table shows first, and it
+        // provides the column names and types.
+        Page first = fetch(0, null);
+        if (first.size > 0) {
+            pages.put(0, first);
+        }
+        this.loader = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "PagedCoffeesTableModel");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    public static int countRows(Connection con) throws SQLException {
+        try (Statement stmt = con.createStatement();
+             ResultSet rs = stmt.executeQuery("select count(*) from COFFEES")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /** Number of pages currently cached */
+    public int getCachedPageCount() {
+        return pages.size();
+    }
+
+    public void insertRow(String coffeeName, int supplierID, float price,
+                          int sales, int total) {
+        pendingRows.add(new Object[] {
+            coffeeName, supplierID, price, sales, total });
+        int row = numrows + pendingRows.size() - 1;
+        fireTableRowsInserted(row, row);
+    }
+
+    /**
+     * Inserts the rows added with insertRow into the database and commits.
+     * The model still shows them after the rows read from the database;
+     * create a new model to see them in order. May be called off the event
+     * dispatch thread as long as no row is added meanwhile; the rows shown
+     * do not change. The rows are written on the thread that reads pages,
+     * after the pages requested before, and this waits for it.
+     */
+    public void acceptChanges() throws SQLException {
+        final int count = pendingRows.size();
+        if (count == writtenRows) {
+            return;
+        }
+        if (closed) {
+            throw new SQLException("The table model is closed");
+        }
+        try {
+            loader.submit(new Callable<Void>() {
+                public Void call() throws SQLException {
+                    writeRows(count);
+                    return null;
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while writing rows", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException(e.getCause());
+        }
+    }
+
+    private void writeRows(int count) throws SQLException {
+        boolean autoCommit = con.getAutoCommit();
+        try (PreparedStatement ps = con.prepareStatement(
+                 "insert into COFFEES (COF_NAME, SUP_ID, PRICE, SALES, TOTAL) " +
+                 "values (?, ?, ?, ?, ?)")) {
+            con.setAutoCommit(false);
+            for (Object[] row : pendingRows.subList(writtenRows, count)) {
+                for (int i = 0; i < row.length; i++) {
+                    ps.setObject(i + 1, row[i]);
+                }
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            con.commit();
+            writtenRows = count;
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+    }
+
+    public boolean hasPendingRows() {
+        return pendingRows.size() > writtenRows;
+    }
+
+    /**
+     * Stops reading pages; pages already requested are dropped. A page being
+     * read is not interrupted, as some drivers close the connection when
+     * interrupted; it is discarded when it arrives, and the connection is
+     * closed on the loading thread after it, so this does not wait for the
+     * database.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        loader.execute(new Runnable() {
+            public void run() {
+                try {
+                    con.close();
+                } catch (SQLException e) {
+                    JDBCTutorialUtilities.printSQLException(e);
+                }
+            }
+        });
+        loader.shutdown();
+        pages.clear();
+    }
+
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    public int getRowCount() {
+        return numrows + pendingRows.size();
+    }
+
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    public Class<?> getColumnClass(int column) {
+        return Object.class;
+    }
+
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        if (rowIndex >= numrows) {
+            return pendingRows.get(rowIndex - numrows)[columnIndex];
+        }
+        int p = rowIndex / pageSize;
+        Page page = pages.get(p);
+        if (page == null) {
+            request(p);
+        }
+        if (p != lastPage) {
+            lastPage = p;
+            request(p + 1);
+            request(p - 1);
+        }
+        int offset = rowIndex - p * pageSize;
+        if (page == null || offset >= page.size) {
+            return null;
+        }
+        return page.columns[columnIndex].get(offset);
+    }
+
+    /** Queues page p to be read unless it is cached or already queued */
+    private void request(final int p) {
+        if (closed || p < 0 || (long) p * pageSize >= numrows
+                || pages.containsKey(p) || !loading.add(p)) {
+            return;
+        }
+        Page before = pages.get(p - 1);
+        final String after = before != null && before.size == pageSize
+            ? before.lastKey : null;
+        loader.execute(new Runnable() {
+            public void run() {
+                if (closed) {
+                    return;
+                }
+                Page page = null;
+                try {
+                    page = fetch(p, after);
+                } catch (SQLException e) {
+                    JDBCTutorialUtilities.printSQLException(e);
+                }
+                final Page loaded = page;
+                SwingUtilities.invokeLater(new Runnable() {
+                    public void run() {
+                        pageLoaded(p, loaded);
+                    }
+                });
+            }
+        });
+    }
+
+    /** Runs on the event dispatch thread; page is null if it could not be read */
+    private void pageLoaded(int p, Page page) {
+        loading.remove(p);
+        if (closed || page == null) {
+            return;
+        }
+        pages.put(p, page);
+        int first = p * pageSize;
+        int last = Math.min(numrows, first + pageSize) - 1;
+        if (last >= first) {
+            fireTableRowsUpdated(first, last);
+        }
+    }
+
+    /** Reads page p, starting after the key afterKey when it is known */
+    private Page fetch(int p, String afterKey) throws SQLException {
+        String sql = afterKey != null
+            ? QUERY + " where COF_NAME > ? order by COF_NAME" + limit()
+            : QUERY + " order by COF_NAME" + offset((long) p * pageSize);
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            if (afterKey != null) {
+                ps.setString(1, afterKey);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                ResultSetMetaData md = rs.getMetaData();
+                int numcols = md.getColumnCount();
+                if (columnNames == null) {
+                    describe(md);
+                }
+                ColumnVector[] columns = new ColumnVector[numcols];
+                for (int i = 0; i < numcols; i++) {
+                    columns[i] = ColumnVector.create(columnTypes[i], columnScales[i], pageSize);
+                }
+                int size = 0;
+                String lastKey = null;
+                while (rs.next()) {
+                    for (int i = 0; i < numcols; i++) {
+                        columns[i].read(rs, i + 1);
+                    }
+                    lastKey = rs.getString(1);
+                    size++;
+                }
+                return new Page(columns, size, lastKey);
+            }
+        }
+    }
+
+    private void describe(ResultSetMetaData md) throws SQLException {
+        int numcols = md.getColumnCount();
+        String[] names = new String[numcols];
+        int[] types = new int[numcols];
+        int[] scales = new int[numcols];
+        for (int i = 0; i < numcols; i++) {
+            names[i] = md.getColumnLabel(i + 1);
+            types[i] = md.getColumnType(i + 1);
+            scales[i] = md.getScale(i + 1);
+        }
+        this.columnTypes = types;
+        this.columnScales = scales;
+        this.columnNames = names;
+    }
+
+    private String limit() {
+        if ("derby".equals(dbms)) {
+            return " FETCH FIRST " + pageSize + " ROWS ONLY";
+        }
+        return " LIMIT " + pageSize;
+    }
+
+    private String offset(long first) {
+        if ("derby".equals(dbms)) {
+            return " OFFSET " + first + " ROWS FETCH NEXT " + pageSize + " ROWS ONLY";
+        }
+        return " LIMIT " + pageSize + " OFFSET " + first;
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import javax.sql.RowSetMetaData;
+import javax.sql.rowset.CachedRowSet;
+
+/**
+ * Reads large UTF-8 WebRowSet XML files on several threads. The data
+ * section is split at row element boundaries into chunks that are parsed
+ * in parallel on a fork/join pool; the rows of each chunk are then passed
+ * on in document order, chunk after chunk, while later chunks are still
+ * being parsed.
+ * <p>
+ * Boundaries are found by looking for the start tag of a row, which is
+ * safe because the writers escape every '&lt;' in values and do not use
+ * CDATA sections or comments inside the data section.
+ */
+public class ParallelWebRowSetReader {
+
+    private static final int MIN_CHUNK_SIZE = 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int SCAN_SIZE = 64 * 1024;
+    private static final byte[] DATA_START = bytes("<data>");
+    private static final byte[] DATA_END = bytes("</data>");
+    private static final byte[][] ROW_STARTS = {
+        bytes("<currentRow>"), bytes("<insertRow>"), bytes("<deleteRow>"), bytes("<modifyRow>")
+    };
+
+    private final ForkJoinPool pool;
+
+    public ParallelWebRowSetReader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelWebRowSetReader(ForkJoinPool poolArg) {
+        this.pool = poolArg;
+    }
+
+    /** Reads file into target, which should be empty */
+    public long read(Path file, CachedRowSet target) throws SQLException, IOException {
+        boolean showDeleted = target.getShowDeleted();
+        target.setShowDeleted(true);
+        try {
+            long rows = read(file, new WebRowSetStreamCodec.RowSetLoader(target));
+            target.beforeFirst();
+            return rows;
+        } finally {
+            target.setShowDeleted(showDeleted);
+        }
+    }
+
+    /** Reads file, passing its rows to handler in document order */
+    public long read(Path file, WebRowSetStreamCodec.RowHandler handler)
+            throws SQLException, IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long dataStart = find(channel, DATA_START, 0, channel.size());
+            if (dataStart < 0) {
+                throw new SQLException("No data section in " + file);
+            }
+            long dataEnd = findLast(channel, DATA_END, dataStart);
+            if (dataEnd < 0) {
+                throw new SQLException("Unterminated data section in " + file);
+            }
+
+            // The properties and metadata are read from everything before
+            // the data section, closed off as an empty document.
+            final RowSetMetaData[] metaData = new RowSetMetaData[1];
+            final Properties[] properties = new Properties[1];
+            InputStream head = new SequenceInputStream(
+                new BufferedInputStream(new RangeInputStream(channel, 0, dataStart), SCAN_SIZE),
+                new ByteArrayInputStream(bytes("</webRowSet>")));
+            new WebRowSetStreamCodec().read(Channels.newChannel(head),
+                                            new WebRowSetStreamCodec.RowHandler() {
+                public void start(RowSetMetaData md, Properties props) {
+                    metaData[0] = md;
+                    properties[0] = props;
+                }
+
+                public void row(int kind, Object[] values, BitSet updated, Object[] updates) {
+                }
+            });
+            if (metaData[0] == null) {
+                throw new SQLException("No metadata section in " + file);
+            }
+            handler.start(metaData[0], properties[0]);
+            int[] types = new int[metaData[0].getColumnCount()];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = metaData[0].getColumnType(i + 1);
+            }
+
+            long[] bounds = split(channel, dataStart + DATA_START.length, dataEnd);
+            List<Future<Chunk>> chunks = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                chunks.add(pool.submit(new ChunkParser(channel, bounds[i], bounds[i + 1], types)));
+            }
+            long rows = 0;
+            try {
+                for (Future<Chunk> future : chunks) {
+                    Chunk chunk = future.get();
+                    chunk.deliver(handler);
+                    rows += chunk.size();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while reading " + file, e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    throw (SQLException) cause;
+                } else if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                throw new IOException("Could not read " + file + ": " + cause, cause);
+            } finally {
+                for (Future<Chunk> future : chunks) {
+                    future.cancel(false);
+                }
+            }
+            return rows;
+        }
+    }
+
+    /** Returns chunk boundaries in [start, end), each at the start of a row */
+    private long[] split(FileChannel channel, long start, long end) throws IOException {
+        int parallelism = Math.max(1, pool.getParallelism());
+        long chunkSize = Math.max(MIN_CHUNK_SIZE,
+                                  (end - start) / (parallelism * CHUNKS_PER_THREAD) + 1);
+        long[] bounds = new long[2];
+        int count = 0;
+        bounds[count++] = start;
+        long next = start + chunkSize;
+        while (next < end) {
+            long boundary = findRowStart(channel, next, end);
+            if (boundary < 0) {
+                break;
+            }
+            if (count == bounds.length) {
+                bounds = Arrays.copyOf(bounds, count * 2);
+            }
+            bounds[count++] = boundary;
+            next = boundary + chunkSize;
+        }
+        if (count == bounds.length) {
+            bounds = Arrays.copyOf(bounds, count + 1);
+        }
+        bounds[count++] = end;
+        return Arrays.copyOf(bounds, count);
+    }
+
+    private static long findRowStart(FileChannel channel, long from, long end)
+            throws IOException {
+        long best = -1;
+        for (byte[] tag : ROW_STARTS) {
+            long found = find(channel, tag, from, best < 0 ? end : best);
+            if (found >= 0 && (best < 0 || found < best)) {
+                best = found;
+            }
+        }
+        return best;
+    }
+
+    /** Returns the position of the first pattern in [from, to), or -1 */
+    private static long find(FileChannel channel, byte[] pattern, long from, long to)
+            throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(SCAN_SIZE + pattern.length);
+        long position = from;
+        while (position < to) {
+            window.clear();
+            window.limit((int) Math.min(window.capacity(), to - position));
+            int read = readFully(channel, window, position);
+            int match = indexOf(window.array(), read, pattern);
+            if (match >= 0) {
+                return position + match;
+            }
+            if (position + read >= to) {
+                break;
+            }
+            // Overlap windows so a pattern across the boundary is found
+            position += Math.max(1, read - pattern.length + 1);
+        }
+        return -1;
+    }
+
+    /** Returns the position of the last pattern after from, or -1 */
+    private static long findLast(FileChannel channel, byte[] pattern, long from)
+            throws IOException {
+        long to = channel.size();
+        ByteBuffer window = ByteBuffer.allocate(SCAN_SIZE + pattern.length);
+        while (to > from) {
+            long position = Math.max(from, to - window.capacity());
+            window.clear();
+            window.limit((int) (to - position));
+            int read = readFully(channel, window, position);
+            for (int i = read - pattern.length; i >= 0; i--) {
+                if (matches(window.array(), i, pattern)) {
+                    return position + i;
+                }
+            }
+            to = position + pattern.length - 1;
+            if (position == from) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position)
+            throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static int indexOf(byte[] data, int length, byte[] pattern) {
+        for (int i = 0; i + pattern.length <= length; i++) {
+            if (matches(data, i, pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(byte[] data, int offset, byte[] pattern) {
+        for (int j = 0; j < pattern.length; j++) {
+            if (data[offset + j] != pattern[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Parses one chunk of the data section into a Chunk */
+    private static class ChunkParser implements Callable<Chunk> {
+
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        private final int[] types;
+
+        ChunkParser(FileChannel channelArg, long startArg, long endArg, int[] typesArg) {
+            this.channel = channelArg;
+            this.start = startArg;
+            this.end = endArg;
+            this.types = typesArg;
+        }
+
+        public Chunk call() throws SQLException, IOException {
+            InputStream fragment = new SequenceInputStream(
+                new ByteArrayInputStream(DATA_START),
+                new SequenceInputStream(
+                    new BufferedInputStream(new RangeInputStream(channel, start, end),
+                                            SCAN_SIZE),
+                    new ByteArrayInputStream(DATA_END)));
+            Chunk chunk = new Chunk();
+            // Factories are not shared between threads
+            new WebRowSetStreamCodec().readFragment(fragment, types, chunk);
+            return chunk;
+        }
+    }
+
+    /** Rows of one chunk, kept until the chunks before it are delivered */
+    private static class Chunk implements WebRowSetStreamCodec.RowHandler {
+
+        private static final BitSet NONE = new BitSet();
+
+        private final IntList kinds = new IntList();
+        private final List<Object[]> values = new ArrayList<>();
+        private final List<BitSet> updated = new ArrayList<>();
+        private final List<Object[]> updates = new ArrayList<>();
+
+        public void start(RowSetMetaData metaData, Properties properties) {
+        }
+
+        public void row(int kind, Object[] rowValues, BitSet rowUpdated, Object[] rowUpdates) {
+            kinds.add(kind);
+            values.add(rowValues.clone());
+            if (rowUpdated.isEmpty()) {
+                updated.add(NONE);
+                updates.add(null);
+            } else {
+                updated.add((BitSet) rowUpdated.clone());
+                updates.add(rowUpdates.clone());
+            }
+        }
+
+        int size() {
+            return kinds.size();
+        }
+
+        void deliver(WebRowSetStreamCodec.RowHandler handler) throws SQLException {
+            for (int i = 0; i < kinds.size(); i++) {
+                handler.row(kinds.get(i), values.get(i), updated.get(i), updates.get(i));
+                values.set(i, null);
+            }
+        }
+    }
+
+    /** Reads the bytes in [start, end) of a channel with positional reads */
+    private static class RangeInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private long position;
+        private final long end;
+
+        RangeInputStream(FileChannel channelArg, long startArg, long endArg) {
+            this.channel = channelArg;
+            this.position = startArg;
+            this.end = endArg;
+        }
+
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)),
+                                    position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.rowset.CachedRowSet;
+
+/**
+ * Reads the pages of a full scan ahead of the code that consumes them. While
+ * one page is being processed, the next one, and when the consumer keeps
+ * up, the one after it, are read by a background thread, so the round trip
+ * for a page overlaps the work on the page before it.
+ * <p>
+ * Pages are read by key as with {@link KeysetPager}; each is a new row set
+ * created with the template's createCopySchema(). The number of pages read
+ * ahead adapts between 1 and the given maximum: it grows when the consumer
+ * has to wait for a page and shrinks when pages sit ready for longer than
+ * they took to read. The connection is used only by the background thread
+ * until the pager is closed, so do not use it elsewhere in the meantime.
+ */
+public class PrefetchingPager implements AutoCloseable {
+
+    private final CachedRowSet template;
+    private final KeysetPager pager;
+    private final int pageSize;
+    private final int maxDepth;
+    private final ExecutorService executor;
+    private final ArrayDeque<Future<Page>> pending = new ArrayDeque<>();
+
+    private Future<Page> tail;
+    private int depth = 1;
+    private int pageNumber;
+    private volatile boolean finished;
+    private long lastReturnNanos;
+    private long waitNanos;
+
+    private static final class Page {
+        final CachedRowSet rows;
+        final KeysetPager.PageKeys keys;
+        final long fetchNanos;
+
+        Page(CachedRowSet rowsArg, KeysetPager.PageKeys keysArg, long fetchNanosArg) {
+            this.rows = rowsArg;
+            this.keys = keysArg;
+            this.fetchNanos = fetchNanosArg;
+        }
+    }
+
+    public PrefetchingPager(CachedRowSet templateArg, Connection conArg,
+                            String dbmsArg, int maxDepthArg) throws SQLException {
+        if (maxDepthArg < 1) {
+            throw new IllegalArgumentException("Prefetch depth must be at least 1");
+        }
+        this.template = templateArg;
+        this.pager = new KeysetPager(templateArg, conArg, dbmsArg);
+        this.pageSize = templateArg.getPageSize();
+        this.maxDepth = maxDepthArg;
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "PrefetchingPager");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /** Number of the page last returned by nextPage */
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    /** Number of pages currently read ahead of the consumer */
+    public int getPrefetchDepth() {
+        return depth;
+    }
+
+    /** Total time nextPage spent waiting for pages that were not yet read */
+    public long getWaitNanos() {
+        return waitNanos;
+    }
+
+    /**
+     * Returns the next page, waiting for it only if the background thread
+     * has not read it yet, or null after the last page.
+     */
+    public CachedRowSet nextPage() throws SQLException {
+        if (finished) {
+            return null;
+        }
+        topUp();
+        Future<Page> next = pending.poll();
+        long consumeNanos = lastReturnNanos == 0 ? 0 : System.nanoTime() - lastReturnNanos;
+        boolean ready = next.isDone();
+        long start = System.nanoTime();
+        Page page = await(next);
+        waitNanos += System.nanoTime() - start;
+        if (page == null) {
+            close();
+            return null;
+        }
+        adapt(ready, consumeNanos, page.fetchNanos);
+        pageNumber++;
+        topUp();
+        lastReturnNanos = System.nanoTime();
+        return page.rows;
+    }
+
+    private void adapt(boolean ready, long consumeNanos, long fetchNanos) {
+        if (!ready) {
+            depth = Math.min(depth + 1, maxDepth);
+        } else if (consumeNanos > 2 * fetchNanos) {
+            // The consumer is the slow side; one page ahead is enough and
+            // holding more only costs memory.
+            depth = Math.max(depth - 1, 1);
+        }
+    }
+
+    private void topUp() {
+        while (pending.size() < depth) {
+            final Future<Page> previous = tail;
+            tail = executor.submit(new Callable<Page>() {
+                public Page call() throws Exception {
+                    return fetchAfter(previous);
+                }
+            });
+            pending.add(tail);
+        }
+    }
+
+    /** Runs on the background thread, after the task for previous */
+    private Page fetchAfter(Future<Page> previous) throws Exception {
+        if (finished) {
+            return null; // Closed before this page was started
+        }
+        Object[] key = null;
+        if (previous != null) {
+            Page before = previous.get();
+            if (before == null || before.keys.rows < pageSize) {
+                return null;
+            }
+            key = before.keys.last;
+        }
+        long start = System.nanoTime();
+        CachedRowSet rows = template.createCopySchema();
+        KeysetPager.PageKeys keys = pager.fetch(rows, key, true, false);
+        if (keys == null) {
+            rows.close();
+            return null;
+        }
+        return new Page(rows, keys, System.nanoTime() - start);
+    }
+
+    private static Page await(Future<Page> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a page", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Reading a page failed", e.getCause());
+        }
+    }
+
+    /**
+     * Stops reading ahead, waits for a page being read to be finished and
+     * releases the pages not yet returned. The connection is free for
+     * other use once this returns.
+     */
+    public void close() {
+        finished = true;
+        executor.shutdown();
+        boolean interrupted = false;
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                // Keep waiting: the read in progress still uses the connection.
+                interrupted = true;
+            }
+        }
+        for (Future<Page> f : pending) {
+            try {
+                Page page = f.get();
+                if (page != null) {
+                    page.rows.close();
+                }
+            } catch (Exception e) {
+                // The page failed to read; nothing to release.
+            }
+        }
+        pending.clear();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
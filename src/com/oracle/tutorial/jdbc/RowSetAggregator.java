@@ -0,0 +1,563 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+
+/**
+ * Sorts and groups the rows of a cached row set in memory, so that a view
+ * sorted another way, or totals per supplier or per city, need no new query.
+ * Columns and aggregates are given as in SQL:
+ * <pre>
+ *     aggregator.sort(crs, "SUP_ID", "PRICE DESC");
+ *     aggregator.groupBy(crs, new String[] { "CITY" }, "SUM(TOTAL)", "COUNT(*)");
+ * </pre>
+ * The results are new {@link ColumnarCachedRowSet}s whose rows are all
+ * original rows; an aggregate column is named by its expression, as in
+ * getLong("SUM(TOTAL)").
+ * <p>
+ * The rows are read from the row set's column arrays when it is an
+ * unchanged ColumnarCachedRowSet, and copied into such arrays first
+ * otherwise. Comparisons, sums, minimums and maximums work on the primitive
+ * values. Row sets with at least PARALLEL_THRESHOLD rows are sorted with
+ * Arrays.parallelSort and grouped in chunks, one task per chunk, in the
+ * given ForkJoinPool.
+ */
+public class RowSetAggregator {
+
+    static final int PARALLEL_THRESHOLD = 100000;
+
+    private static final int LONG_SUM = 0;
+    private static final int DECIMAL_SUM = 1;
+    private static final int DOUBLE_SUM = 2;
+
+    private final ForkJoinPool pool;
+
+    public RowSetAggregator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public RowSetAggregator(ForkJoinPool poolArg) {
+        this.pool = poolArg;
+    }
+
+    /** The visible rows of a row set as column arrays and the slots of the rows */
+    private static final class Snapshot {
+        final ColumnVector[] columns;
+        final int[] slots;
+
+        Snapshot(ColumnVector[] columnsArg, int[] slotsArg) {
+            this.columns = columnsArg;
+            this.slots = slotsArg;
+        }
+    }
+
+    private static final class Aggregate {
+        final String label;
+        final String function; // SUM, COUNT, MIN, MAX or AVG
+        final int column; // 0-based, or -1 for COUNT(*)
+        int sum; // How SUM and AVG add up the values
+
+        Aggregate(String labelArg, String functionArg, int columnArg) {
+            this.label = labelArg;
+            this.function = functionArg;
+            this.column = columnArg;
+        }
+    }
+
+    /** Running values of the aggregates of one group */
+    private static final class Group {
+        final Object[] key;
+        long rows;
+        final long[] counts;
+        final long[] longSums;
+        final double[] doubleSums;
+        final BigDecimal[] bigSums; // Decimal sums that do not fit a long
+        final int[] best; // Slot of the current MIN or MAX value, or -1
+
+        Group(Object[] keyArg, int aggregates) {
+            this.key = keyArg;
+            this.counts = new long[aggregates];
+            this.longSums = new long[aggregates];
+            this.doubleSums = new double[aggregates];
+            this.bigSums = new BigDecimal[aggregates];
+            this.best = new int[aggregates];
+            Arrays.fill(best, -1);
+        }
+    }
+
+    /**
+     * Returns the rows of rs sorted by the given columns, each optionally
+     * followed by ASC or DESC. SQL NULL sorts first in ascending order.
+     * Rows that compare equal keep their order.
+     */
+    public CachedRowSet sort(CachedRowSet rs, String... orderBy) throws SQLException {
+        final Snapshot snapshot = snapshot(rs);
+        final int[] keys = new int[orderBy.length];
+        final boolean[] descending = new boolean[orderBy.length];
+        for (int k = 0; k < orderBy.length; k++) {
+            String[] parts = orderBy[k].trim().split("\\s+");
+            keys[k] = rs.findColumn(parts[0]) - 1;
+            descending[k] = parts.length > 1 && "DESC".equalsIgnoreCase(parts[1]);
+        }
+        final Integer[] order = new Integer[snapshot.slots.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = snapshot.slots[i];
+        }
+        final Comparator<Integer> comparator = new Comparator<Integer>() {
+            public int compare(Integer slot1, Integer slot2) {
+                for (int k = 0; k < keys.length; k++) {
+                    int result = snapshot.columns[keys[k]].compare(slot1, slot2);
+                    if (result != 0) {
+                        return descending[k] ? -result : result;
+                    }
+                }
+                return 0;
+            }
+        };
+        if (order.length >= PARALLEL_THRESHOLD) {
+            await(pool.submit(new Runnable() {
+                public void run() {
+                    Arrays.parallelSort(order, comparator);
+                }
+            }));
+        } else {
+            Arrays.sort(order, comparator);
+        }
+        int[] sorted = new int[order.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = order[i];
+        }
+        ColumnarCachedRowSet result = new ColumnarCachedRowSet();
+        result.setMetaData(copyColumns(rs.getMetaData()));
+        result.setRowStore(new ColumnarRowStore(snapshot.columns).select(sorted));
+        return result;
+    }
+
+    /**
+     * Returns one row per distinct combination of the values of
+     * groupColumns, holding those values followed by the given aggregates:
+     * COUNT(*), or SUM, COUNT, MIN, MAX or AVG of a column. SUM and AVG take
+     * numeric columns and, as in SQL, ignore NULL. SUM of an integer column
+     * is a BIGINT, of a decimal column a DECIMAL of the same scale; AVG is a
+     * DOUBLE. The groups are in the order in which they first occur.
+     */
+    public CachedRowSet groupBy(CachedRowSet rs, String[] groupColumns,
+                                String... aggregates) throws SQLException {
+        final Snapshot snapshot = snapshot(rs);
+        ResultSetMetaData md = rs.getMetaData();
+        final int[] keys = new int[groupColumns.length];
+        for (int k = 0; k < keys.length; k++) {
+            keys[k] = rs.findColumn(groupColumns[k].trim()) - 1;
+        }
+        final Aggregate[] aggs = new Aggregate[aggregates.length];
+        for (int a = 0; a < aggs.length; a++) {
+            aggs[a] = parseAggregate(rs, md, aggregates[a]);
+        }
+
+        Map<List<Object>, Group> groups;
+        int n = snapshot.slots.length;
+        if (n >= PARALLEL_THRESHOLD) {
+            int chunks = Math.max(1, pool.getParallelism() * 4);
+            int chunkSize = (n + chunks - 1) / chunks;
+            List<Callable<Map<List<Object>, Group>>> tasks = new ArrayList<>();
+            for (int start = 0; start < n; start += chunkSize) {
+                final int from = start;
+                final int to = Math.min(n, start + chunkSize);
+                tasks.add(new Callable<Map<List<Object>, Group>>() {
+                    public Map<List<Object>, Group> call() throws Exception {
+                        return aggregate(snapshot, keys, aggs, from, to);
+                    }
+                });
+            }
+            groups = null;
+            for (Future<Map<List<Object>, Group>> f : pool.invokeAll(tasks)) {
+                Map<List<Object>, Group> part = await(f);
+                if (groups == null) {
+                    groups = part;
+                } else {
+                    merge(groups, part, snapshot, aggs);
+                }
+            }
+        } else {
+            groups = aggregate(snapshot, keys, aggs, 0, n);
+        }
+
+        ColumnarCachedRowSet result = new ColumnarCachedRowSet();
+        result.setMetaData(groupMetaData(md, keys, aggs, snapshot));
+        if (groups != null) {
+            for (Group g : groups.values()) {
+                Object[] values = new Object[keys.length + aggs.length];
+                System.arraycopy(g.key, 0, values, 0, keys.length);
+                for (int a = 0; a < aggs.length; a++) {
+                    values[keys.length + a] = result(g, a, aggs[a], snapshot);
+                }
+                result.appendRow(values);
+            }
+        }
+        return result;
+    }
+
+    private static Aggregate parseAggregate(CachedRowSet rs, ResultSetMetaData md,
+                                            String expression) throws SQLException {
+        String text = expression.trim();
+        int open = text.indexOf('(');
+        if (open < 0 || !text.endsWith(")")) {
+            throw new SQLException("Not an aggregate: " + expression);
+        }
+        String function = text.substring(0, open).trim().toUpperCase(Locale.ROOT);
+        String argument = text.substring(open + 1, text.length() - 1).trim();
+        if ("*".equals(argument)) {
+            if (!"COUNT".equals(function)) {
+                throw new SQLException(function + "(*) is not supported");
+            }
+            return new Aggregate(text, function, -1);
+        }
+        Aggregate agg = new Aggregate(text, function, rs.findColumn(argument) - 1);
+        int type = md.getColumnType(agg.column + 1);
+        if ("SUM".equals(function) || "AVG".equals(function)) {
+            switch (type) {
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                case Types.BIGINT:
+                    agg.sum = LONG_SUM;
+                    break;
+                case Types.DECIMAL:
+                case Types.NUMERIC:
+                    agg.sum = DECIMAL_SUM;
+                    break;
+                case Types.REAL:
+                case Types.FLOAT:
+                case Types.DOUBLE:
+                    agg.sum = DOUBLE_SUM;
+                    break;
+                default:
+                    throw new SQLException(function + " needs a numeric column: " + argument);
+            }
+        } else if (!"COUNT".equals(function) && !"MIN".equals(function)
+                   && !"MAX".equals(function)) {
+            throw new SQLException("Unknown aggregate function: " + function);
+        }
+        return agg;
+    }
+
+    /** Groups the rows at positions from to to-1 of the snapshot */
+    private static Map<List<Object>, Group> aggregate(Snapshot snapshot, int[] keys,
+                                                     Aggregate[] aggs, int from, int to)
+            throws SQLException {
+        LinkedHashMap<List<Object>, Group> groups = new LinkedHashMap<>();
+        ColumnVector[] columns = snapshot.columns;
+        Object[] probe = new Object[keys.length];
+        List<Object> probeKey = Arrays.asList(probe);
+        for (int i = from; i < to; i++) {
+            int slot = snapshot.slots[i];
+            for (int k = 0; k < keys.length; k++) {
+                probe[k] = RowSetIndex.normalizeValue(columns[keys[k]].get(slot));
+            }
+            Group g = groups.get(probeKey);
+            if (g == null) {
+                Object[] key = new Object[keys.length];
+                for (int k = 0; k < keys.length; k++) {
+                    key[k] = columns[keys[k]].get(slot);
+                }
+                g = new Group(key, aggs.length);
+                groups.put(Arrays.asList(probe.clone()), g);
+            }
+            g.rows++;
+            for (int a = 0; a < aggs.length; a++) {
+                Aggregate agg = aggs[a];
+                if (agg.column < 0) {
+                    continue;
+                }
+                ColumnVector v = columns[agg.column];
+                if (v.isNull(slot)) {
+                    continue;
+                }
+                g.counts[a]++;
+                switch (agg.function) {
+                    case "SUM":
+                    case "AVG":
+                        add(g, a, agg, v, slot);
+                        break;
+                    case "MIN":
+                        if (g.best[a] < 0 || v.compare(slot, g.best[a]) < 0) {
+                            g.best[a] = slot;
+                        }
+                        break;
+                    case "MAX":
+                        if (g.best[a] < 0 || v.compare(slot, g.best[a]) > 0) {
+                            g.best[a] = slot;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return groups;
+    }
+
+    private static void add(Group g, int a, Aggregate agg, ColumnVector v, int slot)
+            throws SQLException {
+        if (agg.sum == LONG_SUM) {
+            g.longSums[a] += v.getLong(slot);
+        } else if (agg.sum == DOUBLE_SUM) {
+            g.doubleSums[a] += v.getDouble(slot);
+        } else if (v instanceof ColumnVector.DecimalVector
+                   && ((ColumnVector.DecimalVector) v).hasUnscaled(slot)) {
+            // Values of a decimal column share its scale, so their unscaled
+            // values add up exactly as longs.
+            long unscaled = ((ColumnVector.DecimalVector) v).getUnscaled(slot);
+            long sum = g.longSums[a] + unscaled;
+            if (((g.longSums[a] ^ sum) & (unscaled ^ sum)) < 0) {
+                addBig(g, a, BigDecimal.valueOf(g.longSums[a], scale(v)));
+                addBig(g, a, BigDecimal.valueOf(unscaled, scale(v)));
+                g.longSums[a] = 0L;
+            } else {
+                g.longSums[a] = sum;
+            }
+        } else {
+            addBig(g, a, ColumnValues.toBigDecimal(v.get(slot)));
+        }
+    }
+
+    private static void addBig(Group g, int a, BigDecimal value) {
+        g.bigSums[a] = g.bigSums[a] == null ? value : g.bigSums[a].add(value);
+    }
+
+    private static int scale(ColumnVector v) {
+        return v instanceof ColumnVector.DecimalVector
+            ? ((ColumnVector.DecimalVector) v).scale() : 0;
+    }
+
+    /** Adds the groups of part to groups; part covers later rows */
+    private static void merge(Map<List<Object>, Group> groups, Map<List<Object>, Group> part,
+                              Snapshot snapshot, Aggregate[] aggs) {
+        for (Map.Entry<List<Object>, Group> e : part.entrySet()) {
+            Group g = groups.get(e.getKey());
+            if (g == null) {
+                groups.put(e.getKey(), e.getValue());
+                continue;
+            }
+            Group other = e.getValue();
+            g.rows += other.rows;
+            for (int a = 0; a < aggs.length; a++) {
+                g.counts[a] += other.counts[a];
+                g.doubleSums[a] += other.doubleSums[a];
+                if (aggs[a].sum == DECIMAL_SUM) {
+                    // Combine as BigDecimal; only the few merged sums pay for it.
+                    int scale = scale(snapshot.columns[aggs[a].column]);
+                    BigDecimal total = BigDecimal.valueOf(g.longSums[a], scale)
+                        .add(BigDecimal.valueOf(other.longSums[a], scale));
+                    g.longSums[a] = 0L;
+                    addBig(g, a, total);
+                    if (other.bigSums[a] != null) {
+                        addBig(g, a, other.bigSums[a]);
+                    }
+                } else {
+                    g.longSums[a] += other.longSums[a];
+                }
+                if (other.best[a] >= 0) {
+                    ColumnVector v = snapshot.columns[aggs[a].column];
+                    int c = g.best[a] < 0 ? 0 : v.compare(other.best[a], g.best[a]);
+                    if (g.best[a] < 0
+                            || ("MIN".equals(aggs[a].function) && c < 0)
+                            || ("MAX".equals(aggs[a].function) && c > 0)) {
+                        g.best[a] = other.best[a];
+                    }
+                }
+            }
+        }
+    }
+
+    private static Object result(Group g, int a, Aggregate agg, Snapshot snapshot) {
+        switch (agg.function) {
+            case "COUNT":
+                return agg.column < 0 ? g.rows : g.counts[a];
+            case "MIN":
+            case "MAX":
+                return g.best[a] < 0 ? null : snapshot.columns[agg.column].get(g.best[a]);
+            default:
+                break;
+        }
+        if (g.counts[a] == 0) {
+            return null;
+        }
+        Number sum;
+        if (agg.sum == LONG_SUM) {
+            sum = g.longSums[a];
+        } else if (agg.sum == DOUBLE_SUM) {
+            sum = g.doubleSums[a];
+        } else {
+            BigDecimal total = BigDecimal.valueOf(g.longSums[a],
+                                                  scale(snapshot.columns[agg.column]));
+            sum = g.bigSums[a] == null ? total : total.add(g.bigSums[a]);
+        }
+        if ("SUM".equals(agg.function)) {
+            return sum;
+        }
+        return sum.doubleValue() / g.counts[a];
+    }
+
+    private static RowSetMetaDataImpl groupMetaData(ResultSetMetaData md, int[] keys,
+                                                    Aggregate[] aggs, Snapshot snapshot)
+            throws SQLException {
+        RowSetMetaDataImpl out = new RowSetMetaDataImpl();
+        out.setColumnCount(keys.length + aggs.length);
+        for (int k = 0; k < keys.length; k++) {
+            copyColumn(md, keys[k] + 1, out, k + 1);
+        }
+        for (int a = 0; a < aggs.length; a++) {
+            Aggregate agg = aggs[a];
+            int i = keys.length + a + 1;
+            if (("MIN".equals(agg.function) || "MAX".equals(agg.function))) {
+                copyColumn(md, agg.column + 1, out, i);
+            } else if ("COUNT".equals(agg.function)
+                       || ("SUM".equals(agg.function) && agg.sum == LONG_SUM)) {
+                out.setColumnType(i, Types.BIGINT);
+                out.setColumnTypeName(i, "BIGINT");
+                out.setPrecision(i, 19);
+            } else if ("SUM".equals(agg.function) && agg.sum == DECIMAL_SUM) {
+                out.setColumnType(i, Types.DECIMAL);
+                out.setColumnTypeName(i, "DECIMAL");
+                out.setPrecision(i, 31);
+                out.setScale(i, scale(snapshot.columns[agg.column]));
+            } else {
+                out.setColumnType(i, Types.DOUBLE);
+                out.setColumnTypeName(i, "DOUBLE");
+                out.setPrecision(i, 15);
+            }
+            out.setColumnName(i, agg.label);
+            out.setColumnLabel(i, agg.label);
+            out.setNullable(i, ResultSetMetaData.columnNullable);
+            out.setSigned(i, true);
+        }
+        return out;
+    }
+
+    private static RowSetMetaDataImpl copyColumns(ResultSetMetaData md) throws SQLException {
+        RowSetMetaDataImpl out = new RowSetMetaDataImpl();
+        out.setColumnCount(md.getColumnCount());
+        for (int i = 1; i <= md.getColumnCount(); i++) {
+            copyColumn(md, i, out, i);
+        }
+        return out;
+    }
+
+    private static void copyColumn(ResultSetMetaData md, int from,
+                                   RowSetMetaDataImpl out, int to) throws SQLException {
+        out.setColumnName(to, md.getColumnName(from));
+        out.setColumnLabel(to, md.getColumnLabel(from));
+        out.setColumnType(to, md.getColumnType(from));
+        out.setColumnTypeName(to, md.getColumnTypeName(from));
+        out.setPrecision(to, Math.max(md.getPrecision(from), 0));
+        out.setScale(to, Math.max(md.getScale(from), 0));
+        out.setNullable(to, md.isNullable(from));
+        out.setSigned(to, md.isSigned(from));
+        out.setColumnDisplaySize(to, Math.max(md.getColumnDisplaySize(from), 0));
+    }
+
+    /**
+     * Returns the visible rows of rs as column arrays. An unchanged
+     * ColumnarCachedRowSet already holds them; other row sets are read once.
+     */
+    private static Snapshot snapshot(CachedRowSet rs) throws SQLException {
+        if (rs instanceof ColumnarCachedRowSet) {
+            ColumnarRowStore store = ((ColumnarCachedRowSet) rs).rowStore();
+            if (!store.hasChanges()) {
+                ColumnVector[] columns = new ColumnVector[store.columnCount()];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = store.column(i + 1);
+                }
+                return new Snapshot(columns, store.slots());
+            }
+        }
+        ResultSetMetaData md = rs.getMetaData();
+        int numcols = md.getColumnCount();
+        ColumnVector[] columns = new ColumnVector[numcols];
+        for (int i = 0; i < numcols; i++) {
+            columns[i] = ColumnVector.create(md.getColumnType(i + 1),
+                                             md.getScale(i + 1), rs.size());
+        }
+        int rows = 0;
+        int position = rs.getRow();
+        rs.beforeFirst();
+        while (rs.next()) {
+            for (int i = 0; i < numcols; i++) {
+                columns[i].read(rs, i + 1);
+            }
+            rows++;
+        }
+        if (position > 0) {
+            rs.absolute(position);
+        } else {
+            rs.beforeFirst();
+        }
+        int[] slots = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            slots[i] = i;
+        }
+        return new Snapshot(columns, slots);
+    }
+
+    private static <T> T await(Future<T> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while aggregating", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Aggregation failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import javax.sql.RowSetMetaData;
+import javax.sql.rowset.CachedRowSet;
+
+/**
+ * Applies a delta written by writeChanges of WebRowSetStreamCodec or
+ * BinaryRowSetCodec to another copy of the row set. Rows are found by the
+ * key columns of the delta, or of the target if the delta has none, and
+ * changed with insertRow, updateRow and deleteRow, so the target can pass
+ * the changes on to its own database with acceptChanges.
+ * <p>
+ * An update or delete is skipped if its row is not in the target, or if
+ * the target no longer holds the original values of the changed columns.
+ */
+public class RowSetDeltaApplier implements WebRowSetStreamCodec.RowHandler {
+
+    private final CachedRowSet target;
+    private final Map<List<Object>, Integer> rowsByKey = new HashMap<>();
+    private int[] keyColumns;
+    private int applied;
+    private int skipped;
+
+    public RowSetDeltaApplier(CachedRowSet targetArg) {
+        this.target = targetArg;
+    }
+
+    public void start(RowSetMetaData metaData, Properties properties) throws SQLException {
+        int columns = target.getMetaData().getColumnCount();
+        if (metaData.getColumnCount() != columns) {
+            throw new SQLException("The delta has " + metaData.getColumnCount()
+                                   + " columns, the row set has " + columns);
+        }
+        String keys = properties.getProperty("key-columns");
+        if (keys != null) {
+            String[] parts = keys.split(",");
+            keyColumns = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                keyColumns[i] = Integer.parseInt(parts[i].trim());
+            }
+        } else if (target.getKeyColumns() != null && target.getKeyColumns().length > 0) {
+            keyColumns = target.getKeyColumns();
+        } else {
+            keyColumns = new int[columns];
+            for (int i = 0; i < columns; i++) {
+                keyColumns[i] = i + 1;
+            }
+        }
+
+        // Deleted rows stay visible while applying, so row numbers do not
+        // shift; inserted rows are added after the last row.
+        boolean showDeleted = target.getShowDeleted();
+        target.setShowDeleted(true);
+        try {
+            target.beforeFirst();
+            while (target.next()) {
+                if (!target.rowDeleted()) {
+                    rowsByKey.put(currentKey(), target.getRow());
+                }
+            }
+        } finally {
+            target.setShowDeleted(showDeleted);
+        }
+    }
+
+    public void row(int kind, Object[] values, BitSet updated, Object[] updates)
+            throws SQLException {
+        boolean showDeleted = target.getShowDeleted();
+        target.setShowDeleted(true);
+        try {
+            switch (kind) {
+                case WebRowSetStreamCodec.INSERT_ROW:
+                    insert(values, updated, updates);
+                    break;
+                case WebRowSetStreamCodec.DELETE_ROW:
+                    delete(values);
+                    break;
+                case WebRowSetStreamCodec.CURRENT_ROW:
+                    update(values, updated, updates);
+                    break;
+                default:
+                    // Rows inserted and deleted again never reached the database
+                    break;
+            }
+        } finally {
+            target.setShowDeleted(showDeleted);
+        }
+    }
+
+    private void insert(Object[] values, BitSet updated, Object[] updates)
+            throws SQLException {
+        target.last();
+        target.moveToInsertRow();
+        for (int i = 0; i < values.length; i++) {
+            target.updateObject(i + 1, updated.get(i) ? updates[i] : values[i]);
+        }
+        target.insertRow();
+        target.moveToCurrentRow();
+        target.last();
+        rowsByKey.put(currentKey(), target.getRow());
+        applied++;
+    }
+
+    private void delete(Object[] values) throws SQLException {
+        List<Object> key = key(values);
+        Integer row = rowsByKey.get(key);
+        if (row == null || !target.absolute(row)) {
+            skipped++;
+            return;
+        }
+        target.deleteRow();
+        rowsByKey.remove(key);
+        applied++;
+    }
+
+    private void update(Object[] values, BitSet updated, Object[] updates)
+            throws SQLException {
+        if (updated.isEmpty()) {
+            return;
+        }
+        List<Object> key = key(values);
+        Integer row = rowsByKey.get(key);
+        if (row == null || !target.absolute(row)) {
+            skipped++;
+            return;
+        }
+        for (int i = updated.nextSetBit(0); i >= 0; i = updated.nextSetBit(i + 1)) {
+            if (!Objects.equals(RowSetIndex.normalizeValue(target.getObject(i + 1)),
+                                RowSetIndex.normalizeValue(values[i]))) {
+                skipped++;
+                return;
+            }
+        }
+        for (int i = updated.nextSetBit(0); i >= 0; i = updated.nextSetBit(i + 1)) {
+            target.updateObject(i + 1, updates[i]);
+        }
+        target.updateRow();
+        rowsByKey.remove(key);
+        rowsByKey.put(currentKey(), row);
+        applied++;
+    }
+
+    private List<Object> key(Object[] values) {
+        List<Object> key = new ArrayList<>(keyColumns.length);
+        for (int column : keyColumns) {
+            key.add(RowSetIndex.normalizeValue(values[column - 1]));
+        }
+        return key;
+    }
+
+    private List<Object> currentKey() throws SQLException {
+        List<Object> key = new ArrayList<>(keyColumns.length);
+        for (int column : keyColumns) {
+            key.add(RowSetIndex.normalizeValue(target.getObject(column)));
+        }
+        return key;
+    }
+
+    /** Returns the number of inserts, updates and deletes applied so far */
+    public int getAppliedRows() {
+        return applied;
+    }
+
+    /** Returns the number of updates and deletes that could not be applied */
+    public int getSkippedRows() {
+        return skipped;
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Random;
+import javax.sql.RowSetMetaData;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import javax.sql.rowset.WebRowSet;
+
+/**
+ * Compares the size and speed of the row set interchange formats on a
+ * generated COFFEES price list: the reference WebRowSet XML, the StAX XML
+ * codec, and the binary codec with and without compression. Needs no
+ * database; the optional argument is the number of rows. Before measuring,
+ * the price list is read back with each codec and compared with the
+ * original. TOTAL is a BIGINT here so that a column type with a negative
+ * java.sql.Types code goes through the formats as well.
+ */
+public class RowSetFormatBenchmark {
+
+    private static final String[] COFFEES =
+        {"Colombian", "French_Roast", "Espresso", "Colombian_Decaf", "French_Roast_Decaf"};
+    private static final int[] SUPPLIERS = {101, 49, 150};
+    private static final int ROUNDS = 3;
+
+    private final RowSetFactory factory;
+    private final WebRowSet priceList;
+    private final Path file;
+
+    public RowSetFormatBenchmark(int rowsArg) throws SQLException, IOException {
+        this.factory = RowSetProvider.newFactory();
+        this.priceList = createPriceList(rowsArg);
+        this.file = Files.createTempFile("pricelist", ".dat");
+    }
+
+    private WebRowSet createPriceList(int rows) throws SQLException {
+        RowSetMetaDataImpl md = new RowSetMetaDataImpl();
+        md.setColumnCount(5);
+        String[] names = {"COF_NAME", "SUP_ID", "PRICE", "SALES", "TOTAL"};
+        int[] types = {Types.VARCHAR, Types.INTEGER, Types.NUMERIC, Types.INTEGER, Types.BIGINT};
+        for (int i = 1; i <= names.length; i++) {
+            md.setColumnName(i, names[i - 1]);
+            md.setColumnLabel(i, names[i - 1]);
+            md.setColumnType(i, types[i - 1]);
+            md.setTableName(i, "COFFEES");
+            md.setNullable(i, i == 1
+                ? ResultSetMetaData.columnNoNulls : ResultSetMetaData.columnNullable);
+        }
+        md.setPrecision(3, 10);
+        md.setScale(3, 2);
+
+        // Rows built on the insert row are pending inserts; copying them
+        // into a second row set makes them the original rows.
+        Random random = new Random(42);
+        try (CachedRowSet generated = factory.createCachedRowSet()) {
+            generated.setMetaData(md);
+            for (int i = 0; i < rows; i++) {
+                generated.moveToInsertRow();
+                generated.updateString(1, COFFEES[i % COFFEES.length] + "_" + i);
+                generated.updateInt(2, SUPPLIERS[random.nextInt(SUPPLIERS.length)]);
+                generated.updateBigDecimal(3, BigDecimal.valueOf(599 + random.nextInt(700), 2));
+                generated.updateInt(4, random.nextInt(1000));
+                generated.updateLong(5, random.nextInt(100000) * 100000L);
+                generated.insertRow();
+                generated.moveToCurrentRow();
+            }
+            generated.beforeFirst();
+            WebRowSet crs = factory.createWebRowSet();
+            crs.populate(generated);
+            crs.setTableName("COFFEES");
+            crs.setKeyColumns(new int[] {1});
+
+            // The same changes WebRowSetSample makes
+            crs.moveToInsertRow();
+            crs.updateString(1, "Kona");
+            crs.updateInt(2, 150);
+            crs.updateBigDecimal(3, new BigDecimal("8.99"));
+            crs.updateInt(4, 0);
+            crs.updateLong(5, 0);
+            crs.insertRow();
+            crs.moveToCurrentRow();
+            crs.absolute(3);
+            crs.deleteRow();
+            crs.absolute(1);
+            crs.updateBigDecimal(3, new BigDecimal("6.99"));
+            crs.updateRow();
+            crs.beforeFirst();
+            return crs;
+        }
+    }
+
+    private interface Format {
+        void write() throws SQLException, IOException;
+        long read() throws SQLException, IOException;
+    }
+
+    private void measure(String name, Format format) throws SQLException, IOException {
+        format.write();
+        format.read();
+        long writeNanos = 0;
+        long readNanos = 0;
+        long rows = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            format.write();
+            writeNanos += System.nanoTime() - start;
+            start = System.nanoTime();
+            rows = format.read();
+            readNanos += System.nanoTime() - start;
+        }
+        long size = Files.size(file);
+        System.out.printf("%-24s %,12d bytes %8.1f bytes/row  write %,10.0f rows/s  read %,10.0f rows/s%n",
+                          name, size, (double) size / rows,
+                          rows * ROUNDS / (writeNanos / 1e9), rows * ROUNDS / (readNanos / 1e9));
+    }
+
+    private void verify(String name, CodecFormat format) throws SQLException, IOException {
+        format.write();
+        try (CachedRowSet copy = factory.createCachedRowSet()) {
+            format.copy(copy);
+            String difference = difference(priceList, copy);
+            System.out.println(name + " round trip: "
+                               + (difference == null ? "identical" : difference));
+        }
+    }
+
+    /** Describes the first difference in types, row states or values, or returns null */
+    private static String difference(CachedRowSet expected, CachedRowSet actual)
+            throws SQLException {
+        if (expected.size() != actual.size()) {
+            return expected.size() + " rows, read " + actual.size();
+        }
+        int columns = expected.getMetaData().getColumnCount();
+        for (int i = 1; i <= columns; i++) {
+            if (expected.getMetaData().getColumnType(i) != actual.getMetaData().getColumnType(i)) {
+                return "type of column " + i + " is " + actual.getMetaData().getColumnType(i);
+            }
+        }
+        expected.setShowDeleted(true);
+        actual.setShowDeleted(true);
+        try {
+            expected.beforeFirst();
+            actual.beforeFirst();
+            while (expected.next() && actual.next()) {
+                int row = expected.getRow();
+                if (expected.rowInserted() != actual.rowInserted()
+                    || expected.rowDeleted() != actual.rowDeleted()
+                    || expected.rowUpdated() != actual.rowUpdated()) {
+                    return "state of row " + row + " differs";
+                }
+                for (int i = 1; i <= columns; i++) {
+                    if (!Objects.equals(expected.getObject(i), actual.getObject(i))) {
+                        return "row " + row + ", column " + i + " is " + actual.getObject(i)
+                            + " instead of " + expected.getObject(i);
+                    }
+                }
+            }
+            return null;
+        } finally {
+            expected.setShowDeleted(false);
+            expected.beforeFirst();
+        }
+    }
+
+    public void run() throws SQLException, IOException {
+        System.out.println("Price list of " + priceList.size() + " rows");
+        verify("StAX XML", new CodecFormat(new WebRowSetStreamCodec(), null));
+        verify("binary", new CodecFormat(null, new BinaryRowSetCodec(true)));
+        measure("WebRowSet.writeXml", new Format() {
+            public void write() throws SQLException, IOException {
+                try (BufferedWriter writer =
+                         Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    priceList.writeXml(writer);
+                }
+            }
+
+            public long read() throws SQLException, IOException {
+                try (WebRowSet wrs = factory.createWebRowSet();
+                         BufferedReader reader =
+                             Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    wrs.readXml(reader);
+                    return wrs.size();
+                }
+            }
+        });
+        measure("StAX XML", new CodecFormat(new WebRowSetStreamCodec(), null));
+        measure("binary", new CodecFormat(null, new BinaryRowSetCodec(false)));
+        measure("binary, deflated", new CodecFormat(null, new BinaryRowSetCodec(true)));
+        Files.deleteIfExists(file);
+    }
+
+    /** Writes the price list with a codec and reads it back into a counting handler */
+    private class CodecFormat implements Format {
+
+        private final WebRowSetStreamCodec xml;
+        private final BinaryRowSetCodec binary;
+        private final WebRowSetStreamCodec.RowHandler counter =
+            new WebRowSetStreamCodec.RowHandler() {
+                public void start(RowSetMetaData metaData, Properties properties) {
+                }
+
+                public void row(int kind, Object[] values, BitSet updated, Object[] updates) {
+                }
+            };
+
+        CodecFormat(WebRowSetStreamCodec xmlArg, BinaryRowSetCodec binaryArg) {
+            this.xml = xmlArg;
+            this.binary = binaryArg;
+        }
+
+        public void write() throws SQLException, IOException {
+            if (xml != null) {
+                xml.write(priceList, file);
+            } else {
+                binary.write(priceList, file);
+            }
+        }
+
+        public long read() throws SQLException, IOException {
+            return xml != null ? xml.read(file, counter) : binary.read(file, counter);
+        }
+
+        void copy(CachedRowSet target) throws SQLException, IOException {
+            if (xml != null) {
+                xml.read(file, target);
+            } else {
+                binary.read(file, target);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        try {
+            new RowSetFormatBenchmark(rows).run();
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        } catch (IOException e) {
+            System.out.println("Unexpected exception");
+            e.printStackTrace();
+        }
+    }
+}
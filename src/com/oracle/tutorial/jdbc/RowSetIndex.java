@@ -0,0 +1,462 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import javax.sql.RowSet;
+import javax.sql.RowSetEvent;
+import javax.sql.RowSetListener;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.FilteredRowSet;
+import javax.sql.rowset.Predicate;
+
+/**
+ * In-memory secondary index over one column of a cached row set. Equality
+ * lookups, and range lookups for sorted indexes, return the matching row
+ * numbers without evaluating every cached row.
+ * <p>
+ * The index registers itself as a listener of the row set. An
+ * {@code updateRow} is applied to the index in place; {@code insertRow} and
+ * {@code deleteRow} shift the row numbers of the rows that follow, so they
+ * mark the index stale and it is rebuilt by the next lookup. The index
+ * covers every row: a filter set on a FilteredRowSet being indexed is
+ * removed while the index is built, and the row numbers are those seen by
+ * {@code getRow()} without it.
+ * <p>
+ * equalsFilter and rangeFilter return predicates for
+ * {@code FilteredRowSet.setFilter} that answer from the index: the rows
+ * that match are looked up once, and each row the filtered row set visits
+ * is then accepted or rejected by its row number alone. If the row set has
+ * changed since, the index is rebuilt when the filtered row set visits its
+ * first row again.
+ */
+public class RowSetIndex implements RowSetListener {
+
+    private final CachedRowSet rowSet;
+    private final int columnIndex;
+    private final String columnName;
+    private final boolean sorted;
+    private final boolean ignoreCase;
+
+    private Map<Object, IntList> entries;
+    private IntList nullRows;
+    private ArrayList<Object> keyByRow;
+    private int indexedSize;
+    private boolean stale = true;
+    // Changes whenever the row numbers of some key change.
+    private int version;
+
+    public RowSetIndex(CachedRowSet rowSetArg, String columnNameArg,
+                       boolean sortedArg, boolean ignoreCaseArg) throws SQLException {
+        this(rowSetArg, -1, columnNameArg, sortedArg, ignoreCaseArg);
+    }
+
+    public RowSetIndex(CachedRowSet rowSetArg, int columnIndexArg,
+                       boolean sortedArg, boolean ignoreCaseArg) throws SQLException {
+        this(rowSetArg, columnIndexArg, null, sortedArg, ignoreCaseArg);
+    }
+
+    private RowSetIndex(CachedRowSet rowSetArg, int columnIndexArg, String columnNameArg,
+                        boolean sortedArg, boolean ignoreCaseArg) throws SQLException {
+        this.rowSet = rowSetArg;
+        this.columnIndex = columnIndexArg > 0
+                ? columnIndexArg : rowSetArg.findColumn(columnNameArg);
+        this.columnName = columnNameArg;
+        this.sorted = sortedArg;
+        this.ignoreCase = ignoreCaseArg;
+        this.rowSet.addRowSetListener(this);
+        rebuild();
+    }
+
+    /** Creates a hash index supporting equality lookups */
+    public static RowSetIndex hashIndex(CachedRowSet crs, String columnName)
+            throws SQLException {
+        return new RowSetIndex(crs, columnName, false, false);
+    }
+
+    /** Creates a sorted index supporting equality and range lookups */
+    public static RowSetIndex sortedIndex(CachedRowSet crs, String columnName)
+            throws SQLException {
+        return new RowSetIndex(crs, columnName, true, false);
+    }
+
+    /** Stops maintaining this index */
+    public void close() {
+        this.rowSet.removeRowSetListener(this);
+        this.entries = null;
+        this.keyByRow = null;
+    }
+
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    /** Returns the rows whose value equals key, in ascending order */
+    public int[] lookup(Object key) throws SQLException {
+        ensureCurrent();
+        if (key == null) {
+            return nullRows.toArray();
+        }
+        IntList rows = entries.get(normalize(key));
+        return rows == null ? new int[0] : rows.toArray();
+    }
+
+    /** Returns the rows whose value equals any of keys, in ascending order */
+    public int[] lookupAny(Object... keys) throws SQLException {
+        ensureCurrent();
+        IntList result = new IntList();
+        for (Object key : keys) {
+            IntList rows = key == null ? nullRows : entries.get(normalize(key));
+            if (rows != null) {
+                for (int i = 0; i < rows.size(); i++) {
+                    result.addSorted(rows.get(i));
+                }
+            }
+        }
+        return result.toArray();
+    }
+
+    /**
+     * Returns the rows whose value lies between lo and hi, both inclusive, in
+     * ascending row order. Either bound may be null for an open range. Only
+     * sorted indexes support range lookups.
+     */
+    public int[] range(Object lo, Object hi) throws SQLException {
+        if (!sorted) {
+            throw new SQLException("Range lookups need a sorted index on column "
+                    + columnIndex);
+        }
+        ensureCurrent();
+        NavigableMap<Object, IntList> map = (NavigableMap<Object, IntList>) entries;
+        if (lo != null && hi != null) {
+            if (KEY_ORDER.compare(normalize(lo), normalize(hi)) > 0) {
+                return new int[0];
+            }
+            map = map.subMap(normalize(lo), true, normalize(hi), true);
+        } else if (lo != null) {
+            map = map.tailMap(normalize(lo), true);
+        } else if (hi != null) {
+            map = map.headMap(normalize(hi), true);
+        }
+        IntList result = new IntList();
+        for (IntList rows : map.values()) {
+            for (int i = 0; i < rows.size(); i++) {
+                result.add(rows.get(i));
+            }
+        }
+        int[] rowNumbers = result.toArray();
+        Arrays.sort(rowNumbers);
+        return rowNumbers;
+    }
+
+    /** Returns a filter accepting the rows whose value equals any of keys */
+    public Predicate equalsFilter(Object... keys) throws SQLException {
+        final HashSet<Object> keySet = new HashSet<>();
+        for (Object key : keys) {
+            keySet.add(normalize(key));
+        }
+        final Object[] lookupKeys = keys.clone();
+        return new IndexFilter() {
+            int[] lookupRows() throws SQLException {
+                return lookupAny(lookupKeys);
+            }
+
+            boolean matches(Object key) {
+                return keySet.contains(key);
+            }
+        };
+    }
+
+    /**
+     * Returns a filter accepting the rows whose value lies between lo and
+     * hi, both inclusive; either bound may be null for an open range.
+     */
+    public Predicate rangeFilter(final Object lo, final Object hi) throws SQLException {
+        if (!sorted) {
+            throw new SQLException("Range filters need a sorted index on column "
+                    + columnIndex);
+        }
+        final Object normalizedLo = lo == null ? null : normalize(lo);
+        final Object normalizedHi = hi == null ? null : normalize(hi);
+        return new IndexFilter() {
+            int[] lookupRows() throws SQLException {
+                return range(lo, hi);
+            }
+
+            boolean matches(Object key) {
+                return key != null
+                        && (normalizedLo == null || KEY_ORDER.compare(key, normalizedLo) >= 0)
+                        && (normalizedHi == null || KEY_ORDER.compare(key, normalizedHi) <= 0);
+            }
+        };
+    }
+
+    /**
+     * Predicate answered from the rows an index lookup returned. Values
+     * that are not in the row set yet, such as those of an update or of
+     * the insert row, are compared with the lookup keys instead, as are
+     * the rows of a pass that was already under way when the index became
+     * stale; the index is rebuilt when a pass starts, at the first row.
+     */
+    private abstract class IndexFilter implements Predicate {
+
+        private final String filterColumnName;
+        private BitSet hits;
+        private int hitsVersion;
+
+        IndexFilter() throws SQLException {
+            this.filterColumnName = columnName != null
+                    ? columnName : rowSet.getMetaData().getColumnName(columnIndex);
+        }
+
+        abstract int[] lookupRows() throws SQLException;
+
+        abstract boolean matches(Object normalizedKey);
+
+        public boolean evaluate(RowSet rs) {
+            try {
+                int row = rs.getRow();
+                if (row == 1 && stale && entries != null) {
+                    rebuild(); // Restores the cursor to this row
+                }
+                if (row <= 0 || stale || entries == null) {
+                    return matches(normalize(rs.getObject(columnIndex)));
+                }
+                if (hits == null || hitsVersion != version) {
+                    BitSet newHits = new BitSet();
+                    for (int hit : lookupRows()) {
+                        newHits.set(hit);
+                    }
+                    hits = newHits;
+                    hitsVersion = version;
+                }
+                return hits.get(row);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        // Other columns do not decide whether a row matches.
+
+        public boolean evaluate(Object value, int column) {
+            return column != columnIndex || matches(normalize(value));
+        }
+
+        public boolean evaluate(Object value, String column) {
+            return !column.equalsIgnoreCase(filterColumnName) || matches(normalize(value));
+        }
+    }
+
+    /** Number of distinct non-null values in the indexed column */
+    public int distinctValues() throws SQLException {
+        ensureCurrent();
+        return entries.size();
+    }
+
+    /**
+     * Moves the cursor of crs to the given row. Unlike absolute(), which a
+     * FilteredRowSet implements by walking from the first row, this moves
+     * relative to the current row, so visiting the rows returned by a lookup
+     * in order walks the row set only once.
+     */
+    public static boolean moveTo(CachedRowSet crs, int row) throws SQLException {
+        int current = crs.getRow();
+        if (current <= 0) {
+            return crs.absolute(row);
+        }
+        return row == current || crs.relative(row - current);
+    }
+
+    private void ensureCurrent() throws SQLException {
+        if (entries == null) {
+            throw new SQLException("Index on column " + columnIndex + " is closed");
+        }
+        if (stale) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() throws SQLException {
+        this.entries = sorted
+                ? new TreeMap<Object, IntList>(KEY_ORDER)
+                : new HashMap<Object, IntList>();
+        this.nullRows = new IntList();
+        this.keyByRow = new ArrayList<>();
+
+        // A filter would hide rows from the index, and might be one of its
+        // own filters asking for the index being built.
+        FilteredRowSet filtered = rowSet instanceof FilteredRowSet
+                ? (FilteredRowSet) rowSet : null;
+        Predicate filter = filtered != null ? filtered.getFilter() : null;
+        if (filter != null) {
+            filtered.setFilter(null);
+        }
+        try {
+            int savedRow = rowSet.getRow();
+            rowSet.beforeFirst();
+            while (rowSet.next()) {
+                add(rowSet.getRow(), normalize(rowSet.getObject(columnIndex)));
+            }
+            if (savedRow > 0) {
+                rowSet.absolute(savedRow);
+            } else {
+                rowSet.beforeFirst();
+            }
+        } finally {
+            if (filter != null) {
+                filtered.setFilter(filter);
+            }
+        }
+        this.indexedSize = rowSet.size();
+        this.stale = false;
+        this.version++;
+    }
+
+    private void add(int row, Object key) {
+        while (keyByRow.size() < row) {
+            keyByRow.add(null);
+        }
+        keyByRow.set(row - 1, key);
+        IntList rows = key == null ? nullRows : entries.get(key);
+        if (rows == null) {
+            rows = new IntList(2);
+            entries.put(key, rows);
+        }
+        rows.addSorted(row);
+    }
+
+    private void remove(int row, Object key) {
+        IntList rows = key == null ? nullRows : entries.get(key);
+        if (rows != null) {
+            rows.removeValue(row);
+            if (rows.isEmpty() && key != null) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    private Object normalize(Object value) {
+        if (value instanceof String && ignoreCase) {
+            return ((String) value).toUpperCase(Locale.ROOT);
+        }
+        return normalizeValue(value);
+    }
+
+    /** Maps values that compare equal across Java types to one hash key */
+    static Object normalizeValue(Object value) {
+        if (value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        } else if (value instanceof BigDecimal) {
+            BigDecimal d = ((BigDecimal) value).stripTrailingZeros();
+            if (d.scale() <= 0 && d.precision() - d.scale() < 19) {
+                return d.longValue();
+            }
+            return d;
+        } else if (value instanceof BigInteger) {
+            return normalizeValue(new BigDecimal((BigInteger) value));
+        } else if (value instanceof Double || value instanceof Float) {
+            return normalizeValue(BigDecimal.valueOf(((Number) value).doubleValue()));
+        }
+        return value;
+    }
+
+    // Normalized numbers are either Long or BigDecimal; compare mixed pairs
+    // as BigDecimal and everything else by its natural order.
+    @SuppressWarnings("unchecked")
+    private static final Comparator<Object> KEY_ORDER = new Comparator<Object>() {
+        public int compare(Object a, Object b) {
+            if (a instanceof Long && b instanceof Long) {
+                return Long.compare((Long) a, (Long) b);
+            }
+            if (a instanceof Number && b instanceof Number) {
+                return toBigDecimal(a).compareTo(toBigDecimal(b));
+            }
+            return ((Comparable<Object>) a).compareTo(b);
+        }
+
+        private BigDecimal toBigDecimal(Object n) {
+            return n instanceof BigDecimal ? (BigDecimal) n : BigDecimal.valueOf((Long) n);
+        }
+    };
+
+    public void rowSetChanged(RowSetEvent event) {
+        stale = true;
+    }
+
+    public void rowChanged(RowSetEvent event) {
+        if (stale || entries == null) {
+            return;
+        }
+        try {
+            int row = rowSet.getRow();
+            if (row <= 0 || row > keyByRow.size()
+                    || rowSet.size() != indexedSize || rowSet.rowDeleted()) {
+                // Inserts and deletes renumber the following rows.
+                stale = true;
+                return;
+            }
+            Object oldKey = keyByRow.get(row - 1);
+            Object newKey = normalize(rowSet.getObject(columnIndex));
+            if (oldKey == null ? newKey != null : !oldKey.equals(newKey)) {
+                remove(row, oldKey);
+                add(row, newKey);
+                version++;
+            }
+        } catch (SQLException e) {
+            stale = true;
+        }
+    }
+
+    public void cursorMoved(RowSetEvent event) {
+    }
+
+    @Override
+    public String toString() {
+        return (sorted ? "Sorted" : "Hash") + " index on "
+                + (columnName != null ? columnName : "column " + columnIndex)
+                + (stale ? " (stale)" : " (" + indexedSize + " rows)");
+    }
+}
@@ -0,0 +1,607 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.BitSet;
+import java.util.Properties;
+import javax.sql.RowSetMetaData;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+
+/**
+ * Row set snapshot file that is written through a FileChannel and read
+ * through memory-mapped regions of it. Every row is a fixed-size record of one flag
+ * byte and one 8-byte slot per column, so opening a snapshot only reads
+ * its header and metadata, and any value can be read in place without
+ * parsing the rows before it. Strings and binary values live in a heap
+ * section that the slots point into, and are decoded only when read.
+ * <p>
+ * Numbers, dates and booleans are stored in the slot itself. Decimals are
+ * stored as unscaled values at the column scale, and timestamps as epoch
+ * nanoseconds; values that do not fit are kept as text in the heap.
+ */
+public class RowSetSnapshot implements AutoCloseable {
+
+    private static final int MAGIC = 0x4A525353;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int MAX_HEAP_VALUE = 16 * 1024 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 1024 * 1024;
+    private static final long HEAP_REGION_SIZE = 1L << 30;
+
+    private static final byte VALUE = 0;
+    private static final byte NULL = 1;
+    private static final byte TEXT = 2;
+
+    private static final int LONG = 0;
+    private static final int DOUBLE = 1;
+    private static final int DECIMAL = 2;
+    private static final int BOOLEAN = 3;
+    private static final int DATE = 4;
+    private static final int TIME = 5;
+    private static final int TIMESTAMP = 6;
+    private static final int BYTES = 7;
+    private static final int STRING = 8;
+
+    private final FileChannel channel;
+    private final RowSetMetaDataImpl metaData;
+    private final Properties properties;
+    private final int[] encodings;
+    private final int[] scales;
+    private final int columnCount;
+    private final int recordSize;
+    private final long rowCount;
+    private final long recordsOffset;
+    private final long heapOffset;
+    private final long heapLength;
+    private final MappedByteBuffer[] recordRegions;
+    private final long recordsPerRegion;
+    private final MappedByteBuffer[] heapRegions;
+
+    private RowSetSnapshot(FileChannel channelArg) throws IOException, SQLException {
+        this.channel = channelArg;
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a row set snapshot");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported row set snapshot version " + header.getInt(4));
+        }
+        this.columnCount = header.getInt(8);
+        this.recordSize = header.getInt(12);
+        this.rowCount = header.getLong(16);
+        this.recordsOffset = header.getLong(24);
+        this.heapOffset = header.getLong(32);
+        this.heapLength = header.getLong(40);
+        long metaDataOffset = header.getLong(48);
+        int metaDataLength = header.getInt(56);
+
+        byte[] metaDataBytes = new byte[metaDataLength];
+        channel.map(FileChannel.MapMode.READ_ONLY, metaDataOffset, metaDataLength)
+            .get(metaDataBytes);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(metaDataBytes));
+        this.properties = new Properties();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            properties.setProperty(in.readUTF(), in.readUTF());
+        }
+        this.metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(columnCount);
+        this.encodings = new int[columnCount];
+        this.scales = new int[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            metaData.setColumnType(i, in.readInt());
+            metaData.setColumnName(i, readNullableUTF(in));
+            metaData.setColumnLabel(i, readNullableUTF(in));
+            metaData.setColumnTypeName(i, readNullableUTF(in));
+            metaData.setTableName(i, readNullableUTF(in));
+            metaData.setPrecision(i, in.readInt());
+            metaData.setScale(i, in.readInt());
+            metaData.setNullable(i, in.readInt());
+            metaData.setColumnDisplaySize(i, in.readInt());
+            encodings[i - 1] = encoding(metaData.getColumnType(i));
+            scales[i - 1] = Math.max(metaData.getScale(i), 0);
+        }
+
+        // Record regions hold whole records, heap regions overlap by the
+        // largest value so that no value crosses a region boundary.
+        this.recordsPerRegion = Integer.MAX_VALUE / recordSize;
+        this.recordRegions = new MappedByteBuffer[(int) ((rowCount + recordsPerRegion - 1)
+                                                         / recordsPerRegion)];
+        for (int i = 0; i < recordRegions.length; i++) {
+            long first = i * recordsPerRegion;
+            long records = Math.min(recordsPerRegion, rowCount - first);
+            recordRegions[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                                           recordsOffset + first * recordSize,
+                                           records * recordSize);
+        }
+        this.heapRegions = new MappedByteBuffer[(int) ((heapLength + HEAP_REGION_SIZE - 1)
+                                                       / HEAP_REGION_SIZE)];
+        for (int i = 0; i < heapRegions.length; i++) {
+            long start = i * HEAP_REGION_SIZE;
+            long length = Math.min(HEAP_REGION_SIZE + MAX_HEAP_VALUE + 4, heapLength - start);
+            heapRegions[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                                         heapOffset + start, length);
+        }
+    }
+
+    /** Maps the snapshot in file; the rows are not read until they are accessed */
+    public static RowSetSnapshot open(Path file) throws IOException, SQLException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new RowSetSnapshot(channel);
+        } catch (IOException | SQLException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public void close() throws IOException {
+        // The mappings are released when they are garbage collected
+        channel.close();
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public RowSetMetaData getMetaData() {
+        return metaData;
+    }
+
+    /** Returns the command, table-name and key-columns of the source row set */
+    public Properties getProperties() {
+        return properties;
+    }
+
+    // Reading values; rows are numbered from 1, like ResultSet rows.
+
+    public boolean isNull(long row, int column) throws SQLException {
+        return flag(row, column) == NULL;
+    }
+
+    public long getLong(long row, int column) throws SQLException {
+        Object value = getObject(row, column);
+        return value == null ? 0 : ColumnValues.toLong(value);
+    }
+
+    public double getDouble(long row, int column) throws SQLException {
+        if (encodings[column - 1] == DOUBLE) {
+            return flag(row, column) == NULL ? 0 : Double.longBitsToDouble(slot(row, column));
+        }
+        Object value = getObject(row, column);
+        return value == null ? 0 : ColumnValues.toDouble(value);
+    }
+
+    public BigDecimal getBigDecimal(long row, int column) throws SQLException {
+        Object value = getObject(row, column);
+        return value == null ? null : ColumnValues.toBigDecimal(value);
+    }
+
+    public String getString(long row, int column) throws SQLException {
+        Object value = getObject(row, column);
+        return value == null ? null : ColumnValues.toStringValue(value);
+    }
+
+    public Object getObject(long row, int column) throws SQLException {
+        int flag = flag(row, column);
+        if (flag == NULL) {
+            return null;
+        }
+        long slot = slot(row, column);
+        int type = metaData.getColumnType(column);
+        if (flag == TEXT) {
+            String text = new String(heapValue(slot), StandardCharsets.UTF_8);
+            return encodings[column - 1] == TIMESTAMP
+                ? Timestamp.valueOf(text) : new BigDecimal(text);
+        }
+        switch (encodings[column - 1]) {
+            case LONG:
+                return type == Types.BIGINT ? (Object) slot : (Object) (int) slot;
+            case DOUBLE:
+                double d = Double.longBitsToDouble(slot);
+                return type == Types.REAL ? (Object) (float) d : (Object) d;
+            case DECIMAL:
+                return BigDecimal.valueOf(slot, scales[column - 1]);
+            case BOOLEAN:
+                return slot != 0;
+            case DATE:
+                return new java.sql.Date(slot);
+            case TIME:
+                return new java.sql.Time(slot);
+            case TIMESTAMP:
+                Timestamp ts = new Timestamp(Math.floorDiv(slot, 1000000000L) * 1000);
+                ts.setNanos((int) Math.floorMod(slot, 1000000000L));
+                return ts;
+            case BYTES:
+                return heapValue(slot);
+            default:
+                return new String(heapValue(slot), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Copies count rows starting at firstRow into target, an empty row set,
+     * as unchanged rows.
+     */
+    public void copyTo(CachedRowSet target, long firstRow, int count) throws SQLException {
+        if (firstRow < 1) {
+            throw new SQLException("First row must be 1 or greater: " + firstRow);
+        }
+        WebRowSetStreamCodec.RowSetLoader loader =
+            new WebRowSetStreamCodec.RowSetLoader(target);
+        loader.start(metaData, properties);
+        Object[] values = new Object[columnCount];
+        BitSet noUpdates = new BitSet();
+        long last = Math.min(rowCount, firstRow + count - 1);
+        for (long row = firstRow; row <= last; row++) {
+            for (int i = 1; i <= columnCount; i++) {
+                values[i - 1] = getObject(row, i);
+            }
+            loader.row(WebRowSetStreamCodec.CURRENT_ROW, values, noUpdates, null);
+        }
+        target.beforeFirst();
+    }
+
+    private int flag(long row, int column) throws SQLException {
+        if (row < 1 || row > rowCount) {
+            throw new SQLException("Row " + row + " is not in the snapshot of " + rowCount + " rows");
+        }
+        if (column < 1 || column > columnCount) {
+            throw new SQLException("Column index out of range: " + column);
+        }
+        long index = row - 1;
+        ByteBuffer region = recordRegions[(int) (index / recordsPerRegion)];
+        return region.get((int) (index % recordsPerRegion) * recordSize + column - 1);
+    }
+
+    private long slot(long row, int column) {
+        long index = row - 1;
+        ByteBuffer region = recordRegions[(int) (index / recordsPerRegion)];
+        return region.getLong((int) (index % recordsPerRegion) * recordSize
+                              + flagBytes(columnCount) + (column - 1) * 8);
+    }
+
+    private byte[] heapValue(long offset) {
+        // A duplicate has its own position, so readers do not interfere
+        ByteBuffer region = heapRegions[(int) (offset / HEAP_REGION_SIZE)].duplicate();
+        region.position((int) (offset % HEAP_REGION_SIZE));
+        byte[] bytes = new byte[region.getInt()];
+        region.get(bytes);
+        return bytes;
+    }
+
+    // Writing
+
+    /**
+     * Writes the rows of rs from its current position to file, replacing it,
+     * and returns the number of rows. A CachedRowSet is written from its
+     * first row, as it would read after acceptChanges.
+     */
+    public static long write(ResultSet rs, Path file) throws SQLException, IOException {
+        ResultSetMetaData md = rs.getMetaData();
+        int columns = md.getColumnCount();
+        int[] encodings = new int[columns];
+        int[] scales = new int[columns];
+        for (int i = 0; i < columns; i++) {
+            encodings[i] = encoding(md.getColumnType(i + 1));
+            scales[i] = Math.max(md.getScale(i + 1), 0);
+        }
+        int recordSize = flagBytes(columns) + columns * 8;
+        int recordsPerBuffer = Math.max(1, WRITE_BUFFER_SIZE / recordSize);
+        CachedRowSet crs = rs instanceof CachedRowSet ? (CachedRowSet) rs : null;
+
+        Path directory = file.toAbsolutePath().getParent();
+        Path heapFile = Files.createTempFile(directory, "snapshot", ".heap");
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING);
+                 FileChannel heapChannel = FileChannel.open(heapFile,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            OutputStream heapStream = new BufferedOutputStream(
+                Channels.newOutputStream(heapChannel), 64 * 1024);
+            long[] heapSize = {0};
+
+            // Records are collected in a buffer and written when it is full.
+            // Mapping the file for writing would have to map past the last
+            // row, and a file cannot be truncated while such a mapping is
+            // live on every platform.
+            ByteBuffer records = ByteBuffer.allocateDirect(recordsPerBuffer * recordSize);
+            long rows = 0;
+            if (crs != null) {
+                crs.beforeFirst();
+            }
+            while (rs.next()) {
+                int base = (int) (rows % recordsPerBuffer) * recordSize;
+                for (int i = 0; i < columns; i++) {
+                    writeValue(rs, i + 1, encodings[i], scales[i], records,
+                               base + i, base + flagBytes(columns) + i * 8,
+                               heapStream, heapSize);
+                }
+                rows++;
+                if (rows % recordsPerBuffer == 0) {
+                    writeRecords(out, records, recordsPerBuffer * recordSize,
+                                 HEADER_SIZE + (rows - recordsPerBuffer) * recordSize);
+                }
+            }
+            if (crs != null) {
+                crs.beforeFirst();
+            }
+            int buffered = (int) (rows % recordsPerBuffer);
+            writeRecords(out, records, buffered * recordSize,
+                         HEADER_SIZE + (rows - buffered) * recordSize);
+            heapStream.flush();
+
+            // Append the heap and the metadata after the records.
+            long heapOffset = HEADER_SIZE + rows * recordSize;
+            long transferred = 0;
+            while (transferred < heapSize[0]) {
+                transferred += heapChannel.transferTo(transferred, heapSize[0] - transferred,
+                                                      out.position(heapOffset + transferred));
+            }
+            byte[] metaDataBytes = metaData(crs, md);
+            long metaDataOffset = heapOffset + heapSize[0];
+            writeFully(out, ByteBuffer.wrap(metaDataBytes), metaDataOffset);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(columns).putInt(recordSize)
+                .putLong(rows).putLong(HEADER_SIZE).putLong(heapOffset).putLong(heapSize[0])
+                .putLong(metaDataOffset).putInt(metaDataBytes.length);
+            header.clear();
+            writeFully(out, header, 0);
+            out.force(true);
+            return rows;
+        } finally {
+            Files.deleteIfExists(heapFile);
+        }
+    }
+
+    private static void writeValue(ResultSet rs, int column, int encoding, int scale,
+                                   ByteBuffer region, int flagPosition, int slotPosition,
+                                   OutputStream heap, long[] heapSize)
+            throws SQLException, IOException {
+        long slot = 0;
+        byte flag = VALUE;
+        switch (encoding) {
+            case LONG:
+                slot = rs.getLong(column);
+                flag = rs.wasNull() ? NULL : VALUE;
+                break;
+            case DOUBLE:
+                slot = Double.doubleToLongBits(rs.getDouble(column));
+                flag = rs.wasNull() ? NULL : VALUE;
+                break;
+            case BOOLEAN:
+                slot = rs.getBoolean(column) ? 1 : 0;
+                flag = rs.wasNull() ? NULL : VALUE;
+                break;
+            case DECIMAL:
+                BigDecimal decimal = rs.getBigDecimal(column);
+                if (decimal == null) {
+                    flag = NULL;
+                } else if (decimal.scale() <= scale
+                           && decimal.setScale(scale).unscaledValue().bitLength() < 64) {
+                    slot = decimal.setScale(scale).unscaledValue().longValue();
+                } else {
+                    flag = TEXT;
+                    slot = appendHeap(heap, heapSize,
+                                      decimal.toString().getBytes(StandardCharsets.UTF_8));
+                }
+                break;
+            case DATE:
+            case TIME:
+                java.util.Date date = encoding == DATE ? rs.getDate(column) : rs.getTime(column);
+                if (date == null) {
+                    flag = NULL;
+                } else {
+                    slot = date.getTime();
+                }
+                break;
+            case TIMESTAMP:
+                Timestamp ts = rs.getTimestamp(column);
+                if (ts == null) {
+                    flag = NULL;
+                } else {
+                    BigInteger nanos = BigInteger.valueOf(Math.floorDiv(ts.getTime(), 1000))
+                        .multiply(BigInteger.valueOf(1000000000L))
+                        .add(BigInteger.valueOf(ts.getNanos()));
+                    if (nanos.bitLength() < 64) {
+                        slot = nanos.longValue();
+                    } else {
+                        flag = TEXT;
+                        slot = appendHeap(heap, heapSize,
+                                          ts.toString().getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+                break;
+            case BYTES:
+                byte[] bytes = rs.getBytes(column);
+                if (bytes == null) {
+                    flag = NULL;
+                } else {
+                    slot = appendHeap(heap, heapSize, bytes);
+                }
+                break;
+            default:
+                String text = rs.getString(column);
+                if (text == null) {
+                    flag = NULL;
+                } else {
+                    slot = appendHeap(heap, heapSize, text.getBytes(StandardCharsets.UTF_8));
+                }
+        }
+        region.put(flagPosition, flag);
+        region.putLong(slotPosition, flag == NULL ? 0 : slot);
+    }
+
+    private static long appendHeap(OutputStream heap, long[] heapSize, byte[] value)
+            throws SQLException, IOException {
+        if (value.length > MAX_HEAP_VALUE) {
+            throw new SQLException("Value of " + value.length + " bytes is too large for a snapshot");
+        }
+        long offset = heapSize[0];
+        heap.write(value.length >>> 24);
+        heap.write(value.length >>> 16);
+        heap.write(value.length >>> 8);
+        heap.write(value.length);
+        heap.write(value);
+        heapSize[0] += 4 + value.length;
+        return offset;
+    }
+
+    private static byte[] metaData(CachedRowSet crs, ResultSetMetaData md)
+            throws SQLException, IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        Properties properties = new Properties();
+        if (crs != null) {
+            if (crs.getCommand() != null) {
+                properties.setProperty("command", crs.getCommand());
+            }
+            if (crs.getTableName() != null) {
+                properties.setProperty("table-name", crs.getTableName());
+            }
+            int[] keys = crs.getKeyColumns();
+            if (keys != null && keys.length > 0) {
+                StringBuilder joined = new StringBuilder();
+                for (int key : keys) {
+                    joined.append(joined.length() == 0 ? "" : ",").append(key);
+                }
+                properties.setProperty("key-columns", joined.toString());
+            }
+        }
+        out.writeInt(properties.size());
+        for (String name : properties.stringPropertyNames()) {
+            out.writeUTF(name);
+            out.writeUTF(properties.getProperty(name));
+        }
+        for (int i = 1; i <= md.getColumnCount(); i++) {
+            out.writeInt(md.getColumnType(i));
+            writeNullableUTF(out, md.getColumnName(i));
+            writeNullableUTF(out, md.getColumnLabel(i));
+            writeNullableUTF(out, md.getColumnTypeName(i));
+            writeNullableUTF(out, md.getTableName(i));
+            out.writeInt(md.getPrecision(i));
+            out.writeInt(md.getScale(i));
+            out.writeInt(md.isNullable(i));
+            out.writeInt(md.getColumnDisplaySize(i));
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeRecords(FileChannel out, ByteBuffer records, int length,
+                                     long position) throws IOException {
+        records.clear();
+        records.limit(length);
+        writeFully(out, records, position);
+        // Absolute puts are checked against the limit as well
+        records.clear();
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer, long position)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            position += out.write(buffer, position);
+        }
+    }
+
+    private static void writeNullableUTF(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableUTF(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /** Flag bytes come first in a record, padded so the slots are 8-byte aligned */
+    private static int flagBytes(int columns) {
+        return (columns + 7) & ~7;
+    }
+
+    private static int encoding(int sqlType) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return LONG;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return DOUBLE;
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return DECIMAL;
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return BOOLEAN;
+            case Types.DATE:
+                return DATE;
+            case Types.TIME:
+                return TIME;
+            case Types.TIMESTAMP:
+                return TIMESTAMP;
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                return BYTES;
+            default:
+                return STRING;
+        }
+    }
+}
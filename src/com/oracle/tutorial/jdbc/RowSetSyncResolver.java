@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.spi.SyncResolver;
+
+/**
+ * The conflicts left by {@link BatchedSyncProvider}, or by the default
+ * writer of {@link ColumnarCachedRowSet}. As with the reference
+ * implementation, the resolver has a row for every row of the row set that
+ * was written, so getRow() of a conflict is also its row in the row set
+ * (counting deleted rows). A conflict holds the database values that differ
+ * from the values the row set originally read; a row the database no longer
+ * has holds only nulls.
+ * <p>
+ * setResolvedValue sets the value in the row set and accepts the database
+ * version of the row, so the next acceptChanges writes the row over it. A
+ * row that is gone from the database conflicts again until it is deleted
+ * from the row set.
+ */
+public class RowSetSyncResolver extends ColumnarCachedRowSet implements SyncResolver {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient CachedRowSet target;
+    private final transient BatchedRowSetWriter writer;
+    private final IntList status = new IntList(16);
+    private final List<List<Object>> keys = new ArrayList<>();
+    private final List<Object> versions = new ArrayList<>();
+    private final List<Object[]> serverRows = new ArrayList<>();
+
+    RowSetSyncResolver(CachedRowSet targetArg, BatchedRowSetWriter writerArg)
+            throws SQLException {
+        this.target = targetArg;
+        this.writer = writerArg;
+    }
+
+    void addConflict(Object[] values, int statusArg, List<Object> key, Object version)
+            throws SQLException {
+        appendRow(values);
+        status.add(statusArg);
+        keys.add(key);
+        versions.add(version);
+        serverRows.add(null);
+    }
+
+    /** Adds a conflict whose row is accepted by taking serverRow as its original values */
+    void addConflict(Object[] values, int statusArg, Object[] serverRow) throws SQLException {
+        addConflict(values, statusArg, null, null);
+        serverRows.set(serverRows.size() - 1, serverRow);
+    }
+
+    public int getStatus() {
+        try {
+            int row = getRow();
+            return row == 0 ? NO_ROW_CONFLICT : status.get(row - 1);
+        } catch (SQLException e) {
+            return NO_ROW_CONFLICT;
+        }
+    }
+
+    public Object getConflictValue(int index) throws SQLException {
+        return getObject(index);
+    }
+
+    public Object getConflictValue(String columnName) throws SQLException {
+        return getObject(columnName);
+    }
+
+    public void setResolvedValue(int index, Object obj) throws SQLException {
+        int row = getRow();
+        if (row == 0 || status.get(row - 1) == NO_ROW_CONFLICT) {
+            throw new SQLException("The resolver is not on a conflict");
+        }
+        boolean showDeleted = target.getShowDeleted();
+        target.setShowDeleted(true);
+        try {
+            target.absolute(row);
+            if (!target.rowDeleted()) {
+                target.updateObject(index, obj);
+                target.updateRow();
+            }
+        } finally {
+            target.setShowDeleted(showDeleted);
+        }
+        if (keys.get(row - 1) != null) {
+            writer.resolvedAgainst(keys.get(row - 1), versions.get(row - 1));
+        } else if (serverRows.get(row - 1) != null) {
+            ((ColumnarCachedRowSet) target).acceptServerValues(row, serverRows.get(row - 1));
+        }
+    }
+
+    public void setResolvedValue(String columnName, Object obj) throws SQLException {
+        setResolvedValue(findColumn(columnName), obj);
+    }
+
+    public boolean nextConflict() throws SQLException {
+        while (next()) {
+            if (getStatus() != NO_ROW_CONFLICT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean previousConflict() throws SQLException {
+        while (previous()) {
+            if (getStatus() != NO_ROW_CONFLICT) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums of the SALES and TOTAL columns of COFFEES, per supplier and over
+ * the whole table, kept in memory so that reading them needs no query.
+ * <p>
+ * A {@link CoffeesTable} given these aggregates with setSalesAggregates
+ * reports every row it writes once the write is committed, and the sums
+ * are adjusted by the difference; for that the current SALES, TOTAL and
+ * SUP_ID of each coffee are kept as well. Writes made in other ways, or by
+ * other programs, are picked up by refresh, which reads the table again
+ * and can be run periodically with startRefresh.
+ * <p>
+ * A refresh cannot tell whether its query saw a write that is reported
+ * while it runs, and would count it twice if the report came after the
+ * new sums were in place. So writers call writeStarted before a write and
+ * writeEnded once it is reported, and a refresh that overlaps a write is
+ * discarded, keeping the sums the reports maintain; the next refresh tries
+ * again.
+ */
+public class SalesAggregates implements AutoCloseable {
+
+    private static final String QUERY = "select COF_NAME, SUP_ID, SALES, TOTAL from COFFEES";
+
+    // Per coffee: SUP_ID, SALES and TOTAL. Per supplier: SALES, TOTAL and
+    // the number of coffees.
+    private HashMap<String, long[]> coffees = new HashMap<>();
+    private HashMap<Integer, long[]> suppliers = new HashMap<>();
+    private long sales;
+    private long total;
+    private long refreshedAt;
+    private int writing; // Writes started and not yet ended
+    private long writesStarted;
+    private ScheduledExecutorService refresher;
+
+    /** Reads the table now and then every periodSeconds, on a thread of its own */
+    public synchronized void startRefresh(final Connection con, long periodSeconds)
+            throws SQLException {
+        if (refresher != null) {
+            throw new IllegalStateException("Refresh already started");
+        }
+        refresh(con);
+        refresher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "SalesAggregates");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        refresher.scheduleWithFixedDelay(new Runnable() {
+            public void run() {
+                try {
+                    refresh(con);
+                } catch (SQLException e) {
+                    JDBCTutorialUtilities.printSQLException(e);
+                }
+            }
+        }, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Replaces the sums with those of the table as it is now, unless a
+     * write started with writeStarted was in progress meanwhile. Returns
+     * whether the sums were replaced.
+     */
+    public boolean refresh(Connection con) throws SQLException {
+        long started;
+        synchronized (this) {
+            // -1 never matches, so a write already in progress discards
+            // this refresh.
+            started = writing > 0 ? -1 : writesStarted;
+        }
+        HashMap<String, long[]> newCoffees = new HashMap<>();
+        HashMap<Integer, long[]> newSuppliers = new HashMap<>();
+        long newSales = 0;
+        long newTotal = 0;
+        try (Statement stmt = con.createStatement();
+             ResultSet rs = stmt.executeQuery(QUERY)) {
+            while (rs.next()) {
+                long[] coffee = { rs.getInt(2), rs.getInt(3), rs.getInt(4) };
+                newCoffees.put(rs.getString(1), coffee);
+                long[] supplier = newSuppliers.get((int) coffee[0]);
+                if (supplier == null) {
+                    supplier = new long[3];
+                    newSuppliers.put((int) coffee[0], supplier);
+                }
+                supplier[0] += coffee[1];
+                supplier[1] += coffee[2];
+                supplier[2]++;
+                newSales += coffee[1];
+                newTotal += coffee[2];
+            }
+        }
+        synchronized (this) {
+            if (writesStarted != started || writing > 0) {
+                return false;
+            }
+            this.coffees = newCoffees;
+            this.suppliers = newSuppliers;
+            this.sales = newSales;
+            this.total = newTotal;
+            this.refreshedAt = System.currentTimeMillis();
+        }
+        return true;
+    }
+
+    // Called by CoffeesTable and SalesWriteBuffer around the writes they
+    // make, and after each row they have written.
+
+    /** A write is about to be made; call writeEnded once it is reported or has failed */
+    synchronized void writeStarted() {
+        writing++;
+        writesStarted++;
+    }
+
+    synchronized void writeEnded() {
+        writing--;
+    }
+
+    /** A row was inserted */
+    synchronized void rowInserted(String coffeeName, int supplierId, int rowSales, int rowTotal) {
+        long[] coffee = coffees.get(coffeeName);
+        if (coffee != null) {
+            // Already counted, for instance by a refresh that saw the row.
+            return;
+        }
+        coffees.put(coffeeName, new long[] { supplierId, rowSales, rowTotal });
+        adjust(supplierId, rowSales, rowTotal, 1);
+    }
+
+    /** SALES was set to weekSales and weekSales was added to TOTAL */
+    synchronized void salesRecorded(String coffeeName, int weekSales) {
+        long[] coffee = coffees.get(coffeeName);
+        if (coffee == null) {
+            return; // No such row, so the update changed nothing
+        }
+        long salesChange = weekSales - coffee[1];
+        coffee[1] = weekSales;
+        coffee[2] += weekSales;
+        adjust((int) coffee[0], salesChange, weekSales, 0);
+    }
+
+    /** amount was added to both SALES and TOTAL */
+    synchronized void salesAdded(String coffeeName, long amount) {
+        long[] coffee = coffees.get(coffeeName);
+        if (coffee == null) {
+            return;
+        }
+        coffee[1] += amount;
+        coffee[2] += amount;
+        adjust((int) coffee[0], amount, amount, 0);
+    }
+
+    /** The table was dropped */
+    synchronized void cleared() {
+        coffees = new HashMap<>();
+        suppliers = new HashMap<>();
+        sales = 0;
+        total = 0;
+    }
+
+    private void adjust(int supplierId, long salesChange, long totalChange, int coffeeChange) {
+        long[] supplier = suppliers.get(supplierId);
+        if (supplier == null) {
+            supplier = new long[3];
+            suppliers.put(supplierId, supplier);
+        }
+        supplier[0] += salesChange;
+        supplier[1] += totalChange;
+        supplier[2] += coffeeChange;
+        sales += salesChange;
+        total += totalChange;
+    }
+
+    public synchronized long getSales() {
+        return sales;
+    }
+
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public synchronized long getSales(int supplierId) {
+        long[] supplier = suppliers.get(supplierId);
+        return supplier == null ? 0 : supplier[0];
+    }
+
+    public synchronized long getTotal(int supplierId) {
+        long[] supplier = suppliers.get(supplierId);
+        return supplier == null ? 0 : supplier[1];
+    }
+
+    /** Number of coffees the supplier has in the table */
+    public synchronized int getCoffeeCount(int supplierId) {
+        long[] supplier = suppliers.get(supplierId);
+        return supplier == null ? 0 : (int) supplier[2];
+    }
+
+    /** Suppliers with at least one coffee, in increasing order */
+    public synchronized TreeSet<Integer> getSupplierIds() {
+        TreeSet<Integer> ids = new TreeSet<>();
+        for (Map.Entry<Integer, long[]> e : suppliers.entrySet()) {
+            if (e.getValue()[2] > 0) {
+                ids.add(e.getKey());
+            }
+        }
+        return ids;
+    }
+
+    /** Time of the last refresh, in milliseconds since the epoch, or 0 */
+    public synchronized long getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    /** Stops the periodic refresh */
+    public synchronized void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+}
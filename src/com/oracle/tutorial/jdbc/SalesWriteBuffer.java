@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.io.FileInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Buffers sales of COFFEES rows and writes them to the database later,
+ * adding them to both SALES and TOTAL.
+ * <p>
+ * Sales of the same coffee are added together in memory, so each flush
+ * runs one batched update per coffee sold since the previous flush,
+ * instead of one per call to addSales. The buffer is flushed every
+ * flushIntervalMillis, as soon as maxPending sales have been added, and
+ * by close, which waits for the final flush.
+ * <p>
+ * Sales that have not been flushed are lost if the program stops without
+ * calling close, unless a log file is given: then each sale is appended to
+ * the file, and forced to the disk, before addSales returns, and sales
+ * found in the file when a buffer is created are added again. Forcing
+ * every sale to the disk makes addSales with a log file take about as long
+ * as a disk write. A sale is removed from the log once
+ * the flush that writes it has been committed, so a crash between the
+ * commit and the removal writes the sale twice.
+ */
+public class SalesWriteBuffer implements AutoCloseable {
+
+    private static final String UPDATE =
+        "update COFFEES set SALES = SALES + ?, TOTAL = TOTAL + ? where COF_NAME = ?";
+
+    private final Connection con;
+    private final int maxPending;
+    private final ConcurrentHashMap<String, AtomicLong> deltas = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+    private final Object flushLock = new Object();
+    private final File logFile;
+    private final Object logLock = new Object();
+    // Held for reading by addSales and for writing by close, so that no sale
+    // is added after the final flush.
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private FileOutputStream logStream;
+    private Writer log;
+    private volatile SalesAggregates aggregates;
+    private boolean closed;
+    private long flushedRows;
+    private long flushCount;
+
+    public SalesWriteBuffer(Connection connArg, long flushIntervalMillis, int maxPendingArg) {
+        this.con = connArg;
+        this.maxPending = maxPendingArg;
+        this.logFile = null;
+        this.flusher = startFlusher(flushIntervalMillis);
+    }
+
+    /**
+     * Creates a buffer that logs every sale to logFileArg, first adding
+     * any sales a previous buffer left in that file.
+     */
+    public SalesWriteBuffer(Connection connArg, long flushIntervalMillis, int maxPendingArg,
+            File logFileArg) throws IOException {
+        this.con = connArg;
+        this.maxPending = maxPendingArg;
+        this.logFile = logFileArg;
+        recoverLog();
+        this.flusher = startFlusher(flushIntervalMillis);
+    }
+
+    /** Adjusts aggregates by the sales written by each flush */
+    public void setSalesAggregates(SalesAggregates aggregatesArg) {
+        this.aggregates = aggregatesArg;
+    }
+
+    public void addSales(String coffeeName, int amount) throws IOException {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Buffer is closed");
+            }
+            if (log != null) {
+                // The log must list the sales in the buffer, no more and no
+                // fewer, whenever a flush takes them out.
+                synchronized (logLock) {
+                    log.write(coffeeName + "\t" + amount + "\n");
+                    syncLog();
+                    delta(coffeeName).addAndGet(amount);
+                }
+            } else {
+                delta(coffeeName).addAndGet(amount);
+            }
+            if (pending.incrementAndGet() >= maxPending
+                    && flushRequested.compareAndSet(false, true)) {
+                flusher.execute(new Runnable() {
+                    public void run() {
+                        flushRequested.set(false);
+                        flushQuietly();
+                    }
+                });
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    private AtomicLong delta(String coffeeName) {
+        AtomicLong delta = deltas.get(coffeeName);
+        if (delta == null) {
+            AtomicLong newDelta = new AtomicLong();
+            delta = deltas.putIfAbsent(coffeeName, newDelta);
+            if (delta == null) {
+                delta = newDelta;
+            }
+        }
+        return delta;
+    }
+
+    /** Writes the buffered sales now, in one transaction */
+    public void flush() throws SQLException, IOException {
+        synchronized (flushLock) {
+            ArrayList<String> names = new ArrayList<>();
+            ArrayList<Long> amounts = new ArrayList<>();
+            File flushedLog = null;
+            if (log != null) {
+                synchronized (logLock) {
+                    flushedLog = rotateLog();
+                    take(names, amounts);
+                }
+            } else {
+                take(names, amounts);
+            }
+            if (names.isEmpty()) {
+                deleteLog(flushedLog);
+                return;
+            }
+            SalesAggregates agg = aggregates;
+            if (agg != null) {
+                agg.writeStarted();
+            }
+            try {
+                try {
+                    write(names, amounts);
+                } catch (SQLException e) {
+                    // Put the sales back so that the next flush tries them again.
+                    putBack(names, amounts);
+                    deleteLog(flushedLog);
+                    throw e;
+                }
+                deleteLog(flushedLog);
+                if (agg != null) {
+                    for (int i = 0; i < names.size(); i++) {
+                        agg.salesAdded(names.get(i), amounts.get(i));
+                    }
+                }
+            } finally {
+                if (agg != null) {
+                    agg.writeEnded();
+                }
+            }
+        }
+    }
+
+    private void take(List<String> names, List<Long> amounts) {
+        pending.set(0);
+        for (Map.Entry<String, AtomicLong> e : deltas.entrySet()) {
+            long amount = e.getValue().getAndSet(0);
+            if (amount != 0) {
+                names.add(e.getKey());
+                amounts.add(amount);
+            }
+        }
+    }
+
+    private void putBack(List<String> names, List<Long> amounts) throws IOException {
+        if (log != null) {
+            synchronized (logLock) {
+                for (int i = 0; i < names.size(); i++) {
+                    log.write(names.get(i) + "\t" + amounts.get(i) + "\n");
+                    delta(names.get(i)).addAndGet(amounts.get(i));
+                }
+                syncLog();
+            }
+        } else {
+            for (int i = 0; i < names.size(); i++) {
+                delta(names.get(i)).addAndGet(amounts.get(i));
+            }
+        }
+        pending.addAndGet(names.size());
+    }
+
+    private void write(List<String> names, List<Long> amounts) throws SQLException {
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        try (PreparedStatement update = con.prepareStatement(UPDATE)) {
+            for (int i = 0; i < names.size(); i++) {
+                update.setLong(1, amounts.get(i));
+                update.setLong(2, amounts.get(i));
+                update.setString(3, names.get(i));
+                update.addBatch();
+            }
+            int[] counts = update.executeBatch();
+            con.commit();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    System.err.println("No coffee named " + names.get(i)
+                            + "; dropping sales of " + amounts.get(i));
+                }
+            }
+            flushedRows += names.size();
+            flushCount++;
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (BatchUpdateException e) {
+            JDBCTutorialUtilities.printBatchUpdateException(e);
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        } catch (IOException e) {
+            System.err.println("Could not write sales log " + logFile + ": " + e);
+        }
+    }
+
+    private ScheduledExecutorService startFlusher(long flushIntervalMillis) {
+        ScheduledExecutorService service =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "SalesWriteBuffer");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        service.scheduleWithFixedDelay(new Runnable() {
+            public void run() {
+                flushQuietly();
+            }
+        }, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        return service;
+    }
+
+    // The log is logFile while sales are added to it. A flush renames it to
+    // logFile.flushing, which it deletes after the commit.
+
+    private File flushingLog() {
+        return new File(logFile.getPath() + ".flushing");
+    }
+
+    private void recoverLog() throws IOException {
+        long recovered = 0;
+        for (File file : new File[] { flushingLog(), logFile }) {
+            if (!file.exists()) {
+                continue;
+            }
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                    new FileInputStream(file), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    int tab = line.lastIndexOf('\t');
+                    if (tab < 0) {
+                        continue; // Partly written when the program stopped
+                    }
+                    try {
+                        long amount = Long.parseLong(line.substring(tab + 1));
+                        delta(line.substring(0, tab)).addAndGet(amount);
+                        recovered++;
+                    } catch (NumberFormatException e) {
+                        // Partly written when the program stopped
+                    }
+                }
+            }
+        }
+        // Write what was recovered to a new log before removing the old ones.
+        File recoveredLog = new File(logFile.getPath() + ".recovered");
+        try (FileOutputStream stream = new FileOutputStream(recoveredLog);
+             Writer out = new OutputStreamWriter(stream, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, AtomicLong> e : deltas.entrySet()) {
+                out.write(e.getKey() + "\t" + e.getValue().get() + "\n");
+            }
+            out.flush();
+            stream.getFD().sync();
+        }
+        deleteLog(flushingLog());
+        deleteLog(logFile);
+        if (!recoveredLog.renameTo(logFile)) {
+            throw new IOException("Could not rename " + recoveredLog + " to " + logFile);
+        }
+        openLog();
+        pending.set((int) Math.min(recovered, Integer.MAX_VALUE));
+        if (recovered > 0) {
+            System.out.println("Recovered " + recovered + " sales from " + logFile);
+        }
+    }
+
+    private File rotateLog() throws IOException {
+        log.close();
+        File flushing = flushingLog();
+        if (!logFile.renameTo(flushing)) {
+            throw new IOException("Could not rename " + logFile + " to " + flushing);
+        }
+        openLog();
+        return flushing;
+    }
+
+    private void openLog() throws IOException {
+        logStream = new FileOutputStream(logFile, true);
+        log = new OutputStreamWriter(logStream, StandardCharsets.UTF_8);
+    }
+
+    /** Writes what the log has buffered and waits until it is on the disk */
+    private void syncLog() throws IOException {
+        log.flush();
+        logStream.getFD().sync();
+    }
+
+    private static void deleteLog(File file) throws IOException {
+        if (file != null && file.exists() && !file.delete()) {
+            throw new IOException("Could not delete " + file);
+        }
+    }
+
+    public long getFlushedRows() {
+        synchronized (flushLock) {
+            return flushedRows;
+        }
+    }
+
+    public long getFlushCount() {
+        synchronized (flushLock) {
+            return flushCount;
+        }
+    }
+
+    /**
+     * Stops the periodic flush and writes the remaining sales, which
+     * addSales no longer accepts. If the final flush fails the sales are
+     * still in the log file, when there is one.
+     */
+    public void close() throws SQLException, IOException {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } finally {
+            if (log != null) {
+                synchronized (logLock) {
+                    log.close();
+                }
+            }
+        }
+        if (log != null) {
+            deleteLog(logFile); // Everything in it has been written
+        }
+    }
+}
@@ -1,171 +1,311 @@
-/*
- * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
- *
- * Redistribution and use in source and binary forms, with or without
- * modification, are permitted provided that the following conditions
- * are met:
- *
- *     - Redistributions of source code must retain the above copyright
- *         notice, this list of conditions and the following disclaimer.
- *
- *     - Redistributions in binary form must reproduce the above copyright
- *         notice, this list of conditions and the following disclaimer in the
- *         documentation and/or other materials provided with the distribution.
- *
- *     - Neither the name of Oracle or the names of its
- *         contributors may be used to endorse or promote products derived
- *         from this software without specific prior written permission.
- *
- * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
- * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
- * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
- * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
- * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
- * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
- * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
- * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
- * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
- * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
- * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
- */
-
-package com.oracle.tutorial.jdbc;
-
-import javax.sql.rowset.CachedRowSet;
-import javax.sql.rowset.RowSetFactory;
-import javax.sql.rowset.RowSetProvider;
-import javax.sql.rowset.WebRowSet;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.sql.Connection;
-import java.sql.SQLException;
-
-public class WebRowSetSample {
-    
-    private String dbName;
-    private Connection con;
-    private String dbms;
-    private JDBCTutorialUtilities settings;
-    
-    public WebRowSetSample(Connection connArg, JDBCTutorialUtilities settingsArg) {
-        super();
-        this.con = connArg;
-        this.dbName = settingsArg.dbName;
-        this.dbms = settingsArg.dbms;
-        this.settings = settingsArg;
-    }
-    
-    public void testWebRowSet() throws SQLException, IOException {
-        String priceListFileName = "pricelist.xml";
-        RowSetFactory factory = RowSetProvider.newFactory();    
-        try (WebRowSet priceList = factory.createWebRowSet();
-                 WebRowSet receiver = factory.createWebRowSet();
-                 FileReader fReader = new FileReader(priceListFileName);
-                 FileWriter fWriter = new FileWriter(priceListFileName)) {	    
-            int[] keyCols = {1};
-            priceList.setUsername(settings.userName);
-            priceList.setPassword(settings.password);
-            priceList.setUrl(settings.urlString);
-            priceList.setCommand("select COF_NAME, PRICE from COFFEES");
-            priceList.setKeyColumns(keyCols);
-
-            // Populate the WebRowSet
-            priceList.execute();
-            System.out.println("Size of the WebRowSet is: " + priceList.size());
-        
-            // Insert a new row
-            priceList.moveToInsertRow();
-            priceList.updateString("COF_NAME", "Kona");
-            priceList.updateFloat("PRICE", 8.99f);
-            priceList.insertRow();
-            priceList.moveToCurrentRow();
-            System.out.println("New row inserted");
-            System.out.println("Size of the WebRowSet is: "+priceList.size());
-        
-            //Delete the row with "Espresso"
-            priceList.beforeFirst();
-            while (priceList.next()) {
-                if (priceList.getString(1).equals( "Espresso" )) {
-                    System.out.println( "Deleting row with Espresso..." );
-                    priceList.deleteRow();
-                    break;
-                }
-            }
-        
-            // Update price of Colombian
-            priceList.beforeFirst();
-            while (priceList.next()) {
-                if (priceList.getString(1).equals("Colombian")) {
-                    System.out.println("Updating row with Colombian...");
-                    priceList.updateFloat(2, 6.99f);
-                    priceList.updateRow();
-                    break;
-                }
-            }
-        
-            int size1 = priceList.size();
-            
-            priceList.writeXml(fWriter);
-            fWriter.flush();
-        
-            // Create the receiving WebRowSet object
-            
-            receiver.setUrl(settings.urlString);
-            receiver.setUsername(settings.userName);
-            receiver.setPassword(settings.password);
-        
-            //Now read the XML file.
-            
-            receiver.readXml(fReader);
-            int size2 = receiver.size();
-            if (size1 == size2) {
-                System.out.println( "WebRowSet serialized and " +
-                    "deserialiazed properly" );
-            } else {
-                System.out.println("Error....serializing/deserializng the WebRowSet");
-            }
-        } catch (SQLException e) {
-            JDBCTutorialUtilities.printSQLException(e);
-        }
-    }	
-    
-    public static void main(String[] args) {
-        JDBCTutorialUtilities myJDBCTutorialUtilities;
-        Connection myConnection = null;
-
-        if (args[0] == null) {
-            System.err.println("Properties file not specified at command line");
-            return;
-        } else {
-            try {
-                myJDBCTutorialUtilities = new JDBCTutorialUtilities(args[0]);
-            } catch (Exception e) {
-                System.err.println("Problem reading properties file " + args[0]);
-                e.printStackTrace();
-                return;
-            }
-        }
-
-        try {
-            myConnection = myJDBCTutorialUtilities.getConnection();
-
-            // Java DB does not have an SQL create database command; it does require createDatabase
-            
-            
-            WebRowSetSample myWebRowSetSample = new WebRowSetSample(myConnection,
-                                                                                     myJDBCTutorialUtilities);
-            myWebRowSetSample.testWebRowSet();     
-
-        } catch (SQLException e) {
-            JDBCTutorialUtilities.printSQLException(e);
-        } catch (Exception ex) {
-            System.out.println("Unexpected exception");
-            ex.printStackTrace();
-        }
-        
-        finally {
-            JDBCTutorialUtilities.closeConnection(myConnection);
-        }
-    }        
-}
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import javax.sql.RowSetMetaData;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
+import javax.sql.rowset.WebRowSet;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.BitSet;
+import java.util.Properties;
+
+public class WebRowSetSample {
+    
+    private String dbName;
+    private Connection con;
+    private String dbms;
+    private JDBCTutorialUtilities settings;
+    
+    public WebRowSetSample(Connection connArg, JDBCTutorialUtilities settingsArg) {
+        super();
+        this.con = connArg;
+        this.dbName = settingsArg.dbName;
+        this.dbms = settingsArg.dbms;
+        this.settings = settingsArg;
+    }
+    
+    public void testWebRowSet() throws SQLException, IOException {
+        String priceListFileName = "pricelist.xml";
+        RowSetFactory factory = RowSetProvider.newFactory();    
+        try (WebRowSet priceList = factory.createWebRowSet();
+                 WebRowSet receiver = factory.createWebRowSet();
+                 FileReader fReader = new FileReader(priceListFileName);
+                 FileWriter fWriter = new FileWriter(priceListFileName)) {	    
+            int[] keyCols = {1};
+            priceList.setUsername(settings.userName);
+            priceList.setPassword(settings.password);
+            priceList.setUrl(settings.urlString);
+            priceList.setCommand("select COF_NAME, PRICE from COFFEES");
+            priceList.setKeyColumns(keyCols);
+
+            // Populate the WebRowSet
+            priceList.execute();
+            System.out.println("Size of the WebRowSet is: " + priceList.size());
+        
+            // Insert a new row
+            priceList.moveToInsertRow();
+            priceList.updateString("COF_NAME", "Kona");
+            priceList.updateFloat("PRICE", 8.99f);
+            priceList.insertRow();
+            priceList.moveToCurrentRow();
+            System.out.println("New row inserted");
+            System.out.println("Size of the WebRowSet is: "+priceList.size());
+        
+            //Delete the row with "Espresso"
+            priceList.beforeFirst();
+            while (priceList.next()) {
+                if (priceList.getString(1).equals( "Espresso" )) {
+                    System.out.println( "Deleting row with Espresso..." );
+                    priceList.deleteRow();
+                    break;
+                }
+            }
+        
+            // Update price of Colombian
+            priceList.beforeFirst();
+            while (priceList.next()) {
+                if (priceList.getString(1).equals("Colombian")) {
+                    System.out.println("Updating row with Colombian...");
+                    priceList.updateFloat(2, 6.99f);
+                    priceList.updateRow();
+                    break;
+                }
+            }
+        
+            int size1 = priceList.size();
+            
+            priceList.writeXml(fWriter);
+            fWriter.flush();
+        
+            // Create the receiving WebRowSet object
+            
+            receiver.setUrl(settings.urlString);
+            receiver.setUsername(settings.userName);
+            receiver.setPassword(settings.password);
+        
+            //Now read the XML file.
+            
+            receiver.readXml(fReader);
+            int size2 = receiver.size();
+            if (size1 == size2) {
+                System.out.println( "WebRowSet serialized and " +
+                    "deserialiazed properly" );
+            } else {
+                System.out.println("Error....serializing/deserializng the WebRowSet");
+            }
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        }
+    }	
+    
+    public void testStreamingExport() throws SQLException, IOException {
+        Path priceListFile = Paths.get("pricelist-stream.xml");
+        WebRowSetStreamCodec codec = new WebRowSetStreamCodec();
+        String query = "select COF_NAME, SUP_ID, PRICE, SALES, TOTAL from COFFEES";
+
+        try (Statement stmt = con.createStatement(ResultSet.TYPE_FORWARD_ONLY,
+                                                  ResultSet.CONCUR_READ_ONLY)) {
+            // Rows go from the driver to the file without being cached
+            stmt.setFetchSize(1000);
+            ResultSet rs = stmt.executeQuery(query);
+            long rows = codec.write(rs, priceListFile);
+            System.out.println("Exported " + rows + " rows to " + priceListFile);
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+            return;
+        }
+
+        // Read the price list back one row at a time
+        codec.read(priceListFile, new WebRowSetStreamCodec.RowHandler() {
+            public void start(RowSetMetaData metaData, Properties properties) {
+                System.out.println("Price list:");
+            }
+
+            public void row(int kind, Object[] values, BitSet updated, Object[] updates) {
+                System.out.println("    " + values[0] + ": " + values[2]);
+            }
+        });
+
+        // Or into a row set that can be synchronized with the database
+        RowSetFactory factory = RowSetProvider.newFactory();
+        try (CachedRowSet receiver = factory.createCachedRowSet()) {
+            codec.read(priceListFile, receiver);
+            System.out.println("Size of the received row set is: " + receiver.size());
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        }
+
+        // Large documents can be parsed on all available processors
+        try (CachedRowSet receiver = factory.createCachedRowSet()) {
+            new ParallelWebRowSetReader().read(priceListFile, receiver);
+            System.out.println("Size of the row set read in parallel is: " + receiver.size());
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        }
+    }
+
+    public void testDeltaExport() throws SQLException, IOException {
+        Path deltaXmlFile = Paths.get("pricelist-delta.xml");
+        Path deltaBinaryFile = Paths.get("pricelist-delta.bin");
+        RowSetFactory factory = RowSetProvider.newFactory();
+        try (CachedRowSet priceList = factory.createCachedRowSet();
+                 CachedRowSet receiver = factory.createCachedRowSet()) {
+            int[] keyCols = {1};
+            priceList.setCommand("select COF_NAME, PRICE from COFFEES");
+            priceList.setKeyColumns(keyCols);
+            priceList.execute(con);
+            receiver.setCommand("select COF_NAME, PRICE from COFFEES");
+            receiver.setKeyColumns(keyCols);
+            receiver.execute(con);
+
+            // The same changes as in testWebRowSet
+            priceList.moveToInsertRow();
+            priceList.updateString("COF_NAME", "Kona");
+            priceList.updateFloat("PRICE", 8.99f);
+            priceList.insertRow();
+            priceList.moveToCurrentRow();
+            priceList.beforeFirst();
+            while (priceList.next()) {
+                if (priceList.getString(1).equals("Espresso")) {
+                    priceList.deleteRow();
+                } else if (priceList.getString(1).equals("Colombian")) {
+                    priceList.updateFloat(2, 6.99f);
+                    priceList.updateRow();
+                }
+            }
+
+            // Only the three changed rows are written
+            WebRowSetStreamCodec xmlCodec = new WebRowSetStreamCodec();
+            BinaryRowSetCodec binaryCodec = new BinaryRowSetCodec();
+            long rows = xmlCodec.writeChanges(priceList, deltaXmlFile);
+            binaryCodec.writeChanges(priceList, deltaBinaryFile);
+            System.out.println("Exported " + rows + " changed rows of " + priceList.size() +
+                               ": " + Files.size(deltaXmlFile) + " bytes as XML, " +
+                               Files.size(deltaBinaryFile) + " bytes as binary");
+
+            RowSetDeltaApplier applier = new RowSetDeltaApplier(receiver);
+            binaryCodec.read(deltaBinaryFile, applier);
+            System.out.println("Receiver applied " + applier.getAppliedRows() +
+                               " changes, skipped " + applier.getSkippedRows());
+            receiver.beforeFirst();
+            while (receiver.next()) {
+                System.out.println("    " + receiver.getString(1) + ": " + receiver.getFloat(2));
+            }
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        }
+    }
+
+    public void testSnapshot() throws SQLException, IOException {
+        Path snapshotFile = Paths.get("coffees.snapshot");
+        String query = "select COF_NAME, SUP_ID, PRICE, SALES, TOTAL from COFFEES";
+
+        try (Statement stmt = con.createStatement(ResultSet.TYPE_FORWARD_ONLY,
+                                                  ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(1000);
+            long rows = RowSetSnapshot.write(stmt.executeQuery(query), snapshotFile);
+            System.out.println("Wrote a snapshot of " + rows + " rows to " + snapshotFile);
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+            return;
+        }
+
+        // Opening maps the file; rows are read in place when accessed
+        try (RowSetSnapshot snapshot = RowSetSnapshot.open(snapshotFile)) {
+            long last = snapshot.getRowCount();
+            if (last > 0) {
+                System.out.println("Last coffee in the snapshot: " +
+                                   snapshot.getString(last, 1) + ", " +
+                                   snapshot.getBigDecimal(last, 3));
+            }
+            try (CachedRowSet firstPage = RowSetProvider.newFactory().createCachedRowSet()) {
+                snapshot.copyTo(firstPage, 1, 10);
+                System.out.println("First page of the snapshot has " + firstPage.size() + " rows");
+            }
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        }
+    }
+
+    public static void main(String[] args) {
+        JDBCTutorialUtilities myJDBCTutorialUtilities;
+        Connection myConnection = null;
+
+        if (args[0] == null) {
+            System.err.println("Properties file not specified at command line");
+            return;
+        } else {
+            try {
+                myJDBCTutorialUtilities = new JDBCTutorialUtilities(args[0]);
+            } catch (Exception e) {
+                System.err.println("Problem reading properties file " + args[0]);
+                e.printStackTrace();
+                return;
+            }
+        }
+
+        try {
+            myConnection = myJDBCTutorialUtilities.getConnection();
+
+            // Java DB does not have an SQL create database command; it does require createDatabase
+            
+            
+            WebRowSetSample myWebRowSetSample = new WebRowSetSample(myConnection,
+                                                                                     myJDBCTutorialUtilities);
+            myWebRowSetSample.testWebRowSet();     
+            myWebRowSetSample.testStreamingExport();
+            myWebRowSetSample.testDeltaExport();
+            myWebRowSetSample.testSnapshot();
+
+        } catch (SQLException e) {
+            JDBCTutorialUtilities.printSQLException(e);
+        } catch (Exception ex) {
+            System.out.println("Unexpected exception");
+            ex.printStackTrace();
+        }
+        
+        finally {
+            JDBCTutorialUtilities.closeConnection(myConnection);
+        }
+    }        
+}
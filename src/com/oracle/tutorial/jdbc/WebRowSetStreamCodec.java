@@ -0,0 +1,831 @@
+/*
+ * Copyright (c) 1995, 2020, Oracle and/or its affiliates. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *     - Redistributions of source code must retain the above copyright
+ *         notice, this list of conditions and the following disclaimer.
+ *
+ *     - Redistributions in binary form must reproduce the above copyright
+ *         notice, this list of conditions and the following disclaimer in the
+ *         documentation and/or other materials provided with the distribution.
+ *
+ *     - Neither the name of Oracle or the names of its
+ *         contributors may be used to endorse or promote products derived
+ *         from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS
+ * IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED.    IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oracle.tutorial.jdbc;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Properties;
+import javax.sql.RowSet;
+import javax.sql.RowSetMetaData;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.spi.SyncProvider;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Reads and writes the WebRowSet XML format with StAX, one row at a time.
+ * Unlike WebRowSet.writeXml and readXml, neither side holds the document
+ * in memory: rows are written as they are read from a ResultSet, and read
+ * rows are handed to a RowHandler or appended to a row set as they are
+ * parsed. The documents are the ones the reference WebRowSet writes, so
+ * either side can be swapped for it.
+ */
+public class WebRowSetStreamCodec {
+
+    public static final String NAMESPACE = "http://java.sun.com/xml/ns/jdbc";
+
+    public static final int CURRENT_ROW = 0;
+    public static final int INSERT_ROW = 1;
+    public static final int DELETE_ROW = 2;
+    public static final int MODIFY_ROW = 3;
+
+    private static final String XSI = "http://www.w3.org/2001/XMLSchema-instance";
+    private static final String SCHEMA_LOCATION =
+        NAMESPACE + " " + NAMESPACE + "/webrowset.xsd";
+    private static final String[] ROW_TAGS =
+        {"currentRow", "insertRow", "deleteRow", "modifyRow"};
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Receives the rows of a document as they are parsed. The arrays passed
+     * to row are reused for the next row.
+     */
+    public interface RowHandler {
+
+        /** Called once, before the first row */
+        void start(RowSetMetaData metaData, Properties properties) throws SQLException;
+
+        /**
+         * Called for each row; values holds the original column values and
+         * updates the new value of each column set in updated.
+         */
+        void row(int kind, Object[] values, BitSet updated, Object[] updates)
+            throws SQLException;
+    }
+
+    private final XMLOutputFactory outputFactory;
+    private final XMLInputFactory inputFactory;
+
+    public WebRowSetStreamCodec() {
+        this.outputFactory = XMLOutputFactory.newInstance();
+        this.inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+    }
+
+    // Writing
+
+    /** Writes rs to file, replacing it; returns the number of rows written */
+    public long write(ResultSet rs, Path file) throws SQLException, IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return write(rs, channel);
+        }
+    }
+
+    /**
+     * Writes the rows of rs from its current position to channel, which is
+     * left open. A CachedRowSet is written from its first row, including
+     * deleted rows and the original values of updated columns.
+     */
+    public long write(ResultSet rs, WritableByteChannel channel)
+            throws SQLException, IOException {
+        return write(rs, channel, false);
+    }
+
+    /**
+     * Writes only the inserted, deleted and updated rows of crs to file,
+     * replacing it. RowSetDeltaApplier applies them to another copy.
+     */
+    public long writeChanges(CachedRowSet crs, Path file) throws SQLException, IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return writeChanges(crs, channel);
+        }
+    }
+
+    public long writeChanges(CachedRowSet crs, WritableByteChannel channel)
+            throws SQLException, IOException {
+        return write(crs, channel, true);
+    }
+
+    private long write(ResultSet rs, WritableByteChannel channel, boolean changesOnly)
+            throws SQLException, IOException {
+        OutputStream out = new BufferedOutputStream(
+            Channels.newOutputStream(channel), BUFFER_SIZE);
+        try {
+            XMLStreamWriter w = outputFactory.createXMLStreamWriter(out, "UTF-8");
+            w.writeStartDocument("UTF-8", "1.0");
+            w.writeCharacters("\n");
+            w.writeStartElement("webRowSet");
+            w.writeDefaultNamespace(NAMESPACE);
+            w.writeNamespace("xsi", XSI);
+            w.writeAttribute(XSI, "schemaLocation", SCHEMA_LOCATION);
+            w.writeCharacters("\n");
+            writeProperties(w, rs);
+            ResultSetMetaData md = rs.getMetaData();
+            writeMetaData(w, md);
+            long rows = writeData(w, rs, md, changesOnly);
+            w.writeEndElement();
+            w.writeCharacters("\n");
+            w.writeEndDocument();
+            w.close();
+            out.flush();
+            return rows;
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not write the row set: " + e.getMessage(), e);
+        }
+    }
+
+    private void writeProperties(XMLStreamWriter w, ResultSet rs)
+            throws XMLStreamException, SQLException {
+        RowSet rowSet = rs instanceof RowSet ? (RowSet) rs : null;
+        CachedRowSet crs = rs instanceof CachedRowSet ? (CachedRowSet) rs : null;
+        w.writeStartElement("properties");
+        w.writeCharacters("\n");
+        property(w, "command", rowSet == null ? null : rowSet.getCommand());
+        property(w, "concurrency", rs.getConcurrency());
+        property(w, "datasource", rowSet == null ? null : rowSet.getDataSourceName());
+        property(w, "escape-processing",
+                 rowSet == null || rowSet.getEscapeProcessing());
+        property(w, "fetch-direction", rs.getFetchDirection());
+        property(w, "fetch-size", rs.getFetchSize());
+        property(w, "isolation-level", rowSet == null
+                 ? Connection.TRANSACTION_READ_COMMITTED
+                 : rowSet.getTransactionIsolation());
+        w.writeStartElement("key-columns");
+        if (crs != null && crs.getKeyColumns() != null) {
+            for (int column : crs.getKeyColumns()) {
+                property(w, "column", column);
+            }
+        }
+        w.writeEndElement();
+        w.writeCharacters("\n");
+        w.writeStartElement("map");
+        w.writeEndElement();
+        w.writeCharacters("\n");
+        property(w, "max-field-size", rowSet == null ? 0 : rowSet.getMaxFieldSize());
+        property(w, "max-rows", rowSet == null ? 0 : rowSet.getMaxRows());
+        property(w, "query-timeout", rowSet == null ? 0 : rowSet.getQueryTimeout());
+        property(w, "read-only", rowSet == null || rowSet.isReadOnly());
+        property(w, "rowset-type", rowSetType(rs.getType()));
+        property(w, "show-deleted", crs != null && crs.getShowDeleted());
+        property(w, "table-name", crs == null ? null : crs.getTableName());
+        property(w, "url", rowSet == null ? null : rowSet.getUrl());
+        w.writeStartElement("sync-provider");
+        w.writeCharacters("\n");
+        SyncProvider provider = crs == null ? null : crs.getSyncProvider();
+        if (provider != null) {
+            property(w, "sync-provider-name", provider.getProviderID());
+            property(w, "sync-provider-vendor", provider.getVendor());
+            property(w, "sync-provider-version", provider.getVersion());
+            property(w, "sync-provider-grade", provider.getProviderGrade());
+            property(w, "data-source-lock", provider.getDataSourceLock());
+        } else {
+            property(w, "sync-provider-name", "com.sun.rowset.providers.RIOptimisticProvider");
+            property(w, "sync-provider-vendor", "Oracle Corporation");
+            property(w, "sync-provider-version", "1.0");
+            property(w, "sync-provider-grade", SyncProvider.GRADE_CHECK_MODIFIED_AT_COMMIT);
+            property(w, "data-source-lock", SyncProvider.DATASOURCE_NO_LOCK);
+        }
+        w.writeEndElement();
+        w.writeCharacters("\n");
+        w.writeEndElement();
+        w.writeCharacters("\n");
+    }
+
+    private static String rowSetType(int type) {
+        switch (type) {
+            case ResultSet.TYPE_FORWARD_ONLY:
+                return "ResultSet.TYPE_FORWARD_ONLY";
+            case ResultSet.TYPE_SCROLL_SENSITIVE:
+                return "ResultSet.TYPE_SCROLL_SENSITIVE";
+            default:
+                return "ResultSet.TYPE_SCROLL_INSENSITIVE";
+        }
+    }
+
+    private void writeMetaData(XMLStreamWriter w, ResultSetMetaData md)
+            throws XMLStreamException, SQLException {
+        w.writeStartElement("metadata");
+        w.writeCharacters("\n");
+        property(w, "column-count", md.getColumnCount());
+        for (int i = 1; i <= md.getColumnCount(); i++) {
+            w.writeStartElement("column-definition");
+            w.writeCharacters("\n");
+            property(w, "column-index", i);
+            property(w, "auto-increment", md.isAutoIncrement(i));
+            property(w, "case-sensitive", md.isCaseSensitive(i));
+            property(w, "currency", md.isCurrency(i));
+            property(w, "nullable", md.isNullable(i));
+            property(w, "signed", md.isSigned(i));
+            property(w, "searchable", md.isSearchable(i));
+            property(w, "column-display-size", md.getColumnDisplaySize(i));
+            property(w, "column-label", md.getColumnLabel(i));
+            property(w, "column-name", md.getColumnName(i));
+            property(w, "schema-name", md.getSchemaName(i));
+            property(w, "column-precision", md.getPrecision(i));
+            property(w, "column-scale", md.getScale(i));
+            property(w, "table-name", md.getTableName(i));
+            property(w, "catalog-name", md.getCatalogName(i));
+            property(w, "column-type", md.getColumnType(i));
+            property(w, "column-type-name", md.getColumnTypeName(i));
+            w.writeEndElement();
+            w.writeCharacters("\n");
+        }
+        w.writeEndElement();
+        w.writeCharacters("\n");
+    }
+
+    private long writeData(XMLStreamWriter w, ResultSet rs, ResultSetMetaData md,
+                           boolean changesOnly)
+            throws XMLStreamException, SQLException {
+        int columns = md.getColumnCount();
+        int[] types = new int[columns];
+        for (int i = 0; i < columns; i++) {
+            types[i] = md.getColumnType(i + 1);
+        }
+        CachedRowSet crs = rs instanceof CachedRowSet ? (CachedRowSet) rs : null;
+        boolean showDeleted = crs != null && crs.getShowDeleted();
+        long rows = 0;
+        w.writeStartElement("data");
+        w.writeCharacters("\n");
+        try {
+            if (crs != null) {
+                crs.setShowDeleted(true);
+                crs.beforeFirst();
+            }
+            while (rs.next()) {
+                int kind = CURRENT_ROW;
+                ResultSet original = null;
+                if (crs != null) {
+                    if (crs.rowDeleted()) {
+                        kind = crs.rowInserted() ? MODIFY_ROW : DELETE_ROW;
+                    } else if (crs.rowInserted()) {
+                        kind = INSERT_ROW;
+                    }
+                    if (crs.rowUpdated()) {
+                        original = crs.getOriginalRow();
+                        original.next();
+                    } else if (changesOnly && kind == CURRENT_ROW) {
+                        continue;
+                    }
+                }
+                // WebRowSet.readXml applies an updateRow only when it is
+                // separated from the columnValue before it by whitespace,
+                // so every element goes on a line of its own.
+                w.writeStartElement(ROW_TAGS[kind]);
+                w.writeCharacters("\n");
+                for (int i = 1; i <= columns; i++) {
+                    if (original != null && crs.columnUpdated(i)) {
+                        writeValue(w, "columnValue", original, i, types[i - 1]);
+                        w.writeCharacters("\n");
+                        writeValue(w, "updateRow", rs, i, types[i - 1]);
+                    } else {
+                        writeValue(w, "columnValue", rs, i, types[i - 1]);
+                    }
+                    w.writeCharacters("\n");
+                }
+                w.writeEndElement();
+                w.writeCharacters("\n");
+                rows++;
+            }
+        } finally {
+            if (crs != null) {
+                crs.setShowDeleted(showDeleted);
+                crs.beforeFirst();
+            }
+        }
+        w.writeEndElement();
+        w.writeCharacters("\n");
+        return rows;
+    }
+
+    private static void writeValue(XMLStreamWriter w, String tag, ResultSet rs,
+                                   int column, int type)
+            throws XMLStreamException, SQLException {
+        String text;
+        switch (type) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+                boolean b = rs.getBoolean(column);
+                text = rs.wasNull() ? null : Boolean.toString(b);
+                break;
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                long l = rs.getLong(column);
+                text = rs.wasNull() ? null : Long.toString(l);
+                break;
+            case Types.REAL:
+                float f = rs.getFloat(column);
+                text = rs.wasNull() ? null : Float.toString(f);
+                break;
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                double d = rs.getDouble(column);
+                text = rs.wasNull() ? null : Double.toString(d);
+                break;
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                BigDecimal bd = rs.getBigDecimal(column);
+                text = bd == null ? null : bd.toString();
+                break;
+            case Types.DATE:
+                java.sql.Date date = rs.getDate(column);
+                text = date == null ? null : Long.toString(date.getTime());
+                break;
+            case Types.TIME:
+                java.sql.Time time = rs.getTime(column);
+                text = time == null ? null : Long.toString(time.getTime());
+                break;
+            case Types.TIMESTAMP:
+                java.sql.Timestamp ts = rs.getTimestamp(column);
+                text = ts == null ? null : Long.toString(ts.getTime());
+                break;
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                byte[] bytes = rs.getBytes(column);
+                text = bytes == null ? null : Base64.getEncoder().encodeToString(bytes);
+                break;
+            default:
+                text = rs.getString(column);
+        }
+        w.writeStartElement(tag);
+        writeText(w, text);
+        w.writeEndElement();
+    }
+
+    private static void property(XMLStreamWriter w, String tag, String value)
+            throws XMLStreamException {
+        // Only column values mark empty strings; properties leave them empty
+        w.writeStartElement(tag);
+        if (value == null) {
+            w.writeEmptyElement("null");
+        } else {
+            w.writeCharacters(value);
+        }
+        w.writeEndElement();
+        w.writeCharacters("\n");
+    }
+
+    private static void property(XMLStreamWriter w, String tag, int value)
+            throws XMLStreamException {
+        property(w, tag, Integer.toString(value));
+    }
+
+    private static void property(XMLStreamWriter w, String tag, boolean value)
+            throws XMLStreamException {
+        property(w, tag, Boolean.toString(value));
+    }
+
+    private static void writeText(XMLStreamWriter w, String text)
+            throws XMLStreamException {
+        if (text == null) {
+            w.writeEmptyElement("null");
+        } else if (text.isEmpty()) {
+            w.writeEmptyElement("emptyString");
+        } else {
+            w.writeCharacters(text);
+        }
+    }
+
+    // Reading
+
+    /** Reads file, passing its rows to handler; returns the number of rows */
+    public long read(Path file, RowHandler handler) throws SQLException, IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel, handler);
+        }
+    }
+
+    /**
+     * Reads file into target, which should be empty. Rows keep their
+     * inserted, deleted and updated state, so target can later propagate
+     * them with acceptChanges.
+     */
+    public long read(Path file, CachedRowSet target) throws SQLException, IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel, target);
+        }
+    }
+
+    public long read(ReadableByteChannel channel, CachedRowSet target)
+            throws SQLException, IOException {
+        boolean showDeleted = target.getShowDeleted();
+        target.setShowDeleted(true);
+        try {
+            long rows = read(channel, new RowSetLoader(target));
+            target.beforeFirst();
+            return rows;
+        } finally {
+            target.setShowDeleted(showDeleted);
+        }
+    }
+
+    /** Reads a document from channel, which is left open */
+    public long read(ReadableByteChannel channel, RowHandler handler)
+            throws SQLException, IOException {
+        return read(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE),
+                    null, handler);
+    }
+
+    /**
+     * Reads the rows of a UTF-8 fragment of a data section, wrapped in a
+     * data element, whose columns have the given SQL types. The handler is
+     * not started.
+     */
+    long readFragment(InputStream in, int[] columnTypes, RowHandler handler)
+            throws SQLException, IOException {
+        return read(in, columnTypes, handler);
+    }
+
+    private long read(InputStream in, int[] columnTypes, RowHandler handler)
+            throws SQLException, IOException {
+        XMLStreamReader r = null;
+        try {
+            r = columnTypes == null
+                ? inputFactory.createXMLStreamReader(in)
+                : inputFactory.createXMLStreamReader(in, "UTF-8");
+            Properties properties = new Properties();
+            RowSetMetaDataImpl md = null;
+            int[] types = columnTypes;
+            Object[] values = types == null ? null : new Object[types.length];
+            Object[] updates = types == null ? null : new Object[types.length];
+            BitSet updated = new BitSet();
+            int kind = -1;
+            int column = -1;
+            long rows = 0;
+            while (r.hasNext()) {
+                int event = r.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = r.getLocalName();
+                    if (name.equals("properties")) {
+                        readProperties(r, properties);
+                    } else if (name.equals("metadata")) {
+                        md = readMetaData(r);
+                        types = new int[md.getColumnCount()];
+                        for (int i = 0; i < types.length; i++) {
+                            types[i] = md.getColumnType(i + 1);
+                        }
+                        values = new Object[types.length];
+                        updates = new Object[types.length];
+                        handler.start(md, properties);
+                    } else if (name.equals("columnValue")) {
+                        column++;
+                        values[column] = toValue(types[column], readText(r));
+                    } else if (name.equals("updateRow")) {
+                        updated.set(column);
+                        updates[column] = toValue(types[column], readText(r));
+                    } else if (rowKind(name) >= 0) {
+                        if (types == null) {
+                            throw new SQLException("Row data before the metadata section");
+                        }
+                        kind = rowKind(name);
+                        column = -1;
+                        updated.clear();
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT
+                           && kind >= 0 && r.getLocalName().equals(ROW_TAGS[kind])) {
+                    handler.row(kind, values, updated, updates);
+                    kind = -1;
+                    rows++;
+                }
+            }
+            return rows;
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not read the row set: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            throw new SQLException("Malformed row set document: " + e, e);
+        } finally {
+            if (r != null) {
+                try {
+                    r.close();
+                } catch (XMLStreamException e) {
+                    // Nothing left to release; the channel is closed by the caller
+                }
+            }
+        }
+    }
+
+    private static int rowKind(String tag) {
+        for (int i = 0; i < ROW_TAGS.length; i++) {
+            if (ROW_TAGS[i].equals(tag)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Reads the leaf properties; key-columns are joined with commas */
+    private static void readProperties(XMLStreamReader r, Properties properties)
+            throws XMLStreamException {
+        StringBuilder keys = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            int event = r.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = r.getLocalName();
+                if (name.equals("key-columns") || name.equals("sync-provider")) {
+                    depth++;
+                } else if (name.equals("map")) {
+                    skipElement(r);
+                } else if (name.equals("column")) {
+                    String key = readText(r);
+                    if (key != null) {
+                        keys.append(keys.length() == 0 ? "" : ",").append(key.trim());
+                    }
+                } else {
+                    String value = readText(r);
+                    if (value != null) {
+                        properties.setProperty(name, value);
+                    }
+                }
+            }
+        }
+        if (keys.length() > 0) {
+            properties.setProperty("key-columns", keys.toString());
+        }
+    }
+
+    private static RowSetMetaDataImpl readMetaData(XMLStreamReader r)
+            throws XMLStreamException, SQLException {
+        RowSetMetaDataImpl md = new RowSetMetaDataImpl();
+        int column = 0;
+        int depth = 1;
+        while (depth > 0) {
+            int event = r.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = r.getLocalName();
+                if (name.equals("column-definition")) {
+                    column++;
+                    depth++;
+                    continue;
+                }
+                String value = readText(r);
+                String trimmed = value == null ? null : value.trim();
+                switch (name) {
+                    case "column-count":
+                        md.setColumnCount(Integer.parseInt(trimmed));
+                        break;
+                    case "column-index":
+                        column = Integer.parseInt(trimmed);
+                        break;
+                    case "auto-increment":
+                        md.setAutoIncrement(column, Boolean.parseBoolean(trimmed));
+                        break;
+                    case "case-sensitive":
+                        md.setCaseSensitive(column, Boolean.parseBoolean(trimmed));
+                        break;
+                    case "currency":
+                        md.setCurrency(column, Boolean.parseBoolean(trimmed));
+                        break;
+                    case "nullable":
+                        md.setNullable(column, Integer.parseInt(trimmed));
+                        break;
+                    case "signed":
+                        md.setSigned(column, Boolean.parseBoolean(trimmed));
+                        break;
+                    case "searchable":
+                        md.setSearchable(column, Boolean.parseBoolean(trimmed));
+                        break;
+                    case "column-display-size":
+                        md.setColumnDisplaySize(column, Integer.parseInt(trimmed));
+                        break;
+                    case "column-label":
+                        md.setColumnLabel(column, value);
+                        break;
+                    case "column-name":
+                        md.setColumnName(column, value);
+                        break;
+                    case "schema-name":
+                        md.setSchemaName(column, value);
+                        break;
+                    case "column-precision":
+                        md.setPrecision(column, Integer.parseInt(trimmed));
+                        break;
+                    case "column-scale":
+                        md.setScale(column, Integer.parseInt(trimmed));
+                        break;
+                    case "table-name":
+                        md.setTableName(column, value);
+                        break;
+                    case "catalog-name":
+                        md.setCatalogName(column, value);
+                        break;
+                    case "column-type":
+                        md.setColumnType(column, Integer.parseInt(trimmed));
+                        break;
+                    case "column-type-name":
+                        md.setColumnTypeName(column, value);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return md;
+    }
+
+    /**
+     * Returns the text of the current element and moves to its end, or null
+     * if it holds a null element.
+     */
+    private static String readText(XMLStreamReader r) throws XMLStreamException {
+        StringBuilder text = null;
+        String single = null;
+        boolean isNull = false;
+        boolean empty = false;
+        while (true) {
+            int event = r.next();
+            if (event == XMLStreamConstants.CHARACTERS
+                    || event == XMLStreamConstants.CDATA) {
+                if (single == null) {
+                    single = r.getText();
+                } else {
+                    if (text == null) {
+                        text = new StringBuilder(single);
+                    }
+                    text.append(r.getText());
+                }
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                isNull |= r.getLocalName().equals("null");
+                empty |= r.getLocalName().equals("emptyString");
+                skipElement(r);
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+        if (isNull) {
+            return null;
+        } else if (empty) {
+            return "";
+        }
+        return text != null ? text.toString() : single == null ? "" : single;
+    }
+
+    private static void skipElement(XMLStreamReader r) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = r.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    static Object toValue(int type, String text) {
+        if (text == null) {
+            return null;
+        }
+        switch (type) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return Boolean.valueOf(text.trim());
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return Integer.valueOf(text.trim());
+            case Types.BIGINT:
+                return Long.valueOf(text.trim());
+            case Types.REAL:
+                return Float.valueOf(text.trim());
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return Double.valueOf(text.trim());
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return new BigDecimal(text.trim());
+            case Types.DATE:
+                return new java.sql.Date(Long.parseLong(text.trim()));
+            case Types.TIME:
+                return new java.sql.Time(Long.parseLong(text.trim()));
+            case Types.TIMESTAMP:
+                return new java.sql.Timestamp(Long.parseLong(text.trim()));
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                return Base64.getDecoder().decode(text.trim());
+            default:
+                return text;
+        }
+    }
+
+    /** Rebuilds the rows of a document, with their state, in a row set */
+    static class RowSetLoader implements RowHandler {
+
+        private final CachedRowSet target;
+        private boolean appended;
+
+        RowSetLoader(CachedRowSet targetArg) {
+            this.target = targetArg;
+        }
+
+        public void start(RowSetMetaData metaData, Properties properties)
+                throws SQLException {
+            target.setMetaData(metaData);
+            String command = properties.getProperty("command");
+            if (command != null) {
+                target.setCommand(command);
+            }
+            String table = properties.getProperty("table-name");
+            if (table != null) {
+                target.setTableName(table);
+            }
+            String keys = properties.getProperty("key-columns");
+            if (keys != null) {
+                String[] parts = keys.split(",");
+                int[] keyColumns = new int[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    keyColumns[i] = Integer.parseInt(parts[i]);
+                }
+                target.setKeyColumns(keyColumns);
+            }
+        }
+
+        public void row(int kind, Object[] values, BitSet updated, Object[] updates)
+                throws SQLException {
+            if (kind == CURRENT_ROW && updated.isEmpty()
+                    && target instanceof ColumnarCachedRowSet) {
+                // Unchanged rows go straight into the column vectors
+                ((ColumnarCachedRowSet) target).appendRow(values);
+                appended = true;
+                return;
+            }
+            if (appended) {
+                target.last();
+                appended = false;
+            }
+            target.moveToInsertRow();
+            for (int i = 0; i < values.length; i++) {
+                target.updateObject(i + 1, values[i]);
+            }
+            target.insertRow();
+            target.moveToCurrentRow();
+            target.next();
+            if (kind != INSERT_ROW && kind != MODIFY_ROW) {
+                target.setOriginalRow();
+            }
+            if (!updated.isEmpty()) {
+                for (int i = updated.nextSetBit(0); i >= 0; i = updated.nextSetBit(i + 1)) {
+                    target.updateObject(i + 1, updates[i]);
+                }
+                target.updateRow();
+            }
+            if (kind == DELETE_ROW || kind == MODIFY_ROW) {
+                target.deleteRow();
+            }
+        }
+    }
+}